@@ -0,0 +1,66 @@
+package com.example.cafe.domain.item.dto;
+
+import com.example.cafe.domain.item.entity.Item;
+import com.example.cafe.domain.item.entity.ItemCategory;
+import com.example.cafe.domain.item.entity.ItemStatus;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 상품 목록 한 페이지를 응답 DTO 로 바꾸는 비용 (ItemService 의 목록 조회와 같은 매핑).
+ * 페이지 크기별로, 일부 상품은 재고 조각 합산 생성자를 타도록 섞어서 측정합니다.
+ * 실행: ./gradlew jmh -Pjmh.includes=ItemResponseDtoBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ItemResponseDtoBenchmark {
+
+    @Param({"20", "100"})
+    private int pageSize;
+
+    private List<Item> items;
+    private Map<Long, Integer> shardStocks;
+
+    @Setup
+    public void setUp() {
+        ItemCategory[] categories = ItemCategory.values();
+        String content = "산지와 가공 방식, 로스팅 포인트를 설명하는 상품 상세 문구입니다. ".repeat(8);
+        items = new ArrayList<>(pageSize);
+        shardStocks = new HashMap<>();
+        for (int i = 0; i < pageSize; i++) {
+            Item item = new Item();
+            item.setId((long) i + 1);
+            item.setItemName("싱글 오리진 원두 " + i);
+            item.setPrice(12_000 + i * 100);
+            item.setStock(100 + i);
+            item.setImagePath("/images/item-" + i + ".png");
+            item.setContent(content);
+            item.setCategory(categories[i % categories.length]);
+            item.setAvgRating(4.5);
+            item.setItemStatus(ItemStatus.ON_SALE);
+            // 열 개 중 하나는 재고가 분할된 인기 상품
+            if (i % 10 == 0) {
+                item.setStockShards(8);
+                shardStocks.put(item.getId(), 400);
+            }
+            items.add(item);
+        }
+    }
+
+    @Benchmark
+    public List<ItemResponseDto> mapPage() {
+        List<ItemResponseDto> result = new ArrayList<>(items.size());
+        for (Item item : items) {
+            result.add(item.isSharded()
+                    ? new ItemResponseDto(item, shardStocks.getOrDefault(item.getId(), 0))
+                    : new ItemResponseDto(item));
+        }
+        return result;
+    }
+}
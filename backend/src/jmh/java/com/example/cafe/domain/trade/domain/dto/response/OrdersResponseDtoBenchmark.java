@@ -0,0 +1,56 @@
+package com.example.cafe.domain.trade.domain.dto.response;
+
+import com.example.cafe.domain.trade.domain.dto.response.OrdersResponseDto.OrderItemDto;
+import com.example.cafe.domain.trade.domain.dto.response.OrdersResponseDto.OrderItemsDto;
+import com.example.cafe.domain.trade.domain.entity.TradeStatus;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 회원 주문 내역 응답의 상태별 분류 비용 (OrderHistoryService.show 의 조립 단계).
+ * 상태마다 한 페이지(20건)씩, 주문당 상품 1~5개인 내역을 분류합니다. 대부분은 배송 완료 상태인 실제 분포를 흉내 냅니다.
+ * 실행: ./gradlew jmh -Pjmh.includes=OrdersResponseDtoBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class OrdersResponseDtoBenchmark {
+
+    @Param({"20", "160"})
+    private int orders;
+
+    private TradeStatus[] statuses;
+    private List<List<OrderItemDto>> lines;
+
+    @Setup
+    public void setUp() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        TradeStatus[] values = TradeStatus.values();
+        statuses = new TradeStatus[orders];
+        lines = new ArrayList<>(orders);
+        for (int i = 0; i < orders; i++) {
+            statuses[i] = random.nextInt(10) < 6 ? TradeStatus.POST_DELIVERY : values[random.nextInt(values.length)];
+            List<OrderItemDto> items = new ArrayList<>();
+            for (int j = 0, count = random.nextInt(1, 6); j < count; j++) {
+                items.add(new OrderItemDto((long) random.nextInt(1, 500), random.nextInt(1, 4), "원두 " + j));
+            }
+            lines.add(items);
+        }
+    }
+
+    @Benchmark
+    public OrdersResponseDto bucketByStatus() {
+        OrdersResponseDto response = new OrdersResponseDto();
+        for (int i = 0; i < orders; i++) {
+            OrderItemsDto orderItemsDto = new OrderItemsDto();
+            orderItemsDto.setTradeUUID("T" + i);
+            orderItemsDto.setOrderItemDtoList(lines.get(i));
+            response.add(statuses[i], orderItemsDto);
+        }
+        return response;
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.cafe.domain.trade.domain.entity;
+
+import com.example.cafe.domain.item.entity.Item;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 장바구니 합계 유지 비용. 라인 하나의 수량 변경(변경분만 반영)과 전체 재집계를 라인 수별로 비교합니다.
+ * 실행: ./gradlew jmh -Pjmh.includes=CartBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class CartBenchmark {
+
+    @Param({"1", "10", "50", "100"})
+    private int lines;
+
+    private Cart cart;
+    private Item lastItem;
+    private CartItem lastLine;
+    private int toggle;
+
+    @Setup
+    public void setUp() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        cart = Cart.builder().cartItems(new ArrayList<>(lines)).build();
+        for (int i = 0; i < lines; i++) {
+            Item item = new Item();
+            item.setId((long) i + 1);
+            item.setItemName("원두 " + i);
+            item.setPrice(random.nextInt(3_000, 30_000));
+            cart.addLine(item, random.nextInt(1, 5));
+            lastItem = item;
+        }
+        lastLine = cart.findLine(lastItem.getId());
+    }
+
+    // 수량을 1, 2 로 번갈아 바꿔 합계가 계속 커지지 않게 함
+    @Benchmark
+    public int changeQuantity() {
+        toggle ^= 1;
+        cart.changeQuantity(lastLine, lastItem, toggle + 1);
+        return cart.getTotalPrice();
+    }
+
+    @Benchmark
+    public int recount() {
+        cart.recount();
+        return cart.getTotalPrice();
+    }
+}
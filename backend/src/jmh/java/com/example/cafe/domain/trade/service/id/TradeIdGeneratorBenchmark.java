@@ -0,0 +1,58 @@
+package com.example.cafe.domain.trade.service.id;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 주문 번호 생성 비용 비교: 기존 generateTradeUUID 방식과 TradeIdGenerator.
+ * 실행: ./gradlew jmh -Pjmh.includes=TradeIdGeneratorBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TradeIdGeneratorBenchmark {
+
+    private TradeIdGenerator generator;
+
+    @Setup
+    public void setUp() {
+        generator = new TradeIdGenerator(1);
+    }
+
+    @Benchmark
+    public String tradeIdGenerator() {
+        return generator.nextId();
+    }
+
+    @Benchmark
+    public String legacyGenerateTradeUUID() {
+        return legacyTradeUUID();
+    }
+
+    // 교체 전 UserTradeAtomicUpdateService.generateTradeUUID 구현 (비교 기준)
+    private static String legacyTradeUUID() {
+        SimpleDateFormat dateFormat = new SimpleDateFormat("yyMMddHHmmss");
+        String currentTime = dateFormat.format(new Date());
+        String uuid = UUID.randomUUID().toString();
+        byte[] uuidBytes = uuid.getBytes(StandardCharsets.UTF_8);
+        byte[] hashBytes;
+        try {
+            MessageDigest md = MessageDigest.getInstance("SHA-256");
+            hashBytes = md.digest(uuidBytes);
+        } catch (NoSuchAlgorithmException e) {
+            throw new RuntimeException(e);
+        }
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 4; i++) {
+            sb.append(String.format("%02x", hashBytes[i]));
+        }
+        return currentTime + sb.toString();
+    }
+}
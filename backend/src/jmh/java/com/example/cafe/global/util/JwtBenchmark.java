@@ -0,0 +1,57 @@
+package com.example.cafe.global.util;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 모든 인증 요청에서 실행되는 JWT 생성/검증/클레임 추출 비용.
+ * 클레임은 AuthTokenService 의 액세스 토큰과 같은 형태(id, email, authority)입니다.
+ * 실행: ./gradlew jmh -Pjmh.includes=JwtBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class JwtBenchmark {
+
+    // HS512 키 길이(64바이트) 이상의 운영 설정과 같은 길이의 키
+    private static final String SECRET_KEY = "benchmark-secret-key-benchmark-secret-key-benchmark-secret-key-0123";
+
+    private Map<String, Object> claims;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        claims = new HashMap<>();
+        claims.put("id", 1_024L);
+        claims.put("email", "member1024@example.com");
+        claims.put("authority", "ROLE_USER");
+        token = Ut.Jwt.createToken(SECRET_KEY, 1800, claims);
+    }
+
+    @Benchmark
+    public String createToken() {
+        return Ut.Jwt.createToken(SECRET_KEY, 1800, claims);
+    }
+
+    @Benchmark
+    public boolean isValidToken() {
+        return Ut.Jwt.isValidToken(SECRET_KEY, token);
+    }
+
+    @Benchmark
+    public Map<String, Object> getPayload() {
+        return Ut.Jwt.getPayload(SECRET_KEY, token);
+    }
+
+    // JwtAuthenticationFilter 가 요청마다 실행하는 순서 (검증 후 클레임 추출로 두 번 파싱)
+    @Benchmark
+    public Map<String, Object> filterPath() {
+        if (!Ut.Jwt.isValidToken(SECRET_KEY, token)) {
+            throw new IllegalStateException("유효하지 않은 토큰");
+        }
+        return Ut.Jwt.getPayload(SECRET_KEY, token);
+    }
+}
@@ -2,9 +2,11 @@ package com.example.cafe.domain.item.controller;
 
 import com.example.cafe.domain.item.dto.ItemRequestDto;
 import com.example.cafe.domain.item.dto.ItemResponseDto;
+import com.example.cafe.domain.item.dto.ItemStockShardResponseDto;
 import com.example.cafe.domain.item.entity.ItemCategory;
 import com.example.cafe.domain.item.entity.ItemStatus;
 import com.example.cafe.domain.item.service.ItemService;
+import com.example.cafe.domain.item.service.ItemStockShardService;
 import com.example.cafe.global.annotation.CheckPermission;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -26,6 +28,7 @@ import java.util.List;
 public class ItemController {
 
     private final ItemService itemService;
+    private final ItemStockShardService itemStockShardService;
 
     @Operation(summary = "상품 전체 조회")
     @GetMapping
@@ -98,6 +101,38 @@ public class ItemController {
         return ResponseEntity.noContent().build();
     }
 
+    @CheckPermission("ADMIN")
+    @Operation(summary = "상품 재고 조각 조회(관리자만 가능)")
+    @GetMapping("/{id}/stock-shards")
+    public ResponseEntity<ItemStockShardResponseDto> getStockShards(@PathVariable Long id) {
+
+        return ResponseEntity.ok(itemStockShardService.getShards(id));
+    }
+
+    @CheckPermission("ADMIN")
+    @Operation(summary = "상품 재고 분할(관리자만 가능)", description = "인기 상품의 재고를 count 개의 조각으로 나눕니다. 이미 분할된 상품은 조각 수를 변경합니다.")
+    @PutMapping("/{id}/stock-shards")
+    public ResponseEntity<ItemStockShardResponseDto> enableStockShards(@PathVariable Long id, @RequestParam int count) {
+
+        return ResponseEntity.ok(itemStockShardService.enableSharding(id, count));
+    }
+
+    @CheckPermission("ADMIN")
+    @Operation(summary = "상품 재고 분할 해제(관리자만 가능)")
+    @DeleteMapping("/{id}/stock-shards")
+    public ResponseEntity<ItemStockShardResponseDto> disableStockShards(@PathVariable Long id) {
+
+        return ResponseEntity.ok(itemStockShardService.disableSharding(id));
+    }
+
+    @CheckPermission("ADMIN")
+    @Operation(summary = "상품 재고 조각 재분배(관리자만 가능)", description = "판매 중에도 조각별 재고를 다시 고르게 나눕니다.")
+    @PostMapping("/{id}/stock-shards/rebalance")
+    public ResponseEntity<ItemStockShardResponseDto> rebalanceStockShards(@PathVariable Long id) {
+
+        return ResponseEntity.ok(itemStockShardService.rebalance(id));
+    }
+
     @Operation(summary = "상품 검색 및 필터링")
     @GetMapping("/search")
     public ResponseEntity<List<ItemResponseDto>> searchItems(@RequestParam(required = false) String keyword,
@@ -0,0 +1,10 @@
+package com.example.cafe.domain.item.dto;
+
+// 장바구니 가격 재검증에서 가격만 비교하기 위한 프로젝션
+public interface ItemPriceView {
+    Long getId();
+
+    int getPrice();
+
+    long getPriceVersion();
+}
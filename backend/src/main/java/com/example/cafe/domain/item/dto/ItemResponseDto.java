@@ -32,4 +32,13 @@ public class ItemResponseDto {
         this.avgRating = item.getAvgRating();
         this.itemStatus = item.getItemStatus();
     }
+
+    // 재고가 분할된 상품: 상품 행 재고와 조각 재고를 합산한 값을 노출
+    public ItemResponseDto(Item item, int shardStock) {
+        this(item);
+        this.stock = item.getStock() + shardStock;
+        if (this.stock <= 0) {
+            this.itemStatus = ItemStatus.SOLD_OUT;
+        }
+    }
 }
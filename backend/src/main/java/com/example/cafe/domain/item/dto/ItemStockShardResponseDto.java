@@ -0,0 +1,18 @@
+package com.example.cafe.domain.item.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class ItemStockShardResponseDto {
+
+    private Long itemId;
+    private int shardCount;
+    // 조각에 나누어지지 않고 상품 행에 남아 있는 재고 (취소로 복구된 재고 등)
+    private int itemStock;
+    private List<Integer> shardStocks;
+    private int totalStock;
+}
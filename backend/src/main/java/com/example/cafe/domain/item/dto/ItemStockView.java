@@ -0,0 +1,8 @@
+package com.example.cafe.domain.item.dto;
+
+// 상품 재고만 필요한 조회에서 엔티티 전체 로딩을 피하기 위한 프로젝션
+public interface ItemStockView {
+    Long getId();
+
+    int getStock();
+}
@@ -0,0 +1,13 @@
+package com.example.cafe.domain.item.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+// 재고 부족으로 주문하지 못한 상품 정보
+@Data
+@AllArgsConstructor
+public class StockShortageDto {
+    private Long itemId;
+    private int requestedQuantity;
+    private int availableStock;
+}
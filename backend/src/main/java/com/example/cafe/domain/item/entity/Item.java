@@ -16,7 +16,8 @@ import java.util.List;
 public class Item {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "item_seq")
+    @SequenceGenerator(name = "item_seq", sequenceName = "item_seq", allocationSize = 50)
     @Column(name = "item_id")
     private Long id;
 
@@ -26,9 +27,17 @@ public class Item {
     @Column(name = "price", nullable = false)
     private int price;
 
+    // 가격이 바뀔 때마다 1씩 증가. 장바구니 가격 스냅샷이 최신인지 비교하는 데 사용
+    @Column(name = "price_version", nullable = false, columnDefinition = "bigint default 0")
+    private long priceVersion;
+
     @Column(name = "stock", nullable = false)
     private int stock;
 
+    // 재고 조각 수 (0 이면 분할하지 않음). 분할된 상품은 stock 과 모든 조각 재고의 합이 실제 재고입니다.
+    @Column(name = "stock_shards", nullable = false)
+    private int stockShards;
+
     @Column(name = "image_path")
     private String imagePath;
 
@@ -47,9 +56,25 @@ public class Item {
     @Enumerated(EnumType.STRING)
     private ItemStatus itemStatus;
 
+    // 낙관적 락 주문(UserTradeOptimisticLockService)용 버전. 재고를 바꾸는 일괄 UPDATE 도 함께 올려야 충돌을 감지할 수 있음
+    @Version
+    @Column(name = "version", nullable = false, columnDefinition = "bigint default 0")
+    private Long version;
+
     @OneToMany(mappedBy = "item", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<Review> reviews;
     
+    public void changePrice(int price) {
+        if (this.price != price) {
+            this.price = price;
+            this.priceVersion++;
+        }
+    }
+
+    public boolean isSharded() {
+        return this.stockShards > 0;
+    }
+
     public void autoCheckQuantityForSetStatus() {
         if (this.getStock() <= 0) {
             this.itemStatus = ItemStatus.SOLD_OUT;
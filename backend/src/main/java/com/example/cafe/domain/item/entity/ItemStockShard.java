@@ -0,0 +1,34 @@
+package com.example.cafe.domain.item.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * 인기 상품의 재고를 여러 행으로 나누어 보관하는 재고 조각.
+ * 주문은 임의의 조각 하나만 차감하므로 동시 주문이 같은 행을 두고 경합하지 않습니다.
+ */
+@Entity
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+@Builder
+@Table(name = "item_stock_shard",
+        uniqueConstraints = @UniqueConstraint(name = "uk_item_stock_shard", columnNames = {"item_id", "shard_no"}))
+public class ItemStockShard {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "item_stock_shard_id")
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "item_id", nullable = false)
+    private Item item;
+
+    @Column(name = "shard_no", nullable = false)
+    private int shardNo;
+
+    @Column(name = "stock", nullable = false)
+    private int stock;
+}
@@ -1,5 +1,7 @@
 package com.example.cafe.domain.item.repository;
 
+import com.example.cafe.domain.item.dto.ItemPriceView;
+import com.example.cafe.domain.item.dto.ItemStockView;
 import com.example.cafe.domain.item.entity.Item;
 import com.example.cafe.domain.item.entity.ItemCategory;
 import com.example.cafe.domain.item.entity.ItemStatus;
@@ -12,17 +14,53 @@ import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
-public interface ItemRepository extends JpaRepository<Item, Long> {
+public interface ItemRepository extends JpaRepository<Item, Long>, ItemRepositoryCustom {
     @Lock(LockModeType.PESSIMISTIC_WRITE)
     @Query("select i from Item i where i.id = :id")
     Optional<Item> findByIdForUpdate(@Param("id") Long id);
 
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select i from Item i where i.id in :ids order by i.id")
+    List<Item> findAllByIdInForUpdate(@Param("ids") Collection<Long> ids);
+
     @Modifying
-    @Query("update Item i set i.stock = i.stock - :quantity where i.id = :itemId and i.stock >= :quantity")
+    @Query("update Item i set i.stock = i.stock - :quantity, i.version = i.version + 1 " +
+            "where i.id = :itemId and i.stock >= :quantity")
     int decreaseStock(@Param("itemId") Long itemId, @Param("quantity") int quantity);
 
+    // Redis 재고 원장의 write-behind 반영용: 누적된 증감분을 그대로 적용하고 판매 상태를 함께 갱신
+    @Modifying
+    @Query("update Item i set " +
+            "i.itemStatus = case when i.stock + :delta > 0 " +
+            "then com.example.cafe.domain.item.entity.ItemStatus.ON_SALE " +
+            "else com.example.cafe.domain.item.entity.ItemStatus.SOLD_OUT end, " +
+            "i.stock = i.stock + :delta, i.version = i.version + 1 " +
+            "where i.id = :itemId")
+    int applyStockDelta(@Param("itemId") Long itemId, @Param("delta") int delta);
+
+    @Modifying
+    @Query("update Item i set i.avgRating = :avgRating where i.id = :itemId")
+    int updateAvgRating(@Param("itemId") Long itemId, @Param("avgRating") Double avgRating);
+
+    @Query("select i.id as id, i.stock as stock from Item i")
+    List<ItemStockView> findAllStocks();
+
+    @Query("select i.id as id, i.stock as stock from Item i where i.id in :ids")
+    List<ItemStockView> findStocksByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("select i.id as id, i.price as price, i.priceVersion as priceVersion from Item i where i.id in :ids")
+    List<ItemPriceView> findPricesByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("select i.stockShards from Item i where i.id = :id")
+    Optional<Integer> findStockShardsById(@Param("id") Long id);
+
+    @Query("select i.id from Item i where i.id in :ids and i.stockShards > 0 order by i.id")
+    List<Long> findShardedIdsIn(@Param("ids") Collection<Long> ids);
+
     @Query("SELECT i FROM Item i " +
             "WHERE (:keyword IS NULL OR i.itemName LIKE %:keyword% OR i.content LIKE %:keyword%) " +
             "AND (:category IS NULL OR i.category = :category) " +
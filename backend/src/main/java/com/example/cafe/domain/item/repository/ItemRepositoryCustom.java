@@ -0,0 +1,26 @@
+package com.example.cafe.domain.item.repository;
+
+import java.util.List;
+import java.util.SortedMap;
+
+public interface ItemRepositoryCustom {
+
+    /**
+     * 여러 상품의 재고를 하나의 JDBC 배치로 조건부 차감합니다.
+     * 상품 ID 오름차순으로 실행되므로 동시에 실행되는 다른 배치와 행 락 획득 순서가 같습니다.
+     * 실행 전에 영속성 컨텍스트를 flush 하고, 실행 후에는 이미 읽어 둔 해당 Item 을 분리합니다.
+     *
+     * @param quantities 상품 ID -> 차감 수량 (오름차순 정렬)
+     * @return 재고가 부족해 차감되지 않은 상품 ID 목록
+     */
+    List<Long> decreaseStockBatch(SortedMap<Long, Integer> quantities);
+
+    /**
+     * 여러 상품의 재고를 하나의 JDBC 배치로 원자적으로 증가시키고 판매 상태를 함께 다시 계산합니다.
+     * 엔티티를 읽어 고치지 않으므로 동시에 실행되는 주문 차감과 서로의 변경을 덮어쓰지 않습니다.
+     * 차감 배치와 같이 실행 전 flush, 실행 후 이미 읽어 둔 해당 Item 분리를 합니다.
+     *
+     * @param quantities 상품 ID -> 증가 수량 (오름차순 정렬)
+     */
+    void increaseStockBatch(SortedMap<Long, Integer> quantities);
+}
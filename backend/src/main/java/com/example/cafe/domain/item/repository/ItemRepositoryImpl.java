@@ -0,0 +1,94 @@
+package com.example.cafe.domain.item.repository;
+
+import com.example.cafe.domain.item.entity.Item;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.Hibernate;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+
+@RequiredArgsConstructor
+public class ItemRepositoryImpl implements ItemRepositoryCustom {
+
+    // 엔티티를 거치지 않는 재고 변경도 version 을 올려 낙관적 락 주문이 덮어쓰지 않도록 함
+    // item_status 를 먼저 계산해야 MySQL 의 좌->우 SET 평가에서도 차감 전 재고를 기준으로 판단합니다.
+    private static final String DECREASE_STOCK_SQL =
+            "update item set " +
+            "item_status = case when stock - ? <= 0 then 'SOLD_OUT' else item_status end, " +
+            "stock = stock - ?, version = version + 1 " +
+            "where item_id = ? and stock >= ?";
+
+    private static final String INCREASE_STOCK_SQL =
+            "update item set " +
+            "item_status = case when stock + ? > 0 then 'ON_SALE' else 'SOLD_OUT' end, " +
+            "stock = stock + ?, version = version + 1 " +
+            "where item_id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<Long> decreaseStockBatch(SortedMap<Long, Integer> quantities) {
+        List<Map.Entry<Long, Integer>> lines = new ArrayList<>(quantities.entrySet());
+        List<Object[]> args = lines.stream()
+                .map(line -> new Object[]{line.getValue(), line.getValue(), line.getKey(), line.getValue()})
+                .toList();
+
+        flushBeforeBatch();
+        int[] counts = jdbcTemplate.batchUpdate(DECREASE_STOCK_SQL, args);
+        detachLoaded(quantities.keySet());
+
+        List<Long> failedItemIds = new ArrayList<>();
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] == 0) {
+                failedItemIds.add(lines.get(i).getKey());
+            }
+        }
+        return failedItemIds;
+    }
+
+    @Override
+    public void increaseStockBatch(SortedMap<Long, Integer> quantities) {
+        if (quantities.isEmpty()) {
+            return;
+        }
+        List<Object[]> args = quantities.entrySet().stream()
+                .map(line -> new Object[]{line.getValue(), line.getValue(), line.getKey()})
+                .toList();
+        flushBeforeBatch();
+        jdbcTemplate.batchUpdate(INCREASE_STOCK_SQL, args);
+        detachLoaded(quantities.keySet());
+    }
+
+    // JDBC 배치는 영속성 컨텍스트를 거치지 않으므로, 아직 반영되지 않은 엔티티 변경을 먼저 내보냄
+    private void flushBeforeBatch() {
+        if (entityManager.isJoinedToTransaction()) {
+            entityManager.flush();
+        }
+    }
+
+    /**
+     * 배치 이전에 이미 읽어 둔 Item 은 재고/상태/version 이 배치 이전 값으로 남습니다.
+     * 이를 분리하여 같은 트랜잭션의 이후 조회가 DB 에서 다시 읽도록 합니다(다른 엔티티는 그대로 유지).
+     * getReference 는 관리 중인 엔티티가 있으면 그것을, 없으면 조회 없이 프록시를 돌려줍니다.
+     */
+    private void detachLoaded(Collection<Long> itemIds) {
+        if (!entityManager.isJoinedToTransaction()) {
+            return;
+        }
+        for (Long itemId : itemIds) {
+            Item item = entityManager.getReference(Item.class, itemId);
+            if (Hibernate.isInitialized(item)) {
+                entityManager.detach(item);
+            }
+        }
+    }
+}
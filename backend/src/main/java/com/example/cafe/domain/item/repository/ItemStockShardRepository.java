@@ -0,0 +1,40 @@
+package com.example.cafe.domain.item.repository;
+
+import com.example.cafe.domain.item.dto.ItemStockView;
+import com.example.cafe.domain.item.entity.ItemStockShard;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface ItemStockShardRepository extends JpaRepository<ItemStockShard, Long> {
+
+    @Modifying
+    @Query("update ItemStockShard s set s.stock = s.stock - :quantity " +
+            "where s.item.id = :itemId and s.shardNo = :shardNo and s.stock >= :quantity")
+    int decreaseStock(@Param("itemId") Long itemId, @Param("shardNo") int shardNo, @Param("quantity") int quantity);
+
+    // 잠금 없이 조각별 재고를 조각 번호 순서로 읽어 차감할 조각을 고를 때 사용
+    @Query("select s.stock from ItemStockShard s where s.item.id = :itemId order by s.shardNo")
+    List<Integer> findStocksByItemId(@Param("itemId") Long itemId);
+
+    // 조각 번호 오름차순으로 잠가 조각을 여러 개 잠그는 작업끼리 교착이 생기지 않도록 합니다.
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select s from ItemStockShard s where s.item.id = :itemId order by s.shardNo")
+    List<ItemStockShard> findAllByItemIdForUpdate(@Param("itemId") Long itemId);
+
+    List<ItemStockShard> findAllByItemIdOrderByShardNo(Long itemId);
+
+    @Query("select s.item.id as id, cast(sum(s.stock) as Integer) as stock from ItemStockShard s " +
+            "where s.item.id in :itemIds group by s.item.id")
+    List<ItemStockView> sumStocksByItemIdIn(@Param("itemIds") Collection<Long> itemIds);
+
+    @Modifying
+    @Query("delete from ItemStockShard s where s.item.id = :itemId")
+    int deleteAllByItemId(@Param("itemId") Long itemId);
+}
@@ -25,8 +25,8 @@ import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
-import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -34,6 +34,8 @@ public class ItemService {
 
     private final ItemRepository itemRepository;
     private final ReviewRepository reviewRepository;
+    private final ItemStockService itemStockService;
+    private final ItemStockShardService itemStockShardService;
 
     @Value("${file.upload-dir}")
     private String uploadDir;
@@ -43,13 +45,13 @@ public class ItemService {
     }
 
     public List<ItemResponseDto> getAllItems() {
-        return itemRepository.findAll().stream().map(ItemResponseDto::new).toList();
+        return toResponses(itemRepository.findAll());
     }
 
     public ItemResponseDto getItem(Long id) {
 
         return itemRepository.findById(id)
-                .map(ItemResponseDto::new)
+                .map(this::toResponse)
                 .orElseThrow(() -> new ItemNotFoundException(id));
     }
 
@@ -118,17 +120,19 @@ public class ItemService {
         }
 
         item.setItemName(itemRequestDto.getItemName());
-        item.setPrice(itemRequestDto.getPrice());
+        item.changePrice(itemRequestDto.getPrice());
         item.setStock(itemRequestDto.getStock());
         item.setImagePath(imagePath);  // 새 이미지 경로 또는 기존 경로
         item.setContent(itemRequestDto.getContent());
         item.setCategory(itemRequestDto.getCategory());
 
         item.autoCheckQuantityForSetStatus();  // 재고에 따른 상태 자동 설정
+        resetShardedStock(item, itemRequestDto.getStock());
 
         Item savedItem = itemRepository.save(item);
+        itemStockService.syncAfterCommit(savedItem.getId(), savedItem.getStock());
 
-        return new ItemResponseDto(savedItem);
+        return toResponse(savedItem);
     }
 
     @Transactional
@@ -138,15 +142,17 @@ public class ItemService {
                 .orElseThrow(() -> new ItemNotFoundException(id));
 
         item.setItemName(itemRequestDto.getItemName());
-        item.setPrice(itemRequestDto.getPrice());
+        item.changePrice(itemRequestDto.getPrice());
         item.setStock(itemRequestDto.getStock());
         item.setImagePath(itemRequestDto.getImagePath());
         item.setContent(itemRequestDto.getContent());
         item.setCategory(itemRequestDto.getCategory());
 
         item.autoCheckQuantityForSetStatus();
+        resetShardedStock(item, itemRequestDto.getStock());
+        itemStockService.syncAfterCommit(item.getId(), item.getStock());
 
-        return new ItemResponseDto(item);
+        return toResponse(item);
     }
 
     public void deleteItem(Long id) {
@@ -183,40 +189,28 @@ public class ItemService {
 
         Pageable pageable = PageRequest.of(page, size);
 
-        return itemRepository.searchItems(keyword, category, minPrice, maxPrice, ItemStatus.ON_SALE, pageable)
-                .stream()
-                .map(ItemResponseDto::new)
-                .collect(Collectors.toList());
+        return toResponses(itemRepository.searchItems(keyword, category, minPrice, maxPrice, ItemStatus.ON_SALE, pageable).getContent());
     }
 
     public List<ItemResponseDto> getItemsByCategory(ItemCategory category, int page, int size) {
 
         Pageable pageable = PageRequest.of(page, size);
 
-        return itemRepository.findByCategory(category, pageable)
-                .stream()
-                .map(ItemResponseDto::new)
-                .collect(Collectors.toList());
+        return toResponses(itemRepository.findByCategory(category, pageable).getContent());
     }
 
     public List<ItemResponseDto> getItemsByStatus(ItemStatus status, int page, int size) {
 
         Pageable pageable = PageRequest.of(page, size);
 
-        return itemRepository.findByItemStatus(status, pageable)
-                .stream()
-                .map(ItemResponseDto::new)
-                .collect(Collectors.toList());
+        return toResponses(itemRepository.findByItemStatus(status, pageable).getContent());
     }
 
     public List<ItemResponseDto> getTopRatedItems(int limit) {
 
         Pageable pageable = PageRequest.of(0, limit, Sort.by("avgRating").descending());
 
-        return itemRepository.findByItemStatus(ItemStatus.ON_SALE, pageable)
-                .stream()
-                .map(ItemResponseDto::new)
-                .collect(Collectors.toList());
+        return toResponses(itemRepository.findByItemStatus(ItemStatus.ON_SALE, pageable).getContent());
     }
 
     @Transactional
@@ -224,15 +218,39 @@ public class ItemService {
 
         Double avgRating = reviewRepository.findAverageRatingByItemId(itemId);
 
-        Item item = itemRepository.findById(itemId)
-                .orElseThrow(() -> new EntityNotFoundException("상품이 존재하지 않습니다. id: " + itemId));
-
-        item.setAvgRating(avgRating);
-        itemRepository.save(item);
+        // 평점은 주문과 무관한 파생 값이므로 version 을 올리지 않는 UPDATE 로 반영 (낙관적 락 주문과 충돌하지 않음)
+        if (itemRepository.updateAvgRating(itemId, avgRating) == 0) {
+            throw new EntityNotFoundException("상품이 존재하지 않습니다. id: " + itemId);
+        }
 
         return avgRating;
     }
 
+    // 재고가 분할된 상품은 관리자가 지정한 재고를 조각에 다시 나눕니다.
+    private void resetShardedStock(Item item, int stock) {
+        if (item.isSharded()) {
+            itemStockShardService.resetStock(item, stock);
+        }
+    }
+
+    private ItemResponseDto toResponse(Item item) {
+        if (!item.isSharded()) {
+            return new ItemResponseDto(item);
+        }
+        return new ItemResponseDto(item, itemStockShardService.sumStocks(List.of(item.getId())).getOrDefault(item.getId(), 0));
+    }
+
+    // 분할된 상품의 조각 재고 합계는 한 번의 쿼리로 조회
+    private List<ItemResponseDto> toResponses(List<Item> items) {
+        List<Long> shardedIds = items.stream().filter(Item::isSharded).map(Item::getId).toList();
+        Map<Long, Integer> shardStocks = itemStockShardService.sumStocks(shardedIds);
+        return items.stream()
+                .map(item -> item.isSharded()
+                        ? new ItemResponseDto(item, shardStocks.getOrDefault(item.getId(), 0))
+                        : new ItemResponseDto(item))
+                .toList();
+    }
+
     private String saveImage(MultipartFile imageFile) throws IOException {
         if (imageFile == null || imageFile.isEmpty()) {
             return null; // 이미지가 없으면 null 반환
@@ -0,0 +1,228 @@
+package com.example.cafe.domain.item.service;
+
+import com.example.cafe.domain.item.dto.StockShortageDto;
+import com.example.cafe.domain.item.entity.Item;
+import com.example.cafe.domain.item.repository.ItemRepository;
+import com.example.cafe.global.exception.OutOfStockException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.*;
+
+/**
+ * 주문 경로의 재고 차감 진입점.
+ * custom.stock.ledger.enabled 가 켜져 있으면 Redis 재고 원장에서 먼저 예약하고 DB 반영은 write-behind 로 미루며,
+ * 꺼져 있으면 기존과 같이 Item 행에 원자적 UPDATE 를 실행합니다. 재고가 분할된 상품은 재고 조각에서 먼저 차감합니다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ItemStockService {
+
+    private final ItemRepository itemRepository;
+    private final RedisStockLedger stockLedger;
+    private final ItemStockShardService stockShardService;
+
+    @Value("${custom.stock.ledger.enabled:false}")
+    private boolean ledgerEnabled;
+
+    public boolean isLedgerEnabled() {
+        return ledgerEnabled;
+    }
+
+    // 재고가 충분할 때만 차감하고, 부족하면 예외를 던집니다.
+    public void reserve(Long itemId, int quantity) {
+        if (!ledgerEnabled) {
+            if (!reserveInDatabase(itemId, quantity, isSharded(itemId))) {
+                throw new RuntimeException("재고가 부족합니다.");
+            }
+            return;
+        }
+
+        long remain = stockLedger.reserve(itemId, quantity);
+        if (remain == RedisStockLedger.NOT_LOADED) {
+            warm(itemId);
+            remain = stockLedger.reserve(itemId, quantity);
+        }
+        if (remain < 0) {
+            throw new RuntimeException("재고가 부족합니다.");
+        }
+        releaseOnRollback(itemId, quantity);
+    }
+
+    /**
+     * 여러 상품의 재고를 한 번에 차감합니다. 하나라도 부족하면 아무것도 차감하지 않고
+     * 부족한 상품 목록을 담은 OutOfStockException 을 던집니다.
+     *
+     * @param quantities 상품 ID -> 차감 수량 (상품 ID 오름차순)
+     */
+    public void reserveAll(SortedMap<Long, Integer> quantities) {
+        List<Long> failedItemIds;
+        if (!ledgerEnabled) {
+            // 실패한 상품이 있으면 예외로 트랜잭션 전체가 롤백되므로 이미 차감된 행도 원복됩니다.
+            failedItemIds = reserveAllInDatabase(quantities);
+        } else {
+            RedisStockLedger.ReserveAllResult result = stockLedger.reserveAll(quantities);
+            if (result.code() == RedisStockLedger.ReserveAllResult.NOT_LOADED) {
+                result.itemIds().forEach(this::warm);
+                result = stockLedger.reserveAll(quantities);
+            }
+            failedItemIds = result.code() == RedisStockLedger.ReserveAllResult.OK ? List.of() : result.itemIds();
+            if (failedItemIds.isEmpty()) {
+                quantities.forEach(this::releaseOnRollback);
+            }
+        }
+
+        if (!failedItemIds.isEmpty()) {
+            throw new OutOfStockException(toShortages(quantities, failedItemIds));
+        }
+    }
+
+    /**
+     * 주문 취소/환불/만료 등으로 재고를 되돌립니다. 모든 반납 경로는 이 메서드를 거쳐야 합니다.
+     * 엔티티를 읽어 고치지 않고 상품 ID 순 원자적 증가 UPDATE 배치 한 번으로 반영하며(판매 상태도 SQL 에서 재계산),
+     * 재고 원장을 사용하면 커밋 이후 원장에 반납합니다(미반영 차감분과 상쇄되어 DB 에도 반영됨).
+     *
+     * @param quantities 상품 ID -> 복구 수량 (상품 ID 오름차순)
+     */
+    public void restore(SortedMap<Long, Integer> quantities) {
+        SortedMap<Long, Integer> restored = new TreeMap<>(quantities);
+        restored.values().removeIf(quantity -> quantity == null || quantity <= 0);
+        if (restored.isEmpty()) {
+            return;
+        }
+        if (!ledgerEnabled) {
+            itemRepository.increaseStockBatch(restored);
+            return;
+        }
+        runAfterCommit(() -> restored.forEach(stockLedger::release));
+    }
+
+    public boolean isSharded(Long itemId) {
+        return !ledgerEnabled && itemRepository.findStockShardsById(itemId).orElse(0) > 0;
+    }
+
+    // 주문 가능한 재고: 분할된 상품은 상품 행 재고와 조각 재고의 합
+    public int availableStock(Item item) {
+        if (!item.isSharded()) {
+            return item.getStock();
+        }
+        return item.getStock() + stockShardService.sumStocks(List.of(item.getId())).getOrDefault(item.getId(), 0);
+    }
+
+    // 관리자가 재고를 직접 수정한 경우 커밋 이후 원장을 새 값으로 맞춥니다.
+    public void syncAfterCommit(Long itemId, int stock) {
+        if (!ledgerEnabled) {
+            return;
+        }
+        runAfterCommit(() -> stockLedger.withFlushLock(() -> {
+            stockLedger.reset(itemId, stock);
+            return null;
+        }));
+    }
+
+    // 분할된 상품은 조각에서 먼저 차감하고, 조각 재고가 모자라면 상품 행에 남은 재고에서 차감
+    private boolean reserveInDatabase(Long itemId, int quantity, boolean sharded) {
+        if (!sharded) {
+            return itemRepository.decreaseStock(itemId, quantity) == 1;
+        }
+        if (stockShardService.reserve(itemId, quantity)) {
+            return true;
+        }
+        if (itemRepository.decreaseStock(itemId, quantity) == 0) {
+            return false;
+        }
+        stockShardService.markSoldOutIfDrained(itemId);
+        return true;
+    }
+
+    /**
+     * 상품 ID 오름차순을 그대로 지키며 잠급니다. 분할된 상품 사이에 있는 일반 상품들은 배치 하나로 묶어
+     * 분할된 상품보다 먼저 차감하므로, 같은 상품을 담은 장바구니끼리는 항상 같은 순서로 행 락을 잡습니다.
+     */
+    private List<Long> reserveAllInDatabase(SortedMap<Long, Integer> quantities) {
+        Set<Long> sharded = new HashSet<>(itemRepository.findShardedIdsIn(quantities.keySet()));
+        List<Long> failedItemIds = new ArrayList<>();
+        SortedMap<Long, Integer> unsharded = new TreeMap<>();
+        for (Map.Entry<Long, Integer> line : quantities.entrySet()) {
+            if (!sharded.contains(line.getKey())) {
+                unsharded.put(line.getKey(), line.getValue());
+                continue;
+            }
+            failedItemIds.addAll(decreaseStockBatch(unsharded));
+            if (!reserveInDatabase(line.getKey(), line.getValue(), true)) {
+                failedItemIds.add(line.getKey());
+            }
+        }
+        failedItemIds.addAll(decreaseStockBatch(unsharded));
+        Collections.sort(failedItemIds);
+        return failedItemIds;
+    }
+
+    // 모아 둔 일반 상품 라인을 배치로 차감하고 비웁니다.
+    private List<Long> decreaseStockBatch(SortedMap<Long, Integer> lines) {
+        if (lines.isEmpty()) {
+            return List.of();
+        }
+        List<Long> failedItemIds = itemRepository.decreaseStockBatch(lines);
+        lines.clear();
+        return failedItemIds;
+    }
+
+    private List<StockShortageDto> toShortages(Map<Long, Integer> quantities, List<Long> failedItemIds) {
+        Map<Long, Integer> available = new HashMap<>();
+        if (ledgerEnabled) {
+            failedItemIds.forEach(itemId -> available.put(itemId, (int) Math.max(0, stockLedger.peek(itemId))));
+        } else {
+            itemRepository.findStocksByIdIn(failedItemIds)
+                    .forEach(stock -> available.put(stock.getId(), stock.getStock()));
+            stockShardService.sumStocks(failedItemIds)
+                    .forEach((itemId, shardStock) -> available.merge(itemId, shardStock, Integer::sum));
+        }
+        return failedItemIds.stream()
+                .map(itemId -> new StockShortageDto(itemId, quantities.get(itemId), available.getOrDefault(itemId, 0)))
+                .toList();
+    }
+
+    private void warm(Long itemId) {
+        stockLedger.withFlushLock(() -> {
+            Item item = itemRepository.findById(itemId)
+                    .orElseThrow(() -> new RuntimeException("주문 하고자 하는 상품을 찾을 수 없습니다."));
+            long loaded = stockLedger.warm(itemId, item.getStock());
+            log.info("재고 원장 적재 itemId : [{}], stock : [{}]", itemId, loaded);
+            return loaded;
+        });
+    }
+
+    // 주문 트랜잭션이 롤백되면 Redis 에서 예약한 수량을 되돌립니다.
+    private void releaseOnRollback(Long itemId, int quantity) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    stockLedger.release(itemId, quantity);
+                }
+            }
+        });
+    }
+
+    private void runAfterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
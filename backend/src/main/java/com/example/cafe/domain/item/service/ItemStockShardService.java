@@ -0,0 +1,206 @@
+package com.example.cafe.domain.item.service;
+
+import com.example.cafe.domain.item.dto.ItemStockShardResponseDto;
+import com.example.cafe.domain.item.dto.ItemStockView;
+import com.example.cafe.domain.item.entity.Item;
+import com.example.cafe.domain.item.entity.ItemStatus;
+import com.example.cafe.domain.item.entity.ItemStockShard;
+import com.example.cafe.domain.item.repository.ItemRepository;
+import com.example.cafe.domain.item.repository.ItemStockShardRepository;
+import com.example.cafe.global.exception.ItemNotFoundException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 분할 재고 관리.
+ * 분할된 상품의 실제 재고는 Item.stock 과 모든 조각 재고의 합입니다. 주문은 조각에서 먼저 차감하고,
+ * 취소 등으로 복구되는 재고는 기존처럼 Item.stock 에 쌓였다가 재분배(rebalance) 때 조각으로 다시 나누어집니다.
+ * 여러 조각과 상품 행을 함께 잠글 때는 항상 조각(번호 오름차순) -> 상품 행 순서로 잠급니다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ItemStockShardService {
+
+    private final ItemRepository itemRepository;
+    private final ItemStockShardRepository shardRepository;
+
+    @Value("${custom.stock.ledger.enabled:false}")
+    private boolean ledgerEnabled;
+
+    @Value("${custom.stock.shard.max-count:64}")
+    private int maxShardCount;
+
+    /**
+     * 조각에서 재고를 차감합니다. 재고가 충분한 조각 중 하나를 임의로 골라 차감하고,
+     * 한 조각으로 부족하면 모든 조각을 잠가 나누어 차감합니다.
+     *
+     * @return 조각 재고로 차감했으면 true, 조각 재고 합이 부족하면 false (아무것도 차감하지 않음)
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public boolean reserve(Long itemId, int quantity) {
+        List<Integer> stocks = shardRepository.findStocksByItemId(itemId);
+        List<Integer> candidates = new ArrayList<>();
+        for (int shardNo = 0; shardNo < stocks.size(); shardNo++) {
+            if (stocks.get(shardNo) >= quantity) {
+                candidates.add(shardNo);
+            }
+        }
+        // 후보를 임의 순서로 시도하고, 그 사이 다른 주문이 먼저 가져가 실패하면 형제 조각으로 넘어감
+        Collections.shuffle(candidates, ThreadLocalRandom.current());
+        for (int shardNo : candidates) {
+            if (shardRepository.decreaseStock(itemId, shardNo, quantity) == 1) {
+                if (stocks.get(shardNo) == quantity) {
+                    // 조각 하나를 비운 경우에만 나머지도 바닥났는지 확인
+                    markSoldOutIfDrained(itemId);
+                }
+                return true;
+            }
+        }
+        return reserveAcrossShards(itemId, quantity);
+    }
+
+    private boolean reserveAcrossShards(Long itemId, int quantity) {
+        List<ItemStockShard> shards = shardRepository.findAllByItemIdForUpdate(itemId);
+        int total = shards.stream().mapToInt(ItemStockShard::getStock).sum();
+        if (shards.isEmpty() || total < quantity) {
+            return false;
+        }
+        int remain = quantity;
+        for (ItemStockShard shard : shards) {
+            int take = Math.min(shard.getStock(), remain);
+            shard.setStock(shard.getStock() - take);
+            remain -= take;
+            if (remain == 0) {
+                break;
+            }
+        }
+        if (total == quantity) {
+            // 마지막 재고를 가져간 경우: 상품 행 재고도 없으면 품절 처리
+            itemRepository.applyStockDelta(itemId, 0);
+        }
+        return true;
+    }
+
+    /**
+     * 조각 재고가 모두 바닥났으면 상품 행 재고로 판매 상태를 다시 계산합니다(상품 행 재고도 0 이면 품절).
+     * 조각이나 상품 행에서 마지막 재고를 가져간 주문이 호출합니다.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void markSoldOutIfDrained(Long itemId) {
+        if (sumStocks(List.of(itemId)).getOrDefault(itemId, 0) == 0) {
+            itemRepository.applyStockDelta(itemId, 0);
+        }
+    }
+
+    // 상품별 조각 재고 합계 (분할되지 않은 상품은 결과에 없음)
+    public Map<Long, Integer> sumStocks(Collection<Long> itemIds) {
+        Map<Long, Integer> sums = new HashMap<>();
+        if (itemIds.isEmpty()) {
+            return sums;
+        }
+        for (ItemStockView view : shardRepository.sumStocksByItemIdIn(itemIds)) {
+            sums.put(view.getId(), view.getStock());
+        }
+        return sums;
+    }
+
+    // 분할을 켜거나 조각 수를 바꿉니다. 현재 재고 전체를 새 조각들에 고르게 나눕니다.
+    @Transactional
+    public ItemStockShardResponseDto enableSharding(Long itemId, int shardCount) {
+        if (ledgerEnabled) {
+            throw new RuntimeException("재고 원장을 사용하는 중에는 재고를 분할할 수 없습니다.");
+        }
+        if (shardCount < 1 || shardCount > maxShardCount) {
+            throw new RuntimeException("재고 조각 수는 1 이상 " + maxShardCount + " 이하여야 합니다.");
+        }
+        List<ItemStockShard> shards = shardRepository.findAllByItemIdForUpdate(itemId);
+        Item item = getItemForUpdate(itemId);
+        int total = item.getStock() + sumOf(shards);
+
+        if (shards.size() != shardCount) {
+            shardRepository.deleteAllByItemId(itemId);
+            shards = new ArrayList<>();
+            for (int shardNo = 0; shardNo < shardCount; shardNo++) {
+                shards.add(ItemStockShard.builder().item(item).shardNo(shardNo).build());
+            }
+        }
+        item.setStockShards(shardCount);
+        distribute(item, shards, total);
+        shardRepository.saveAll(shards);
+        log.info("재고 분할 itemId : [{}], 조각 수 : [{}], 재고 : [{}]", itemId, shardCount, total);
+        return toResponse(item, shards);
+    }
+
+    // 분할을 끄고 모든 조각 재고를 상품 행으로 합칩니다.
+    @Transactional
+    public ItemStockShardResponseDto disableSharding(Long itemId) {
+        List<ItemStockShard> shards = shardRepository.findAllByItemIdForUpdate(itemId);
+        Item item = getItemForUpdate(itemId);
+        item.setStock(item.getStock() + sumOf(shards));
+        item.setStockShards(0);
+        item.autoCheckQuantityForSetStatus();
+        shardRepository.deleteAllByItemId(itemId);
+        return toResponse(item, List.of());
+    }
+
+    // 운영 중 재분배: 조각마다 남은 재고가 치우치거나 상품 행에 복구 재고가 쌓였을 때 다시 고르게 나눕니다.
+    @Transactional
+    public ItemStockShardResponseDto rebalance(Long itemId) {
+        List<ItemStockShard> shards = shardRepository.findAllByItemIdForUpdate(itemId);
+        Item item = getItemForUpdate(itemId);
+        if (!item.isSharded() || shards.isEmpty()) {
+            throw new RuntimeException("재고가 분할되지 않은 상품입니다.");
+        }
+        distribute(item, shards, item.getStock() + sumOf(shards));
+        return toResponse(item, shards);
+    }
+
+    // 관리자가 분할된 상품의 재고를 직접 지정한 경우 지정한 값을 조각에 다시 나눕니다.
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void resetStock(Item item, int stock) {
+        List<ItemStockShard> shards = shardRepository.findAllByItemIdForUpdate(item.getId());
+        distribute(item, shards, stock);
+    }
+
+    public ItemStockShardResponseDto getShards(Long itemId) {
+        Item item = itemRepository.findById(itemId)
+                .orElseThrow(() -> new ItemNotFoundException(itemId));
+        return toResponse(item, shardRepository.findAllByItemIdOrderByShardNo(itemId));
+    }
+
+    private void distribute(Item item, List<ItemStockShard> shards, int total) {
+        int base = total / shards.size();
+        int extra = total % shards.size();
+        for (ItemStockShard shard : shards) {
+            shard.setStock(base + (shard.getShardNo() < extra ? 1 : 0));
+        }
+        item.setStock(0);
+        item.setItemStatus(total > 0 ? ItemStatus.ON_SALE : ItemStatus.SOLD_OUT);
+    }
+
+    private Item getItemForUpdate(Long itemId) {
+        return itemRepository.findByIdForUpdate(itemId)
+                .orElseThrow(() -> new ItemNotFoundException(itemId));
+    }
+
+    private int sumOf(List<ItemStockShard> shards) {
+        return shards.stream().mapToInt(ItemStockShard::getStock).sum();
+    }
+
+    private ItemStockShardResponseDto toResponse(Item item, List<ItemStockShard> shards) {
+        List<Integer> shardStocks = shards.stream()
+                .sorted(Comparator.comparingInt(ItemStockShard::getShardNo))
+                .map(ItemStockShard::getStock)
+                .toList();
+        return new ItemStockShardResponseDto(item.getId(), item.getStockShards(), item.getStock(), shardStocks,
+                item.getStock() + sumOf(shards));
+    }
+}
@@ -0,0 +1,200 @@
+package com.example.cafe.domain.item.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RLock;
+import org.redisson.api.RScript;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.StringCodec;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Redis 에 상품별 실시간 재고를 보관하는 재고 원장.
+ * 예약(차감)은 Lua 스크립트로 원자적으로 처리하고, 차감된 수량은 pending 해시에 누적해 두었다가
+ * StockLedgerFlusher 가 주기적으로 Item 테이블에 한꺼번에 반영합니다(write-behind).
+ * 여러 키를 한 스크립트에서 다룰 수 있도록 모든 키는 {ledger} 해시 태그로 같은 해시 슬롯에 배치합니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RedisStockLedger {
+
+    public static final long NOT_LOADED = -2L;
+    public static final long INSUFFICIENT = -1L;
+
+    private static final String STOCK_KEY_PREFIX = "stock:{ledger}:item:";
+    private static final String PENDING_KEY = "stock:{ledger}:pending";
+    private static final String INFLIGHT_KEY = "stock:{ledger}:inflight";
+    private static final String FLUSH_LOCK_KEY = "lock:stock:ledger:flush";
+
+    // 재고가 충분하면 차감 후 남은 재고를, 부족하면 -1, 원장에 없으면 -2 를 반환
+    private static final String RESERVE_SCRIPT =
+            "local stock = redis.call('get', KEYS[1]) " +
+            "if not stock then return -2 end " +
+            "local qty = tonumber(ARGV[1]) " +
+            "if tonumber(stock) < qty then return -1 end " +
+            "local remain = redis.call('decrby', KEYS[1], qty) " +
+            "redis.call('hincrby', KEYS[2], ARGV[2], qty) " +
+            "return remain";
+
+    // 여러 상품을 한 번에 예약(전부 성공 또는 전부 실패).
+    // 성공 시 {0}, 재고 부족 시 {1, 실패 인덱스...}, 원장 미적재 시 {2, 미적재 인덱스...} 를 반환
+    // KEYS: 상품별 재고 키..., pending 키 / ARGV: 수량..., 상품 ID...
+    private static final String RESERVE_ALL_SCRIPT =
+            "local n = #KEYS - 1 " +
+            "local missing = {} " +
+            "local short = {} " +
+            "for i = 1, n do " +
+            "  local stock = redis.call('get', KEYS[i]) " +
+            "  if not stock then table.insert(missing, i - 1) " +
+            "  elseif tonumber(stock) < tonumber(ARGV[i]) then table.insert(short, i - 1) end " +
+            "end " +
+            "if #missing > 0 then table.insert(missing, 1, 2) return missing end " +
+            "if #short > 0 then table.insert(short, 1, 1) return short end " +
+            "for i = 1, n do " +
+            "  redis.call('decrby', KEYS[i], ARGV[i]) " +
+            "  redis.call('hincrby', KEYS[n + 1], ARGV[n + i], ARGV[i]) " +
+            "end " +
+            "return {0}";
+
+    // 예약 취소: 원장 재고를 되돌리고 아직 반영되지 않은 차감분도 함께 상쇄
+    private static final String RELEASE_SCRIPT =
+            "if redis.call('exists', KEYS[1]) == 1 then redis.call('incrby', KEYS[1], ARGV[1]) end " +
+            "redis.call('hincrby', KEYS[2], ARGV[2], -tonumber(ARGV[1])) " +
+            "return 1";
+
+    // 원장에 없는 상품을 DB 재고 - 미반영 차감분으로 적재 (이미 있으면 그대로 둠)
+    private static final String WARM_SCRIPT =
+            "if redis.call('exists', KEYS[1]) == 1 then return tonumber(redis.call('get', KEYS[1])) end " +
+            "local pending = tonumber(redis.call('hget', KEYS[2], ARGV[2]) or '0') " +
+            "local inflight = tonumber(redis.call('hget', KEYS[3], ARGV[2]) or '0') " +
+            "local stock = tonumber(ARGV[1]) - pending - inflight " +
+            "redis.call('set', KEYS[1], stock) " +
+            "return stock";
+
+    // 관리자가 재고를 직접 지정한 경우: 원장을 덮어쓰고 해당 상품의 미반영 차감분은 폐기
+    private static final String RESET_SCRIPT =
+            "redis.call('set', KEYS[1], ARGV[1]) " +
+            "redis.call('hdel', KEYS[2], ARGV[2]) " +
+            "return 1";
+
+    // pending 을 inflight 로 옮긴 뒤 반영 대상 목록을 반환 (이전 반영이 중단되어 inflight 가 남아 있으면 그것부터 처리)
+    private static final String DRAIN_SCRIPT =
+            "if redis.call('exists', KEYS[2]) == 0 then " +
+            "  if redis.call('exists', KEYS[1]) == 0 then return {} end " +
+            "  redis.call('rename', KEYS[1], KEYS[2]) " +
+            "end " +
+            "return redis.call('hgetall', KEYS[2])";
+
+    private final RedissonClient redissonClient;
+
+    public long reserve(Long itemId, int quantity) {
+        return eval(RESERVE_SCRIPT, List.of(stockKey(itemId), PENDING_KEY), quantity, itemId);
+    }
+
+    /**
+     * 여러 상품을 원자적으로 예약합니다.
+     *
+     * @return 결과 코드(0: 성공, 1: 재고 부족, 2: 미적재)와 해당 상품 ID 목록
+     */
+    public ReserveAllResult reserveAll(SortedMap<Long, Integer> quantities) {
+        List<Long> itemIds = new ArrayList<>(quantities.keySet());
+        List<Object> keys = new ArrayList<>();
+        itemIds.forEach(itemId -> keys.add(stockKey(itemId)));
+        keys.add(PENDING_KEY);
+        List<Object> args = new ArrayList<>();
+        quantities.values().forEach(quantity -> args.add(String.valueOf(quantity)));
+        itemIds.forEach(itemId -> args.add(String.valueOf(itemId)));
+
+        List<Object> result = redissonClient.getScript(StringCodec.INSTANCE)
+                .eval(RScript.Mode.READ_WRITE, RESERVE_ALL_SCRIPT, RScript.ReturnType.MULTI, keys, args.toArray());
+        int code = ((Number) result.get(0)).intValue();
+        List<Long> failedItemIds = result.subList(1, result.size()).stream()
+                .map(index -> itemIds.get(((Number) index).intValue()))
+                .toList();
+        return new ReserveAllResult(code, failedItemIds);
+    }
+
+    public record ReserveAllResult(int code, List<Long> itemIds) {
+        public static final int OK = 0;
+        public static final int INSUFFICIENT = 1;
+        public static final int NOT_LOADED = 2;
+    }
+
+    // 원장의 현재 재고 (미적재 상품은 -2)
+    public long peek(Long itemId) {
+        String stock = redissonClient.<String>getBucket(stockKey(itemId), StringCodec.INSTANCE).get();
+        return stock == null ? NOT_LOADED : Long.parseLong(stock);
+    }
+
+    public void release(Long itemId, int quantity) {
+        eval(RELEASE_SCRIPT, List.of(stockKey(itemId), PENDING_KEY), quantity, itemId);
+    }
+
+    public long warm(Long itemId, int dbStock) {
+        return eval(WARM_SCRIPT, List.of(stockKey(itemId), PENDING_KEY, INFLIGHT_KEY), dbStock, itemId);
+    }
+
+    public void reset(Long itemId, int stock) {
+        eval(RESET_SCRIPT, List.of(stockKey(itemId), PENDING_KEY), stock, itemId);
+    }
+
+    /**
+     * 미반영 차감분을 inflight 로 옮겨 itemId -> 차감 수량 맵으로 반환합니다.
+     * DB 반영이 커밋된 뒤 반드시 completeDrain() 을 호출해야 합니다.
+     */
+    public Map<Long, Integer> drainPending() {
+        List<Object> flat = redissonClient.getScript(StringCodec.INSTANCE)
+                .eval(RScript.Mode.READ_WRITE, DRAIN_SCRIPT, RScript.ReturnType.MULTI,
+                        List.of(PENDING_KEY, INFLIGHT_KEY));
+        Map<Long, Integer> deltas = new TreeMap<>();
+        for (int i = 0; i + 1 < flat.size(); i += 2) {
+            int quantity = Integer.parseInt(String.valueOf(flat.get(i + 1)));
+            if (quantity != 0) {
+                deltas.put(Long.valueOf(String.valueOf(flat.get(i))), quantity);
+            }
+        }
+        return deltas;
+    }
+
+    public void completeDrain() {
+        redissonClient.getKeys().delete(INFLIGHT_KEY);
+    }
+
+    /**
+     * 반영(flush)과 적재(warm)/초기화(reset)가 서로 끼어들지 않도록 노드 간 공용 락 안에서 실행합니다.
+     */
+    public <T> T withFlushLock(Supplier<T> supplier) {
+        RLock lock = redissonClient.getLock(FLUSH_LOCK_KEY);
+        boolean locked = false;
+        try {
+            locked = lock.tryLock(5, 30, TimeUnit.SECONDS);
+            if (!locked) {
+                throw new RuntimeException("재고 원장 락 획득 실패");
+            }
+            return supplier.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("재고 원장 락 획득 중 인터럽트 발생", e);
+        } finally {
+            if (locked) {
+                lock.unlock();
+            }
+        }
+    }
+
+    private long eval(String script, List<Object> keys, Object... values) {
+        Object[] args = Arrays.stream(values).map(String::valueOf).toArray();
+        Long result = redissonClient.getScript(StringCodec.INSTANCE)
+                .eval(RScript.Mode.READ_WRITE, script, RScript.ReturnType.INTEGER, keys, args);
+        return result == null ? 0L : result;
+    }
+
+    private String stockKey(Long itemId) {
+        return STOCK_KEY_PREFIX + itemId;
+    }
+}
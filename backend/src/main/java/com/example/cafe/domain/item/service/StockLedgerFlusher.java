@@ -0,0 +1,74 @@
+package com.example.cafe.domain.item.service;
+
+import com.example.cafe.domain.item.dto.ItemStockView;
+import com.example.cafe.domain.item.repository.ItemRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Map;
+
+/**
+ * Redis 재고 원장에 누적된 차감분을 Item 테이블에 일괄 반영합니다.
+ * 반영은 at-least-once 로 동작합니다. DB 커밋 직후 inflight 삭제 전에 노드가 죽으면 같은 차감분이 한 번 더 반영될 수 있는데,
+ * 이 경우 DB 재고가 실제보다 적어질 뿐 초과 판매로 이어지지는 않습니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class StockLedgerFlusher {
+
+    private final RedisStockLedger stockLedger;
+    private final ItemRepository itemRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${custom.stock.ledger.enabled:false}")
+    private boolean ledgerEnabled;
+
+    @Scheduled(fixedDelayString = "${custom.stock.ledger.flush-interval-ms:500}")
+    public void flush() {
+        if (!ledgerEnabled) {
+            return;
+        }
+        stockLedger.withFlushLock(this::flushPending);
+    }
+
+    /**
+     * 기동 시 재조정: 이전 실행에서 남은 차감분을 먼저 DB 에 반영한 뒤,
+     * 원장에 없는 상품만 DB 재고로 적재합니다. 이미 원장에 있는 값은 다른 노드가 사용 중일 수 있으므로 덮어쓰지 않습니다.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void reconcileOnStartup() {
+        if (!ledgerEnabled) {
+            return;
+        }
+        stockLedger.withFlushLock(() -> {
+            int flushed = flushPending();
+            int warmed = 0;
+            for (ItemStockView stock : itemRepository.findAllStocks()) {
+                stockLedger.warm(stock.getId(), stock.getStock());
+                warmed++;
+            }
+            log.info("재고 원장 재조정 완료 : 반영 상품 [{}]건, 적재 확인 상품 [{}]건", flushed, warmed);
+            return null;
+        });
+    }
+
+    private int flushPending() {
+        Map<Long, Integer> deltas = stockLedger.drainPending();
+        if (deltas.isEmpty()) {
+            return 0;
+        }
+        // itemId 오름차순(TreeMap)으로 갱신하여 다른 재고 갱신 트랜잭션과의 교착을 피합니다.
+        transactionTemplate.executeWithoutResult(status ->
+                deltas.forEach((itemId, quantity) -> itemRepository.applyStockDelta(itemId, -quantity)));
+        stockLedger.completeDrain();
+        log.debug("재고 원장 반영 : {}", deltas);
+        return deltas.size();
+    }
+}
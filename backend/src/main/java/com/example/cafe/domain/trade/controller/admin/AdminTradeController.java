@@ -1,17 +1,36 @@
 package com.example.cafe.domain.trade.controller.admin;
 
+import com.example.cafe.domain.trade.domain.dto.request.AdminBulkTransitionRequestDto;
 import com.example.cafe.domain.trade.domain.dto.request.AdminConfirmRequestDto;
+import com.example.cafe.domain.trade.domain.dto.response.AdminBulkTransitionResponseDto;
+import com.example.cafe.domain.trade.domain.dto.response.AdminTradePageResponseDto;
 import com.example.cafe.domain.trade.domain.dto.response.OrderResponseDto;
 import com.example.cafe.domain.trade.domain.dto.response.OrdersResponseDto;
+import com.example.cafe.domain.trade.domain.entity.TradeStatus;
 import com.example.cafe.domain.trade.service.admin.AdminTradeService;
+import com.example.cafe.domain.trade.service.admin.TradeExportFormat;
+import com.example.cafe.domain.trade.service.admin.TradeExportService;
 import com.example.cafe.global.annotation.CheckPermission;
+import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.async.WebAsyncTask;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
 
 @RestController
 @RequiredArgsConstructor
@@ -19,7 +38,13 @@ import org.springframework.web.bind.annotation.RestController;
 @Tag(name = "Admin Trade API", description = "판매자가 거래에 대한 상태를 변경 가능합니다.")
 public class AdminTradeController {
 
+    private static final DateTimeFormatter EXPORT_FILE_TIME = DateTimeFormatter.ofPattern("yyyyMMddHHmmss");
+
     private final AdminTradeService service;
+    private final TradeExportService exportService;
+
+    @Value("${custom.trade.export.timeout:PT30M}")
+    private Duration exportTimeout;
 
     @CheckPermission("ADMIN")
     @PostMapping("/confirm")
@@ -45,9 +70,76 @@ public class AdminTradeController {
         return ResponseEntity.ok(service.adminSetPostDelivery(requestDto));
     }
 
+    // 여러 주문을 한 요청, 한 트랜잭션으로 변경하고 주문별 결과를 반환
+    @CheckPermission("ADMIN")
+    @PostMapping("/bulk/confirm")
+    public ResponseEntity<AdminBulkTransitionResponseDto> bulkConfirm(@RequestBody AdminBulkTransitionRequestDto requestDto) {
+        return ResponseEntity.ok(service.bulkConfirm(requestDto.getTradeUUIDs()));
+    }
+
+    @CheckPermission("ADMIN")
+    @PostMapping("/bulk/prepare")
+    public ResponseEntity<AdminBulkTransitionResponseDto> bulkPrepare(@RequestBody AdminBulkTransitionRequestDto requestDto) {
+        return ResponseEntity.ok(service.bulkPrepareDelivery(requestDto.getTradeUUIDs()));
+    }
+
+    @CheckPermission("ADMIN")
+    @PostMapping("/bulk/in-delivery")
+    public ResponseEntity<AdminBulkTransitionResponseDto> bulkInDelivery(@RequestBody AdminBulkTransitionRequestDto requestDto) {
+        return ResponseEntity.ok(service.bulkSetInDelivery(requestDto.getTradeUUIDs()));
+    }
+
+    @CheckPermission("ADMIN")
+    @PostMapping("/bulk/post-delivery")
+    public ResponseEntity<AdminBulkTransitionResponseDto> bulkPostDelivery(@RequestBody AdminBulkTransitionRequestDto requestDto) {
+        return ResponseEntity.ok(service.bulkSetPostDelivery(requestDto.getTradeUUIDs()));
+    }
+
+    // 주문 전체를 한 응답에 담으므로 주문이 쌓일수록 느려짐. /trades(페이지) 또는 /export(스트리밍)로 대체
+    @Deprecated
+    @Operation(summary = "주문 전체 조회 (지원 중단)", deprecated = true,
+            description = "주문 전체를 한 번에 반환합니다. 목록은 /admin/trade/trades, 전체 내려받기는 /admin/trade/export 를 사용하세요.")
     @CheckPermission("ADMIN")
     @GetMapping("/all-trades")
     public ResponseEntity<OrdersResponseDto> showAllTrade() {
-        return ResponseEntity.ok(service.showAllTradeItems());
+        return ResponseEntity.ok()
+                .header("Deprecation", "true")
+                .header(HttpHeaders.LINK, "</admin/trade/trades>; rel=\"successor-version\"")
+                .body(service.showAllTradeItems());
+    }
+
+    @CheckPermission("ADMIN")
+    @GetMapping("/trades")
+    public ResponseEntity<AdminTradePageResponseDto> showTrades(
+            @RequestParam(required = false) TradeStatus status,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) Long cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(service.showTrades(status, from, to, cursor, size));
+    }
+
+    /**
+     * 주문 전체를 메모리에 올리지 않고 조회하는 대로 내려 보냄 (gzip=true 이면 .gz 파일).
+     * 내려 받는 데 오래 걸릴 수 있으므로 이 요청에만 custom.trade.export.timeout 을 비동기 제한 시간으로 적용하고,
+     * 다른 비동기 요청은 기본 제한 시간을 따릅니다.
+     */
+    @CheckPermission("ADMIN")
+    @GetMapping("/export")
+    public WebAsyncTask<Void> export(
+            @RequestParam(defaultValue = "NDJSON") TradeExportFormat format,
+            @RequestParam(required = false) TradeStatus status,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(defaultValue = "false") boolean gzip,
+            HttpServletResponse response) {
+        String filename = "trades-" + LocalDateTime.now().format(EXPORT_FILE_TIME) + "." + format.getExtension() + (gzip ? ".gz" : "");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(filename).build().toString());
+        response.setContentType(gzip ? "application/gzip" : format.getContentType());
+        return new WebAsyncTask<>(exportTimeout.toMillis(), () -> {
+            exportService.export(format, status, from, to, gzip, response.getOutputStream());
+            response.flushBuffer();
+            return null;
+        });
     }
 }
@@ -52,5 +52,14 @@ public class UserCartController {
         return ResponseEntity.ok(service.editItemToCart(authTokenService.getIdFromToken(authHeader), editItem));
     }
 
+    @Operation(summary = "카트 가격 재검증", description = "카트에 담은 뒤 가격이 바뀐 상품만 현재 가격으로 갱신합니다.")
+    @PostMapping("/revalidate")
+    public ResponseEntity<ItemCartResponseDto> revalidateCart(
+            @Parameter(hidden = true)
+            @RequestHeader(value = "Authorization", required = false) String authHeader) {
+
+        return ResponseEntity.ok(service.revalidateCart(authTokenService.getIdFromToken(authHeader)));
+    }
+
 
 }
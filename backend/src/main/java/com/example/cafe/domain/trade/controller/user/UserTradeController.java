@@ -8,6 +8,10 @@ import com.example.cafe.domain.trade.domain.dto.response.CancelResponseDto;
 import com.example.cafe.domain.trade.domain.dto.response.OrderResponseDto;
 import com.example.cafe.domain.trade.domain.dto.response.OrdersResponseDto;
 import com.example.cafe.domain.trade.domain.dto.response.RePayResponseDto;
+import com.example.cafe.domain.trade.service.history.OrderHistoryService;
+import com.example.cafe.domain.trade.service.idempotency.OrderIdempotencyService;
+import com.example.cafe.domain.trade.service.user.HotItemOrderCombiner;
+import com.example.cafe.domain.trade.service.user.OrderPlacementRouter;
 import com.example.cafe.domain.trade.service.user.UserTradeAtomicUpdateService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -23,13 +27,21 @@ import org.springframework.web.bind.annotation.*;
 public class UserTradeController {
     private final AuthTokenService authTokenService;
     private final UserTradeAtomicUpdateService service;
+    private final HotItemOrderCombiner hotItemOrderCombiner;
+    private final OrderPlacementRouter orderPlacementRouter;
+    private final OrderIdempotencyService idempotencyService;
+    private final OrderHistoryService orderHistoryService;
 
     @Operation(summary = "카트에 있는 상품 주문", description = "회원이 카트에 있는 상품을 주문할 수 있습니다.")
     @PostMapping("/cart")
     public ResponseEntity<OrderResponseDto> orderWithCart(
             @Parameter(hidden = true)
-            @RequestHeader(value = "Authorization", required = false) String authHeader) {
-        return ResponseEntity.ok(service.tradeWithCart(authTokenService.getIdFromToken(authHeader)));
+            @RequestHeader(value = "Authorization", required = false) String authHeader,
+            @Parameter(description = "재시도 시 같은 값을 보내면 주문이 한 번만 처리됩니다. 다른 주문에 재사용하면 422 를 반환합니다.")
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey) {
+        Long memberId = authTokenService.getIdFromToken(authHeader);
+        return ResponseEntity.ok(idempotencyService.execute(memberId, "cart", idempotencyKey, null,
+                () -> orderPlacementRouter.forCart().tradeWithCart(memberId)));
     }
 
     @Operation(summary = "카트에 넣지 않고 바로 상품 주문", description = "회원이 상품을 바로 주문할 수 있습니다.")
@@ -37,17 +49,23 @@ public class UserTradeController {
     public ResponseEntity<OrderResponseDto> orderWithItem(
             @Parameter(hidden = true)
             @RequestHeader(value = "Authorization", required = false) String authHeader,
+            @Parameter(description = "재시도 시 같은 값을 보내면 주문이 한 번만 처리됩니다. 다른 주문에 재사용하면 422 를 반환합니다.")
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
             @RequestBody OrderRequestItemDto requestItemDto) {
-        return ResponseEntity.ok(service.tradeWithItemInfo(authTokenService.getIdFromToken(authHeader), requestItemDto));
+        Long memberId = authTokenService.getIdFromToken(authHeader);
+        return ResponseEntity.ok(idempotencyService.execute(memberId, "item", idempotencyKey, requestItemDto,
+                () -> hotItemOrderCombiner.order(memberId, requestItemDto)));
     }
 
-    @Operation(summary = "사용자가 주문한 주문 목록 전체 조회", description = "회원 자신의 주문 목록 전체를 조회할 수 있습니다.")
+    @Operation(summary = "사용자가 주문한 주문 목록 조회", description = "회원 자신의 주문 목록을 상태별 최신순으로 조회할 수 있습니다. size 를 주면 상태마다 page 번째 페이지만 조회하고 상태별 다음 페이지 여부(hasNext)를 함께 반환합니다.")
     @GetMapping("/show")
     public ResponseEntity<OrdersResponseDto> showTradeList(
             @Parameter(hidden = true)
-            @RequestHeader(value = "Authorization", required = false) String authHeader) {
+            @RequestHeader(value = "Authorization", required = false) String authHeader,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(required = false) Integer size) {
 
-        return ResponseEntity.ok(service.showAllTradeItems(authTokenService.getIdFromToken(authHeader)));
+        return ResponseEntity.ok(orderHistoryService.show(authTokenService.getIdFromToken(authHeader), page, size));
     }
 
     @Operation(summary = "사용자가 주문 후 특정 상품 취소", description = "취소 희망 상품 ID, 수량을 List 로 받을 수 있습니다.")
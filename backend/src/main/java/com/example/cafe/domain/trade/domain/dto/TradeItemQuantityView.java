@@ -0,0 +1,8 @@
+package com.example.cafe.domain.trade.domain.dto;
+
+// 주문들에 포함된 상품별 수량 합계 조회용 프로젝션
+public interface TradeItemQuantityView {
+    Long getItemId();
+
+    int getQuantity();
+}
@@ -0,0 +1,12 @@
+package com.example.cafe.domain.trade.domain.dto;
+
+// 주문 목록 조회 시 여러 주문의 상품 줄을 한 번에 읽기 위한 프로젝션
+public interface TradeLineView {
+    Long getTradeId();
+
+    Long getItemId();
+
+    String getItemName();
+
+    int getQuantity();
+}
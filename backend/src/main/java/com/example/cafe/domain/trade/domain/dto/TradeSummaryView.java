@@ -0,0 +1,20 @@
+package com.example.cafe.domain.trade.domain.dto;
+
+import com.example.cafe.domain.trade.domain.entity.TradeStatus;
+
+import java.time.LocalDateTime;
+
+// 주문 목록 조회용 프로젝션 (연관 엔티티를 읽지 않음)
+public interface TradeSummaryView {
+    Long getId();
+
+    String getTradeUUID();
+
+    TradeStatus getTradeStatus();
+
+    Integer getTotalPrice();
+
+    String getEmail();
+
+    LocalDateTime getTradeRequestDate();
+}
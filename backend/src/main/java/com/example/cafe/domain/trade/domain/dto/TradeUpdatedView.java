@@ -0,0 +1,10 @@
+package com.example.cafe.domain.trade.domain.dto;
+
+import java.time.LocalDateTime;
+
+// 지연 상태 변경 예약을 보완할 때 주문 ID 와 마지막 상태 변경 시각만 읽기 위한 프로젝션
+public interface TradeUpdatedView {
+    Long getId();
+
+    LocalDateTime getTradeUpdatedDate();
+}
@@ -0,0 +1,15 @@
+package com.example.cafe.domain.trade.domain.dto.request;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class AdminBulkTransitionRequestDto {
+    private List<String> tradeUUIDs = new ArrayList<>();
+}
@@ -0,0 +1,38 @@
+package com.example.cafe.domain.trade.domain.dto.response;
+
+import com.example.cafe.domain.trade.domain.entity.TradeStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class AdminBulkTransitionResponseDto {
+
+    // 중복을 제외한 요청 주문 수
+    private int requested;
+    private int updated;
+    private List<TradeResult> results = new ArrayList<>();
+
+    public enum Outcome {
+        UPDATED,
+        // 해당 주문 번호의 주문이 없음
+        NOT_FOUND,
+        // 현재 상태에서는 요청한 상태로 바꿀 수 없음
+        INVALID_STATUS
+    }
+
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class TradeResult {
+        private String tradeUUID;
+        private Outcome outcome;
+        // UPDATED 이면 바뀐 상태, INVALID_STATUS 이면 현재 상태, NOT_FOUND 이면 null
+        private TradeStatus tradeStatus;
+    }
+}
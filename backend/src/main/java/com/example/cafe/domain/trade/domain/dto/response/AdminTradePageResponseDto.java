@@ -0,0 +1,34 @@
+package com.example.cafe.domain.trade.domain.dto.response;
+
+import com.example.cafe.domain.trade.domain.entity.TradeStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class AdminTradePageResponseDto {
+
+    private List<AdminTradeDto> trades = new ArrayList<>();
+    // 다음 페이지 요청 시 cursor 로 전달 (마지막 페이지면 null)
+    private Long nextCursor;
+    private boolean hasNext;
+
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class AdminTradeDto {
+        private Long tradeId;
+        private String tradeUUID;
+        private TradeStatus tradeStatus;
+        private Integer totalPrice;
+        private String email;
+        private LocalDateTime tradeRequestDate;
+        private List<OrdersResponseDto.OrderItemDto> orderItemDtoList = new ArrayList<>();
+    }
+}
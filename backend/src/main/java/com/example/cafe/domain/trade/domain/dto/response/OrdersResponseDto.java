@@ -1,11 +1,15 @@
 package com.example.cafe.domain.trade.domain.dto.response;
 
+import com.example.cafe.domain.trade.domain.entity.TradeStatus;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.util.ArrayList;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
 
 @Data
 @AllArgsConstructor
@@ -21,9 +25,27 @@ public class OrdersResponseDto {
     private List<OrderItemsDto> refusedList = new ArrayList<>();
     private List<OrderItemsDto> refundList = new ArrayList<>();
 
+    // 페이지 조회일 때 상태별 다음 페이지 존재 여부 (전체 조회면 비어 있어 응답에서 빠짐)
+    @JsonInclude(JsonInclude.Include.NON_EMPTY)
+    private Map<TradeStatus, Boolean> hasNext = new EnumMap<>(TradeStatus.class);
+
+    // 주문 상태에 맞는 목록에 추가
+    public void add(TradeStatus tradeStatus, OrderItemsDto orderItemsDto) {
+        switch (tradeStatus) {
+            case BUY -> buyList.add(orderItemsDto);
+            case PAY -> payList.add(orderItemsDto);
+            case PREPARE_DELIVERY -> prepareDeliveryList.add(orderItemsDto);
+            case BEFORE_DELIVERY -> beforeDeliveryList.add(orderItemsDto);
+            case IN_DELIVERY -> inDeliveryList.add(orderItemsDto);
+            case POST_DELIVERY -> postDeliveryList.add(orderItemsDto);
+            case REFUSED -> refusedList.add(orderItemsDto);
+            case REFUND -> refundList.add(orderItemsDto);
+        }
+    }
 
     @Data
     @AllArgsConstructor
+    @NoArgsConstructor
     public static class OrderItemDto {
         private Long itemId;
         private int quantity;
@@ -1,5 +1,6 @@
 package com.example.cafe.domain.trade.domain.entity;
 
+import com.example.cafe.domain.item.entity.Item;
 import com.example.cafe.domain.member.entity.Member;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
@@ -29,13 +30,92 @@ public class Cart {
     @OneToMany(mappedBy = "cart", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<CartItem> cartItems = new ArrayList<>();
 
+    // 라인별 가격 스냅샷 기준 합계와 라인 수. 라인을 바꿀 때마다 변경분만 반영하고 전체를 다시 계산하지 않음
     private int totalPrice;
 
-    public void calculateTotalPrice() {
-        int tprice = 0;
+    @Column(name = "line_count", nullable = false, columnDefinition = "int default 0")
+    private int lineCount;
+
+    public CartItem findLine(Long itemId) {
+        for (CartItem cartItem : this.cartItems) {
+            if (cartItem.getItem().getId().equals(itemId)) {
+                return cartItem;
+            }
+        }
+        return null;
+    }
+
+    // 수량을 더하고(없으면 새 라인) 가격 스냅샷을 상품의 현재 가격으로 맞춤
+    public void addLine(Item item, int quantity) {
+        CartItem cartItem = findLine(item.getId());
+        if (cartItem == null) {
+            cartItem = CartItem.builder()
+                    .cart(this)
+                    .item(item)
+                    .build();
+            this.cartItems.add(cartItem);
+            this.lineCount++;
+        }
+        this.totalPrice -= lineTotal(cartItem);
+        cartItem.setQuantity(cartItem.getQuantity() + quantity);
+        cartItem.setPrice(item.getPrice());
+        cartItem.setPriceVersion(item.getPriceVersion());
+        this.totalPrice += lineTotal(cartItem);
+    }
+
+    // 수량 지정 (0 이면 라인 삭제)
+    public void changeQuantity(CartItem cartItem, Item item, int quantity) {
+        this.totalPrice -= lineTotal(cartItem);
+        if (quantity == 0) {
+            this.cartItems.remove(cartItem);
+            this.lineCount--;
+            return;
+        }
+        cartItem.setQuantity(quantity);
+        cartItem.setPrice(item.getPrice());
+        cartItem.setPriceVersion(item.getPriceVersion());
+        this.totalPrice += lineTotal(cartItem);
+    }
+
+    public void refreshPrice(CartItem cartItem, int price, long priceVersion) {
+        this.totalPrice -= lineTotal(cartItem);
+        cartItem.setPrice(price);
+        cartItem.setPriceVersion(priceVersion);
+        this.totalPrice += lineTotal(cartItem);
+    }
+
+    /**
+     * 가격 스냅샷이 없던 기존 라인(가격 버전 -1)을 상품의 현재 가격으로 채우고 합계와 라인 수를 다시 집계합니다.
+     * 기존 행은 가격 0, 라인 수 0 이라 변경분만 반영하면 합계가 어긋나므로, 장바구니를 읽을 때마다 먼저 호출합니다.
+     * 기존 라인이 없으면 상품을 읽지 않습니다.
+     */
+    public void migrateLegacyLines() {
+        boolean legacy = false;
         for (CartItem cartItem : this.cartItems) {
-            tprice += (cartItem.getQuantity() * cartItem.getItem().getPrice());
+            if (cartItem.getPriceVersion() < 0) {
+                cartItem.setPrice(cartItem.getItem().getPrice());
+                cartItem.setPriceVersion(cartItem.getItem().getPriceVersion());
+                legacy = true;
+            }
         }
-        this.totalPrice = tprice;
+        if (legacy) {
+            recount();
+        }
+    }
+
+    // 라인 전체로 합계와 라인 수를 다시 집계
+    public void recount() {
+        this.totalPrice = this.cartItems.stream().mapToInt(this::lineTotal).sum();
+        this.lineCount = this.cartItems.size();
+    }
+
+    public void clearLines() {
+        this.cartItems.clear();
+        this.totalPrice = 0;
+        this.lineCount = 0;
+    }
+
+    private int lineTotal(CartItem cartItem) {
+        return cartItem.getQuantity() * cartItem.getPrice();
     }
 }
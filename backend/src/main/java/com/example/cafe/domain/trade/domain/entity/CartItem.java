@@ -13,7 +13,8 @@ import lombok.*;
 @Builder
 public class CartItem {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "cart_item_seq")
+    @SequenceGenerator(name = "cart_item_seq", sequenceName = "cart_item_seq", allocationSize = 50)
     private Long id;
 
     // 각 CartItem은 하나의 Cart에 속함 (N:1)
@@ -28,4 +29,12 @@ public class CartItem {
 
     // 추가: 해당 상품의 수량 등 정보를 담을 수 있음
     private int quantity;
+
+    // 담을 때(또는 마지막 가격 재검증 때)의 단가와 상품 가격 버전. 장바구니 조회 시 상품을 읽지 않고 이 값을 씀
+    @Column(name = "price", nullable = false, columnDefinition = "int default 0")
+    private int price;
+
+    // 스냅샷이 없던 기존 행은 -1 이라 장바구니를 처음 읽을 때 상품의 현재 가격으로 채워짐
+    @Column(name = "price_version", nullable = false, columnDefinition = "bigint default -1")
+    private long priceVersion;
 }
\ No newline at end of file
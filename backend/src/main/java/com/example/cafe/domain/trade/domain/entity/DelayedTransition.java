@@ -0,0 +1,54 @@
+package com.example.cafe.domain.trade.domain.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+
+import java.time.LocalDateTime;
+
+/**
+ * 예약된 주문 상태 변경. 메모리 타이밍 휠이 예약 시각에 실행하고,
+ * 재시작하거나 다른 노드에서 예약된 항목은 이 테이블에서 다시 읽어 실행합니다.
+ */
+@Entity
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+@Builder
+@Table(name = "delayed_transition", indexes = {
+        @Index(name = "idx_delayed_transition_status_due", columnList = "status, due_at")
+})
+@EntityListeners(AuditingEntityListener.class)
+public class DelayedTransition {
+
+    @Id
+    // 관리자 일괄 확인의 saveAll 이 JDBC 배치로 묶이도록 시퀀스 ID 사용
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "delayed_transition_seq")
+    @SequenceGenerator(name = "delayed_transition_seq", sequenceName = "delayed_transition_seq", allocationSize = 50)
+    @Column(name = "delayed_transition_id")
+    private Long id;
+
+    @Column(name = "trade_id", nullable = false)
+    private Long tradeId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "from_status", nullable = false)
+    private TradeStatus fromStatus;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "to_status", nullable = false)
+    private TradeStatus toStatus;
+
+    @Column(name = "due_at", nullable = false)
+    private LocalDateTime dueAt;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false)
+    private DelayedTransitionStatus status;
+
+    @CreatedDate
+    @Column(name = "created_date", updatable = false)
+    private LocalDateTime createdDate;
+}
@@ -0,0 +1,6 @@
+package com.example.cafe.domain.trade.domain.entity;
+
+public enum DelayedTransitionStatus {
+    PENDING,   // 예약 시각 대기
+    DONE       // 상태 변경 실행 완료 (이미 다른 상태로 바뀐 주문은 변경 없이 완료 처리)
+}
@@ -0,0 +1,46 @@
+package com.example.cafe.domain.trade.domain.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * 회원 주문 내역 조회 전용 테이블 (주문 한 건당 한 행).
+ * 주문이 생성되거나 상태가 바뀔 때 같은 트랜잭션에서 OrderHistoryProjector 가 갱신하며,
+ * 주문 상품은 items 에 JSON 으로 함께 저장하므로 조회 시 회원/주문/상품을 따로 읽지 않습니다.
+ */
+@Entity
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+@Builder
+@Table(name = "order_history", indexes = {
+        // 회원의 상태별 주문 내역을 최신순으로 페이지 조회
+        @Index(name = "idx_order_history_member_status_created", columnList = "member_id, trade_status, created_at")
+})
+public class OrderHistory {
+
+    @Id
+    @Column(name = "trade_id")
+    private Long tradeId;
+
+    @Column(name = "member_id", nullable = false)
+    private Long memberId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "trade_status", nullable = false)
+    private TradeStatus tradeStatus;
+
+    @Column(name = "trade_uuid")
+    private String tradeUUID;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    // [{"itemId":1,"quantity":2,"itemName":"..."}]
+    @Lob
+    @Column(name = "items")
+    private String items;
+}
@@ -0,0 +1,18 @@
+package com.example.cafe.domain.trade.domain.entity;
+
+// 주문의 최근 결제 게이트웨이 요청(사전 등록/환불) 반영 상태
+public enum PaymentSyncStatus {
+    PENDING("처리중"),
+    SYNCED("반영완료"),
+    FAILED("반영실패");
+
+    private final String status;
+
+    public String getStatus() {
+        return status;
+    }
+
+    PaymentSyncStatus(String status) {
+        this.status = status;
+    }
+}
@@ -1,6 +1,7 @@
 package com.example.cafe.domain.trade.domain.entity;
 
 import com.example.cafe.domain.member.entity.Member;
+import com.example.cafe.domain.trade.service.history.OrderHistoryListener;
 import jakarta.persistence.*;
 import lombok.*;
 import org.springframework.data.annotation.CreatedDate;
@@ -15,11 +16,20 @@ import java.util.List;
 @AllArgsConstructor
 @Builder
 @Data
-@Table(name = "trade")
-@EntityListeners(AuditingEntityListener.class)
+@Table(name = "trade", indexes = {
+        // 결제 기한이 지난 BUY 주문을 전체 스캔 없이 찾기 위한 인덱스
+        @Index(name = "idx_trade_status_deadline", columnList = "trade_status, reservation_deadline"),
+        // 상태별 일괄 변경 시 trade_id 순서로 끊어 읽기 위한 인덱스
+        @Index(name = "idx_trade_status_id", columnList = "trade_status, trade_id"),
+        // 주문 번호(단건/일괄) 조회용
+        @Index(name = "idx_trade_uuid", columnList = "tradeuuid")
+})
+@EntityListeners({AuditingEntityListener.class, OrderHistoryListener.class})
 public class Trade {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    // IDENTITY 는 insert 마다 즉시 실행되어 JDBC 배치가 꺼지므로 50개 단위로 미리 받아 두는 시퀀스 사용
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "trade_seq")
+    @SequenceGenerator(name = "trade_seq", sequenceName = "trade_seq", allocationSize = 50)
     @Column(name = "trade_id")
     @Setter(AccessLevel.PRIVATE)
     private Long id;
@@ -45,6 +55,15 @@ public class Trade {
     @Column(name = "tradeUUID")
     private String tradeUUID;
 
+    // BUY 상태에서 결제를 기다리는 기한. 지나면 예약한 재고를 반납하고 REFUSED 로 변경
+    @Column(name = "reservation_deadline")
+    private LocalDateTime reservationDeadline;
+
+    // 결제 사전 등록/환불 요청이 PortOne 에 반영되었는지 (PaymentOutboxRelay 가 갱신)
+    @Enumerated(EnumType.STRING)
+    @Column(name = "payment_sync_status")
+    private PaymentSyncStatus paymentSyncStatus;
+
     @CreatedDate
     @Setter(AccessLevel.PRIVATE)
     private LocalDateTime tradeRequestDate;
@@ -12,7 +12,8 @@ import lombok.*;
 @NoArgsConstructor
 public class TradeItem {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "trade_item_seq")
+    @SequenceGenerator(name = "trade_item_seq", sequenceName = "trade_item_seq", allocationSize = 50)
     @Column(name = "trade_item_id")
     private Long id;
 
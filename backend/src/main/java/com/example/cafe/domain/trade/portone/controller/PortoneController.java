@@ -1,7 +1,7 @@
 package com.example.cafe.domain.trade.portone.controller;
 
 import com.example.cafe.domain.trade.portone.domain.dto.WebHook;
-import com.example.cafe.domain.trade.portone.service.PortoneService;
+import com.example.cafe.domain.trade.portone.service.WebhookInboxService;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -17,12 +17,13 @@ import org.springframework.web.bind.annotation.RestController;
 @Tag(name = "PortOne WebHook", description = "결제에 성공하면, 해당 정보가 웹훅으로 전송됩니다.")
 public class PortoneController {
 
-    private final PortoneService portoneService;
+    private final WebhookInboxService webhookInboxService;
 
     @PostMapping("/webhook")
     public void webhook(@RequestBody WebHook webHook) {
         log.info("received : {}, {}, {}, {}", webHook.getImp_uid(), webHook.getMerchant_uid(), webHook.getStatus(), webHook.getCancellation_id());
-        portoneService.validateWebHook(webHook);
+        // 저장만 하고 바로 응답, 결제 조회와 주문 상태 반영은 WebhookInboxWorker 가 처리
+        webhookInboxService.receive(webHook);
     }
 
 }
@@ -0,0 +1,62 @@
+package com.example.cafe.domain.trade.portone.domain.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * 결제 게이트웨이 호출 대기열(transactional outbox).
+ * 주문 트랜잭션 안에서 함께 저장되고, PaymentOutboxRelay 가 커밋 이후 트랜잭션 밖에서 PortOne 을 호출합니다.
+ */
+@Entity
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+@Builder
+@Table(name = "payment_outbox", indexes = {
+        @Index(name = "idx_payment_outbox_status_next", columnList = "status, next_attempt_at")
+})
+@EntityListeners(AuditingEntityListener.class)
+public class PaymentOutbox {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "payment_outbox_id")
+    private Long id;
+
+    @Column(name = "trade_uuid", nullable = false)
+    private String tradeUUID;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "type", nullable = false)
+    private PaymentOutboxType type;
+
+    @Column(name = "amount", nullable = false)
+    private BigDecimal amount;
+
+    // 환불 시 PortOne 에 함께 전달하는 취소 전 결제 금액
+    @Column(name = "checksum_amount")
+    private BigDecimal checksumAmount;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false)
+    private PaymentOutboxStatus status;
+
+    @Column(name = "attempts", nullable = false)
+    private int attempts;
+
+    @Column(name = "next_attempt_at", nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    @Column(name = "last_error", length = 500)
+    private String lastError;
+
+    @CreatedDate
+    @Column(name = "created_date", updatable = false)
+    private LocalDateTime createdDate;
+}
@@ -0,0 +1,7 @@
+package com.example.cafe.domain.trade.portone.domain.entity;
+
+public enum PaymentOutboxStatus {
+    PENDING, // 전송 대기 또는 재시도 대기
+    DONE,    // 전송 완료
+    FAILED   // 최대 재시도 횟수 초과
+}
@@ -0,0 +1,6 @@
+package com.example.cafe.domain.trade.portone.domain.entity;
+
+public enum PaymentOutboxType {
+    PREPARE, // 결제 사전 등록 (postPrepare)
+    REFUND   // 결제 취소/부분 환불
+}
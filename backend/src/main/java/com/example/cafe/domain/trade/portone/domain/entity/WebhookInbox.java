@@ -0,0 +1,68 @@
+package com.example.cafe.domain.trade.portone.domain.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+
+import java.time.LocalDateTime;
+
+/**
+ * 수신한 PortOne 웹훅 보관함(inbox).
+ * 웹훅 요청 스레드는 이 테이블에 저장만 하고 바로 응답하며, 결제 조회와 주문 상태 반영은 WebhookInboxWorker 가 처리합니다.
+ * PortOne 이 같은 이벤트를 다시 보내도 event_key(imp_uid, status, cancellation_id) 유니크 제약으로 한 번만 저장됩니다.
+ */
+@Entity
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+@Builder
+@Table(name = "webhook_inbox",
+        uniqueConstraints = @UniqueConstraint(name = "uk_webhook_inbox_event_key", columnNames = "event_key"),
+        indexes = @Index(name = "idx_webhook_inbox_status_next", columnList = "status, next_attempt_at"))
+@EntityListeners(AuditingEntityListener.class)
+public class WebhookInbox {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "webhook_inbox_id")
+    private Long id;
+
+    @Column(name = "event_key", nullable = false, length = 200)
+    private String eventKey;
+
+    @Column(name = "imp_uid", nullable = false)
+    private String impUid;
+
+    @Column(name = "merchant_uid")
+    private String merchantUid;
+
+    // PortOne 이 보낸 결제 결과 (paid, cancelled 등)
+    @Column(name = "payment_status", nullable = false)
+    private String paymentStatus;
+
+    @Column(name = "cancellation_id")
+    private String cancellationId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false)
+    private WebhookInboxStatus status;
+
+    @Column(name = "attempts", nullable = false)
+    private int attempts;
+
+    @Column(name = "next_attempt_at", nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    @Column(name = "last_error", length = 500)
+    private String lastError;
+
+    @CreatedDate
+    @Column(name = "created_date", updatable = false)
+    private LocalDateTime createdDate;
+
+    public static String eventKeyOf(String impUid, String paymentStatus, String cancellationId) {
+        return impUid + ":" + paymentStatus + ":" + (cancellationId == null ? "" : cancellationId);
+    }
+}
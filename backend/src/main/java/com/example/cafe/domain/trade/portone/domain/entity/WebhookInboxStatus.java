@@ -0,0 +1,7 @@
+package com.example.cafe.domain.trade.portone.domain.entity;
+
+public enum WebhookInboxStatus {
+    RECEIVED,   // 수신 완료, 처리 대기
+    DONE,       // 주문 상태 반영 완료
+    FAILED      // 최대 시도 횟수 초과
+}
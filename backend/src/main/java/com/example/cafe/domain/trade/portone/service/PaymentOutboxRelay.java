@@ -0,0 +1,184 @@
+package com.example.cafe.domain.trade.portone.service;
+
+import com.example.cafe.domain.item.service.ItemStockService;
+import com.example.cafe.domain.trade.domain.entity.PaymentSyncStatus;
+import com.example.cafe.domain.trade.domain.entity.Trade;
+import com.example.cafe.domain.trade.domain.entity.TradeStatus;
+import com.example.cafe.domain.trade.portone.domain.entity.PaymentOutbox;
+import com.example.cafe.domain.trade.portone.domain.entity.PaymentOutboxStatus;
+import com.example.cafe.domain.trade.portone.domain.entity.PaymentOutboxType;
+import com.example.cafe.domain.trade.repository.PaymentOutboxRepository;
+import com.example.cafe.domain.trade.repository.TradeItemRepository;
+import com.example.cafe.domain.trade.repository.TradeRepository;
+import com.example.cafe.global.util.Threads;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * payment_outbox 에 쌓인 PortOne 호출을 트랜잭션 밖에서 실행하고 결과를 주문에 반영합니다.
+ * 실패하면 지수 백오프(지터 포함)로 재시도하고, 최대 횟수를 넘긴 결제 사전 등록은 주문을 취소하고 재고를 반납합니다.
+ * 환불 재시도는 checksum(취소 전 결제 금액)을 함께 보내므로 이미 반영된 환불이 중복 처리되지 않습니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PaymentOutboxRelay {
+
+    private final PaymentOutboxRepository outboxRepository;
+    private final TradeRepository tradeRepository;
+    private final TradeItemRepository tradeItemRepository;
+    private final ItemStockService itemStockService;
+    private final PortoneService portoneService;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${custom.payment.outbox.max-attempts:5}")
+    private int maxAttempts;
+
+    @Value("${custom.payment.outbox.initial-backoff-ms:1000}")
+    private long initialBackoffMs;
+
+    @Value("${custom.payment.outbox.max-backoff-ms:60000}")
+    private long maxBackoffMs;
+
+    @Value("${custom.payment.outbox.batch-size:50}")
+    private int batchSize;
+
+    @Value("${custom.payment.outbox.lease-seconds:30}")
+    private long leaseSeconds;
+
+    @Value("${custom.payment.outbox.threads:4}")
+    private int threads;
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    private ExecutorService executor;
+
+    @PostConstruct
+    public void init() {
+        executor = Executors.newFixedThreadPool(threads, Threads.factory("payment-outbox", virtualThreads));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    public void dispatch(Long outboxId) {
+        try {
+            executor.execute(() -> relay(outboxId));
+        } catch (RejectedExecutionException e) {
+            log.debug("outbox 즉시 전송 생략, 폴링에서 처리 outboxId : [{}]", outboxId);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${custom.payment.outbox.poll-interval-ms:1000}")
+    public void poll() {
+        List<Long> dueIds = outboxRepository.findDueIds(PaymentOutboxStatus.PENDING, LocalDateTime.now(), PageRequest.of(0, batchSize));
+        dueIds.forEach(this::dispatch);
+    }
+
+    // 한 항목을 선점해 전송하고 결과를 기록합니다. 다른 노드/스레드가 선점한 항목이면 아무것도 하지 않습니다.
+    public void relay(Long outboxId) {
+        LocalDateTime now = LocalDateTime.now();
+        Integer claimed = transactionTemplate.execute(status ->
+                outboxRepository.claim(outboxId, now, now.plusSeconds(leaseSeconds)));
+        if (claimed == null || claimed == 0) {
+            return;
+        }
+        PaymentOutbox outbox = outboxRepository.findById(outboxId).orElse(null);
+        if (outbox == null) {
+            return;
+        }
+
+        try {
+            send(outbox);
+        } catch (Exception e) {
+            log.warn("PortOne 요청 실패 type : [{}], tradeUUID : [{}], 시도 : [{}]",
+                    outbox.getType(), outbox.getTradeUUID(), outbox.getAttempts() + 1, e);
+            transactionTemplate.executeWithoutResult(status -> onFailure(outboxId, e));
+            return;
+        }
+        transactionTemplate.executeWithoutResult(status -> onSuccess(outboxId));
+    }
+
+    private void send(PaymentOutbox outbox) throws Exception {
+        switch (outbox.getType()) {
+            case PREPARE -> portoneService.prePurchase(outbox.getTradeUUID(), outbox.getAmount());
+            case REFUND -> portoneService.refund(outbox.getTradeUUID(), outbox.getAmount(), outbox.getChecksumAmount());
+        }
+    }
+
+    private void onSuccess(Long outboxId) {
+        PaymentOutbox outbox = outboxRepository.findById(outboxId).orElseThrow();
+        outbox.setStatus(PaymentOutboxStatus.DONE);
+        outbox.setAttempts(outbox.getAttempts() + 1);
+        outbox.setLastError(null);
+        tradeRepository.findByTradeUUID(outbox.getTradeUUID())
+                .ifPresent(trade -> trade.setPaymentSyncStatus(PaymentSyncStatus.SYNCED));
+    }
+
+    private void onFailure(Long outboxId, Exception error) {
+        PaymentOutbox outbox = outboxRepository.findById(outboxId).orElseThrow();
+        int attempts = outbox.getAttempts() + 1;
+        outbox.setAttempts(attempts);
+        outbox.setLastError(truncate(String.valueOf(error.getMessage())));
+
+        if (attempts < maxAttempts) {
+            outbox.setNextAttemptAt(LocalDateTime.now().plusNanos(backoffMillis(attempts) * 1_000_000L));
+            return;
+        }
+        outbox.setStatus(PaymentOutboxStatus.FAILED);
+        log.error("PortOne 요청 최종 실패 type : [{}], tradeUUID : [{}]", outbox.getType(), outbox.getTradeUUID());
+        if (outbox.getType() == PaymentOutboxType.PREPARE) {
+            cancelUnpreparedTrade(outbox.getTradeUUID());
+        } else {
+            tradeRepository.findByTradeUUID(outbox.getTradeUUID())
+                    .ifPresent(trade -> trade.setPaymentSyncStatus(PaymentSyncStatus.FAILED));
+        }
+    }
+
+    // 결제 사전 등록을 끝내 하지 못한 주문은 결제가 불가능하므로 취소하고 재고를 반납
+    private void cancelUnpreparedTrade(String tradeUUID) {
+        Trade trade = tradeRepository.findByTradeUUIDForUpdate(tradeUUID).orElse(null);
+        if (trade == null) {
+            return;
+        }
+        trade.setPaymentSyncStatus(PaymentSyncStatus.FAILED);
+        if (trade.getTradeStatus() != TradeStatus.BUY) {
+            return;
+        }
+        trade.setTradeStatus(TradeStatus.REFUSED);
+        SortedMap<Long, Integer> quantities = new TreeMap<>();
+        tradeItemRepository.sumQuantitiesByTradeIdIn(List.of(trade.getId()))
+                .forEach(view -> quantities.put(view.getItemId(), view.getQuantity()));
+        itemStockService.restore(quantities);
+    }
+
+    private long backoffMillis(int attempts) {
+        long exponential = initialBackoffMs * (1L << Math.min(attempts - 1, 20));
+        long capped = Math.min(maxBackoffMs, exponential);
+        // 여러 항목이 같은 시각에 몰려 재시도하지 않도록 50~100% 구간의 지터 적용
+        return capped / 2 + ThreadLocalRandom.current().nextLong(capped / 2 + 1);
+    }
+
+    private String truncate(String message) {
+        return message.length() > 500 ? message.substring(0, 500) : message;
+    }
+}
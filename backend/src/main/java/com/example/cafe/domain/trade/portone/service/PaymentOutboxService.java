@@ -0,0 +1,87 @@
+package com.example.cafe.domain.trade.portone.service;
+
+import com.example.cafe.domain.trade.domain.entity.PaymentSyncStatus;
+import com.example.cafe.domain.trade.domain.entity.Trade;
+import com.example.cafe.domain.trade.portone.domain.entity.PaymentOutbox;
+import com.example.cafe.domain.trade.portone.domain.entity.PaymentOutboxStatus;
+import com.example.cafe.domain.trade.portone.domain.entity.PaymentOutboxType;
+import com.example.cafe.domain.trade.repository.PaymentOutboxRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 주문 트랜잭션 안에서 PortOne 호출을 outbox 에 기록합니다.
+ * 실제 호출은 커밋 이후 PaymentOutboxRelay 가 수행하므로 재고/행 락을 잡은 동안 게이트웨이 지연을 기다리지 않습니다.
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional(propagation = Propagation.MANDATORY)
+public class PaymentOutboxService {
+
+    private final PaymentOutboxRepository outboxRepository;
+    private final PaymentOutboxRelay relay;
+
+    @Value("${custom.payment.outbox.dispatch-after-commit:true}")
+    private boolean dispatchAfterCommit;
+
+    public void enqueuePrepare(Trade trade) {
+        enqueuePrepare(trade, BigDecimal.valueOf(trade.getTotalPrice()));
+    }
+
+    public void enqueuePrepare(Trade trade, BigDecimal amount) {
+        trade.setPaymentSyncStatus(PaymentSyncStatus.PENDING);
+        save(newOutbox(trade.getTradeUUID(), PaymentOutboxType.PREPARE, amount, null));
+    }
+
+    public void enqueuePrepareAll(List<Trade> trades) {
+        List<PaymentOutbox> outboxes = trades.stream()
+                .map(trade -> newOutbox(trade.getTradeUUID(), PaymentOutboxType.PREPARE,
+                        BigDecimal.valueOf(trade.getTotalPrice()), null))
+                .toList();
+        outboxRepository.saveAll(outboxes).forEach(this::dispatchAfterCommit);
+    }
+
+    public void enqueueRefund(Trade trade, BigDecimal refundAmount, BigDecimal checksumAmount) {
+        trade.setPaymentSyncStatus(PaymentSyncStatus.PENDING);
+        save(newOutbox(trade.getTradeUUID(), PaymentOutboxType.REFUND, refundAmount, checksumAmount));
+    }
+
+    private void save(PaymentOutbox outbox) {
+        dispatchAfterCommit(outboxRepository.save(outbox));
+    }
+
+    private PaymentOutbox newOutbox(String tradeUUID, PaymentOutboxType type, BigDecimal amount, BigDecimal checksumAmount) {
+        return PaymentOutbox.builder()
+                .tradeUUID(tradeUUID)
+                .type(type)
+                .amount(amount)
+                .checksumAmount(checksumAmount)
+                .status(PaymentOutboxStatus.PENDING)
+                .attempts(0)
+                .nextAttemptAt(LocalDateTime.now())
+                .build();
+    }
+
+    // 주기적 폴링을 기다리지 않도록 커밋 직후 바로 전송을 시도 (실패해도 폴링이 다시 처리)
+    private void dispatchAfterCommit(PaymentOutbox outbox) {
+        if (!dispatchAfterCommit) {
+            return;
+        }
+        Long outboxId = outbox.getId();
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                relay.dispatch(outboxId);
+            }
+        });
+    }
+}
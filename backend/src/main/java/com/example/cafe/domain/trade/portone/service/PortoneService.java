@@ -1,8 +1,6 @@
 package com.example.cafe.domain.trade.portone.service;
 
 import com.example.cafe.domain.trade.domain.entity.Trade;
-import com.example.cafe.domain.trade.domain.entity.TradeStatus;
-import com.example.cafe.domain.trade.portone.domain.dto.WebHook;
 import com.example.cafe.domain.trade.repository.TradeRepository;
 import com.siot.IamportRestClient.IamportClient;
 import com.siot.IamportRestClient.exception.IamportResponseException;
@@ -11,51 +9,67 @@ import com.siot.IamportRestClient.request.PrepareData;
 import com.siot.IamportRestClient.response.IamportResponse;
 import com.siot.IamportRestClient.response.Payment;
 import com.siot.IamportRestClient.response.Prepare;
-import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.io.IOException;
 import java.math.BigDecimal;
 
-import static com.example.cafe.domain.trade.domain.entity.TradeStatus.PAY;
-
 @Slf4j
 @Service
 @RequiredArgsConstructor
 @Transactional
 public class PortoneService {
     private final TradeRepository tradeRepository;
+    private final IamportClient iamportClient;
 
-    @Value("${imp_key}")
-    private String IMP_KEY;
-
-    @Value("${imp_secret}")
-    private String IMP_SECRET;
-
-    private IamportClient iamportClient;
-
-    @PostConstruct
-    public void initializeImportClient() {
-        iamportClient = new IamportClient(IMP_KEY, IMP_SECRET);
-    }
-
+    // 외부 HTTP 호출 동안 DB 커넥션/트랜잭션을 잡고 있지 않도록 트랜잭션 밖에서 실행
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public void prePurchase(String uuid, BigDecimal amount) throws IamportResponseException, IOException {
         log.info("merchantUid = {}", uuid);
 
-        IamportResponse<Prepare> prepareIamportResponse = iamportClient.postPrepare(new PrepareData(uuid, amount));
+        IamportResponse<Prepare> prepareIamportResponse;
+        try {
+            prepareIamportResponse = iamportClient.postPrepare(new PrepareData(uuid, amount));
+        } catch (IamportResponseException e) {
+            if (isPrepared(uuid, amount)) {
+                return;
+            }
+            throw e;
+        }
 
         log.info("return code : {}", prepareIamportResponse.getCode());
         log.info("return message : {}", prepareIamportResponse.getMessage());
 
-        if (prepareIamportResponse.getCode() != 0) {
+        if (prepareIamportResponse.getCode() != 0 && !isPrepared(uuid, amount)) {
             throw new RuntimeException(prepareIamportResponse.getMessage());
         }
     }
 
+    /**
+     * 응답을 받지 못한 이전 시도가 이미 등록했으면 재시도는 "이미 등록된 merchant_uid" 로 거절됩니다.
+     * 같은 금액으로 등록되어 있으면 성공으로 보고, 없거나 금액이 다르면 실패로 둡니다.
+     */
+    private boolean isPrepared(String uuid, BigDecimal amount) throws IOException {
+        IamportResponse<Prepare> prepared;
+        try {
+            prepared = iamportClient.getPrepare(uuid);
+        } catch (IamportResponseException e) {
+            return false;
+        }
+        boolean same = prepared.getCode() == 0 && prepared.getResponse() != null
+                && prepared.getResponse().getAmount() != null
+                && prepared.getResponse().getAmount().compareTo(amount) == 0;
+        if (same) {
+            log.info("이미 같은 금액으로 사전 등록된 주문 merchantUid : {}", uuid);
+        }
+        return same;
+    }
+
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public void refund(String uuid, BigDecimal refundAmount, BigDecimal checkSumAmount) {
         Trade refundTrade = tradeRepository.findByTradeUUID(uuid)
                 .orElseThrow(() -> new RuntimeException("환불 요청에 대한 해당 거래를 찾을 수 없음"));
@@ -78,31 +92,19 @@ public class PortoneService {
     }
 
 
-    public void validateWebHook(WebHook webHook) {
+    // 웹훅으로 받은 결제 번호의 실제 결제 정보를 PortOne 에서 조회 (WebhookInboxWorker 가 트랜잭션 밖에서 호출)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public Payment fetchPayment(String impUid) {
         IamportResponse<Payment> paymentIamportResponse;
-
         try {
-            paymentIamportResponse = iamportClient.paymentByImpUid(webHook.getImp_uid());
-        } catch (IamportResponseException e) {
-            throw new RuntimeException(e);
-        } catch (IOException e) {
-            throw new RuntimeException(e);
-        }
-
-        Trade findTrade = tradeRepository.findByTradeUUID(paymentIamportResponse.getResponse().getMerchantUid()).orElseThrow(() -> new RuntimeException("WEB HOOK 과 일치하는 거래 내역을 찾을 수 없습니다."));
-
-        if (webHook.getStatus().equals("cancelled")) {
-            findTrade.setTradeStatus(TradeStatus.REFUND);
-            log.info("response.cancelAmount:{}", paymentIamportResponse.getResponse().getCancelAmount());
-            findTrade.setTotalPrice(paymentIamportResponse.getResponse().getAmount().intValue() - paymentIamportResponse.getResponse().getCancelAmount().intValue());
+            paymentIamportResponse = iamportClient.paymentByImpUid(impUid);
+        } catch (IamportResponseException | IOException e) {
+            throw new RuntimeException("port one 결제 조회 실패", e);
         }
-
-        if (webHook.getStatus().equals("paid")) {
-            findTrade.setTradeStatus(PAY);
-            log.info("response.amount:{}", paymentIamportResponse.getResponse().getAmount());
+        if (paymentIamportResponse.getResponse() == null) {
+            throw new RuntimeException("결제 조회 API 응답이 올바르지 않습니다.");
         }
-
-        log.info("web hook 인증 결과 이상 없음, TradeId : [{}] 결제 완료.", findTrade.getId());
+        return paymentIamportResponse.getResponse();
     }
 
 }
\ No newline at end of file
@@ -0,0 +1,55 @@
+package com.example.cafe.domain.trade.portone.service;
+
+import com.example.cafe.domain.trade.portone.domain.dto.WebHook;
+import com.example.cafe.domain.trade.portone.domain.entity.WebhookInbox;
+import com.example.cafe.domain.trade.portone.domain.entity.WebhookInboxStatus;
+import com.example.cafe.domain.trade.repository.WebhookInboxRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+
+/**
+ * 웹훅 수신 단계. 이벤트를 webhook_inbox 에 저장만 하고 바로 반환하므로 요청 스레드가 PortOne 조회나 주문 행 잠금을 기다리지 않습니다.
+ * 이미 받은 이벤트(PortOne 재전송)는 저장하지 않고 무시합니다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class WebhookInboxService {
+
+    private final WebhookInboxRepository inboxRepository;
+    private final WebhookInboxWorker worker;
+    private final TransactionTemplate transactionTemplate;
+
+    public void receive(WebHook webHook) {
+        if (webHook.getImp_uid() == null || webHook.getStatus() == null) {
+            throw new IllegalArgumentException("imp_uid 와 status 는 필수입니다.");
+        }
+        String eventKey = WebhookInbox.eventKeyOf(webHook.getImp_uid(), webHook.getStatus(), webHook.getCancellation_id());
+        if (inboxRepository.existsByEventKey(eventKey)) {
+            log.info("중복 웹훅 무시 eventKey : [{}]", eventKey);
+            return;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> inboxRepository.save(WebhookInbox.builder()
+                    .eventKey(eventKey)
+                    .impUid(webHook.getImp_uid())
+                    .merchantUid(webHook.getMerchant_uid())
+                    .paymentStatus(webHook.getStatus())
+                    .cancellationId(webHook.getCancellation_id())
+                    .status(WebhookInboxStatus.RECEIVED)
+                    .attempts(0)
+                    .nextAttemptAt(LocalDateTime.now())
+                    .build()));
+        } catch (DataIntegrityViolationException e) {
+            // 같은 이벤트가 동시에 두 번 도착한 경우: 먼저 저장된 쪽이 처리
+            log.info("중복 웹훅 무시 eventKey : [{}]", eventKey);
+            return;
+        }
+        worker.wakeUp();
+    }
+}
@@ -0,0 +1,233 @@
+package com.example.cafe.domain.trade.portone.service;
+
+import com.example.cafe.domain.trade.domain.entity.Trade;
+import com.example.cafe.domain.trade.portone.domain.entity.WebhookInbox;
+import com.example.cafe.domain.trade.portone.domain.entity.WebhookInboxStatus;
+import com.example.cafe.domain.trade.repository.TradeRepository;
+import com.example.cafe.domain.trade.repository.WebhookInboxRepository;
+import com.example.cafe.global.util.Threads;
+import com.siot.IamportRestClient.response.Payment;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static com.example.cafe.domain.trade.domain.entity.TradeStatus.*;
+
+/**
+ * webhook_inbox 에 쌓인 이벤트를 배치로 처리합니다.
+ * 배치마다 PortOne 결제 조회는 크기가 제한된 스레드 풀에서 트랜잭션 밖에서 동시에 실행하고,
+ * 주문 상태 반영은 관련 주문을 ID 순으로 한 번에 잠가 한 트랜잭션에서 처리합니다.
+ * 배치 반영이 실패하면 이벤트별로 다시 반영해 문제 있는 이벤트만 재시도 대상으로 남깁니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class WebhookInboxWorker {
+
+    private final WebhookInboxRepository inboxRepository;
+    private final TradeRepository tradeRepository;
+    private final PortoneService portoneService;
+    private final PaymentOutboxService paymentOutboxService;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${custom.payment.webhook.batch-size:100}")
+    private int batchSize;
+
+    @Value("${custom.payment.webhook.threads:8}")
+    private int threads;
+
+    @Value("${custom.payment.webhook.max-attempts:10}")
+    private int maxAttempts;
+
+    @Value("${custom.payment.webhook.initial-backoff-ms:1000}")
+    private long initialBackoffMs;
+
+    @Value("${custom.payment.webhook.max-backoff-ms:60000}")
+    private long maxBackoffMs;
+
+    @Value("${custom.payment.webhook.lease-seconds:60}")
+    private long leaseSeconds;
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    private ExecutorService lookupExecutor;
+    private ExecutorService drainExecutor;
+    private final AtomicBoolean draining = new AtomicBoolean(false);
+
+    @PostConstruct
+    public void init() {
+        // 큐가 차면 배치를 처리하는 스레드가 직접 조회하므로 대기 작업이 무한히 쌓이지 않음
+        lookupExecutor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(batchSize), Threads.factory("webhook-lookup", virtualThreads),
+                new ThreadPoolExecutor.CallerRunsPolicy());
+        drainExecutor = Executors.newSingleThreadExecutor(Threads.factory("webhook-drain", virtualThreads));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        drainExecutor.shutdown();
+        lookupExecutor.shutdown();
+    }
+
+    // 새 이벤트가 저장되면 폴링 주기를 기다리지 않고 처리 시작 (이미 처리 중이면 그 루프가 이어서 처리)
+    public void wakeUp() {
+        if (draining.compareAndSet(false, true)) {
+            try {
+                drainExecutor.execute(this::drain);
+            } catch (RejectedExecutionException e) {
+                draining.set(false);
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${custom.payment.webhook.poll-interval-ms:1000}")
+    public void poll() {
+        wakeUp();
+    }
+
+    private void drain() {
+        try {
+            while (processBatch() == batchSize) {
+                // 가득 찬 배치였으면 남은 이벤트가 있을 수 있으므로 계속 처리
+            }
+        } catch (RuntimeException e) {
+            log.error("웹훅 배치 처리 실패", e);
+        } finally {
+            draining.set(false);
+        }
+    }
+
+    /**
+     * 처리 시각이 된 이벤트를 최대 batch-size 개 처리합니다.
+     *
+     * @return 조회한 이벤트 수
+     */
+    public int processBatch() {
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> dueIds = inboxRepository.findDueIds(WebhookInboxStatus.RECEIVED, now, PageRequest.of(0, batchSize));
+        if (dueIds.isEmpty()) {
+            return 0;
+        }
+        List<Long> claimedIds = transactionTemplate.execute(status -> dueIds.stream()
+                .filter(id -> inboxRepository.claim(id, now, now.plusSeconds(leaseSeconds)) == 1)
+                .toList());
+        List<WebhookInbox> events = inboxRepository.findAllById(claimedIds).stream()
+                .sorted(Comparator.comparing(WebhookInbox::getId))
+                .toList();
+
+        Map<Long, CompletableFuture<Payment>> lookups = new LinkedHashMap<>();
+        for (WebhookInbox event : events) {
+            lookups.put(event.getId(), CompletableFuture.supplyAsync(() -> portoneService.fetchPayment(event.getImpUid()), lookupExecutor));
+        }
+        List<ResolvedEvent> resolved = new ArrayList<>();
+        Map<Long, RuntimeException> failures = new LinkedHashMap<>();
+        for (WebhookInbox event : events) {
+            try {
+                resolved.add(new ResolvedEvent(event.getId(), event.getPaymentStatus(), lookups.get(event.getId()).join()));
+            } catch (CompletionException e) {
+                failures.put(event.getId(), e.getCause() instanceof RuntimeException cause ? cause : e);
+            }
+        }
+
+        if (!resolved.isEmpty()) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> apply(resolved));
+            } catch (RuntimeException e) {
+                log.warn("웹훅 배치 반영 실패, 이벤트별로 다시 반영 건수 : [{}]", resolved.size(), e);
+                for (ResolvedEvent event : resolved) {
+                    try {
+                        transactionTemplate.executeWithoutResult(status -> apply(List.of(event)));
+                    } catch (RuntimeException single) {
+                        failures.put(event.inboxId(), single);
+                    }
+                }
+            }
+        }
+        failures.forEach((inboxId, error) -> transactionTemplate.executeWithoutResult(status -> onFailure(inboxId, error)));
+        return dueIds.size();
+    }
+
+    private void apply(List<ResolvedEvent> events) {
+        Set<String> tradeUUIDs = events.stream()
+                .map(event -> event.payment().getMerchantUid())
+                .collect(Collectors.toCollection(TreeSet::new));
+        Map<String, Trade> trades = tradeRepository.findAllByTradeUUIDInForUpdate(tradeUUIDs).stream()
+                .collect(Collectors.toMap(Trade::getTradeUUID, Function.identity()));
+        Map<Long, WebhookInbox> inbox = inboxRepository.findAllById(events.stream().map(ResolvedEvent::inboxId).toList()).stream()
+                .collect(Collectors.toMap(WebhookInbox::getId, Function.identity()));
+
+        for (ResolvedEvent event : events) {
+            Trade trade = trades.get(event.payment().getMerchantUid());
+            if (trade == null) {
+                throw new RuntimeException("WEB HOOK 과 일치하는 거래 내역을 찾을 수 없습니다.");
+            }
+            applyToTrade(trade, event);
+            WebhookInbox done = inbox.get(event.inboxId());
+            done.setStatus(WebhookInboxStatus.DONE);
+            done.setAttempts(done.getAttempts() + 1);
+            done.setLastError(null);
+        }
+    }
+
+    private void applyToTrade(Trade trade, ResolvedEvent event) {
+        Payment payment = event.payment();
+        if (event.paymentStatus().equals("cancelled")) {
+            trade.setTradeStatus(REFUND);
+            log.info("response.cancelAmount:{}", payment.getCancelAmount());
+            trade.setTotalPrice(payment.getAmount().intValue() - payment.getCancelAmount().intValue());
+        }
+
+        if (event.paymentStatus().equals("paid")) {
+            if (trade.getTradeStatus() == REFUSED) {
+                // 결제 기한이 지나 재고를 이미 반납한 주문: 결제를 확정하지 않고 outbox 로 전액 취소
+                log.warn("취소된 주문에 대한 결제 수신, 전액 취소 진행 TradeId : [{}]", trade.getId());
+                BigDecimal paidAmount = payment.getAmount();
+                paymentOutboxService.enqueueRefund(trade, paidAmount, paidAmount);
+                return;
+            }
+            if (trade.getTradeStatus() != BUY) {
+                log.info("이미 결제 처리된 주문 TradeId : [{}], 상태 : [{}]", trade.getId(), trade.getTradeStatus());
+                return;
+            }
+            trade.setTradeStatus(PAY);
+            log.info("response.amount:{}", payment.getAmount());
+        }
+
+        log.info("web hook 인증 결과 이상 없음, TradeId : [{}] 결제 완료.", trade.getId());
+    }
+
+    private void onFailure(Long inboxId, RuntimeException error) {
+        WebhookInbox event = inboxRepository.findById(inboxId).orElseThrow();
+        int attempts = event.getAttempts() + 1;
+        event.setAttempts(attempts);
+        String message = String.valueOf(error.getMessage());
+        event.setLastError(message.length() > 500 ? message.substring(0, 500) : message);
+        if (attempts >= maxAttempts) {
+            event.setStatus(WebhookInboxStatus.FAILED);
+            log.error("웹훅 처리 최종 실패 impUid : [{}], status : [{}]", event.getImpUid(), event.getPaymentStatus(), error);
+            return;
+        }
+        long backoff = Math.min(maxBackoffMs, initialBackoffMs * (1L << Math.min(attempts - 1, 20)));
+        long jittered = backoff / 2 + ThreadLocalRandom.current().nextLong(backoff / 2 + 1);
+        event.setNextAttemptAt(LocalDateTime.now().plusNanos(jittered * 1_000_000L));
+        log.warn("웹훅 처리 실패, 재시도 예정 impUid : [{}], 시도 : [{}]", event.getImpUid(), attempts);
+    }
+
+    private record ResolvedEvent(Long inboxId, String paymentStatus, Payment payment) {
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.cafe.domain.trade.repository;
+
+import com.example.cafe.domain.trade.domain.entity.DelayedTransition;
+import com.example.cafe.domain.trade.domain.entity.DelayedTransitionStatus;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface DelayedTransitionRepository extends JpaRepository<DelayedTransition, Long> {
+
+    // 휠 적재/복구용: (status, due_at) 인덱스를 따라 예약 시각 순으로 (dueAt, id) 커서 뒤를 끊어 읽기
+    @Query("select d from DelayedTransition d where d.status = :status and d.dueAt <= :until " +
+            "and (d.dueAt > :afterDueAt or (d.dueAt = :afterDueAt and d.id > :afterId)) " +
+            "order by d.dueAt, d.id")
+    List<DelayedTransition> findPendingAfter(@Param("status") DelayedTransitionStatus status, @Param("until") LocalDateTime until,
+                                             @Param("afterDueAt") LocalDateTime afterDueAt, @Param("afterId") Long afterId,
+                                             Pageable pageable);
+
+    // 여러 노드가 같은 항목을 중복 실행하지 않도록 아직 PENDING 인 행만 잠가 조회
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select d from DelayedTransition d where d.id in :ids and d.status = :status order by d.id")
+    List<DelayedTransition> findAllByIdInForUpdate(@Param("ids") Collection<Long> ids, @Param("status") DelayedTransitionStatus status);
+
+    @Modifying
+    @Query("update DelayedTransition d set d.status = :to where d.id in :ids")
+    int updateStatusByIdIn(@Param("ids") Collection<Long> ids, @Param("to") DelayedTransitionStatus to);
+}
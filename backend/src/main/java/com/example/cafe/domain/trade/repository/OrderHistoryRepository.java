@@ -0,0 +1,26 @@
+package com.example.cafe.domain.trade.repository;
+
+import com.example.cafe.domain.trade.domain.entity.OrderHistory;
+import com.example.cafe.domain.trade.domain.entity.TradeStatus;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+
+public interface OrderHistoryRepository extends JpaRepository<OrderHistory, Long> {
+
+    // (member_id, trade_status, created_at) 인덱스를 따라 최신순 한 페이지만 읽음. 다음 페이지 확인용으로 한 건 더 읽음
+    @Query("select h from OrderHistory h where h.memberId = :memberId and h.tradeStatus = :status " +
+            "order by h.createdAt desc, h.tradeId desc")
+    Slice<OrderHistory> findPage(@Param("memberId") Long memberId, @Param("status") TradeStatus status, Pageable pageable);
+
+    // 주문 상태 일괄 변경(updateStatusByIdIn)과 같은 조건으로 내역 상태를 맞춤
+    @Modifying
+    @Query("update OrderHistory h set h.tradeStatus = :to where h.tradeId in :tradeIds and h.tradeStatus = :from")
+    int updateStatusByTradeIdIn(@Param("tradeIds") Collection<Long> tradeIds, @Param("from") TradeStatus from,
+                                @Param("to") TradeStatus to);
+}
@@ -0,0 +1,25 @@
+package com.example.cafe.domain.trade.repository;
+
+import com.example.cafe.domain.trade.portone.domain.entity.PaymentOutbox;
+import com.example.cafe.domain.trade.portone.domain.entity.PaymentOutboxStatus;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface PaymentOutboxRepository extends JpaRepository<PaymentOutbox, Long> {
+
+    @Query("select o.id from PaymentOutbox o where o.status = :status and o.nextAttemptAt <= :now order by o.nextAttemptAt")
+    List<Long> findDueIds(@Param("status") PaymentOutboxStatus status, @Param("now") LocalDateTime now, Pageable pageable);
+
+    // 여러 노드가 같은 항목을 동시에 보내지 않도록 다음 시도 시각을 임대 만료 시각으로 미루며 선점
+    @Modifying
+    @Query("update PaymentOutbox o set o.nextAttemptAt = :leaseUntil " +
+            "where o.id = :id and o.status = com.example.cafe.domain.trade.portone.domain.entity.PaymentOutboxStatus.PENDING " +
+            "and o.nextAttemptAt <= :now")
+    int claim(@Param("id") Long id, @Param("now") LocalDateTime now, @Param("leaseUntil") LocalDateTime leaseUntil);
+}
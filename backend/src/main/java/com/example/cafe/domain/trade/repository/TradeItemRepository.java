@@ -1,8 +1,22 @@
 package com.example.cafe.domain.trade.repository;
 
+import com.example.cafe.domain.trade.domain.dto.TradeItemQuantityView;
+import com.example.cafe.domain.trade.domain.dto.TradeLineView;
 import com.example.cafe.domain.trade.domain.entity.TradeItem;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
 
 public interface TradeItemRepository extends JpaRepository<TradeItem, Long> {
 
+    @Query("select ti.item.id as itemId, cast(sum(ti.quantity) as Integer) as quantity from TradeItem ti " +
+            "where ti.trade.id in :tradeIds group by ti.item.id")
+    List<TradeItemQuantityView> sumQuantitiesByTradeIdIn(@Param("tradeIds") Collection<Long> tradeIds);
+
+    @Query("select ti.trade.id as tradeId, i.id as itemId, i.itemName as itemName, ti.quantity as quantity " +
+            "from TradeItem ti join ti.item i where ti.trade.id in :tradeIds order by ti.id")
+    List<TradeLineView> findLinesByTradeIdIn(@Param("tradeIds") Collection<Long> tradeIds);
 }
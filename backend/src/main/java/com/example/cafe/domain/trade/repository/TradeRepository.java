@@ -1,17 +1,63 @@
 package com.example.cafe.domain.trade.repository;
 
+import com.example.cafe.domain.trade.domain.dto.TradeUpdatedView;
 import com.example.cafe.domain.trade.domain.entity.Trade;
 import com.example.cafe.domain.trade.domain.entity.TradeStatus;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
-public interface TradeRepository extends JpaRepository<Trade, Long> {
+public interface TradeRepository extends JpaRepository<Trade, Long>, TradeRepositoryCustom {
     Optional<Trade> findByTradeUUID(String tradeUUID);
 
+    // 결제 처리와 예약 만료가 같은 주문의 상태를 동시에 바꾸지 않도록 행을 잠가 조회
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select t from Trade t where t.tradeUUID = :tradeUUID")
+    Optional<Trade> findByTradeUUIDForUpdate(@Param("tradeUUID") String tradeUUID);
+
+    // 웹훅 배치 반영용: 여러 주문을 항상 ID 순으로 잠가 조회
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select t from Trade t where t.tradeUUID in :tradeUUIDs order by t.id")
+    List<Trade> findAllByTradeUUIDInForUpdate(@Param("tradeUUIDs") Collection<String> tradeUUIDs);
+
+    // (trade_status, reservation_deadline) 인덱스를 타는 만료 대상 조회
+    @Query("select t.id from Trade t where t.tradeStatus = :status and t.reservationDeadline <= :now " +
+            "order by t.reservationDeadline")
+    List<Long> findExpiredReservationIds(@Param("status") TradeStatus status, @Param("now") LocalDateTime now, Pageable pageable);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select t from Trade t where t.id in :ids and t.tradeStatus = :status and t.reservationDeadline <= :now " +
+            "order by t.id")
+    List<Trade> findExpiredReservationsForUpdate(@Param("ids") Collection<Long> ids, @Param("status") TradeStatus status,
+                                                 @Param("now") LocalDateTime now);
+
+    // 상태별 일괄 변경용 keyset 조회 ((trade_status, trade_id) 인덱스 사용)
+    @Query("select t.id from Trade t where t.tradeStatus = :status and t.id > :afterId order by t.id")
+    List<Long> findIdsByStatusAfter(@Param("status") TradeStatus status, @Param("afterId") Long afterId, Pageable pageable);
+
+    // 지연 상태 변경 보완용: PENDING 예약 없이 status 에 머물러 있는 주문을 keyset 으로 조회
+    @Query("select t.id as id, t.tradeUpdatedDate as tradeUpdatedDate from Trade t " +
+            "where t.tradeStatus = :status and t.id > :afterId and not exists (" +
+            "select d.id from DelayedTransition d where d.tradeId = t.id and d.fromStatus = :status " +
+            "and d.status = com.example.cafe.domain.trade.domain.entity.DelayedTransitionStatus.PENDING) " +
+            "order by t.id")
+    List<TradeUpdatedView> findUnscheduledByStatusAfter(@Param("status") TradeStatus status, @Param("afterId") Long afterId,
+                                                        Pageable pageable);
+
+    @Modifying
+    @Query("update Trade t set t.tradeStatus = :to, t.tradeUpdatedDate = :now where t.id in :ids and t.tradeStatus = :from")
+    int updateStatusByIdIn(@Param("ids") Collection<Long> ids, @Param("from") TradeStatus from,
+                           @Param("to") TradeStatus to, @Param("now") LocalDateTime now);
+
     List<Trade> findByTradeStatus(TradeStatus tradeStatus);
 
     @Query("SELECT CASE WHEN COUNT(ti) > 0 THEN true ELSE false END FROM Trade t " +
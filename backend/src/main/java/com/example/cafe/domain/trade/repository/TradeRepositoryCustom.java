@@ -0,0 +1,22 @@
+package com.example.cafe.domain.trade.repository;
+
+import com.example.cafe.domain.trade.domain.dto.TradeSummaryView;
+import com.example.cafe.domain.trade.domain.entity.TradeStatus;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface TradeRepositoryCustom {
+
+    /**
+     * 관리자 주문 목록: trade_id 내림차순 keyset 페이지.
+     * 주어진 조건만 WHERE 절에 넣으므로 조건 조합마다 맞는 인덱스를 탈 수 있습니다.
+     *
+     * @param status 주문 상태 (null 이면 조건 없음)
+     * @param from   주문 일시 시작, 포함 (null 이면 조건 없음)
+     * @param to     주문 일시 끝, 제외 (null 이면 조건 없음)
+     * @param cursor 이 ID 보다 작은 주문만 조회
+     * @param limit  최대 조회 건수
+     */
+    List<TradeSummaryView> findSummaries(TradeStatus status, LocalDateTime from, LocalDateTime to, Long cursor, int limit);
+}
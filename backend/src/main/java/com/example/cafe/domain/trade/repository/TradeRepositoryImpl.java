@@ -0,0 +1,72 @@
+package com.example.cafe.domain.trade.repository;
+
+import com.example.cafe.domain.trade.domain.dto.TradeSummaryView;
+import com.example.cafe.domain.trade.domain.entity.Trade;
+import com.example.cafe.domain.trade.domain.entity.TradeStatus;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+public class TradeRepositoryImpl implements TradeRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<TradeSummaryView> findSummaries(TradeStatus status, LocalDateTime from, LocalDateTime to, Long cursor, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Trade> trade = query.from(Trade.class);
+
+        // ":x is null or ..." 대신 주어진 조건만 추가
+        List<Predicate> predicates = new ArrayList<>();
+        predicates.add(cb.lessThan(trade.get("id"), cursor));
+        if (status != null) {
+            predicates.add(cb.equal(trade.get("tradeStatus"), status));
+        }
+        if (from != null) {
+            predicates.add(cb.greaterThanOrEqualTo(trade.get("tradeRequestDate"), from));
+        }
+        if (to != null) {
+            predicates.add(cb.lessThan(trade.get("tradeRequestDate"), to));
+        }
+
+        query.multiselect(trade.get("id"), trade.get("tradeUUID"), trade.get("tradeStatus"), trade.get("totalPrice"),
+                        trade.get("email"), trade.get("tradeRequestDate"))
+                .where(predicates.toArray(new Predicate[0]))
+                .orderBy(cb.desc(trade.get("id")));
+
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultStream()
+                .map(row -> (TradeSummaryView) new TradeSummary(
+                        row.get(0, Long.class),
+                        row.get(1, String.class),
+                        row.get(2, TradeStatus.class),
+                        row.get(3, Integer.class),
+                        row.get(4, String.class),
+                        row.get(5, LocalDateTime.class)))
+                .toList();
+    }
+
+    @Getter
+    @AllArgsConstructor
+    private static class TradeSummary implements TradeSummaryView {
+        private final Long id;
+        private final String tradeUUID;
+        private final TradeStatus tradeStatus;
+        private final Integer totalPrice;
+        private final String email;
+        private final LocalDateTime tradeRequestDate;
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.cafe.domain.trade.repository;
+
+import com.example.cafe.domain.trade.portone.domain.entity.WebhookInbox;
+import com.example.cafe.domain.trade.portone.domain.entity.WebhookInboxStatus;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface WebhookInboxRepository extends JpaRepository<WebhookInbox, Long> {
+
+    boolean existsByEventKey(String eventKey);
+
+    @Query("select w.id from WebhookInbox w where w.status = :status and w.nextAttemptAt <= :now order by w.id")
+    List<Long> findDueIds(@Param("status") WebhookInboxStatus status, @Param("now") LocalDateTime now, Pageable pageable);
+
+    // 여러 노드/스레드가 같은 이벤트를 동시에 처리하지 않도록 다음 시도 시각을 임대 만료 시각으로 미루며 선점
+    @Modifying
+    @Query("update WebhookInbox w set w.nextAttemptAt = :leaseUntil " +
+            "where w.id = :id and w.status = com.example.cafe.domain.trade.portone.domain.entity.WebhookInboxStatus.RECEIVED " +
+            "and w.nextAttemptAt <= :now")
+    int claim(@Param("id") Long id, @Param("now") LocalDateTime now, @Param("leaseUntil") LocalDateTime leaseUntil);
+}
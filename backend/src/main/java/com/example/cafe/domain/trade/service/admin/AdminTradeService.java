@@ -1,21 +1,29 @@
 package com.example.cafe.domain.trade.service.admin;
 
-import com.example.cafe.domain.member.entity.Member;
-import com.example.cafe.domain.member.repository.MemberRepository;
+import com.example.cafe.domain.trade.domain.dto.TradeLineView;
+import com.example.cafe.domain.trade.domain.dto.TradeSummaryView;
 import com.example.cafe.domain.trade.domain.dto.request.AdminConfirmRequestDto;
+import com.example.cafe.domain.trade.domain.dto.response.AdminBulkTransitionResponseDto;
+import com.example.cafe.domain.trade.domain.dto.response.AdminBulkTransitionResponseDto.Outcome;
+import com.example.cafe.domain.trade.domain.dto.response.AdminBulkTransitionResponseDto.TradeResult;
+import com.example.cafe.domain.trade.domain.dto.response.AdminTradePageResponseDto;
 import com.example.cafe.domain.trade.domain.dto.response.OrderResponseDto;
 import com.example.cafe.domain.trade.domain.dto.response.OrdersResponseDto;
 import com.example.cafe.domain.trade.domain.entity.Trade;
-import com.example.cafe.domain.trade.domain.entity.TradeItem;
 import com.example.cafe.domain.trade.domain.entity.TradeStatus;
 import com.example.cafe.domain.trade.portone.service.PortoneService;
+import com.example.cafe.domain.trade.repository.TradeItemRepository;
 import com.example.cafe.domain.trade.repository.TradeRepository;
+import com.example.cafe.domain.trade.service.history.OrderHistoryProjector;
+import com.example.cafe.domain.trade.service.scheduler.DelayedTransitionScheduler;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import java.time.Duration;
 import java.time.LocalDateTime;
-import java.util.ArrayList;
-import java.util.List;
+import java.util.*;
+import java.util.function.Function;
 
 import static com.example.cafe.domain.trade.domain.entity.TradeStatus.*;
 
@@ -25,9 +33,19 @@ import static com.example.cafe.domain.trade.domain.entity.TradeStatus.*;
 @Transactional
 public class AdminTradeService {
 
+    private static final int ALL_TRADES_PAGE_SIZE = 500;
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final int MAX_BULK_SIZE = 1000;
+
     private final TradeRepository tradeRepository;
-    private final MemberRepository memberRepository;
+    private final TradeItemRepository tradeItemRepository;
     private final PortoneService portoneService;
+    private final DelayedTransitionScheduler delayedTransitionScheduler;
+    private final OrderHistoryProjector orderHistoryProjector;
+
+    // 2시 이후 확인된 주문이 배송 대기(PREPARE_DELIVERY)에서 배송 준비(BEFORE_DELIVERY)로 넘어가기까지의 시간
+    @Value("${custom.delivery.transition.prepare-delay:PT10M}")
+    private Duration prepareDelay;
 
 
     //주문이 PAY 이면 -> TradeStatus 변경 (2시 이전 , 2시 이후)
@@ -46,6 +64,7 @@ public class AdminTradeService {
         } else {
             //2시 이후
             trade.setTradeStatus(PREPARE_DELIVERY);
+            delayedTransitionScheduler.schedule(trade.getId(), PREPARE_DELIVERY, TradeStatus.BEFORE_DELIVERY, prepareDelay);
         }
 
         return new OrderResponseDto(
@@ -109,57 +128,151 @@ public class AdminTradeService {
         );
     }
 
-    //관리자 주문 전체 조회
-    public OrdersResponseDto showAllTradeItems() {
-        List<Long> allMemberIds = memberRepository.findAllMemberIds();
-        List<Trade> trades = new ArrayList<>();
+    // 여러 주문 결제 확인. 주문별로 adminConfirm 과 같은 기준(2시 이전/이후)으로 상태를 나눠 한 번에 변경
+    public AdminBulkTransitionResponseDto bulkConfirm(List<String> tradeUUIDs) {
+        return bulkTransition(tradeUUIDs, PAY, trade -> {
+            LocalDateTime updatedDate = trade.getTradeUpdatedDate();
+            return updatedDate.isBefore(updatedDate.toLocalDate().atTime(14, 0)) ? BEFORE_DELIVERY : PREPARE_DELIVERY;
+        });
+    }
+
+    public AdminBulkTransitionResponseDto bulkPrepareDelivery(List<String> tradeUUIDs) {
+        return bulkTransition(tradeUUIDs, PREPARE_DELIVERY, trade -> BEFORE_DELIVERY);
+    }
+
+    public AdminBulkTransitionResponseDto bulkSetInDelivery(List<String> tradeUUIDs) {
+        return bulkTransition(tradeUUIDs, BEFORE_DELIVERY, trade -> IN_DELIVERY);
+    }
 
-        for (Long allMemberId : allMemberIds) {
-            Member member = getMember(allMemberId);
-            List<Trade> memberTrades = member.getTrades();
-            trades.addAll(memberTrades);
+    public AdminBulkTransitionResponseDto bulkSetPostDelivery(List<String> tradeUUIDs) {
+        return bulkTransition(tradeUUIDs, IN_DELIVERY, trade -> POST_DELIVERY);
+    }
+
+    /**
+     * 요청한 주문들을 ID 순으로 잠가 한 번에 조회한 뒤, from 상태인 주문만 바뀔 상태별로 모아 일괄 UPDATE 합니다.
+     * UPDATE 에도 from 상태 조건이 들어가므로 상태 검증은 SQL 에서 한 번 더 이루어지며, 주문마다 결과를 돌려줍니다.
+     */
+    private AdminBulkTransitionResponseDto bulkTransition(List<String> tradeUUIDs, TradeStatus from,
+                                                          Function<Trade, TradeStatus> target) {
+        List<String> uuids = tradeUUIDs == null ? List.of() : tradeUUIDs.stream()
+                .filter(Objects::nonNull)
+                .distinct()
+                .toList();
+        if (uuids.isEmpty()) {
+            throw new IllegalArgumentException("변경할 주문 번호가 없습니다.");
         }
-        OrdersResponseDto response = new OrdersResponseDto();
-        for (Trade trade : trades) {
-            List<TradeItem> tradeItems = trade.getTradeItems();
-            OrdersResponseDto.OrderItemsDto orderItemsDto = new OrdersResponseDto.OrderItemsDto();
-            orderItemsDto.setTradeUUID(trade.getTradeUUID());
-            for (TradeItem tradeItem : tradeItems) {
-                OrdersResponseDto.OrderItemDto itemDto = new OrdersResponseDto.OrderItemDto(tradeItem.getItem().getId(), tradeItem.getQuantity(), tradeItem.getItem().getItemName());
-                orderItemsDto.getOrderItemDtoList().add(itemDto);
-            }
-            if (trade.getTradeStatus().equals(BUY)) {
-                response.getBuyList().add(orderItemsDto);
-            }
-            if (trade.getTradeStatus().equals(PAY)) {
-                response.getPayList().add(orderItemsDto);
-            }
-            if (trade.getTradeStatus().equals(PREPARE_DELIVERY)) {
-                response.getPrepareDeliveryList().add(orderItemsDto);
-            }
-            if (trade.getTradeStatus().equals(BEFORE_DELIVERY)) {
-                response.getBeforeDeliveryList().add(orderItemsDto);
+        if (uuids.size() > MAX_BULK_SIZE) {
+            throw new IllegalArgumentException("한 번에 최대 " + MAX_BULK_SIZE + "건까지 변경할 수 있습니다.");
+        }
+
+        Map<String, Trade> trades = new HashMap<>();
+        tradeRepository.findAllByTradeUUIDInForUpdate(uuids).forEach(trade -> trades.putIfAbsent(trade.getTradeUUID(), trade));
+
+        List<TradeResult> results = new ArrayList<>(uuids.size());
+        Map<TradeStatus, List<Long>> idsByTarget = new EnumMap<>(TradeStatus.class);
+        for (String uuid : uuids) {
+            Trade trade = trades.get(uuid);
+            if (trade == null) {
+                results.add(new TradeResult(uuid, Outcome.NOT_FOUND, null));
+            } else if (trade.getTradeStatus() != from) {
+                results.add(new TradeResult(uuid, Outcome.INVALID_STATUS, trade.getTradeStatus()));
+            } else {
+                TradeStatus to = target.apply(trade);
+                idsByTarget.computeIfAbsent(to, status -> new ArrayList<>()).add(trade.getId());
+                results.add(new TradeResult(uuid, Outcome.UPDATED, to));
             }
-            if (trade.getTradeStatus().equals(IN_DELIVERY)) {
-                response.getInDeliveryList().add(orderItemsDto);
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        int updated = 0;
+        for (Map.Entry<TradeStatus, List<Long>> entry : idsByTarget.entrySet()) {
+            updated += tradeRepository.updateStatusByIdIn(entry.getValue(), from, entry.getKey(), now);
+            orderHistoryProjector.onStatusChanged(entry.getValue(), from, entry.getKey());
+            if (entry.getKey() == PREPARE_DELIVERY) {
+                // 2시 이후 확인된 주문은 adminConfirm 과 같이 배송 준비 전환을 예약
+                delayedTransitionScheduler.scheduleAll(entry.getValue(), PREPARE_DELIVERY, BEFORE_DELIVERY, prepareDelay);
             }
-            if (trade.getTradeStatus().equals(POST_DELIVERY)) {
-                response.getPostDeliveryList().add(orderItemsDto);
+        }
+        return new AdminBulkTransitionResponseDto(uuids.size(), updated, results);
+    }
+
+    /**
+     * 관리자 주문 전체 조회 (기존 응답 형식 유지). 회원/주문/상품을 하나씩 지연 로딩하지 않고 페이지마다 두 번의 조회로 구성합니다.
+     *
+     * @deprecated 주문 전체를 한 응답으로 메모리에 모읍니다. 화면 조회는 {@link #showTrades}, 전체 내려받기는 TradeExportService 를 사용하세요.
+     */
+    @Deprecated
+    @Transactional(readOnly = true)
+    public OrdersResponseDto showAllTradeItems() {
+        OrdersResponseDto response = new OrdersResponseDto();
+        Long cursor = Long.MAX_VALUE;
+        while (true) {
+            List<TradeSummaryView> trades = tradeRepository.findSummaries(null, null, null, cursor, ALL_TRADES_PAGE_SIZE);
+            if (trades.isEmpty()) {
+                break;
             }
-            if (trade.getTradeStatus().equals(REFUSED)) {
-                response.getRefusedList().add(orderItemsDto);
+            Map<Long, List<OrdersResponseDto.OrderItemDto>> lines = findLines(trades);
+            for (TradeSummaryView trade : trades) {
+                OrdersResponseDto.OrderItemsDto orderItemsDto = new OrdersResponseDto.OrderItemsDto();
+                orderItemsDto.setTradeUUID(trade.getTradeUUID());
+                orderItemsDto.setOrderItemDtoList(lines.getOrDefault(trade.getId(), new ArrayList<>()));
+                response.add(trade.getTradeStatus(), orderItemsDto);
             }
-            if (trade.getTradeStatus().equals(REFUND)) {
-                response.getRefundList().add(orderItemsDto);
+            if (trades.size() < ALL_TRADES_PAGE_SIZE) {
+                break;
             }
+            cursor = trades.get(trades.size() - 1).getId();
         }
         return response;
     }
 
-    private Member getMember(Long memberId) {
-        Member member = memberRepository.findById(memberId)
-                .orElseThrow(() -> new RuntimeException("멤버를 찾을 수 없습니다"));
-        return member;
+    /**
+     * 관리자 주문 목록 (최신 주문부터, trade_id keyset 페이지).
+     *
+     * @param status 주문 상태 (null 이면 전체)
+     * @param from   주문 일시 시작 (포함, null 이면 제한 없음)
+     * @param to     주문 일시 끝 (제외, null 이면 제한 없음)
+     * @param cursor 이전 페이지의 nextCursor (null 이면 첫 페이지)
+     */
+    @Transactional(readOnly = true)
+    public AdminTradePageResponseDto showTrades(TradeStatus status, LocalDateTime from, LocalDateTime to, Long cursor, int size) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("size 는 1 이상 " + MAX_PAGE_SIZE + " 이하여야 합니다.");
+        }
+        // 다음 페이지 존재 여부를 알기 위해 하나 더 조회
+        List<TradeSummaryView> trades = tradeRepository.findSummaries(status, from, to,
+                cursor == null ? Long.MAX_VALUE : cursor, size + 1);
+        boolean hasNext = trades.size() > size;
+        if (hasNext) {
+            trades = trades.subList(0, size);
+        }
+        Map<Long, List<OrdersResponseDto.OrderItemDto>> lines = findLines(trades);
+        List<AdminTradePageResponseDto.AdminTradeDto> content = trades.stream()
+                .map(trade -> new AdminTradePageResponseDto.AdminTradeDto(
+                        trade.getId(),
+                        trade.getTradeUUID(),
+                        trade.getTradeStatus(),
+                        trade.getTotalPrice(),
+                        trade.getEmail(),
+                        trade.getTradeRequestDate(),
+                        lines.getOrDefault(trade.getId(), new ArrayList<>())))
+                .toList();
+        Long nextCursor = hasNext ? trades.get(trades.size() - 1).getId() : null;
+        return new AdminTradePageResponseDto(content, nextCursor, hasNext);
+    }
+
+    // 페이지에 포함된 주문들의 상품 줄을 한 번에 조회해 주문별로 묶음
+    private Map<Long, List<OrdersResponseDto.OrderItemDto>> findLines(List<TradeSummaryView> trades) {
+        Map<Long, List<OrdersResponseDto.OrderItemDto>> lines = new HashMap<>();
+        if (trades.isEmpty()) {
+            return lines;
+        }
+        List<Long> tradeIds = trades.stream().map(TradeSummaryView::getId).toList();
+        for (TradeLineView line : tradeItemRepository.findLinesByTradeIdIn(tradeIds)) {
+            lines.computeIfAbsent(line.getTradeId(), id -> new ArrayList<>())
+                    .add(new OrdersResponseDto.OrderItemDto(line.getItemId(), line.getQuantity(), line.getItemName()));
+        }
+        return lines;
     }
 
     private Trade getTrade(AdminConfirmRequestDto requestDto) {
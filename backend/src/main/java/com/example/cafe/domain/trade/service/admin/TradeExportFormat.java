@@ -0,0 +1,16 @@
+package com.example.cafe.domain.trade.service.admin;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@Getter
+@RequiredArgsConstructor
+public enum TradeExportFormat {
+    // 주문 한 건당 한 줄 (주문 상품은 items 배열)
+    NDJSON("ndjson", "application/x-ndjson"),
+    // 주문 상품 한 건당 한 줄 (상품이 없는 주문은 상품 칸을 비운 한 줄)
+    CSV("csv", "text/csv");
+
+    private final String extension;
+    private final String contentType;
+}
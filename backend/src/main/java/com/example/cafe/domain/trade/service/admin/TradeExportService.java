@@ -0,0 +1,288 @@
+package com.example.cafe.domain.trade.service.admin;
+
+import com.example.cafe.domain.trade.domain.entity.TradeStatus;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 관리자 주문 내보내기. 주문과 주문 상품을 trade_id 순으로 한 번에 읽으면서 바로 응답 스트림에 씁니다.
+ * 결과를 전진 전용 커서로 조금씩 가져오고 한 번에 주문 한 건만 메모리에 두므로, 건수와 관계없이 사용하는 메모리가 일정합니다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TradeExportService {
+
+    // 물리 명명 전략에 의해 tradeUUID 는 tradeuuid 컬럼
+    private static final String EXPORT_SELECT =
+            "select t.trade_id, t.tradeuuid, t.trade_status, t.total_price, t.email, t.trade_request_date, " +
+            "ti.item_id, i.item_name, ti.quantity, ti.price " +
+            "from trade t " +
+            "left join trade_item ti on ti.trade_id = t.trade_id " +
+            "left join item i on i.item_id = ti.item_id " +
+            "where 1 = 1";
+
+    private static final String EXPORT_ORDER = " order by t.trade_id, ti.trade_item_id";
+
+    private static final String CSV_HEADER =
+            "trade_id,trade_uuid,trade_status,total_price,email,trade_request_date,item_id,item_name,quantity,price";
+
+    private static final int FLUSH_EVERY = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    // MySQL 은 Integer.MIN_VALUE 일 때 행 단위 스트리밍 (H2 등 음수를 허용하지 않는 DB 는 양수로 설정)
+    @Value("${custom.trade.export.fetch-size:-2147483648}")
+    private int fetchSize;
+
+    /**
+     * 조건에 맞는 주문을 out 에 씁니다. out 은 닫지 않습니다.
+     *
+     * @return 내보낸 주문 수
+     */
+    public long export(TradeExportFormat format, TradeStatus status, LocalDateTime from, LocalDateTime to,
+                       boolean gzip, OutputStream out) throws IOException {
+        GZIPOutputStream gzipStream = gzip ? new GZIPOutputStream(out, 8192) : null;
+        Writer writer = new BufferedWriter(new OutputStreamWriter(gzip ? gzipStream : out, StandardCharsets.UTF_8));
+        TradeRowWriter rowWriter = format == TradeExportFormat.CSV ? new CsvRowWriter(writer) : new NdjsonRowWriter(writer);
+
+        // 지정된 조건만 붙여 각 조건이 인덱스를 탈 수 있게 함
+        StringBuilder sql = new StringBuilder(EXPORT_SELECT);
+        List<Object> params = new ArrayList<>();
+        if (status != null) {
+            sql.append(" and t.trade_status = ?");
+            params.add(status.name());
+        }
+        if (from != null) {
+            sql.append(" and t.trade_request_date >= ?");
+            params.add(Timestamp.valueOf(from));
+        }
+        if (to != null) {
+            sql.append(" and t.trade_request_date < ?");
+            params.add(Timestamp.valueOf(to));
+        }
+        sql.append(EXPORT_ORDER);
+
+        long start = System.currentTimeMillis();
+        TradeRowHandler handler = new TradeRowHandler(rowWriter, writer);
+        try {
+            jdbcTemplate.query(con -> {
+                PreparedStatement ps = con.prepareStatement(sql.toString(), ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                ps.setFetchSize(fetchSize);
+                for (int i = 0; i < params.size(); i++) {
+                    ps.setObject(i + 1, params.get(i));
+                }
+                return ps;
+            }, handler);
+            handler.finish();
+        } catch (UncheckedIOException e) {
+            // 클라이언트가 연결을 끊은 경우 등. 커서는 jdbcTemplate 이 닫음
+            throw e.getCause();
+        }
+        writer.flush();
+        if (gzipStream != null) {
+            gzipStream.finish();
+        }
+        log.info("주문 내보내기 완료 format : [{}], 주문 [{}]건, [{}]ms", format, handler.trades, System.currentTimeMillis() - start);
+        return handler.trades;
+    }
+
+    // 연속된 행을 주문 한 건으로 모아 writer 에 넘김
+    private static class TradeRowHandler implements RowCallbackHandler {
+        private final TradeRowWriter rowWriter;
+        private final Writer writer;
+        private ExportTrade current;
+        private long trades;
+
+        private TradeRowHandler(TradeRowWriter rowWriter, Writer writer) {
+            this.rowWriter = rowWriter;
+            this.writer = writer;
+        }
+
+        @Override
+        public void processRow(ResultSet rs) throws SQLException {
+            long tradeId = rs.getLong("trade_id");
+            if (current == null || current.tradeId != tradeId) {
+                finish();
+                Timestamp requestDate = rs.getTimestamp("trade_request_date");
+                current = new ExportTrade(tradeId,
+                        rs.getString("tradeuuid"),
+                        rs.getString("trade_status"),
+                        rs.getObject("total_price", Integer.class),
+                        rs.getString("email"),
+                        requestDate == null ? null : requestDate.toLocalDateTime());
+            }
+            long itemId = rs.getLong("item_id");
+            if (!rs.wasNull()) {
+                current.items.add(new ExportItem(itemId,
+                        rs.getString("item_name"),
+                        rs.getObject("quantity", Integer.class),
+                        rs.getObject("price", Integer.class)));
+            }
+        }
+
+        private void finish() {
+            if (current == null) {
+                return;
+            }
+            try {
+                rowWriter.write(current);
+                current = null;
+                if (++trades % FLUSH_EVERY == 0) {
+                    writer.flush();
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    private static final class ExportTrade {
+        private final long tradeId;
+        private final String tradeUUID;
+        private final String tradeStatus;
+        private final Integer totalPrice;
+        private final String email;
+        private final LocalDateTime tradeRequestDate;
+        private final List<ExportItem> items = new ArrayList<>();
+
+        private ExportTrade(long tradeId, String tradeUUID, String tradeStatus, Integer totalPrice, String email,
+                            LocalDateTime tradeRequestDate) {
+            this.tradeId = tradeId;
+            this.tradeUUID = tradeUUID;
+            this.tradeStatus = tradeStatus;
+            this.totalPrice = totalPrice;
+            this.email = email;
+            this.tradeRequestDate = tradeRequestDate;
+        }
+    }
+
+    private record ExportItem(long itemId, String itemName, Integer quantity, Integer price) {
+    }
+
+    private interface TradeRowWriter {
+        void write(ExportTrade trade) throws IOException;
+    }
+
+    private class NdjsonRowWriter implements TradeRowWriter {
+        private final Writer writer;
+        private final JsonGenerator generator;
+
+        private NdjsonRowWriter(Writer writer) throws IOException {
+            this.writer = writer;
+            this.generator = objectMapper.getFactory().createGenerator(writer);
+            // 응답 스트림은 컨트롤러가 닫음
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.disable(JsonGenerator.Feature.FLUSH_PASSED_TO_STREAM);
+        }
+
+        @Override
+        public void write(ExportTrade trade) throws IOException {
+            generator.writeStartObject();
+            generator.writeNumberField("tradeId", trade.tradeId);
+            generator.writeStringField("tradeUUID", trade.tradeUUID);
+            generator.writeStringField("tradeStatus", trade.tradeStatus);
+            if (trade.totalPrice == null) {
+                generator.writeNullField("totalPrice");
+            } else {
+                generator.writeNumberField("totalPrice", trade.totalPrice);
+            }
+            generator.writeStringField("email", trade.email);
+            generator.writeStringField("tradeRequestDate",
+                    trade.tradeRequestDate == null ? null : trade.tradeRequestDate.toString());
+            generator.writeArrayFieldStart("items");
+            for (ExportItem item : trade.items) {
+                generator.writeStartObject();
+                generator.writeNumberField("itemId", item.itemId());
+                generator.writeStringField("itemName", item.itemName());
+                generator.writeObjectField("quantity", item.quantity());
+                generator.writeObjectField("price", item.price());
+                generator.writeEndObject();
+            }
+            generator.writeEndArray();
+            generator.writeEndObject();
+            generator.flush();
+            writer.write('\n');
+        }
+    }
+
+    private static class CsvRowWriter implements TradeRowWriter {
+        private final Writer writer;
+
+        private CsvRowWriter(Writer writer) throws IOException {
+            this.writer = writer;
+            writer.write(CSV_HEADER);
+            writer.write('\n');
+        }
+
+        @Override
+        public void write(ExportTrade trade) throws IOException {
+            if (trade.items.isEmpty()) {
+                writeRow(trade, null);
+                return;
+            }
+            for (ExportItem item : trade.items) {
+                writeRow(trade, item);
+            }
+        }
+
+        private void writeRow(ExportTrade trade, ExportItem item) throws IOException {
+            writer.write(String.valueOf(trade.tradeId));
+            writeCell(trade.tradeUUID);
+            writeCell(trade.tradeStatus);
+            writeCell(trade.totalPrice);
+            writeCell(trade.email);
+            writeCell(trade.tradeRequestDate);
+            writeCell(item == null ? null : item.itemId());
+            writeCell(item == null ? null : item.itemName());
+            writeCell(item == null ? null : item.quantity());
+            writeCell(item == null ? null : item.price());
+            writer.write('\n');
+        }
+
+        private void writeCell(Object value) throws IOException {
+            writer.write(',');
+            if (value == null) {
+                return;
+            }
+            String text = value.toString();
+            if (value instanceof String && isFormulaStart(text)) {
+                // 스프레드시트에서 열었을 때 수식으로 실행되지 않도록 앞에 작은따옴표를 붙임 (CSV 인젝션 방지)
+                text = "'" + text;
+            }
+            if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+                writer.write(text);
+                return;
+            }
+            writer.write('"');
+            writer.write(text.replace("\"", "\"\""));
+            writer.write('"');
+        }
+
+        private boolean isFormulaStart(String text) {
+            if (text.isEmpty()) {
+                return false;
+            }
+            char first = text.charAt(0);
+            return first == '=' || first == '+' || first == '-' || first == '@' || first == '\t' || first == '\r';
+        }
+    }
+}
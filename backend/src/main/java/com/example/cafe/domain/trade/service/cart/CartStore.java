@@ -0,0 +1,48 @@
+package com.example.cafe.domain.trade.service.cart;
+
+import com.example.cafe.domain.item.dto.ItemPriceView;
+import com.example.cafe.domain.item.entity.Item;
+import com.example.cafe.domain.trade.domain.entity.CartItem;
+
+import java.util.List;
+
+/**
+ * 회원 장바구니 저장소.
+ * custom.cart.store 값(jpa, redis)에 따라 구현체가 하나만 등록됩니다.
+ * 장바구니 변경은 저장소 안에서 끝나고, 주문 시점에만 materialize() 로 CartItem 목록을 만들어 주문 서비스에 넘깁니다.
+ * 라인마다 담을 때의 단가와 상품 가격 버전을 스냅샷으로 두고, 합계와 라인 수는 변경분만 반영해 유지합니다.
+ */
+public interface CartStore {
+
+    CartContents load(Long memberId);
+
+    // 수량을 더하고(없으면 새 라인) 가격 스냅샷을 상품의 현재 가격으로 갱신한 뒤 변경된 장바구니를 반환
+    CartContents add(Long memberId, Item item, int quantity);
+
+    // 장바구니에 담긴 수량 (없으면 0)
+    int quantity(Long memberId, Long itemId);
+
+    // 수량을 지정하고(0 이면 라인 삭제) 가격 스냅샷을 갱신한 뒤 변경된 장바구니를 반환
+    CartContents set(Long memberId, Item item, int quantity);
+
+    // 가격 버전이 바뀐 라인만 새 가격으로 갱신하고 합계에 차액을 반영
+    CartContents refreshPrices(Long memberId, List<ItemPriceView> changed);
+
+    /**
+     * 주문할 장바구니 라인을 CartItem 으로 만듭니다. 주문 트랜잭션 안에서 호출해야 합니다.
+     * CartItem 에는 상품 ID 와 수량만 보장되며, 상품 정보는 주문 서비스가 직접 조회합니다.
+     */
+    List<CartItem> materialize(Long memberId);
+
+    /**
+     * 주문한 라인(materialize() 결과)을 장바구니에서 뺍니다. 주문 트랜잭션이 롤백되면 장바구니는 그대로 남습니다.
+     * 주문 도중 새로 담거나 수량을 바꾼 라인은 주문에 포함되지 않았으므로 남겨 둡니다.
+     */
+    void clear(Long memberId, List<CartItem> ordered);
+
+    record CartLine(Long itemId, int quantity, int price, long priceVersion) {
+    }
+
+    record CartContents(Long cartId, int totalPrice, int lineCount, List<CartLine> lines) {
+    }
+}
@@ -0,0 +1,120 @@
+package com.example.cafe.domain.trade.service.cart;
+
+import com.example.cafe.domain.item.dto.ItemPriceView;
+import com.example.cafe.domain.item.entity.Item;
+import com.example.cafe.domain.member.entity.Member;
+import com.example.cafe.domain.member.repository.MemberRepository;
+import com.example.cafe.domain.trade.domain.entity.Cart;
+import com.example.cafe.domain.trade.domain.entity.CartItem;
+import com.example.cafe.domain.trade.repository.CartRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Cart/CartItem 테이블 장바구니 저장소. 변경할 때마다 회원, 카트, 카트 라인을 읽고 dirty checking 으로 다시 씁니다.
+ * 호출하는 쪽 트랜잭션 안에서 동작하며, 합계와 라인 수는 Cart 엔티티가 변경분만 반영해 유지합니다.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "custom.cart.store", havingValue = "jpa", matchIfMissing = true)
+public class JpaCartStore implements CartStore {
+
+    private final CartRepository cartRepository;
+    private final MemberRepository memberRepository;
+
+    @Override
+    public CartContents load(Long memberId) {
+        return contents(getCart(memberId));
+    }
+
+    @Override
+    public CartContents add(Long memberId, Item item, int quantity) {
+        Cart cart = getCart(memberId);
+        cart.addLine(item, quantity);
+        return contents(cart);
+    }
+
+    @Override
+    public int quantity(Long memberId, Long itemId) {
+        CartItem cartItem = getCart(memberId).findLine(itemId);
+        return cartItem == null ? 0 : cartItem.getQuantity();
+    }
+
+    @Override
+    public CartContents set(Long memberId, Item item, int quantity) {
+        Cart cart = getCart(memberId);
+        CartItem cartItem = cart.findLine(item.getId());
+        if (cartItem == null) {
+            throw new RuntimeException("해당 상품이 카트에 존재하지 않아 수량 수정에 실패하였습니다.");
+        }
+        cart.changeQuantity(cartItem, item, quantity);
+        return contents(cart);
+    }
+
+    @Override
+    public CartContents refreshPrices(Long memberId, List<ItemPriceView> changed) {
+        Cart cart = getCart(memberId);
+        for (ItemPriceView price : changed) {
+            CartItem cartItem = cart.findLine(price.getId());
+            if (cartItem != null) {
+                cart.refreshPrice(cartItem, price.getPrice(), price.getPriceVersion());
+            }
+        }
+        return contents(cart);
+    }
+
+    @Override
+    public List<CartItem> materialize(Long memberId) {
+        Cart cart = getMember(memberId).getCart();
+        return cart == null ? List.of() : cart.getCartItems();
+    }
+
+    @Override
+    public void clear(Long memberId, List<CartItem> ordered) {
+        // 주문 트랜잭션이 읽은 라인 그대로이므로 장바구니 라인 전체가 주문 대상
+        Cart cart = getMember(memberId).getCart();
+        if (cart != null) {
+            cart.clearLines();
+        }
+    }
+
+    private Cart getCart(Long memberId) {
+        // 회원을 조회합니다.
+        Member member = getMember(memberId);
+
+        // 만약 회원에게 카트가 없다면 새 카트를 생성합니다.
+        if (member.getCart() == null) {
+            Cart newCart = Cart.builder()
+                    .member(member)
+                    .cartItems(new ArrayList<>()) // 빈 리스트 초기화
+                    .build();
+            // 회원과 카트 양쪽에 설정
+            member.setCart(newCart);
+            cartRepository.save(newCart); // 새 카트를 저장
+            return newCart;
+        }
+
+        // 가격 스냅샷 도입 전에 담긴 라인은 처음 읽을 때 채워 합계/라인 수를 맞춤
+        Cart cart = member.getCart();
+        cart.migrateLegacyLines();
+        return cart;
+    }
+
+    private Member getMember(Long memberId) {
+        return memberRepository.findById(memberId)
+                .orElseThrow(() -> new RuntimeException("유저 [" + memberId + "]를 찾을 수 없습니다."));
+    }
+
+    // 상품은 지연 로딩 프록시의 ID 만 쓰므로 라인 수만큼 상품을 읽지 않음
+    private CartContents contents(Cart cart) {
+        List<CartLine> lines = cart.getCartItems().stream()
+                .map(cartItem -> new CartLine(cartItem.getItem().getId(), cartItem.getQuantity(),
+                        cartItem.getPrice(), cartItem.getPriceVersion()))
+                .toList();
+        return new CartContents(cart.getId(), cart.getTotalPrice(), cart.getLineCount(), lines);
+    }
+}
@@ -0,0 +1,231 @@
+package com.example.cafe.domain.trade.service.cart;
+
+import com.example.cafe.domain.item.dto.ItemPriceView;
+import com.example.cafe.domain.item.entity.Item;
+import com.example.cafe.domain.item.repository.ItemRepository;
+import com.example.cafe.domain.trade.domain.entity.CartItem;
+import lombok.RequiredArgsConstructor;
+import org.redisson.api.RScript;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.StringCodec;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+/**
+ * Redis 해시 장바구니 저장소. 회원마다 수량 해시(itemId -> 수량), 가격 스냅샷 해시(itemId -> 담을 때 가격),
+ * 가격 버전 해시(itemId -> 담을 때 상품 가격 버전)와 합계/라인 수 요약 해시를 둡니다.
+ * 변경은 Lua 스크립트 한 번으로 해당 라인과 요약의 차이만 고친 뒤 TTL 을 갱신하고 장바구니 전체를 돌려줍니다.
+ * 네 해시는 {memberId} 해시 태그로 같은 슬롯에 배치합니다.
+ * 장바구니 행이 없으므로 cartId 는 회원 ID 를 그대로 쓰고, 주문 시점에만 CartItem 으로 만들어 넘깁니다.
+ * <p>
+ * custom.cart.store 를 jpa 에서 redis 로 바꿔도 Cart/CartItem 테이블의 기존 장바구니는 옮겨지지 않습니다.
+ * 전환 후에는 빈 장바구니로 보이므로, 기존 장바구니를 유지해야 하면 전환 전에 옮기거나 비운다는 공지가 필요합니다.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "custom.cart.store", havingValue = "redis")
+public class RedisCartStore implements CartStore {
+
+    private static final String KEY_PREFIX = "cart:{";
+    private static final String QUANTITY_SUFFIX = "}:quantity";
+    private static final String PRICE_SUFFIX = "}:price";
+    private static final String VERSION_SUFFIX = "}:price-version";
+    private static final String SUMMARY_SUFFIX = "}:summary";
+
+    // KEYS: 수량, 가격, 가격 버전, 요약(total, lines) 해시
+    // 합계, 라인 수 다음에 라인마다 itemId, 수량, 가격, 가격 버전 순서의 평평한 목록으로 반환
+    private static final String READ =
+            "local fields = redis.call('hgetall', KEYS[1]) " +
+            "local result = {redis.call('hget', KEYS[4], 'total') or '0', redis.call('hget', KEYS[4], 'lines') or '0'} " +
+            "for i = 1, #fields, 2 do " +
+            "  table.insert(result, fields[i]) " +
+            "  table.insert(result, fields[i + 1]) " +
+            "  table.insert(result, redis.call('hget', KEYS[2], fields[i]) or '0') " +
+            "  table.insert(result, redis.call('hget', KEYS[3], fields[i]) or '-1') " +
+            "end " +
+            "return result";
+
+    private static final String TOUCH =
+            "for i = 1, 4 do redis.call('pexpire', KEYS[i], ttl) end ";
+
+    private static final String OLD_LINE =
+            "local oldQty = tonumber(redis.call('hget', KEYS[1], ARGV[1]) or '0') " +
+            "local oldPrice = tonumber(redis.call('hget', KEYS[2], ARGV[1]) or '0') ";
+
+    // ARGV: itemId, 더할 수량, 가격, 가격 버전, TTL(ms)
+    private static final String ADD_SCRIPT =
+            "local ttl = ARGV[5] " + OLD_LINE +
+            "local newQty = oldQty + tonumber(ARGV[2]) " +
+            "if redis.call('hexists', KEYS[1], ARGV[1]) == 0 then redis.call('hincrby', KEYS[4], 'lines', 1) end " +
+            "redis.call('hset', KEYS[1], ARGV[1], newQty) " +
+            "redis.call('hset', KEYS[2], ARGV[1], ARGV[3]) " +
+            "redis.call('hset', KEYS[3], ARGV[1], ARGV[4]) " +
+            "redis.call('hincrby', KEYS[4], 'total', newQty * tonumber(ARGV[3]) - oldQty * oldPrice) " +
+            TOUCH + READ;
+
+    // ARGV: itemId, 지정할 수량(0 이면 삭제), 가격, 가격 버전, TTL(ms)
+    private static final String SET_SCRIPT =
+            "local ttl = ARGV[5] " + OLD_LINE +
+            "redis.call('hincrby', KEYS[4], 'total', -oldQty * oldPrice) " +
+            "if tonumber(ARGV[2]) == 0 then " +
+            "  if redis.call('hdel', KEYS[1], ARGV[1]) == 1 then redis.call('hincrby', KEYS[4], 'lines', -1) end " +
+            "  redis.call('hdel', KEYS[2], ARGV[1]) " +
+            "  redis.call('hdel', KEYS[3], ARGV[1]) " +
+            "else " +
+            "  redis.call('hset', KEYS[1], ARGV[1], ARGV[2]) " +
+            "  redis.call('hset', KEYS[2], ARGV[1], ARGV[3]) " +
+            "  redis.call('hset', KEYS[3], ARGV[1], ARGV[4]) " +
+            "  redis.call('hincrby', KEYS[4], 'total', tonumber(ARGV[2]) * tonumber(ARGV[3])) " +
+            "end " +
+            TOUCH + READ;
+
+    // ARGV: TTL(ms), 이후 상품마다 itemId, 가격, 가격 버전. 장바구니에 남아 있는 라인만 갱신하고 차액만 합계에 반영
+    private static final String REFRESH_SCRIPT =
+            "local ttl = ARGV[1] " +
+            "for i = 2, #ARGV, 3 do " +
+            "  local qty = redis.call('hget', KEYS[1], ARGV[i]) " +
+            "  if qty then " +
+            "    local oldPrice = tonumber(redis.call('hget', KEYS[2], ARGV[i]) or '0') " +
+            "    redis.call('hset', KEYS[2], ARGV[i], ARGV[i + 1]) " +
+            "    redis.call('hset', KEYS[3], ARGV[i], ARGV[i + 2]) " +
+            "    redis.call('hincrby', KEYS[4], 'total', tonumber(qty) * (tonumber(ARGV[i + 1]) - oldPrice)) " +
+            "  end " +
+            "end " +
+            TOUCH + READ;
+
+    // ARGV: 상품마다 itemId, 주문한 수량. 수량이 주문할 때와 같은 라인만 지우고, 모두 비면 키를 삭제
+    private static final String CLEAR_SCRIPT =
+            "for i = 1, #ARGV, 2 do " +
+            "  local qty = redis.call('hget', KEYS[1], ARGV[i]) " +
+            "  if qty and tonumber(qty) == tonumber(ARGV[i + 1]) then " +
+            "    local price = tonumber(redis.call('hget', KEYS[2], ARGV[i]) or '0') " +
+            "    redis.call('hdel', KEYS[1], ARGV[i]) " +
+            "    redis.call('hdel', KEYS[2], ARGV[i]) " +
+            "    redis.call('hdel', KEYS[3], ARGV[i]) " +
+            "    redis.call('hincrby', KEYS[4], 'total', -tonumber(qty) * price) " +
+            "    redis.call('hincrby', KEYS[4], 'lines', -1) " +
+            "  end " +
+            "end " +
+            "if redis.call('hlen', KEYS[1]) == 0 then redis.call('del', KEYS[1], KEYS[2], KEYS[3], KEYS[4]) end " +
+            "return {}";
+
+    private final RedissonClient redissonClient;
+    private final ItemRepository itemRepository;
+
+    // 마지막 변경 이후 이 기간 동안 건드리지 않은 장바구니는 만료
+    @Value("${custom.cart.ttl:P30D}")
+    private Duration ttl;
+
+    @Override
+    public CartContents load(Long memberId) {
+        return contents(memberId, eval(READ, memberId));
+    }
+
+    @Override
+    public CartContents add(Long memberId, Item item, int quantity) {
+        return contents(memberId, eval(ADD_SCRIPT, memberId,
+                item.getId(), quantity, item.getPrice(), item.getPriceVersion(), ttl.toMillis()));
+    }
+
+    @Override
+    public int quantity(Long memberId, Long itemId) {
+        String quantity = redissonClient.<String, String>getMap(key(memberId, QUANTITY_SUFFIX), StringCodec.INSTANCE)
+                .get(String.valueOf(itemId));
+        return quantity == null ? 0 : Integer.parseInt(quantity);
+    }
+
+    @Override
+    public CartContents set(Long memberId, Item item, int quantity) {
+        return contents(memberId, eval(SET_SCRIPT, memberId,
+                item.getId(), quantity, item.getPrice(), item.getPriceVersion(), ttl.toMillis()));
+    }
+
+    @Override
+    public CartContents refreshPrices(Long memberId, List<ItemPriceView> changed) {
+        List<Object> args = new ArrayList<>();
+        args.add(ttl.toMillis());
+        for (ItemPriceView price : changed) {
+            args.add(price.getId());
+            args.add(price.getPrice());
+            args.add(price.getPriceVersion());
+        }
+        return contents(memberId, eval(REFRESH_SCRIPT, memberId, args.toArray()));
+    }
+
+    @Override
+    public List<CartItem> materialize(Long memberId) {
+        // 주문 서비스는 상품 ID 로 다시 조회하므로 상품은 프록시 참조만 채움
+        return load(memberId).lines().stream()
+                .map(line -> CartItem.builder()
+                        .item(itemRepository.getReferenceById(line.itemId()))
+                        .quantity(line.quantity())
+                        .build())
+                .toList();
+    }
+
+    @Override
+    public void clear(Long memberId, List<CartItem> ordered) {
+        List<Object> args = new ArrayList<>();
+        for (CartItem cartItem : ordered) {
+            args.add(cartItem.getItem().getId());
+            args.add(cartItem.getQuantity());
+        }
+        // materialize() 이후 담긴 라인이나 수량이 바뀐 라인은 남김
+        Runnable delete = () -> eval(CLEAR_SCRIPT, memberId, args.toArray());
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            delete.run();
+            return;
+        }
+        // 주문 트랜잭션이 커밋된 뒤에만 비움 (롤백되면 장바구니 유지)
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                delete.run();
+            }
+        });
+    }
+
+    private List<Object> eval(String script, Long memberId, Object... args) {
+        List<Object> keys = new ArrayList<>(keys(memberId));
+        Object[] values = new Object[args.length];
+        for (int i = 0; i < args.length; i++) {
+            values[i] = String.valueOf(args[i]);
+        }
+        return redissonClient.getScript(StringCodec.INSTANCE)
+                .eval(RScript.Mode.READ_WRITE, script, RScript.ReturnType.MULTI, keys, values);
+    }
+
+    // 해시 필드 순서는 보장되지 않으므로 상품 ID 순으로 정렬
+    private CartContents contents(Long memberId, List<Object> flat) {
+        SortedMap<Long, CartLine> lines = new TreeMap<>();
+        for (int i = 2; i + 3 < flat.size(); i += 4) {
+            Long itemId = Long.valueOf((String) flat.get(i));
+            lines.put(itemId, new CartLine(itemId,
+                    Integer.parseInt((String) flat.get(i + 1)),
+                    Integer.parseInt((String) flat.get(i + 2)),
+                    Long.parseLong((String) flat.get(i + 3))));
+        }
+        return new CartContents(memberId,
+                Integer.parseInt((String) flat.get(0)),
+                Integer.parseInt((String) flat.get(1)),
+                new ArrayList<>(lines.values()));
+    }
+
+    private List<String> keys(Long memberId) {
+        return List.of(key(memberId, QUANTITY_SUFFIX), key(memberId, PRICE_SUFFIX),
+                key(memberId, VERSION_SUFFIX), key(memberId, SUMMARY_SUFFIX));
+    }
+
+    private String key(Long memberId, String suffix) {
+        return KEY_PREFIX + memberId + suffix;
+    }
+}
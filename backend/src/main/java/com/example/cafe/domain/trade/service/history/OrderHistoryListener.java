@@ -0,0 +1,35 @@
+package com.example.cafe.domain.trade.service.history;
+
+import com.example.cafe.domain.trade.domain.entity.Trade;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+/**
+ * Trade 엔티티 콜백으로 회원 주문 내역을 갱신합니다. Hibernate 가 스프링 빈으로 생성합니다.
+ * EntityManagerFactory 생성 시점에 만들어지므로 Projector 는 처음 호출될 때 가져옵니다.
+ */
+@Component
+@RequiredArgsConstructor
+public class OrderHistoryListener {
+
+    private final ObjectProvider<OrderHistoryProjector> projector;
+
+    @PostPersist
+    public void afterPersist(Trade trade) {
+        projector.getObject().onPersist(trade);
+    }
+
+    @PostUpdate
+    public void afterUpdate(Trade trade) {
+        projector.getObject().onUpdate(trade);
+    }
+
+    @PostRemove
+    public void afterRemove(Trade trade) {
+        projector.getObject().onRemove(trade);
+    }
+}
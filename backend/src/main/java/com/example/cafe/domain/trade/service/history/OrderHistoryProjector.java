@@ -0,0 +1,280 @@
+package com.example.cafe.domain.trade.service.history;
+
+import com.example.cafe.domain.trade.domain.dto.response.OrdersResponseDto.OrderItemDto;
+import com.example.cafe.domain.trade.domain.entity.Trade;
+import com.example.cafe.domain.trade.domain.entity.TradeStatus;
+import com.example.cafe.domain.trade.repository.OrderHistoryRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Hibernate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * 주문(trade) 변경을 회원 주문 내역(order_history)에 반영합니다. 모든 반영은 주문을 바꾼 트랜잭션 안에서 실행됩니다.
+ * 엔티티로 바뀌는 주문은 OrderHistoryListener 가 flush 중에 호출하므로 JPA 대신 JdbcTemplate 으로 직접 씁니다.
+ * flush 중에는 연관 엔티티를 읽지 않고 주문 행의 값만 쓰며, 상품 목록은 커밋 직전 flush 가 끝난 뒤 trade_item 에서 다시 읽어 씁니다.
+ * JPQL 일괄 변경처럼 엔티티 콜백이 불리지 않는 경로는 호출하는 쪽에서 직접 반영해야 합니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class OrderHistoryProjector {
+
+    // upsert 는 DB 별 문법(on duplicate key update, merge) 대신 UPDATE 후 없으면 INSERT 로 처리해 MySQL/H2 에서 같게 동작
+    private static final String INSERT_SQL =
+            "insert into order_history (trade_id, member_id, trade_status, trade_uuid, created_at, items) " +
+            "values (?, ?, ?, ?, ?, ?)";
+
+    private static final String UPDATE_SQL =
+            "update order_history set member_id = ?, trade_status = ?, trade_uuid = ?, items = ? where trade_id = ?";
+
+    private static final String UPDATE_HEADER_SQL =
+            "update order_history set trade_status = ?, trade_uuid = ? where trade_id = ?";
+
+    private static final String UPDATE_ITEMS_SQL = "update order_history set items = ? where trade_id = ?";
+
+    private static final String DELETE_SQL = "delete from order_history where trade_id = ?";
+
+    private static final String LINES_SQL =
+            "select ti.trade_id, ti.item_id, i.item_name, ti.quantity from trade_item ti " +
+            "join item i on i.item_id = ti.item_id where ti.trade_id in (%s) and ti.quantity > 0 order by ti.trade_item_id";
+
+    // 물리 명명 전략에 의해 tradeUUID 는 tradeuuid 컬럼
+    private static final String MISSING_SQL =
+            "select t.trade_id, t.member_id, t.trade_status, t.tradeuuid, t.trade_request_date from trade t " +
+            "left join order_history h on h.trade_id = t.trade_id " +
+            "where h.trade_id is null and t.member_id is not null and t.trade_status is not null and t.trade_id > ? " +
+            "order by t.trade_id limit ?";
+
+    private static final TypeReference<List<OrderItemDto>> ITEMS_TYPE = new TypeReference<>() {
+    };
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final OrderHistoryRepository orderHistoryRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${custom.order.history.backfill-on-startup:true}")
+    private boolean backfillOnStartup;
+
+    @Value("${custom.order.history.batch-size:500}")
+    private int batchSize;
+
+    // 새 주문 저장 직후 (엔티티 콜백). 주문 상품 행은 주문 행 뒤에 INSERT 되므로 상품 목록은 커밋 직전에 씀
+    public void onPersist(Trade trade) {
+        if (trade.getMember() == null || trade.getTradeStatus() == null) {
+            return;
+        }
+        upsert(trade, List.of());
+        rewriteItemsBeforeCommit(trade.getId());
+    }
+
+    // 주문 엔티티 변경 flush 직후 (엔티티 콜백)
+    public void onUpdate(Trade trade) {
+        if (trade.getMember() == null || trade.getTradeStatus() == null) {
+            return;
+        }
+        int updated = jdbcTemplate.update(UPDATE_HEADER_SQL, trade.getTradeStatus().name(), trade.getTradeUUID(), trade.getId());
+        if (updated == 0) {
+            upsert(trade, List.of());
+            rewriteItemsBeforeCommit(trade.getId());
+            return;
+        }
+        // 주문 상품 컬렉션을 건드린 변경(취소 등)이면 주문 상품 행 변경이 모두 나간 뒤 상품 목록을 다시 씀
+        if (Hibernate.isInitialized(trade.getTradeItems())) {
+            rewriteItemsBeforeCommit(trade.getId());
+        }
+    }
+
+    public void onRemove(Trade trade) {
+        jdbcTemplate.update(DELETE_SQL, trade.getId());
+    }
+
+    // JPQL 일괄 상태 변경(updateStatusByIdIn) 직후
+    public void onStatusChanged(Collection<Long> tradeIds, TradeStatus from, TradeStatus to) {
+        if (tradeIds.isEmpty()) {
+            return;
+        }
+        orderHistoryRepository.updateStatusByTradeIdIn(tradeIds, from, to);
+    }
+
+    public List<OrderItemDto> readItems(String items) {
+        if (items == null || items.isEmpty()) {
+            return new ArrayList<>();
+        }
+        try {
+            return objectMapper.readValue(items, ITEMS_TYPE);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("주문 내역 상품 정보를 읽을 수 없습니다.", e);
+        }
+    }
+
+    /**
+     * 주문 내역이 없는 주문을 채웁니다. 도입 이전 주문이나 반영이 누락된 주문을 trade_id 순으로 끊어서 처리합니다.
+     *
+     * @return 채운 주문 수
+     */
+    public int backfill() {
+        long lastId = 0L;
+        int filled = 0;
+        while (true) {
+            long afterId = lastId;
+            List<Object[]> page = transactionTemplate.execute(status -> backfillPage(afterId));
+            if (page == null || page.isEmpty()) {
+                break;
+            }
+            filled += page.size();
+            lastId = (Long) page.get(page.size() - 1)[0];
+            if (page.size() < batchSize) {
+                break;
+            }
+        }
+        return filled;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillOnStartup() {
+        if (!backfillOnStartup) {
+            return;
+        }
+        int filled = backfill();
+        if (filled > 0) {
+            log.info("주문 내역 채움 : [{}]건", filled);
+        }
+    }
+
+    private List<Object[]> backfillPage(long afterId) {
+        List<Object[]> headers = jdbcTemplate.query(MISSING_SQL, (rs, rowNum) -> new Object[]{
+                rs.getLong("trade_id"),
+                rs.getLong("member_id"),
+                rs.getString("trade_status"),
+                rs.getString("tradeuuid"),
+                rs.getTimestamp("trade_request_date")
+        }, afterId, batchSize);
+        if (headers.isEmpty()) {
+            return headers;
+        }
+        Map<Long, List<OrderItemDto>> lines = findLines(headers.stream().map(h -> (Long) h[0]).toList());
+        List<Object[]> rows = new ArrayList<>(headers.size());
+        for (Object[] h : headers) {
+            Timestamp requestDate = (Timestamp) h[4];
+            rows.add(toRow((Long) h[0], (Long) h[1], TradeStatus.valueOf((String) h[2]), (String) h[3],
+                    requestDate == null ? null : requestDate.toLocalDateTime(), lines.getOrDefault((Long) h[0], List.of())));
+        }
+        try {
+            jdbcTemplate.batchUpdate(INSERT_SQL, rows);
+        } catch (DuplicateKeyException e) {
+            // 조회 이후 주문 변경이 먼저 내역을 넣은 경우: 한 건씩 다시 반영
+            rows.forEach(this::upsert);
+        }
+        return headers;
+    }
+
+    private void upsert(Trade trade, List<OrderItemDto> items) {
+        upsert(toRow(trade.getId(), trade.getMember().getId(), trade.getTradeStatus(),
+                trade.getTradeUUID(), trade.getTradeRequestDate(), items));
+    }
+
+    private void upsert(Object[] row) {
+        Object[] updateArgs = {row[1], row[2], row[3], row[5], row[0]};
+        if (jdbcTemplate.update(UPDATE_SQL, updateArgs) > 0) {
+            return;
+        }
+        try {
+            jdbcTemplate.update(INSERT_SQL, row);
+        } catch (DuplicateKeyException e) {
+            // 다른 트랜잭션이 그 사이 먼저 넣은 경우
+            jdbcTemplate.update(UPDATE_SQL, updateArgs);
+        }
+    }
+
+    private Object[] toRow(Long tradeId, Long memberId, TradeStatus status, String tradeUUID, LocalDateTime createdAt,
+                           List<OrderItemDto> items) {
+        return new Object[]{
+                tradeId,
+                memberId,
+                status.name(),
+                tradeUUID,
+                Timestamp.valueOf(createdAt == null ? LocalDateTime.now() : createdAt),
+                writeItems(items)
+        };
+    }
+
+    private Map<Long, List<OrderItemDto>> findLines(List<Long> tradeIds) {
+        Map<Long, List<OrderItemDto>> lines = new HashMap<>();
+        String placeholders = String.join(", ", Collections.nCopies(tradeIds.size(), "?"));
+        jdbcTemplate.query(LINES_SQL.formatted(placeholders), rs -> {
+            lines.computeIfAbsent(rs.getLong("trade_id"), id -> new ArrayList<>())
+                    .add(new OrderItemDto(rs.getLong("item_id"), rs.getInt("quantity"), rs.getString("item_name")));
+        }, tradeIds.toArray());
+        return lines;
+    }
+
+    /**
+     * 같은 flush 안에서 주문 행보다 주문 상품 행이 늦게 반영될 수 있으므로, 트랜잭션마다 대상 주문을 모아 두었다가
+     * 커밋 직전에 남은 변경을 flush 한 뒤 trade_item 에서 한 번에 읽어 상품 목록을 씁니다.
+     */
+    private void rewriteItemsBeforeCommit(Long tradeId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            rewriteItems(List.of(tradeId));
+            return;
+        }
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            if (synchronization instanceof ItemsRewrite rewrite) {
+                rewrite.tradeIds.add(tradeId);
+                return;
+            }
+        }
+        ItemsRewrite rewrite = new ItemsRewrite();
+        rewrite.tradeIds.add(tradeId);
+        TransactionSynchronizationManager.registerSynchronization(rewrite);
+    }
+
+    private void rewriteItems(Collection<Long> tradeIds) {
+        List<Long> ids = List.copyOf(tradeIds);
+        Map<Long, List<OrderItemDto>> lines = findLines(ids);
+        jdbcTemplate.batchUpdate(UPDATE_ITEMS_SQL, ids.stream()
+                .map(id -> new Object[]{writeItems(lines.getOrDefault(id, List.of())), id})
+                .toList());
+    }
+
+    private class ItemsRewrite implements TransactionSynchronization {
+
+        private final Set<Long> tradeIds = new LinkedHashSet<>();
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            // flush 중 다시 불린 콜백이 추가한 주문도 함께 씀
+            entityManager.flush();
+            rewriteItems(tradeIds);
+        }
+    }
+
+    private String writeItems(List<OrderItemDto> items) {
+        try {
+            return objectMapper.writeValueAsString(items);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("주문 내역 상품 정보를 저장할 수 없습니다.", e);
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.cafe.domain.trade.service.history;
+
+import com.example.cafe.domain.trade.domain.dto.response.OrdersResponseDto;
+import com.example.cafe.domain.trade.domain.dto.response.OrdersResponseDto.OrderItemsDto;
+import com.example.cafe.domain.trade.domain.entity.OrderHistory;
+import com.example.cafe.domain.trade.domain.entity.TradeStatus;
+import com.example.cafe.domain.trade.repository.OrderHistoryRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class OrderHistoryService {
+
+    private static final int MAX_PAGE_SIZE = 100;
+
+    private final OrderHistoryRepository orderHistoryRepository;
+    private final OrderHistoryProjector orderHistoryProjector;
+
+    /**
+     * 회원 주문 내역을 상태별로 최신순 조회합니다. size 를 주면 상태마다 page 번째 페이지(최대 size 건)만 읽고
+     * 상태별 다음 페이지 여부를 함께 돌려주며, size 가 없으면 기존처럼 전체를 돌려줍니다.
+     * 상태마다 인덱스를 타는 조회 한 번씩이므로 페이지 조회는 회원의 전체 주문 수와 관계없이 페이지 크기만큼만 읽습니다.
+     */
+    public OrdersResponseDto show(Long memberId, int page, Integer size) {
+        if (page < 0) {
+            throw new IllegalArgumentException("page 는 0 이상이어야 합니다.");
+        }
+        if (size != null && (size < 1 || size > MAX_PAGE_SIZE)) {
+            throw new IllegalArgumentException("size 는 1 이상 " + MAX_PAGE_SIZE + " 이하여야 합니다.");
+        }
+        OrdersResponseDto response = new OrdersResponseDto();
+        Pageable pageable = size == null ? Pageable.unpaged() : PageRequest.of(page, size);
+        for (TradeStatus status : TradeStatus.values()) {
+            Slice<OrderHistory> histories = orderHistoryRepository.findPage(memberId, status, pageable);
+            if (pageable.isPaged()) {
+                response.getHasNext().put(status, histories.hasNext());
+            }
+            for (OrderHistory history : histories) {
+                OrderItemsDto orderItemsDto = new OrderItemsDto();
+                orderItemsDto.setTradeUUID(history.getTradeUUID());
+                orderItemsDto.setOrderItemDtoList(orderHistoryProjector.readItems(history.getItems()));
+                response.add(status, orderItemsDto);
+            }
+        }
+        return response;
+    }
+}
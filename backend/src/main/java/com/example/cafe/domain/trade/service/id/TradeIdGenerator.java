@@ -0,0 +1,109 @@
+package com.example.cafe.domain.trade.service.id;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.core.env.Profiles;
+import org.springframework.stereotype.Component;
+
+import java.lang.management.ManagementFactory;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 주문 번호(tradeUUID) 생성기.
+ * 64비트 = 시각(42비트, 2024-01-01 기준 ms) | 노드 ID(10비트) | 같은 ms 안의 순번(12비트) 을
+ * Crockford Base32 13자리 고정 길이 문자열로 만듭니다. 문자열 순서가 생성 순서와 같아서 인덱스에 항상 뒤쪽으로 삽입됩니다.
+ * 노드마다 custom.trade.id.node-id 를 다르게 지정하면 노드 간에도 중복되지 않습니다.
+ * 호스트 정보로 계산한 노드 ID 는 노드끼리 겹칠 수 있으므로 dev/test 프로필에서만 허용하고,
+ * 그 밖의 프로필에서 node-id 가 없으면 기동 시 실패합니다.
+ * 시계가 뒤로 가거나 한 ms 에 순번을 다 쓰면 마지막 시각에서 이어서 증가하므로 한 노드 안에서 항상 단조 증가합니다.
+ */
+@Slf4j
+@Component
+public class TradeIdGenerator {
+
+    static final long EPOCH_MILLIS = 1704067200000L; // 2024-01-01T00:00:00Z
+    static final int NODE_BITS = 10;
+    static final int SEQUENCE_BITS = 12;
+    static final int MAX_NODE_ID = (1 << NODE_BITS) - 1;
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+    private static final int LENGTH = 13;
+    private static final char[] ALPHABET = "0123456789ABCDEFGHJKMNPQRSTVWXYZ".toCharArray();
+
+    private final long nodeBits;
+    // 마지막으로 발급한 (시각 << SEQUENCE_BITS | 순번). CAS 로 갱신하므로 락 없이 스레드 안전
+    private final AtomicLong lastState = new AtomicLong();
+
+    @Autowired
+    public TradeIdGenerator(@Value("${custom.trade.id.node-id:-1}") int nodeId, Environment environment) {
+        this(resolveNodeId(nodeId, environment));
+    }
+
+    public TradeIdGenerator(int nodeId) {
+        if (nodeId < 0 || nodeId > MAX_NODE_ID) {
+            throw new IllegalArgumentException("custom.trade.id.node-id 는 0 이상 " + MAX_NODE_ID + " 이하여야 합니다.");
+        }
+        this.nodeBits = (long) nodeId << SEQUENCE_BITS;
+    }
+
+    public String nextId() {
+        return encode(nextLong());
+    }
+
+    public long nextLong() {
+        long now = System.currentTimeMillis() - EPOCH_MILLIS;
+        while (true) {
+            long last = lastState.get();
+            long lastTime = last >>> SEQUENCE_BITS;
+            long next;
+            if (now > lastTime) {
+                next = now << SEQUENCE_BITS;
+            } else {
+                // 같은 ms 이거나 시계가 뒤로 간 경우: 순번을 올리고, 순번이 넘치면 다음 ms 로 넘어감
+                next = last + 1;
+            }
+            if (lastState.compareAndSet(last, next)) {
+                long time = next >>> SEQUENCE_BITS;
+                return (time << (NODE_BITS + SEQUENCE_BITS)) | nodeBits | (next & SEQUENCE_MASK);
+            }
+        }
+    }
+
+    // 부호 없는 64비트 값을 13자리 Base32 로 변환 (앞자리는 상위 4비트)
+    static String encode(long value) {
+        char[] chars = new char[LENGTH];
+        for (int i = LENGTH - 1; i >= 0; i--) {
+            chars[i] = ALPHABET[(int) (value & 0x1F)];
+            value >>>= 5;
+        }
+        return new String(chars);
+    }
+
+    // 지정하지 않은 경우(-1) dev/test 프로필에서만 호스트 정보로 계산
+    private static int resolveNodeId(int nodeId, Environment environment) {
+        if (nodeId >= 0) {
+            return nodeId;
+        }
+        if (!environment.acceptsProfiles(Profiles.of("dev", "test"))) {
+            throw new IllegalStateException("custom.trade.id.node-id 가 지정되지 않았습니다. 노드마다 서로 다른 값(0~"
+                    + MAX_NODE_ID + ")을 지정하세요.");
+        }
+        int derived = defaultNodeId();
+        log.warn("custom.trade.id.node-id 가 지정되지 않아 호스트 정보로 노드 ID [{}] 를 사용합니다. dev/test 프로필에서만 허용됩니다.", derived);
+        return derived;
+    }
+
+    private static int defaultNodeId() {
+        String host;
+        try {
+            host = InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            host = "unknown";
+        }
+        String identity = host + "/" + ManagementFactory.getRuntimeMXBean().getName();
+        return (identity.hashCode() & Integer.MAX_VALUE) % (MAX_NODE_ID + 1);
+    }
+}
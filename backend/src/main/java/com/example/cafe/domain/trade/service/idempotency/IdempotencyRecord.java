@@ -0,0 +1,9 @@
+package com.example.cafe.domain.trade.service.idempotency;
+
+import com.example.cafe.domain.trade.domain.dto.response.OrderResponseDto;
+
+/**
+ * Idempotency-Key 에 묶인 요청 해시와 응답. 다른 노드가 아직 처리 중이면 response 는 null 입니다.
+ */
+public record IdempotencyRecord(String requestHash, OrderResponseDto response) {
+}
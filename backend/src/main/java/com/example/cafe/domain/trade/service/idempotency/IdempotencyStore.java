@@ -0,0 +1,26 @@
+package com.example.cafe.domain.trade.service.idempotency;
+
+import com.example.cafe.domain.trade.domain.dto.response.OrderResponseDto;
+
+import java.util.Optional;
+
+/**
+ * Idempotency-Key 로 처리된 주문 응답 저장소.
+ * custom.order.idempotency.store 값(local, redis)에 따라 구현체가 하나만 등록됩니다.
+ */
+public interface IdempotencyStore {
+
+    Optional<IdempotencyRecord> get(String key);
+
+    void put(String key, String requestHash, OrderResponseDto response);
+
+    /**
+     * 다른 노드와 같은 키를 동시에 처리하지 않도록 키를 선점합니다.
+     *
+     * @return 선점했으면 true, 이미 다른 곳에서 처리 중이거나 처리가 끝났으면 false
+     */
+    boolean tryReserve(String key, String requestHash);
+
+    // 처리에 실패한 경우 선점을 풀어 재시도가 다시 실행될 수 있게 합니다.
+    void release(String key);
+}
@@ -0,0 +1,76 @@
+package com.example.cafe.domain.trade.service.idempotency;
+
+import com.example.cafe.domain.trade.domain.dto.response.OrderResponseDto;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * JVM 메모리 응답 저장소. 항목 수 상한을 넘으면 가장 오래된 항목부터 제거하고, TTL 이 지난 항목은 조회 시 버립니다.
+ * 같은 노드 안의 동시 중복 요청은 OrderIdempotencyService 가 처리 중인 결과를 공유하므로 선점은 항상 성공합니다.
+ */
+@Component
+@ConditionalOnProperty(name = "custom.order.idempotency.store", havingValue = "local", matchIfMissing = true)
+public class LocalIdempotencyStore implements IdempotencyStore {
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Map<String, Entry> entries;
+    private final long ttlMillis;
+
+    public LocalIdempotencyStore(@Value("${custom.order.idempotency.max-entries:100000}") int maxEntries,
+                                 @Value("${custom.order.idempotency.ttl:PT24H}") Duration ttl) {
+        this.ttlMillis = ttl.toMillis();
+        this.entries = new LinkedHashMap<>(16, 0.75f, false) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    @Override
+    public Optional<IdempotencyRecord> get(String key) {
+        lock.lock();
+        try {
+            Entry entry = entries.get(key);
+            if (entry == null) {
+                return Optional.empty();
+            }
+            if (entry.expiresAt() < System.currentTimeMillis()) {
+                entries.remove(key);
+                return Optional.empty();
+            }
+            return Optional.of(entry.record());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void put(String key, String requestHash, OrderResponseDto response) {
+        lock.lock();
+        try {
+            entries.put(key, new Entry(new IdempotencyRecord(requestHash, response), System.currentTimeMillis() + ttlMillis));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public boolean tryReserve(String key, String requestHash) {
+        return true;
+    }
+
+    @Override
+    public void release(String key) {
+    }
+
+    private record Entry(IdempotencyRecord record, long expiresAt) {
+    }
+}
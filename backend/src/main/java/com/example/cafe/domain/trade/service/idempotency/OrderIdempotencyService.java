@@ -0,0 +1,166 @@
+package com.example.cafe.domain.trade.service.idempotency;
+
+import com.example.cafe.domain.trade.domain.dto.response.OrderResponseDto;
+import com.example.cafe.global.exception.ServiceException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.concurrent.*;
+import java.util.function.Supplier;
+
+/**
+ * Idempotency-Key 헤더가 붙은 주문 요청을 한 번만 실행합니다.
+ * 처음 요청의 응답을 저장해 두고 이후 재시도에는 저장된 응답을 돌려주며,
+ * 처음 요청이 아직 처리 중이면 다시 실행하지 않고 그 결과를 기다립니다.
+ * 실패한 요청의 결과는 저장하지 않으므로 같은 키로 다시 시도할 수 있습니다.
+ * 키와 함께 요청(엔드포인트와 본문)의 해시를 저장하고, 같은 키로 다른 요청이 오면 422 로 거절합니다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class OrderIdempotencyService {
+
+    private static final int MAX_KEY_LENGTH = 100;
+    private static final long REMOTE_POLL_MILLIS = 50;
+
+    private final IdempotencyStore idempotencyStore;
+    private final ObjectMapper objectMapper;
+
+    @Value("${custom.order.idempotency.wait-seconds:10}")
+    private long waitSeconds;
+
+    // 같은 노드에서 처리 중인 요청: 동시에 들어온 중복 요청은 이 결과를 함께 기다림
+    private final ConcurrentMap<String, InFlight> inFlight = new ConcurrentHashMap<>();
+
+    /**
+     * @param memberId       요청한 회원 (회원마다 키 공간을 분리)
+     * @param scope          엔드포인트 구분 (item, cart)
+     * @param idempotencyKey 클라이언트가 보낸 키. 없으면 그대로 실행
+     * @param request        요청 본문. 본문이 없는 엔드포인트는 null
+     */
+    public OrderResponseDto execute(Long memberId, String scope, String idempotencyKey, Object request,
+                                    Supplier<OrderResponseDto> action) {
+        if (idempotencyKey == null || idempotencyKey.isBlank()) {
+            return action.get();
+        }
+        if (idempotencyKey.length() > MAX_KEY_LENGTH) {
+            throw new IllegalArgumentException("Idempotency-Key 는 " + MAX_KEY_LENGTH + "자 이하여야 합니다.");
+        }
+        // 엔드포인트는 요청 해시에 포함시켜 같은 키를 다른 엔드포인트에 재사용한 경우도 거절
+        String key = memberId + ":" + idempotencyKey;
+        String requestHash = hash(scope, request);
+
+        Optional<OrderResponseDto> stored = lookup(key, requestHash);
+        if (stored.isPresent()) {
+            log.debug("중복 주문 요청, 저장된 응답 반환 key : [{}]", key);
+            return stored.get();
+        }
+
+        InFlight mine = new InFlight(requestHash, new CompletableFuture<>());
+        InFlight running = inFlight.putIfAbsent(key, mine);
+        if (running != null) {
+            checkSameRequest(running.requestHash(), requestHash);
+            return await(running.future());
+        }
+        try {
+            mine.future().complete(executeOnce(key, requestHash, action));
+        } catch (RuntimeException e) {
+            mine.future().completeExceptionally(e);
+        } finally {
+            inFlight.remove(key, mine);
+        }
+        return await(mine.future());
+    }
+
+    private OrderResponseDto executeOnce(String key, String requestHash, Supplier<OrderResponseDto> action) {
+        // 대기 중 다른 요청이 처리를 끝냈을 수 있으므로 선점 전에 한 번 더 확인
+        Optional<OrderResponseDto> stored = lookup(key, requestHash);
+        if (stored.isPresent()) {
+            return stored.get();
+        }
+        if (!idempotencyStore.tryReserve(key, requestHash)) {
+            return awaitRemote(key, requestHash);
+        }
+        OrderResponseDto response;
+        try {
+            response = action.get();
+        } catch (RuntimeException e) {
+            idempotencyStore.release(key);
+            throw e;
+        }
+        idempotencyStore.put(key, requestHash, response);
+        return response;
+    }
+
+    // 저장된 응답 조회. 저장된 요청 해시가 다르면 처리 중이더라도 거절
+    private Optional<OrderResponseDto> lookup(String key, String requestHash) {
+        Optional<IdempotencyRecord> record = idempotencyStore.get(key);
+        if (record.isEmpty()) {
+            return Optional.empty();
+        }
+        checkSameRequest(record.get().requestHash(), requestHash);
+        return Optional.ofNullable(record.get().response());
+    }
+
+    private void checkSameRequest(String storedHash, String requestHash) {
+        if (!storedHash.equals(requestHash)) {
+            throw new ServiceException("422-1", "같은 Idempotency-Key 로 다른 주문을 요청할 수 없습니다.");
+        }
+    }
+
+    private String hash(String scope, Object request) {
+        try {
+            String body = request == null ? "" : objectMapper.writeValueAsString(request);
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest((scope + ":" + body).getBytes(StandardCharsets.UTF_8)));
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            throw new RuntimeException("주문 요청 해시를 계산할 수 없습니다.", e);
+        }
+    }
+
+    // 다른 노드가 같은 키를 처리 중: 응답이 저장될 때까지 짧게 폴링
+    private OrderResponseDto awaitRemote(String key, String requestHash) {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(waitSeconds);
+        while (System.nanoTime() < deadline) {
+            Optional<OrderResponseDto> stored = lookup(key, requestHash);
+            if (stored.isPresent()) {
+                return stored.get();
+            }
+            try {
+                Thread.sleep(REMOTE_POLL_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException("주문 처리 대기 중 인터럽트 발생", e);
+            }
+        }
+        throw new RuntimeException("같은 Idempotency-Key 로 요청한 주문이 아직 처리 중입니다.");
+    }
+
+    private OrderResponseDto await(CompletableFuture<OrderResponseDto> future) {
+        try {
+            return future.get(waitSeconds, TimeUnit.SECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new RuntimeException("주문 과정에서 오류 발생.", e.getCause());
+        } catch (TimeoutException e) {
+            throw new RuntimeException("같은 Idempotency-Key 로 요청한 주문이 아직 처리 중입니다.");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("주문 처리 대기 중 인터럽트 발생", e);
+        }
+    }
+
+    private record InFlight(String requestHash, CompletableFuture<OrderResponseDto> future) {
+    }
+}
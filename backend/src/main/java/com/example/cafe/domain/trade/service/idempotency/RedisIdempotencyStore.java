@@ -0,0 +1,83 @@
+package com.example.cafe.domain.trade.service.idempotency;
+
+import com.example.cafe.domain.trade.domain.dto.response.OrderResponseDto;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.redisson.api.RBucket;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.StringCodec;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Redis 응답 저장소. 여러 노드가 같은 키를 받아도 한 곳에서만 주문을 실행하도록 처리 중 표시를 먼저 선점합니다.
+ * 처리 중 표시는 lease-seconds 뒤 만료되므로 처리하던 노드가 죽어도 키가 영구히 막히지 않습니다.
+ * 처리 중 표시와 저장된 응답 모두 요청 해시를 함께 담아 다른 요청의 키 재사용을 가려낼 수 있게 합니다.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "custom.order.idempotency.store", havingValue = "redis")
+public class RedisIdempotencyStore implements IdempotencyStore {
+
+    private static final String KEY_PREFIX = "idempotency:order:";
+    private static final String IN_PROGRESS = "IN_PROGRESS:";
+
+    private final RedissonClient redissonClient;
+    private final ObjectMapper objectMapper;
+
+    @Value("${custom.order.idempotency.ttl:PT24H}")
+    private Duration ttl;
+
+    @Value("${custom.order.idempotency.lease-seconds:30}")
+    private long leaseSeconds;
+
+    @Override
+    public Optional<IdempotencyRecord> get(String key) {
+        String value = bucket(key).get();
+        if (value == null) {
+            return Optional.empty();
+        }
+        if (value.startsWith(IN_PROGRESS)) {
+            return Optional.of(new IdempotencyRecord(value.substring(IN_PROGRESS.length()), null));
+        }
+        try {
+            return Optional.of(objectMapper.readValue(value, IdempotencyRecord.class));
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("저장된 주문 응답을 읽을 수 없습니다.", e);
+        }
+    }
+
+    @Override
+    public void put(String key, String requestHash, OrderResponseDto response) {
+        try {
+            bucket(key).set(objectMapper.writeValueAsString(new IdempotencyRecord(requestHash, response)),
+                    ttl.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("주문 응답을 저장할 수 없습니다.", e);
+        }
+    }
+
+    @Override
+    public boolean tryReserve(String key, String requestHash) {
+        return bucket(key).trySet(IN_PROGRESS + requestHash, leaseSeconds, TimeUnit.SECONDS);
+    }
+
+    @Override
+    public void release(String key) {
+        RBucket<String> bucket = bucket(key);
+        String value = bucket.get();
+        if (value != null && value.startsWith(IN_PROGRESS)) {
+            bucket.compareAndSet(value, null);
+        }
+    }
+
+    private RBucket<String> bucket(String key) {
+        return redissonClient.getBucket(KEY_PREFIX + key, StringCodec.INSTANCE);
+    }
+}
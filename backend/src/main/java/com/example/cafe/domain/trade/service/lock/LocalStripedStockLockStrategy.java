@@ -0,0 +1,71 @@
+package com.example.cafe.domain.trade.service.lock;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * JVM 내부 스트라이프 락 전략. 단일 인스턴스 배포에서 Redis 왕복 없이 상품 단위 직렬화를 제공합니다.
+ * 상품 ID 를 고정 개수의 ReentrantLock 에 해시로 분배하므로 락 객체가 상품 수만큼 늘어나지 않습니다.
+ * 트랜잭션 안에서 호출하면 락은 트랜잭션이 끝난 뒤 해제됩니다.
+ * 여러 인스턴스가 같은 DB 를 사용하는 환경에서는 사용하면 안 됩니다.
+ */
+@Component
+@ConditionalOnProperty(name = "custom.stock.lock.strategy", havingValue = "local")
+public class LocalStripedStockLockStrategy implements StockLockStrategy {
+
+    private final ReentrantLock[] stripes;
+    private final int mask;
+    private final long waitMillis;
+
+    public LocalStripedStockLockStrategy(@Value("${custom.stock.lock.local.stripes:1024}") int stripeCount,
+                                         @Value("${custom.stock.lock.wait-seconds:5}") long waitSeconds) {
+        int size = Integer.highestOneBit(Math.max(1, stripeCount - 1)) << 1;
+        this.stripes = new ReentrantLock[size];
+        for (int i = 0; i < size; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+        this.mask = size - 1;
+        this.waitMillis = TimeUnit.SECONDS.toMillis(waitSeconds);
+    }
+
+    @Override
+    public <T> T executeWithLocks(Collection<Long> itemIds, Supplier<T> action) {
+        // 같은 스트라이프에 걸린 상품이 있을 수 있으므로 상품 ID 가 아니라 스트라이프 번호 순으로 획득
+        int[] indexes = itemIds.stream()
+                .mapToInt(this::stripeOf)
+                .distinct()
+                .sorted()
+                .toArray();
+        int acquired = 0;
+        try {
+            for (int index : indexes) {
+                if (!stripes[index].tryLock(waitMillis, TimeUnit.MILLISECONDS)) {
+                    throw new RuntimeException("재고 확인을 위한 락 획득 실패");
+                }
+                acquired++;
+            }
+            return action.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("락 획득 중 인터럽트 발생", e);
+        } finally {
+            int held = acquired;
+            LockRelease.afterTransaction(() -> {
+                for (int i = held - 1; i >= 0; i--) {
+                    stripes[indexes[i]].unlock();
+                }
+            });
+        }
+    }
+
+    private int stripeOf(Long itemId) {
+        int h = Long.hashCode(itemId);
+        return (h ^ (h >>> 16)) & mask;
+    }
+}
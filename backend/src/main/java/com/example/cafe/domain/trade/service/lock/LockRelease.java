@@ -0,0 +1,28 @@
+package com.example.cafe.domain.trade.service.lock;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * 락 해제 시점 결정. 트랜잭션 안이면 커밋/롤백이 끝난 뒤(afterCompletion)에 해제하여,
+ * 차감한 재고가 커밋되기 전에 다른 요청이 락을 얻어 커밋 이전 재고를 읽는 일을 막습니다.
+ * afterCompletion 은 트랜잭션을 시작한 스레드에서 호출되므로 스레드 소유 락도 그대로 해제할 수 있습니다.
+ */
+final class LockRelease {
+
+    private LockRelease() {
+    }
+
+    static void afterTransaction(Runnable release) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            release.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                release.run();
+            }
+        });
+    }
+}
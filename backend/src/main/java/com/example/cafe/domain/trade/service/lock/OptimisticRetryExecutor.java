@@ -0,0 +1,111 @@
+package com.example.cafe.domain.trade.service.lock;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.OptimisticLockException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * 낙관적 락 충돌(@Version 불일치) 시 작업을 지터가 적용된 지수 백오프로 다시 실행합니다.
+ * 작업 한 번이 트랜잭션 하나여야 합니다(충돌한 트랜잭션은 롤백 후 새 트랜잭션으로 재시도).
+ * <p>
+ * 경합이 심할 때 재시도가 부하를 키우지 않도록 노드 전체에 재시도 예산을 둡니다.
+ * 요청마다 budget-ratio 만큼 토큰이 쌓이고(최대 budget-max-tokens) 재시도 한 번에 1개를 쓰며,
+ * 토큰이 없으면 max-attempts 전이라도 바로 실패합니다.
+ */
+@Slf4j
+@Component
+public class OptimisticRetryExecutor {
+
+    private static final long MILLI = 1000L;
+
+    @Value("${custom.order.optimistic.max-attempts:5}")
+    private int maxAttempts;
+
+    @Value("${custom.order.optimistic.initial-backoff-ms:5}")
+    private long initialBackoffMs;
+
+    @Value("${custom.order.optimistic.max-backoff-ms:200}")
+    private long maxBackoffMs;
+
+    @Value("${custom.order.optimistic.budget-ratio:0.2}")
+    private double budgetRatio;
+
+    @Value("${custom.order.optimistic.budget-max-tokens:100}")
+    private int budgetMaxTokens;
+
+    // 1/1000 토큰 단위로 관리
+    private final AtomicLong budget = new AtomicLong();
+
+    @PostConstruct
+    public void init() {
+        budget.set(budgetMaxTokens * MILLI);
+    }
+
+    public <T> T execute(Supplier<T> attempt) {
+        deposit();
+        int attempts = 1;
+        while (true) {
+            try {
+                return attempt.get();
+            } catch (RuntimeException e) {
+                if (!isConflict(e)) {
+                    throw e;
+                }
+                if (attempts >= maxAttempts || !withdraw()) {
+                    log.debug("낙관적 락 재시도 중단 attempts : [{}], budget : [{}]", attempts, budget.get() / MILLI);
+                    throw new RuntimeException("다른 주문과 충돌이 계속되어 주문을 처리하지 못했습니다. 잠시 후 다시 시도해 주세요.", e);
+                }
+                sleep(backoffMillis(attempts));
+                attempts++;
+            }
+        }
+    }
+
+    // 남은 재시도 토큰 수 (테스트/모니터링용)
+    public long remainingBudget() {
+        return budget.get() / MILLI;
+    }
+
+    private boolean isConflict(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof OptimisticLockingFailureException || cause instanceof OptimisticLockException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void deposit() {
+        long max = budgetMaxTokens * MILLI;
+        long amount = (long) (budgetRatio * MILLI);
+        budget.getAndUpdate(current -> Math.min(max, current + amount));
+    }
+
+    private boolean withdraw() {
+        long before = budget.getAndUpdate(current -> current >= MILLI ? current - MILLI : current);
+        return before >= MILLI;
+    }
+
+    private long backoffMillis(int attempts) {
+        long exponential = initialBackoffMs * (1L << Math.min(attempts - 1, 20));
+        long capped = Math.min(maxBackoffMs, exponential);
+        // 같은 상품에서 충돌한 요청들이 같은 시각에 다시 몰리지 않도록 0~100% 구간의 지터 적용
+        return ThreadLocalRandom.current().nextLong(capped + 1);
+    }
+
+    private void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("주문 재시도 대기 중 인터럽트 발생", e);
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.cafe.domain.trade.service.lock;
+
+import com.example.cafe.domain.item.repository.ItemRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.TreeSet;
+import java.util.function.Supplier;
+
+/**
+ * DB 행 락(SELECT ... FOR UPDATE) 전략. 별도 인프라 없이 다중 노드에서도 안전합니다.
+ * 락은 호출한 쪽의 트랜잭션이 끝날 때 해제되므로 반드시 트랜잭션 안에서 호출해야 합니다.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "custom.stock.lock.strategy", havingValue = "database")
+public class PessimisticStockLockStrategy implements StockLockStrategy {
+
+    private final ItemRepository itemRepository;
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public <T> T executeWithLocks(Collection<Long> itemIds, Supplier<T> action) {
+        // 상품 ID 오름차순으로 한 번에 행 락을 획득
+        itemRepository.findAllByIdInForUpdate(new TreeSet<>(itemIds));
+        return action.get();
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.cafe.domain.trade.service.lock;
+
+import lombok.RequiredArgsConstructor;
+import org.redisson.api.RLock;
+import org.redisson.api.RedissonClient;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Redis 분산 락(lock:item:{id}) 전략. 여러 노드가 같은 DB 를 사용하는 환경용입니다.
+ * 트랜잭션 안에서 호출하면 락은 트랜잭션이 끝난 뒤 해제되므로, lease-seconds 는 트랜잭션 시간보다 길어야 합니다.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "custom.stock.lock.strategy", havingValue = "redisson", matchIfMissing = true)
+public class RedissonStockLockStrategy implements StockLockStrategy {
+
+    private final RedissonClient redissonClient;
+
+    @Value("${custom.stock.lock.wait-seconds:5}")
+    private long waitSeconds;
+
+    @Value("${custom.stock.lock.lease-seconds:10}")
+    private long leaseSeconds;
+
+    @Override
+    public <T> T executeWithLocks(Collection<Long> itemIds, Supplier<T> action) {
+        List<RLock> acquiredLocks = new ArrayList<>();
+        try {
+            // 데드락을 피하기 위해 중복 없는 상품 ID 오름차순으로 획득
+            for (Long itemId : new TreeSet<>(itemIds)) {
+                RLock lock = redissonClient.getLock("lock:item:" + itemId);
+                if (!lock.tryLock(waitSeconds, leaseSeconds, TimeUnit.SECONDS)) {
+                    throw new RuntimeException("재고 확인을 위한 락 획득 실패 for item " + itemId);
+                }
+                acquiredLocks.add(lock);
+            }
+            return action.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("락 획득 중 인터럽트 발생", e);
+        } finally {
+            LockRelease.afterTransaction(() -> {
+                for (RLock lock : acquiredLocks) {
+                    if (lock.isHeldByCurrentThread()) {
+                        lock.unlock();
+                    }
+                }
+            });
+        }
+    }
+}
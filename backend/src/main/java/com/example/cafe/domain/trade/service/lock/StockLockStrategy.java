@@ -0,0 +1,20 @@
+package com.example.cafe.domain.trade.service.lock;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * 상품 재고를 다루는 구간을 상품 단위로 보호하는 락 전략.
+ * custom.stock.lock.strategy 값(redisson, database, local)에 따라 구현체가 하나만 등록됩니다.
+ * 여러 상품을 잠글 때는 구현체가 항상 정해진 순서로 획득하므로 호출하는 쪽에서 정렬할 필요가 없습니다.
+ * 트랜잭션 안에서 호출하면 락은 action 이 끝날 때가 아니라 트랜잭션이 커밋/롤백된 뒤 해제됩니다.
+ */
+public interface StockLockStrategy {
+
+    <T> T executeWithLocks(Collection<Long> itemIds, Supplier<T> action);
+
+    default <T> T executeWithLock(Long itemId, Supplier<T> action) {
+        return executeWithLocks(List.of(itemId), action);
+    }
+}
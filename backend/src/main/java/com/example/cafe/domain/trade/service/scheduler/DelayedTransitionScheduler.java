@@ -0,0 +1,273 @@
+package com.example.cafe.domain.trade.service.scheduler;
+
+import com.example.cafe.domain.trade.domain.dto.TradeUpdatedView;
+import com.example.cafe.domain.trade.domain.entity.DelayedTransition;
+import com.example.cafe.domain.trade.domain.entity.DelayedTransitionStatus;
+import com.example.cafe.domain.trade.domain.entity.TradeStatus;
+import com.example.cafe.domain.trade.repository.DelayedTransitionRepository;
+import com.example.cafe.domain.trade.repository.TradeRepository;
+import com.example.cafe.domain.trade.service.history.OrderHistoryProjector;
+import com.example.cafe.global.util.Threads;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.stream.Collectors;
+
+import static com.example.cafe.domain.trade.domain.entity.DelayedTransitionStatus.DONE;
+import static com.example.cafe.domain.trade.domain.entity.DelayedTransitionStatus.PENDING;
+
+/**
+ * 예약 시각에 주문 상태를 바꾸는 지연 상태 변경 엔진.
+ * 시간에 따라 바뀌는 상태에 들어간 주문은 delayed_transition 에 예약을 저장하고, 커밋 이후 메모리 타이밍 휠에 등록합니다.
+ * 휠이 기한이 된 항목을 모아 주면 (from, to) 상태별로 벌크 UPDATE 한 번씩 실행하므로 주문 상태 전체를 주기적으로 훑지 않습니다.
+ * 재시작이나 다른 노드에서 예약된 항목은 (status, due_at) 인덱스로 가까운 시각의 예약만 다시 읽어 휠에 적재합니다.
+ * 예약 없이 PREPARE_DELIVERY 에 들어간 주문(도입 이전에 확인된 주문, 예약하지 않는 경로로 바뀐 주문)은
+ * 복구 적재 때마다 마지막 상태 변경 시각 + prepare-delay 로 예약을 만들어 BEFORE_DELIVERY 로 넘어가게 합니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class DelayedTransitionScheduler {
+
+    // 복구 적재 커서의 시작 시각 (모든 예약보다 이른 시각)
+    private static final LocalDateTime LOAD_START = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    private final DelayedTransitionRepository transitionRepository;
+    private final TradeRepository tradeRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final OrderHistoryProjector orderHistoryProjector;
+
+    @Value("${custom.delivery.transition.tick-ms:100}")
+    private long tickMs;
+
+    @Value("${custom.delivery.transition.wheel-size:512}")
+    private int wheelSize;
+
+    @Value("${custom.delivery.transition.batch-size:200}")
+    private int batchSize;
+
+    @Value("${custom.delivery.transition.load-horizon:PT1H}")
+    private Duration loadHorizon;
+
+    @Value("${custom.delivery.transition.prepare-delay:PT10M}")
+    private Duration prepareDelay;
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    private TimingWheel<Long> wheel;
+    // 이 노드의 휠에 올라가 있는 예약 ID (복구 적재 시 중복 등록 방지)
+    private final Set<Long> scheduled = ConcurrentHashMap.newKeySet();
+    // 등록 시점에 이미 기한이 지난 예약
+    private final Queue<Long> ready = new ConcurrentLinkedQueue<>();
+    private volatile boolean running;
+    private Thread worker;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        wheel = new TimingWheel<>(tickMs, wheelSize);
+        running = true;
+        worker = Threads.factory("delayed-transition", virtualThreads).newThread(this::runLoop);
+        worker.setDaemon(true);
+        worker.start();
+        recover();
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        if (worker != null) {
+            worker.interrupt();
+        }
+    }
+
+    /**
+     * 현재 트랜잭션에서 예약을 저장하고, 커밋되면 휠에 등록합니다.
+     */
+    public void schedule(Long tradeId, TradeStatus from, TradeStatus to, Duration delay) {
+        scheduleAll(List.of(tradeId), from, to, delay);
+    }
+
+    // 여러 주문을 같은 시각으로 예약 (관리자 일괄 처리)
+    public void scheduleAll(Collection<Long> tradeIds, TradeStatus from, TradeStatus to, Duration delay) {
+        if (tradeIds.isEmpty()) {
+            return;
+        }
+        LocalDateTime dueAt = LocalDateTime.now().plus(delay);
+        List<DelayedTransition> transitions = transitionRepository.saveAll(tradeIds.stream()
+                .map(tradeId -> DelayedTransition.builder()
+                        .tradeId(tradeId)
+                        .fromStatus(from)
+                        .toStatus(to)
+                        .dueAt(dueAt)
+                        .status(PENDING)
+                        .build())
+                .toList());
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            transitions.forEach(this::register);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                transitions.forEach(DelayedTransitionScheduler.this::register);
+            }
+        });
+    }
+
+    // 가까운 시각의 예약을 테이블에서 읽어 휠에 적재 (재시작, 다른 노드의 예약, 놓친 항목 보완)
+    @Scheduled(fixedDelayString = "${custom.delivery.transition.recovery-interval-ms:60000}",
+            initialDelayString = "${custom.delivery.transition.recovery-interval-ms:60000}")
+    public void recover() {
+        if (wheel == null) {
+            return;
+        }
+        backfill();
+        LocalDateTime until = LocalDateTime.now().plus(loadHorizon);
+        LocalDateTime lastDueAt = LOAD_START;
+        long lastId = 0L;
+        int loaded = 0;
+        while (true) {
+            // 기한이 가까운 예약부터 적재
+            List<DelayedTransition> page = transitionRepository.findPendingAfter(PENDING, until, lastDueAt, lastId,
+                    PageRequest.of(0, batchSize));
+            for (DelayedTransition transition : page) {
+                if (register(transition)) {
+                    loaded++;
+                }
+            }
+            if (page.size() < batchSize) {
+                break;
+            }
+            DelayedTransition last = page.get(page.size() - 1);
+            lastDueAt = last.getDueAt();
+            lastId = last.getId();
+        }
+        if (loaded > 0) {
+            log.info("지연 상태 변경 예약 적재 : [{}]건", loaded);
+        }
+    }
+
+    /**
+     * PENDING 예약 없이 PREPARE_DELIVERY 에 머물러 있는 주문에 BEFORE_DELIVERY 예약을 만듭니다.
+     * 여러 노드가 동시에 만들어 중복되더라도 fire() 가 from 상태 조건으로 바꾸므로 상태는 한 번만 바뀝니다.
+     *
+     * @return 새로 만든 예약 수
+     */
+    public int backfill() {
+        long lastId = 0L;
+        int created = 0;
+        while (true) {
+            List<TradeUpdatedView> page = tradeRepository.findUnscheduledByStatusAfter(
+                    TradeStatus.PREPARE_DELIVERY, lastId, PageRequest.of(0, batchSize));
+            if (page.isEmpty()) {
+                break;
+            }
+            LocalDateTime now = LocalDateTime.now();
+            transactionTemplate.executeWithoutResult(status -> transitionRepository.saveAll(page.stream()
+                    .map(trade -> DelayedTransition.builder()
+                            .tradeId(trade.getId())
+                            .fromStatus(TradeStatus.PREPARE_DELIVERY)
+                            .toStatus(TradeStatus.BEFORE_DELIVERY)
+                            .dueAt(trade.getTradeUpdatedDate() == null ? now : trade.getTradeUpdatedDate().plus(prepareDelay))
+                            .status(PENDING)
+                            .build())
+                    .toList()));
+            created += page.size();
+            lastId = page.get(page.size() - 1).getId();
+            if (page.size() < batchSize) {
+                break;
+            }
+        }
+        if (created > 0) {
+            log.info("예약 없이 배송 준비 중인 주문에 지연 상태 변경 예약 생성 : [{}]건", created);
+        }
+        return created;
+    }
+
+    /**
+     * 예약을 실행합니다. 아직 PENDING 인 예약만 잠근 뒤 (from, to) 별로 주문 상태를 한 번에 바꾸고,
+     * 그 사이 다른 상태로 바뀐 주문은 그대로 둡니다.
+     *
+     * @return 상태가 바뀐 주문 수
+     */
+    public int fire(List<Long> transitionIds) {
+        Integer updated = transactionTemplate.execute(status -> {
+            List<DelayedTransition> pending = transitionRepository.findAllByIdInForUpdate(transitionIds, PENDING);
+            if (pending.isEmpty()) {
+                return 0;
+            }
+            LocalDateTime now = LocalDateTime.now();
+            Map<List<TradeStatus>, List<Long>> tradeIdsByTransition = pending.stream()
+                    .collect(Collectors.groupingBy(t -> List.of(t.getFromStatus(), t.getToStatus()),
+                            Collectors.mapping(DelayedTransition::getTradeId, Collectors.toList())));
+            int count = 0;
+            for (Map.Entry<List<TradeStatus>, List<Long>> entry : tradeIdsByTransition.entrySet()) {
+                count += tradeRepository.updateStatusByIdIn(entry.getValue(), entry.getKey().get(0), entry.getKey().get(1), now);
+                orderHistoryProjector.onStatusChanged(entry.getValue(), entry.getKey().get(0), entry.getKey().get(1));
+            }
+            transitionRepository.updateStatusByIdIn(pending.stream().map(DelayedTransition::getId).toList(), DONE);
+            return count;
+        });
+        return updated == null ? 0 : updated;
+    }
+
+    private boolean register(DelayedTransition transition) {
+        if (!scheduled.add(transition.getId())) {
+            return false;
+        }
+        long dueMillis = transition.getDueAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        if (wheel == null || !wheel.add(dueMillis, transition.getId())) {
+            ready.add(transition.getId());
+        }
+        return true;
+    }
+
+    private void runLoop() {
+        while (running) {
+            try {
+                List<Long> due = new ArrayList<>();
+                Long id;
+                while ((id = ready.poll()) != null) {
+                    due.add(id);
+                }
+                due.addAll(wheel.poll(tickMs));
+                for (int from = 0; from < due.size(); from += batchSize) {
+                    List<Long> chunk = due.subList(from, Math.min(from + batchSize, due.size()));
+                    fireSafely(chunk);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private void fireSafely(List<Long> transitionIds) {
+        try {
+            int updated = fire(transitionIds);
+            log.info("예약된 주문 상태 변경 실행 : 예약 [{}]건, 변경 [{}]건", transitionIds.size(), updated);
+        } catch (RuntimeException e) {
+            // 실패한 예약은 PENDING 으로 남아 다음 복구 적재 때 다시 실행
+            log.error("예약된 주문 상태 변경 실패 transitionIds : {}", transitionIds, e);
+        } finally {
+            scheduled.removeAll(transitionIds);
+        }
+    }
+}
@@ -1,34 +1,92 @@
 package com.example.cafe.domain.trade.service.scheduler;
 
-import ch.qos.logback.classic.Logger;
-import com.example.cafe.domain.trade.domain.entity.Trade;
 import com.example.cafe.domain.trade.domain.entity.TradeStatus;
 import com.example.cafe.domain.trade.repository.TradeRepository;
+import com.example.cafe.domain.trade.service.history.OrderHistoryProjector;
+import com.example.cafe.global.annotation.SchedulerLock;
+import com.example.cafe.global.scheduler.SchedulerLockManager;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
+/**
+ * PREPARE_DELIVERY 주문을 BEFORE_DELIVERY 로 일괄 변경합니다.
+ * 엔티티를 모두 읽어 하나씩 바꾸지 않고, trade_id 기준 keyset 으로 batch-size 만큼 ID 를 읽어
+ * 조각마다 벌크 UPDATE 한 번과 커밋 한 번으로 처리하므로 대상이 늘어나도 트랜잭션 크기가 일정합니다.
+ * 변경 건수와 소요 시간은 trade.delivery.transitions / trade.delivery.scheduler.duration 메트릭으로 남깁니다.
+ * 여러 노드가 떠 있어도 @SchedulerLock 으로 매 실행마다 한 노드만 처리합니다.
+ * 평소에는 DelayedTransitionScheduler 가 주문별 예약 시각에 상태를 바꾸므로 기본값으로는 꺼져 있고,
+ * custom.delivery.scheduler.cron 을 지정하면 일괄 보정 작업으로 다시 켤 수 있습니다.
+ * 꺼져 있어도 예약 없이 PREPARE_DELIVERY 에 머문 주문은 DelayedTransitionScheduler.backfill() 이 예약을 만들어 줍니다.
+ */
 @Component
 @Slf4j
 @RequiredArgsConstructor
-@Transactional
 public class DeliveryScheduler {
 
     private final TradeRepository tradeRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+    private final SchedulerLockManager schedulerLockManager;
+    private final OrderHistoryProjector orderHistoryProjector;
 
-    @Scheduled(cron = "0 */10 * * * *")
-    public void updateStatusToBeforeDelivery() {
+    @Value("${custom.delivery.scheduler.batch-size:500}")
+    private int batchSize;
 
-        List<Trade> prepareDeliveryTrades = tradeRepository.findByTradeStatus(TradeStatus.PREPARE_DELIVERY);
+    @Scheduled(cron = "${custom.delivery.scheduler.cron:-}")
+    @SchedulerLock(name = "delivery-before-delivery", leaseSeconds = 540, lockAtLeastForSeconds = 60)
+    public void updateStatusToBeforeDelivery() {
+        int updated = transition(TradeStatus.PREPARE_DELIVERY, TradeStatus.BEFORE_DELIVERY);
+        log.info("trade 중 status 가 Prepare Delivery 인 거래 [{}]건을 Before Delivery 로 업데이트를 완료했습니다.", updated);
+    }
 
-        for (Trade prepareDeliveryTrade : prepareDeliveryTrades) {
-            log.info("trade 상태변경 : {}", prepareDeliveryTrade.getTradeUUID());
-            prepareDeliveryTrade.setTradeStatus(TradeStatus.BEFORE_DELIVERY);
+    /**
+     * from 상태인 주문을 to 상태로 조각 단위로 변경합니다.
+     *
+     * @return 변경된 주문 수
+     */
+    public int transition(TradeStatus from, TradeStatus to) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        Counter counter = meterRegistry.counter("trade.delivery.transitions", "from", from.name(), "to", to.name());
+        long lastId = 0L;
+        int total = 0;
+        int chunks = 0;
+        try {
+            while (true) {
+                List<Long> ids = tradeRepository.findIdsByStatusAfter(from, lastId, PageRequest.of(0, batchSize));
+                if (ids.isEmpty()) {
+                    break;
+                }
+                Integer updated = transactionTemplate.execute(status -> {
+                    // lease 를 잃었으면(다른 노드가 가져감) 이 조각부터 반영하지 않음
+                    schedulerLockManager.assertLeaseHeld();
+                    int count = tradeRepository.updateStatusByIdIn(ids, from, to, LocalDateTime.now());
+                    orderHistoryProjector.onStatusChanged(ids, from, to);
+                    return count;
+                });
+                int count = updated == null ? 0 : updated;
+                counter.increment(count);
+                total += count;
+                chunks++;
+                lastId = ids.get(ids.size() - 1);
+                if (ids.size() < batchSize) {
+                    break;
+                }
+            }
+        } finally {
+            sample.stop(meterRegistry.timer("trade.delivery.scheduler.duration", "from", from.name(), "to", to.name()));
         }
-        log.info("trade 중 status 가 Prepare Delivery 인 거래를 Before Delivery 로 업데이트를 완료했습니다.");
+        log.debug("주문 상태 일괄 변경 {} -> {} : [{}]건, 조각 [{}]개", from, to, total, chunks);
+        return total;
     }
 }
@@ -0,0 +1,159 @@
+package com.example.cafe.domain.trade.service.scheduler;
+
+import com.example.cafe.domain.item.service.ItemStockService;
+import com.example.cafe.domain.trade.domain.entity.Trade;
+import com.example.cafe.domain.trade.repository.TradeItemRepository;
+import com.example.cafe.domain.trade.repository.TradeRepository;
+import com.example.cafe.domain.trade.service.history.OrderHistoryProjector;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.*;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.TimeUnit;
+
+import static com.example.cafe.domain.trade.domain.entity.TradeStatus.BUY;
+import static com.example.cafe.domain.trade.domain.entity.TradeStatus.REFUSED;
+
+/**
+ * 결제되지 않은 BUY 주문의 재고 예약 만료 처리.
+ * 주문이 커밋되면 결제 기한과 함께 메모리 지연 큐에 등록하고, 기한이 지난 주문만 꺼내 배치로 만료시킵니다.
+ * 재시작이나 다른 노드에서 생성된 주문은 (trade_status, reservation_deadline) 인덱스 조회로 주기적으로 보완합니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ReservationExpiryScheduler {
+
+    private final TradeRepository tradeRepository;
+    private final TradeItemRepository tradeItemRepository;
+    private final ItemStockService itemStockService;
+    private final TransactionTemplate transactionTemplate;
+    private final OrderHistoryProjector orderHistoryProjector;
+
+    @Value("${custom.trade.reservation.ttl:PT15M}")
+    private Duration ttl;
+
+    @Value("${custom.trade.reservation.batch-size:200}")
+    private int batchSize;
+
+    private final DelayQueue<Expiry> expiries = new DelayQueue<>();
+
+    public LocalDateTime nextDeadline() {
+        return LocalDateTime.now().plus(ttl);
+    }
+
+    // 주문 트랜잭션이 커밋된 뒤에만 만료 대상으로 등록
+    public void track(Long tradeId, LocalDateTime deadline) {
+        if (deadline == null) {
+            return;
+        }
+        Expiry expiry = new Expiry(tradeId, deadline.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli());
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            expiries.add(expiry);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                expiries.add(expiry);
+            }
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${custom.trade.reservation.sweep-interval-ms:1000}")
+    public void sweep() {
+        List<Long> tradeIds = new ArrayList<>();
+        Expiry expiry;
+        // DelayQueue 는 기한이 지난 항목만 꺼내주므로 아직 유효한 예약은 건드리지 않음
+        while ((expiry = expiries.poll()) != null) {
+            tradeIds.add(expiry.tradeId());
+            if (tradeIds.size() == batchSize) {
+                expire(tradeIds);
+                tradeIds = new ArrayList<>();
+            }
+        }
+        if (!tradeIds.isEmpty()) {
+            expire(tradeIds);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${custom.trade.reservation.recovery-interval-ms:60000}",
+            initialDelayString = "${custom.trade.reservation.recovery-initial-delay-ms:10000}")
+    public void recover() {
+        int total = 0;
+        while (true) {
+            List<Long> tradeIds = tradeRepository.findExpiredReservationIds(BUY, LocalDateTime.now(), PageRequest.of(0, batchSize));
+            if (tradeIds.isEmpty()) {
+                break;
+            }
+            int expired = expire(tradeIds);
+            total += expired;
+            if (expired == 0 || tradeIds.size() < batchSize) {
+                break;
+            }
+        }
+        if (total > 0) {
+            log.info("결제 기한 만료 주문 보완 처리 : [{}]건", total);
+        }
+    }
+
+    /**
+     * 아직 BUY 상태이고 기한이 지난 주문만 잠근 뒤 한 번에 REFUSED 로 바꾸고,
+     * 상품별 수량을 합산해 원자적 증가 UPDATE 로 재고를 반납합니다.
+     *
+     * @return 만료 처리된 주문 수
+     */
+    public int expire(List<Long> tradeIds) {
+        try {
+            Integer expired = transactionTemplate.execute(status -> {
+                LocalDateTime now = LocalDateTime.now();
+                List<Long> lockedIds = tradeRepository.findExpiredReservationsForUpdate(tradeIds, BUY, now).stream()
+                        .map(Trade::getId)
+                        .toList();
+                if (lockedIds.isEmpty()) {
+                    return 0;
+                }
+                tradeRepository.updateStatusByIdIn(lockedIds, BUY, REFUSED, now);
+                orderHistoryProjector.onStatusChanged(lockedIds, BUY, REFUSED);
+
+                SortedMap<Long, Integer> quantities = new TreeMap<>();
+                tradeItemRepository.sumQuantitiesByTradeIdIn(lockedIds)
+                        .forEach(view -> quantities.put(view.getItemId(), view.getQuantity()));
+                itemStockService.restore(quantities);
+                return lockedIds.size();
+            });
+            if (expired != null && expired > 0) {
+                log.info("결제 기한 만료로 주문 [{}]건 취소, 재고 반납 완료", expired);
+            }
+            return expired == null ? 0 : expired;
+        } catch (RuntimeException e) {
+            log.error("결제 기한 만료 처리 실패 tradeIds : {}", tradeIds, e);
+            return 0;
+        }
+    }
+
+    private record Expiry(Long tradeId, long deadlineMillis) implements Delayed {
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(deadlineMillis - System.currentTimeMillis(), TimeUnit.MILLISECONDS);
+        }
+
+        @Override
+        public int compareTo(Delayed other) {
+            return Long.compare(deadlineMillis, ((Expiry) other).deadlineMillis);
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package com.example.cafe.domain.trade.service.scheduler;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 계층형 타이밍 휠. 등록/취소가 O(1) 이고, 대기 스레드는 항목마다가 아니라 비어 있지 않은 칸(bucket)마다 한 번만 깨어납니다.
+ * 한 바퀴(tickMs * wheelSize)보다 먼 항목은 상위 휠에 넣어 두었다가 시각이 가까워지면 하위 휠로 내려 보냅니다.
+ * 등록은 여러 스레드에서 호출할 수 있고, poll() 은 한 스레드에서만 호출해야 합니다.
+ */
+class TimingWheel<T> {
+
+    private final DelayQueue<Bucket<T>> queue = new DelayQueue<>();
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Level<T> root;
+
+    TimingWheel(long tickMs, int wheelSize) {
+        this.root = new Level<>(tickMs, wheelSize, System.currentTimeMillis(), queue);
+    }
+
+    /**
+     * @return 휠에 등록했으면 true, 이미 기한이 지나 바로 실행해야 하면 false
+     */
+    boolean add(long expirationMs, T payload) {
+        lock.lock();
+        try {
+            return root.add(new Entry<>(expirationMs, payload));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 기한이 된 칸이 생길 때까지 최대 timeoutMs 만큼 기다린 뒤 기한이 지난 항목들을 반환합니다.
+     */
+    List<T> poll(long timeoutMs) throws InterruptedException {
+        List<T> due = new ArrayList<>();
+        Bucket<T> bucket = queue.poll(timeoutMs, TimeUnit.MILLISECONDS);
+        while (bucket != null) {
+            lock.lock();
+            try {
+                root.advanceClock(bucket.expiration);
+                // 상위 휠 칸이면 하위 휠로 다시 나누어 넣고, 더 내려갈 곳이 없는 항목만 실행 대상
+                for (Entry<T> entry : bucket.drain()) {
+                    if (!root.add(entry)) {
+                        due.add(entry.payload);
+                    }
+                }
+            } finally {
+                lock.unlock();
+            }
+            bucket = queue.poll();
+        }
+        return due;
+    }
+
+    private record Entry<T>(long expirationMs, T payload) {
+    }
+
+    private static final class Level<T> {
+        private final long tickMs;
+        private final int wheelSize;
+        private final long interval;
+        private final List<Bucket<T>> buckets;
+        private final DelayQueue<Bucket<T>> queue;
+        private long currentTime;
+        private Level<T> overflow;
+
+        private Level(long tickMs, int wheelSize, long startMs, DelayQueue<Bucket<T>> queue) {
+            this.tickMs = tickMs;
+            this.wheelSize = wheelSize;
+            this.interval = tickMs * wheelSize;
+            this.queue = queue;
+            this.currentTime = startMs - (startMs % tickMs);
+            this.buckets = new ArrayList<>(wheelSize);
+            for (int i = 0; i < wheelSize; i++) {
+                buckets.add(new Bucket<>());
+            }
+        }
+
+        private boolean add(Entry<T> entry) {
+            long expiration = entry.expirationMs();
+            if (expiration < currentTime + tickMs) {
+                return false;
+            }
+            if (expiration < currentTime + interval) {
+                long virtualId = expiration / tickMs;
+                Bucket<T> bucket = buckets.get((int) (virtualId % wheelSize));
+                bucket.entries.add(entry);
+                // 칸이 새 바퀴로 재사용될 때만 대기열에 다시 넣음
+                if (bucket.setExpiration(virtualId * tickMs)) {
+                    queue.offer(bucket);
+                }
+                return true;
+            }
+            if (overflow == null) {
+                overflow = new Level<>(interval, wheelSize, currentTime, queue);
+            }
+            return overflow.add(entry);
+        }
+
+        private void advanceClock(long timeMs) {
+            if (timeMs >= currentTime + tickMs) {
+                currentTime = timeMs - (timeMs % tickMs);
+                if (overflow != null) {
+                    overflow.advanceClock(currentTime);
+                }
+            }
+        }
+    }
+
+    private static final class Bucket<T> implements Delayed {
+        private final List<Entry<T>> entries = new ArrayList<>();
+        private long expiration = -1L;
+
+        private boolean setExpiration(long expirationMs) {
+            if (expiration == expirationMs) {
+                return false;
+            }
+            expiration = expirationMs;
+            return true;
+        }
+
+        private List<Entry<T>> drain() {
+            List<Entry<T>> drained = new ArrayList<>(entries);
+            entries.clear();
+            expiration = -1L;
+            return drained;
+        }
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(expiration - System.currentTimeMillis(), TimeUnit.MILLISECONDS);
+        }
+
+        @Override
+        public int compareTo(Delayed other) {
+            return Long.compare(expiration, ((Bucket<?>) other).expiration);
+        }
+    }
+}
@@ -0,0 +1,259 @@
+package com.example.cafe.domain.trade.service.user;
+
+import com.example.cafe.domain.item.entity.Item;
+import com.example.cafe.domain.item.repository.ItemRepository;
+import com.example.cafe.domain.item.service.ItemStockService;
+import com.example.cafe.domain.member.entity.Member;
+import com.example.cafe.domain.member.repository.MemberRepository;
+import com.example.cafe.domain.trade.domain.dto.request.OrderRequestItemDto;
+import com.example.cafe.domain.trade.domain.dto.response.OrderResponseDto;
+import com.example.cafe.domain.trade.domain.entity.Trade;
+import com.example.cafe.domain.trade.domain.entity.TradeItem;
+import com.example.cafe.domain.trade.domain.entity.PaymentSyncStatus;
+import com.example.cafe.domain.trade.portone.service.PaymentOutboxService;
+import com.example.cafe.domain.trade.repository.TradeRepository;
+import com.example.cafe.domain.trade.service.id.TradeIdGenerator;
+import com.example.cafe.domain.trade.service.scheduler.ReservationExpiryScheduler;
+import com.example.cafe.global.util.Threads;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static com.example.cafe.domain.trade.domain.entity.TradeStatus.BUY;
+
+/**
+ * 인기 상품 단건 주문 결합기.
+ * 같은 상품에 대한 단건 주문을 상품별 큐에 window-ms 동안 모은 뒤, 한 트랜잭션에서 상품 행을 한 번만 잠그고
+ * 도착 순서대로 재고를 배정하여 배정된 수량의 합을 한 번에 차감합니다. 주문과 결제 사전 등록 outbox 는
+ * 같은 트랜잭션에서 배치로 저장하고, 사전 등록 호출은 커밋 이후 PaymentOutboxRelay 가 처리합니다.
+ * Redis 재고 원장을 사용하거나 재고가 분할된 상품은 이미 행 경합이 분산되어 있으므로 결합하지 않고 기존 경로로 주문합니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class HotItemOrderCombiner {
+
+    private final OrderPlacementRouter orderPlacementRouter;
+    private final ItemStockService itemStockService;
+    private final ItemRepository itemRepository;
+    private final MemberRepository memberRepository;
+    private final TradeRepository tradeRepository;
+    private final PaymentOutboxService paymentOutboxService;
+    private final TransactionTemplate transactionTemplate;
+    private final ReservationExpiryScheduler reservationExpiryScheduler;
+    private final TradeIdGenerator tradeIdGenerator;
+
+    @Value("${custom.order.combiner.enabled:false}")
+    private boolean enabled;
+
+    @Value("${custom.order.combiner.window-ms:5}")
+    private long windowMs;
+
+    @Value("${custom.order.combiner.max-batch-size:200}")
+    private int maxBatchSize;
+
+    @Value("${custom.order.combiner.threads:4}")
+    private int threads;
+
+    @Value("${custom.order.combiner.timeout-seconds:10}")
+    private long timeoutSeconds;
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    private final ConcurrentMap<Long, ItemQueue> queues = new ConcurrentHashMap<>();
+    private ScheduledExecutorService executor;
+
+    @PostConstruct
+    public void init() {
+        executor = Executors.newScheduledThreadPool(threads, Threads.factory("order-combiner", virtualThreads));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    // 단건 주문 진입점: 결합기가 꺼져 있으면 custom.order.strategy.item 으로 고른 경로로 바로 주문
+    public OrderResponseDto order(Long memberId, OrderRequestItemDto requestItemDto) {
+        if (!enabled || itemStockService.isLedgerEnabled() || itemStockService.isSharded(requestItemDto.getItemId())) {
+            return orderPlacementRouter.forItem().tradeWithItemInfo(memberId, requestItemDto);
+        }
+        if (requestItemDto.getQuantity() < 0) {
+            throw new RuntimeException("구매 수량은 0보다 작을 수 없습니다");
+        }
+        PendingOrder order = enqueue(memberId, requestItemDto);
+        try {
+            return await(order);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("주문 처리 중 인터럽트 발생", e);
+        }
+    }
+
+    public CompletableFuture<OrderResponseDto> submit(Long memberId, OrderRequestItemDto requestItemDto) {
+        if (requestItemDto.getQuantity() < 0) {
+            return CompletableFuture.failedFuture(new RuntimeException("구매 수량은 0보다 작을 수 없습니다"));
+        }
+        return enqueue(memberId, requestItemDto).result;
+    }
+
+    private PendingOrder enqueue(Long memberId, OrderRequestItemDto requestItemDto) {
+        Long itemId = requestItemDto.getItemId();
+        PendingOrder order = new PendingOrder(memberId, requestItemDto.getQuantity(), new CompletableFuture<>(), new AtomicBoolean(false));
+        ItemQueue queue = queues.computeIfAbsent(itemId, id -> new ItemQueue());
+        queue.orders.add(order);
+        // 상품별로 동시에 하나의 배치만 처리: 예약된 배치가 없을 때만 window 뒤에 처리 예약
+        if (queue.scheduled.compareAndSet(false, true)) {
+            executor.schedule(() -> drain(itemId, queue), windowMs, TimeUnit.MILLISECONDS);
+        }
+        return order;
+    }
+
+    /**
+     * 시간 안에 배치가 주문을 가져가지 않았으면 주문을 취소하여 이후 배치가 건너뛰게 합니다.
+     * 이미 배치가 가져간 주문은 커밋될 수 있으므로, 실패로 응답해 같은 멱등 키로 재시도한 주문이 두 번 생기지 않도록 결과를 기다립니다.
+     */
+    private OrderResponseDto await(PendingOrder order) throws InterruptedException {
+        try {
+            try {
+                return order.result.get(timeoutSeconds, TimeUnit.SECONDS);
+            } catch (TimeoutException e) {
+                if (order.claimed.compareAndSet(false, true)) {
+                    RuntimeException timeout = new RuntimeException("주문 처리 시간이 초과되었습니다.");
+                    order.result.completeExceptionally(timeout);
+                    throw timeout;
+                }
+                return order.result.get();
+            }
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new RuntimeException("주문 과정에서 오류 발생.", e.getCause());
+        }
+    }
+
+    private void drain(Long itemId, ItemQueue queue) {
+        List<PendingOrder> batch = new ArrayList<>();
+        List<CreatedOrder> created = List.of();
+        try {
+            PendingOrder order;
+            while (batch.size() < maxBatchSize && (order = queue.orders.poll()) != null) {
+                // 시간 초과로 취소된 주문은 건너뜀
+                if (order.claimed.compareAndSet(false, true)) {
+                    batch.add(order);
+                }
+            }
+            if (!batch.isEmpty()) {
+                created = transactionTemplate.execute(status -> placeBatch(itemId, batch));
+            }
+        } catch (RuntimeException e) {
+            log.warn("상품 주문 배치 처리 실패 itemId : [{}], 주문 수 : [{}]", itemId, batch.size(), e);
+            batch.forEach(order -> order.result.completeExceptionally(e));
+        } finally {
+            queue.scheduled.set(false);
+            if (!queue.orders.isEmpty() && queue.scheduled.compareAndSet(false, true)) {
+                executor.execute(() -> drain(itemId, queue));
+            }
+        }
+        created.forEach(order -> order.order().result.complete(new OrderResponseDto(
+                order.tradeId(),
+                order.trade().getTradeStatus(),
+                order.trade().getTotalPrice(),
+                order.trade().getTradeUUID()
+        )));
+    }
+
+    private List<CreatedOrder> placeBatch(Long itemId, List<PendingOrder> batch) {
+        // 배치당 한 번만 상품 행을 잠그고 도착 순서대로 재고를 배정
+        Item item = itemRepository.findByIdForUpdate(itemId)
+                .orElseThrow(() -> new RuntimeException("주문 하고자 하는 상품을 찾을 수 없습니다."));
+        Map<Long, Member> members = memberRepository.findAllById(
+                        batch.stream().map(PendingOrder::memberId).collect(Collectors.toSet())).stream()
+                .collect(Collectors.toMap(Member::getId, Function.identity()));
+
+        int remaining = item.getStock();
+        List<PendingOrder> accepted = new ArrayList<>();
+        List<Trade> trades = new ArrayList<>();
+        for (PendingOrder order : batch) {
+            Member member = members.get(order.memberId());
+            if (member == null) {
+                order.result.completeExceptionally(new RuntimeException("멤버를 찾을 수 없습니다"));
+                continue;
+            }
+            if (order.quantity() > remaining) {
+                order.result.completeExceptionally(new RuntimeException("재고가 부족합니다."));
+                continue;
+            }
+            remaining -= order.quantity();
+            accepted.add(order);
+            trades.add(makeTrade(member, item, order.quantity()));
+        }
+        if (accepted.isEmpty()) {
+            return List.of();
+        }
+
+        int total = item.getStock() - remaining;
+        if (itemRepository.decreaseStock(itemId, total) == 0) {
+            throw new RuntimeException("재고가 부족합니다.");
+        }
+        // 시퀀스 ID 라 저장 시점에 ID 가 정해지고, trade/trade_item INSERT 는 flush 때 JDBC 배치로 묶여 나감
+        tradeRepository.saveAll(trades);
+        List<Long> tradeIds = trades.stream().map(Trade::getId).toList();
+        paymentOutboxService.enqueuePrepareAll(trades);
+
+        List<CreatedOrder> created = new ArrayList<>();
+        for (int i = 0; i < accepted.size(); i++) {
+            created.add(new CreatedOrder(accepted.get(i), tradeIds.get(i), trades.get(i)));
+            reservationExpiryScheduler.track(tradeIds.get(i), trades.get(i).getReservationDeadline());
+        }
+        log.debug("상품 주문 배치 처리 itemId : [{}], 요청 : [{}], 배정 : [{}], 차감 수량 : [{}]",
+                itemId, batch.size(), accepted.size(), total);
+        return created;
+    }
+
+    private Trade makeTrade(Member member, Item item, int quantity) {
+        Trade trade = Trade.builder()
+                .member(member)
+                .tradeStatus(BUY)
+                .paymentSyncStatus(PaymentSyncStatus.PENDING)
+                .reservationDeadline(reservationExpiryScheduler.nextDeadline())
+                .tradeItems(new ArrayList<>())
+                .address(member.getAddress())
+                .email(member.getEmail())
+                .build();
+        TradeItem tradeItem = TradeItem.builder()
+                .item(item)
+                .quantity(quantity)
+                .build();
+        tradeItem.setPrice();
+        trade.addTradeItem(tradeItem);
+        trade.setTotalPrice(quantity * item.getPrice());
+        trade.setTradeUUID(tradeIdGenerator.nextId());
+        return trade;
+    }
+
+    private static class ItemQueue {
+        private final Queue<PendingOrder> orders = new ConcurrentLinkedQueue<>();
+        private final AtomicBoolean scheduled = new AtomicBoolean(false);
+    }
+
+    // claimed: 배치가 가져갔거나 시간 초과로 취소되면 true (둘 중 먼저 바꾼 쪽만 주문을 처리)
+    private record PendingOrder(Long memberId, int quantity, CompletableFuture<OrderResponseDto> result,
+                                AtomicBoolean claimed) {
+    }
+
+    private record CreatedOrder(PendingOrder order, Long tradeId, Trade trade) {
+    }
+}
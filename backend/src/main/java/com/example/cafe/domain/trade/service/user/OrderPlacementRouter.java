@@ -0,0 +1,53 @@
+package com.example.cafe.domain.trade.service.user;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * 엔드포인트별 주문 생성 구현을 고릅니다.
+ * 단건 주문(/order/item)은 결합기가 꺼져 있거나 적용되지 않는 경우에만 이 설정을 따릅니다.
+ */
+@Component
+@RequiredArgsConstructor
+public class OrderPlacementRouter {
+
+    private final UserTradeAtomicUpdateService atomicUpdateService;
+    private final UserTradeRedisLockService redisLockService;
+    private final UserTradeOptimisticLockService optimisticLockService;
+
+    @Value("${custom.order.strategy.item:atomic}")
+    private String itemStrategy;
+
+    @Value("${custom.order.strategy.cart:atomic}")
+    private String cartStrategy;
+
+    private final Map<OrderStrategy, OrderPlacementService> services = new EnumMap<>(OrderStrategy.class);
+    private OrderPlacementService itemService;
+    private OrderPlacementService cartService;
+
+    @PostConstruct
+    public void init() {
+        services.put(OrderStrategy.ATOMIC, atomicUpdateService);
+        services.put(OrderStrategy.LOCK, redisLockService);
+        services.put(OrderStrategy.OPTIMISTIC, optimisticLockService);
+        itemService = get(OrderStrategy.from(itemStrategy));
+        cartService = get(OrderStrategy.from(cartStrategy));
+    }
+
+    public OrderPlacementService get(OrderStrategy strategy) {
+        return services.get(strategy);
+    }
+
+    public OrderPlacementService forItem() {
+        return itemService;
+    }
+
+    public OrderPlacementService forCart() {
+        return cartService;
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.cafe.domain.trade.service.user;
+
+import com.example.cafe.domain.trade.domain.dto.request.OrderRequestItemDto;
+import com.example.cafe.domain.trade.domain.dto.response.OrderResponseDto;
+
+/**
+ * 주문 생성(재고 차감 + 주문 저장) 구현. 재고 동시성 제어 방식만 다르고 결과는 같습니다.
+ * 엔드포인트별로 어떤 구현을 쓸지는 OrderPlacementRouter 가 custom.order.strategy 설정으로 고릅니다.
+ */
+public interface OrderPlacementService {
+
+    OrderResponseDto tradeWithItemInfo(Long memberId, OrderRequestItemDto requestItemDto);
+
+    OrderResponseDto tradeWithCart(Long memberId);
+}
@@ -0,0 +1,21 @@
+package com.example.cafe.domain.trade.service.user;
+
+/**
+ * 주문 생성 시 재고 동시성 제어 방식
+ */
+public enum OrderStrategy {
+    // 조건부 원자적 UPDATE (UserTradeAtomicUpdateService)
+    ATOMIC,
+    // 상품 락 + SELECT ... FOR UPDATE (UserTradeRedisLockService)
+    LOCK,
+    // Item @Version 충돌 시 백오프 재시도 (UserTradeOptimisticLockService)
+    OPTIMISTIC;
+
+    public static OrderStrategy from(String value) {
+        try {
+            return valueOf(value.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("지원하지 않는 주문 전략입니다 : " + value);
+        }
+    }
+}
@@ -1,46 +1,49 @@
 package com.example.cafe.domain.trade.service.user;
 
+import com.example.cafe.domain.item.dto.ItemPriceView;
 import com.example.cafe.domain.item.entity.Item;
 import com.example.cafe.domain.item.entity.ItemStatus;
 import com.example.cafe.domain.item.repository.ItemRepository;
-import com.example.cafe.domain.member.entity.Member;
-import com.example.cafe.domain.member.repository.MemberRepository;
-import com.example.cafe.domain.member.service.AuthTokenService;
+import com.example.cafe.domain.item.service.ItemStockService;
 import com.example.cafe.domain.trade.domain.dto.request.ItemCartRequestDto;
 import com.example.cafe.domain.trade.domain.dto.response.CartListResponseDto;
 import com.example.cafe.domain.trade.domain.dto.response.ItemCartResponseDto;
-import com.example.cafe.domain.trade.domain.entity.Cart;
-import com.example.cafe.domain.trade.domain.entity.CartItem;
-import com.example.cafe.domain.trade.repository.CartRepository;
+import com.example.cafe.domain.trade.service.cart.CartStore;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import static com.example.cafe.domain.trade.domain.dto.response.CartListResponseDto.*;
 import static com.example.cafe.domain.trade.domain.dto.response.ItemCartResponseDto.*;
+import static com.example.cafe.domain.trade.service.cart.CartStore.*;
 
 @Service
 @RequiredArgsConstructor
 @Transactional
 public class UserCartService {
-    private final CartRepository cartRepository;
+    private final CartStore cartStore;
     private final ItemRepository itemRepository;
-    private final MemberRepository memberRepository;
+    private final ItemStockService itemStockService;
 
     public CartListResponseDto showCart(Long memberId) {
-        Cart cart = getCart(memberId);
-        cart.calculateTotalPrice();
+        CartContents cart = cartStore.load(memberId);
+        Map<Long, Item> items = findItems(cart);
         CartListResponseDto response = new CartListResponseDto();
-        response.setCartId(cart.getId());
+        response.setCartId(cart.cartId());
         response.setMemberId(memberId);
-        response.setTotalPrice(cart.getTotalPrice());
+        response.setTotalPrice(cart.totalPrice());
 
-        for (CartItem cartItem : cart.getCartItems()) {
-            CartItemDto cartItemDto = new CartItemDto(cartItem.getItem().getId(), cartItem.getItem().getItemName(), cartItem.getItem().getPrice(), cartItem.getQuantity());
+        for (CartLine line : cart.lines()) {
+            Item item = items.get(line.itemId());
+            if (item == null) {
+                continue;
+            }
+            CartItemDto cartItemDto = new CartItemDto(item.getId(), item.getItemName(), line.price(), line.quantity());
             response.getItems().add(cartItemDto);
         }
 
@@ -48,31 +51,17 @@ public class UserCartService {
     }
 
     public ItemCartResponseDto addItemToCart(Long memberId,ItemCartRequestDto addItem) {
-        Cart cart = getCart(memberId);
-
         Item item = itemRepository.findById(addItem.getItemId()).orElseThrow(() -> new RuntimeException("해당 아이템을 찾을 수 없어 카트에 추가하지 못하였습니다."));
-        if (item.getItemStatus().equals(ItemStatus.SOLD_OUT) || item.getStock() == 0) {
+        int stock = itemStockService.availableStock(item);
+        if (item.getItemStatus().equals(ItemStatus.SOLD_OUT) || stock == 0) {
             throw new RuntimeException("해당 상품은 품절입니다.");
         }
-        if (item.getStock() < addItem.getQuantity()) {
-            throw new RuntimeException("재고 수량보다 요청 수량이 더 많습니다. 재고 수량 : ["+item.getStock()+"], 요청 수량 : ["+addItem.getQuantity()+"]");
-        }
-        CartItem cartItem = cart.getCartItems().stream().filter(cartAddItem -> cartAddItem.getItem().getId().equals(item.getId())).findFirst().orElse(null);
-
-        if (cartItem != null) {
-            // 존재한다면 수량 업데이트
-            cartItem.setQuantity(cartItem.getQuantity() + addItem.getQuantity());
-        } else {
-            // 존재하지 않으면 새 CartItem 생성 후 장바구니에 추가
-            cartItem = CartItem.builder()
-                    .cart(cart)
-                    .item(item)
-                    .quantity(addItem.getQuantity())
-                    .build();
-            cart.getCartItems().add(cartItem);
+        if (stock < addItem.getQuantity()) {
+            throw new RuntimeException("재고 수량보다 요청 수량이 더 많습니다. 재고 수량 : ["+stock+"], 요청 수량 : ["+addItem.getQuantity()+"]");
         }
 
-        cart.calculateTotalPrice();
+        // 이미 담긴 상품이면 수량을 더하고, 없으면 새 라인으로 추가
+        CartContents cart = cartStore.add(memberId, item, addItem.getQuantity());
 
         return getItemCartResponseDto(cart);
     }
@@ -80,65 +69,68 @@ public class UserCartService {
 
 
     public ItemCartResponseDto editItemToCart(Long memberId, ItemCartRequestDto editItem) {
-        Cart cart = getCart(memberId);
-
         Item item = itemRepository.findById(editItem.getItemId())
                 .orElseThrow(() -> new RuntimeException("해당 아이템을 찾을 수 없어 카트에 수정하지 못하였습니다."));
 
-        CartItem cartItem = cart.getCartItems().stream()
-                .filter(ci -> ci.getItem().getId().equals(item.getId()))
-                .findFirst()
-                .orElseThrow(() -> new RuntimeException("해당 상품이 카트에 존재하지 않아 수량 수정에 실패하였습니다."));
+        int currentQuantity = cartStore.quantity(memberId, item.getId());
+        if (currentQuantity == 0) {
+            throw new RuntimeException("해당 상품이 카트에 존재하지 않아 수량 수정에 실패하였습니다.");
+        }
 
         int newQuantity = editItem.getQuantity();
         if (newQuantity < 0) {
             throw new RuntimeException("수량은 0 이상이어야 합니다.");
         }
 
-        if (newQuantity == 0) {
-            cart.getCartItems().remove(cartItem);
-        } else {
-            if (newQuantity - cartItem.getQuantity() > item.getStock()) {
-                throw new RuntimeException("요청한 수량이 재고를 초과합니다. (재고: " + item.getStock() + ")");
+        if (newQuantity > 0) {
+            int stock = itemStockService.availableStock(item);
+            if (newQuantity - currentQuantity > stock) {
+                throw new RuntimeException("요청한 수량이 재고를 초과합니다. (재고: " + stock + ")");
             }
-            cartItem.setQuantity(newQuantity);
         }
-        cart.calculateTotalPrice();
+        // 수량이 0 이면 장바구니에서 삭제
+        CartContents cart = cartStore.set(memberId, item, newQuantity);
 
         return getItemCartResponseDto(cart);
     }
 
-    private Cart getCart(Long memberId) {
-        // 회원을 조회합니다.
-        Member member = memberRepository.findById(memberId)
-                .orElseThrow(() -> new RuntimeException("유저 [" + memberId + "]를 찾을 수 없습니다."));
-
-        // 만약 회원에게 카트가 없다면 새 카트를 생성합니다.
-        if (member.getCart() == null) {
-            Cart newCart = Cart.builder()
-                    .member(member)
-                    .cartItems(new ArrayList<>()) // 빈 리스트 초기화
-                    .build();
-            // 회원과 카트 양쪽에 설정
-            member.setCart(newCart);
-            cartRepository.save(newCart); // 새 카트를 저장
-            return newCart;
+    /**
+     * 가격 재검증: 장바구니 상품의 가격/가격 버전만 한 번에 조회해 스냅샷 이후 가격이 바뀐 라인만 갱신합니다.
+     * 조회와 변경에서는 라인별 가격 스냅샷과 유지 중인 합계를 그대로 쓰므로, 최신 가격이 필요할 때 이 단계를 호출합니다.
+     */
+    public ItemCartResponseDto revalidateCart(Long memberId) {
+        CartContents cart = cartStore.load(memberId);
+        Map<Long, Long> snapshotVersions = cart.lines().stream()
+                .collect(Collectors.toMap(CartLine::itemId, CartLine::priceVersion));
+        List<ItemPriceView> changed = snapshotVersions.isEmpty() ? List.of() :
+                itemRepository.findPricesByIdIn(snapshotVersions.keySet()).stream()
+                        .filter(price -> price.getPriceVersion() != snapshotVersions.get(price.getId()))
+                        .toList();
+        if (!changed.isEmpty()) {
+            cart = cartStore.refreshPrices(memberId, changed);
         }
-
-        return member.getCart();
+        return getItemCartResponseDto(cart);
     }
 
-    private ItemCartResponseDto getItemCartResponseDto(Cart cart) {
-        List<ItemCartItemInfo> cartItemInfos = cart.getCartItems().stream().map(ci -> new ItemCartItemInfo(
-                ci.getItem().getId(),
-                ci.getItem().getItemName(),
-                ci.getItem().getPrice(),
-                ci.getItem().getItemStatus(),
-                ci.getQuantity()
-        )).collect(Collectors.toList());
-
-        int totalPrice = cart.getCartItems().stream().mapToInt(ci -> ci.getItem().getPrice() * ci.getQuantity()).sum();
+    // 응답에 필요한 상품 이름/상태는 장바구니 상품을 한 번에 조회 (가격은 라인 스냅샷 사용)
+    private Map<Long, Item> findItems(CartContents cart) {
+        List<Long> itemIds = cart.lines().stream().map(CartLine::itemId).toList();
+        return itemRepository.findAllById(itemIds).stream()
+                .collect(Collectors.toMap(Item::getId, Function.identity()));
+    }
 
-        return new ItemCartResponseDto(cart.getId(), cartItemInfos, totalPrice);
+    private ItemCartResponseDto getItemCartResponseDto(CartContents cart) {
+        Map<Long, Item> items = findItems(cart);
+        List<ItemCartItemInfo> cartItemInfos = cart.lines().stream()
+                .filter(line -> items.containsKey(line.itemId()))
+                .map(line -> new ItemCartItemInfo(
+                        line.itemId(),
+                        items.get(line.itemId()).getItemName(),
+                        line.price(),
+                        items.get(line.itemId()).getItemStatus(),
+                        line.quantity()
+                )).collect(Collectors.toList());
+
+        return new ItemCartResponseDto(cart.cartId(), cartItemInfos, cart.totalPrice());
     }
 }
@@ -1,8 +1,8 @@
 package com.example.cafe.domain.trade.service.user;
 
 import com.example.cafe.domain.item.entity.Item;
-import com.example.cafe.domain.item.entity.ItemStatus;
 import com.example.cafe.domain.item.repository.ItemRepository;
+import com.example.cafe.domain.item.service.ItemStockService;
 import com.example.cafe.domain.member.entity.Member;
 import com.example.cafe.domain.member.repository.MemberRepository;
 import com.example.cafe.domain.trade.domain.dto.request.CancelRequestDto;
@@ -10,43 +10,42 @@ import com.example.cafe.domain.trade.domain.dto.request.OrderRequestItemDto;
 import com.example.cafe.domain.trade.domain.dto.request.RePayRequestDto;
 import com.example.cafe.domain.trade.domain.dto.response.CancelResponseDto;
 import com.example.cafe.domain.trade.domain.dto.response.OrderResponseDto;
-import com.example.cafe.domain.trade.domain.dto.response.OrdersResponseDto;
 import com.example.cafe.domain.trade.domain.dto.response.RePayResponseDto;
 import com.example.cafe.domain.trade.domain.entity.CartItem;
 import com.example.cafe.domain.trade.domain.entity.Trade;
 import com.example.cafe.domain.trade.domain.entity.TradeItem;
 import com.example.cafe.domain.trade.domain.entity.TradeStatus;
-import com.example.cafe.domain.trade.portone.service.PortoneService;
+import com.example.cafe.domain.trade.portone.service.PaymentOutboxService;
 import com.example.cafe.domain.trade.repository.TradeRepository;
-import com.siot.IamportRestClient.exception.IamportResponseException;
+import com.example.cafe.domain.trade.service.cart.CartStore;
+import com.example.cafe.domain.trade.service.id.TradeIdGenerator;
+import com.example.cafe.domain.trade.service.scheduler.ReservationExpiryScheduler;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.io.IOException;
 import java.math.BigDecimal;
-import java.nio.charset.StandardCharsets;
-import java.security.MessageDigest;
-import java.security.NoSuchAlgorithmException;
-import java.text.SimpleDateFormat;
 import java.util.*;
 import java.util.stream.Collectors;
 
 import static com.example.cafe.domain.trade.domain.dto.request.CancelRequestDto.*;
 import static com.example.cafe.domain.trade.domain.dto.response.CancelResponseDto.*;
-import static com.example.cafe.domain.trade.domain.dto.response.OrdersResponseDto.*;
 import static com.example.cafe.domain.trade.domain.entity.TradeStatus.*;
 
 @Service
 @RequiredArgsConstructor
 @Transactional
-public class UserTradeAtomicUpdateService {
+public class UserTradeAtomicUpdateService implements OrderPlacementService {
 
     private final TradeRepository tradeRepository;
     private final ItemRepository itemRepository;
-    private final PortoneService portoneService;
+    private final PaymentOutboxService paymentOutboxService;
     private final MemberRepository memberRepository;
+    private final ItemStockService itemStockService;
+    private final ReservationExpiryScheduler reservationExpiryScheduler;
+    private final TradeIdGenerator tradeIdGenerator;
+    private final CartStore cartStore;
 
     // 단일 상품 주문: 원자적 업데이트 쿼리를 사용하여 재고를 감소하고 주문 생성
     @Transactional(propagation = Propagation.REQUIRES_NEW)
@@ -57,11 +56,8 @@ public class UserTradeAtomicUpdateService {
         if (reqQuantity < 0) {
             throw new RuntimeException("구매 수량은 0보다 작을 수 없습니다");
         }
-        // 원자적 업데이트: 재고가 충분할 때만 차감
-        int updated = itemRepository.decreaseStock(requestItemDto.getItemId(), reqQuantity);
-        if (updated == 0) {
-            throw new RuntimeException("재고가 부족합니다.");
-        }
+        // 원자적 업데이트: 재고가 충분할 때만 차감 (재고 원장 사용 시 Redis 에서 먼저 예약)
+        itemStockService.reserve(requestItemDto.getItemId(), reqQuantity);
 
         // 업데이트 후 최신 item 정보 조회
         Item item = itemRepository.findById(requestItemDto.getItemId())
@@ -79,17 +75,14 @@ public class UserTradeAtomicUpdateService {
         tradeItem.setPrice();
         trade.addTradeItem(tradeItem);
 
-        String tradeUUID = generateTradeUUID();
+        String tradeUUID = tradeIdGenerator.nextId();
         trade.setTradeUUID(tradeUUID);
         trade.setTotalPrice(reqQuantity * item.getPrice());
 
-        try {
-            portoneService.prePurchase(tradeUUID, new BigDecimal(trade.getTotalPrice()));
-        } catch (IamportResponseException | IOException e) {
-            throw new RuntimeException("주문 과정에서 오류 발생.");
-        }
-
         tradeRepository.save(trade);
+        // 결제 사전 등록은 커밋 이후 outbox 릴레이가 트랜잭션 밖에서 처리
+        paymentOutboxService.enqueuePrepare(trade);
+        reservationExpiryScheduler.track(trade.getId(), trade.getReservationDeadline());
 
         return new OrderResponseDto(
                 trade.getId(),
@@ -99,75 +92,60 @@ public class UserTradeAtomicUpdateService {
         );
     }
 
-    // 장바구니 주문: 각 상품에 대해 원자적 업데이트 쿼리를 사용하여 재고 차감을 진행
+    // 장바구니 주문: 모든 상품의 재고를 하나의 배치로 원자적으로 차감한 뒤 주문 생성
     @Transactional(propagation = Propagation.REQUIRES_NEW)
     public OrderResponseDto tradeWithCart(Long memberId) {
         Member member = getMember(memberId);
-        List<CartItem> cartItems;
-        try {
-            cartItems = member.getCart().getCartItems();
-        } catch (NullPointerException e) {
-            throw new RuntimeException("장바구니 카트가 비어있습니다.");
-        }
+        List<CartItem> cartItems = cartStore.materialize(memberId);
         if (cartItems.isEmpty()) {
             throw new RuntimeException("장바구니 카트가 비어있습니다.");
         }
 
-        // 각 상품별 재고 차감 처리 (모든 업데이트가 성공해야 주문 진행)
-        // 먼저 재고 부족 여부를 미리 체크
+        // 상품 ID 오름차순으로 라인을 합산: 동시에 체크아웃하는 장바구니끼리 같은 순서로 행 락을 잡아 교착이 생기지 않음
+        SortedMap<Long, Integer> quantities = new TreeMap<>();
         for (CartItem cartItem : cartItems) {
-            Item item = itemRepository.findById(cartItem.getItem().getId())
-                    .orElseThrow(() -> new RuntimeException("주문하고자 하는 상품을 찾을 수 없습니다."));
-            int reqQuantity = cartItem.getQuantity();
-            if (reqQuantity < 0) {
+            if (cartItem.getQuantity() < 0) {
                 throw new RuntimeException("구매 수량은 0보다 작을 수 없습니다");
             }
-            if (item.getItemStatus().equals(ItemStatus.SOLD_OUT) || reqQuantity > item.getStock()) {
-                throw new RuntimeException("요청한 상품 중 재고가 부족한 상품이 있습니다.");
-            }
+            quantities.merge(cartItem.getItem().getId(), cartItem.getQuantity(), Integer::sum);
         }
 
-        // 모든 상품에 대해 원자적 업데이트 실행
-        for (CartItem cartItem : cartItems) {
-            int updated = itemRepository.decreaseStock(cartItem.getItem().getId(), cartItem.getQuantity());
-            if (updated == 0) {
-                throw new RuntimeException("재고 차감 실패: 상품 " + cartItem.getItem().getId() + "의 재고가 부족합니다.");
-            }
-        }
+        // 모든 라인을 하나의 배치로 조건부 차감 (부족한 상품이 있으면 해당 상품 목록과 함께 전체 롤백)
+        itemStockService.reserveAll(quantities);
+
+        // 모든 재고 차감이 성공하면 Trade 생성 및 주문 처리 (상품 정보는 한 번에 조회)
+        Map<Long, Item> items = itemRepository.findAllById(quantities.keySet()).stream()
+                .collect(Collectors.toMap(Item::getId, item -> item));
 
-        // 모든 재고 차감이 성공하면 Trade 생성 및 주문 처리
         Trade trade = makeTrade(member, BUY);
         member.getTrades().add(trade);
 
         for (CartItem cartItem : cartItems) {
-            // 업데이트 후 최신 item 정보 조회
-            Item item = itemRepository.findById(cartItem.getItem().getId())
-                    .orElseThrow(() -> new RuntimeException("주문하고자 하는 상품을 찾을 수 없습니다."));
-            int reqQuantity = cartItem.getQuantity();
+            Item item = items.get(cartItem.getItem().getId());
+            if (item == null) {
+                throw new RuntimeException("주문하고자 하는 상품을 찾을 수 없습니다.");
+            }
 
             TradeItem tradeItem = TradeItem.builder()
                     .trade(trade)
                     .item(item)
-                    .quantity(reqQuantity)
+                    .quantity(cartItem.getQuantity())
                     .build();
             tradeItem.setPrice();
             trade.addTradeItem(tradeItem);
         }
 
         trade.setTotalPrice(calculateTotalPrice(trade.getTradeItems()));
-        String tradeUUID = generateTradeUUID();
+        String tradeUUID = tradeIdGenerator.nextId();
         trade.setTradeUUID(tradeUUID);
 
-        try {
-            portoneService.prePurchase(tradeUUID, new BigDecimal(trade.getTotalPrice()));
-        } catch (IamportResponseException | IOException e) {
-            throw new RuntimeException("주문 과정에서 오류 발생.");
-        }
-
         // 카트 비우기
-        member.getCart().getCartItems().clear();
+        cartStore.clear(memberId, cartItems);
 
         tradeRepository.save(trade);
+        // 결제 사전 등록은 커밋 이후 outbox 릴레이가 트랜잭션 밖에서 처리
+        paymentOutboxService.enqueuePrepare(trade);
+        reservationExpiryScheduler.track(trade.getId(), trade.getReservationDeadline());
 
         return new OrderResponseDto(
                 trade.getId(),
@@ -178,47 +156,6 @@ public class UserTradeAtomicUpdateService {
     }
 
 
-    //사용자 주문 전체 조회
-    public OrdersResponseDto showAllTradeItems(Long memberId) {
-        Member member = getMember(memberId);
-        List<Trade> trades = member.getTrades();
-        OrdersResponseDto response = new OrdersResponseDto();
-        for (Trade trade : trades) {
-            List<TradeItem> tradeItems = trade.getTradeItems();
-            OrderItemsDto orderItemsDto = new OrderItemsDto();
-            orderItemsDto.setTradeUUID(trade.getTradeUUID());
-            for (TradeItem tradeItem : tradeItems) {
-                OrderItemDto itemDto = new OrderItemDto(tradeItem.getItem().getId(), tradeItem.getQuantity(), tradeItem.getItem().getItemName());
-                orderItemsDto.getOrderItemDtoList().add(itemDto);
-            }
-            if (trade.getTradeStatus().equals(BUY)) {
-                response.getBuyList().add(orderItemsDto);
-            }
-            if (trade.getTradeStatus().equals(PAY)) {
-                response.getPayList().add(orderItemsDto);
-            }
-            if (trade.getTradeStatus().equals(PREPARE_DELIVERY)) {
-                response.getPrepareDeliveryList().add(orderItemsDto);
-            }
-            if (trade.getTradeStatus().equals(BEFORE_DELIVERY)) {
-                response.getBeforeDeliveryList().add(orderItemsDto);
-            }
-            if (trade.getTradeStatus().equals(IN_DELIVERY)) {
-                response.getInDeliveryList().add(orderItemsDto);
-            }
-            if (trade.getTradeStatus().equals(POST_DELIVERY)) {
-                response.getPostDeliveryList().add(orderItemsDto);
-            }
-            if (trade.getTradeStatus().equals(REFUSED)) {
-                response.getRefusedList().add(orderItemsDto);
-            }
-            if (trade.getTradeStatus().equals(REFUND)) {
-                response.getRefundList().add(orderItemsDto);
-            }
-        }
-        return response;
-    }
-
     private Member getMember(Long memberId) {
         Member member = memberRepository.findById(memberId)
                 .orElseThrow(() -> new RuntimeException("멤버를 찾을 수 없습니다"));
@@ -227,7 +164,7 @@ public class UserTradeAtomicUpdateService {
 
 
     public void processPayment(String uuid, int payAmount) {
-        Trade trade = tradeRepository.findByTradeUUID(uuid)
+        Trade trade = tradeRepository.findByTradeUUIDForUpdate(uuid)
                 .orElseThrow(() -> new RuntimeException("해당 거래를 찾을 수 없습니다: " + uuid));
 
         try {
@@ -249,9 +186,12 @@ public class UserTradeAtomicUpdateService {
 
     public CancelResponseDto cancelTrade(Long memberId,CancelRequestDto requestDto) {
         Member member = getMember(memberId);
-        Trade trade = tradeRepository.findByTradeUUID(requestDto.getTradeUUID())
+        // 예약 만료, 결제 반영과 같은 주문을 동시에 바꾸지 않도록 행을 잠근 뒤 상태를 확인
+        Trade trade = tradeRepository.findByTradeUUIDForUpdate(requestDto.getTradeUUID())
                 .orElseThrow(() -> new RuntimeException("해당 거래를 찾을 수 없습니다."));
-        if (trade.getTradeStatus().equals(BUY)) {
+        if (trade.getTradeStatus().equals(REFUSED)) {
+            throw new RuntimeException("이미 취소된 주문입니다.");
+        } else if (trade.getTradeStatus().equals(BUY)) {
             return cancelTradeOnBuy(member, requestDto, trade);
         } else if (trade.getTradeStatus().equals(PAY)) {
             return cancelTradeOnPay(member, requestDto, trade);
@@ -264,6 +204,7 @@ public class UserTradeAtomicUpdateService {
 
         List<CancelRequestDto.CancelItemRequest> cancelItemList = requestDto.getCancelItemList();
         List<TradeItem> cancelledItemsForNewTrade = new ArrayList<>();
+        SortedMap<Long, Integer> restoredQuantities = new TreeMap<>();
         // 각 CancelItemRequest에 대해 처리: TradeItem 수량 감소 및 Item 재고 증가
         for (CancelRequestDto.CancelItemRequest cancelItem : cancelItemList) {
             Long cancelItemId = cancelItem.getItemId();
@@ -278,10 +219,10 @@ public class UserTradeAtomicUpdateService {
                 throw new RuntimeException("주문 수량보다 취소 수량이 많을 수 없습니다");
             }
 
-            // TradeItem 수량 감소 및 Item 재고 증가
+            // TradeItem 수량 감소, 재고는 아래에서 한 번에 반납
             tradeItem.setQuantity(tradeItem.getQuantity() - cancelQuantity);
             Item item = tradeItem.getItem();
-            item.setStock(item.getStock() + cancelQuantity);
+            restoredQuantities.merge(cancelItemId, cancelQuantity, Integer::sum);
 
             // 취소된 수량에 대해 새로운 TradeItem 객체 생성(기존 값 복사)
             TradeItem cancelledTradeItem = new TradeItem();
@@ -291,6 +232,7 @@ public class UserTradeAtomicUpdateService {
 
             cancelledItemsForNewTrade.add(cancelledTradeItem);
         }
+        itemStockService.restore(restoredQuantities);
 
         // 기존 Trade의 tradeItems 컬렉션에서 수량이 0인 항목은 in-place로 제거 (컬렉션 전체 재할당 X)
         trade.getTradeItems().removeIf(ti -> ti.getQuantity() == 0);
@@ -321,15 +263,11 @@ public class UserTradeAtomicUpdateService {
         tradeRepository.save(cancelledTrade);
 
         // 원래 Trade에는 새 UUID 부여 후 재결제 요청
-        trade.setTradeUUID(generateTradeUUID());
+        trade.setTradeUUID(tradeIdGenerator.nextId());
         trade.setTotalPrice(calculateTotalPrice(trade.getTradeItems()));
         BigDecimal remainingTotalPrice = BigDecimal.valueOf(calculateTotalPrice(remainingTradeItems));
-        try {
-            portoneService.prePurchase(trade.getTradeUUID(), remainingTotalPrice);
-        } catch (IamportResponseException | IOException e) {
-            throw new RuntimeException("주문 과정에서 오류 발생.", e);
-        }
         tradeRepository.save(trade);
+        paymentOutboxService.enqueuePrepare(trade, remainingTotalPrice);
 
         // 응답 DTO 구성 시, 취소 Trade의 TradeItem들을 DTO에 매핑하여 반환
         List<CancelResponseDto.RemainingTradeItemDto> cancelledDtoList = cancelledItemsForNewTrade.stream()
@@ -348,6 +286,7 @@ public class UserTradeAtomicUpdateService {
     public CancelResponseDto cancelTradeOnPay(Member member, CancelRequestDto requestDto, Trade trade) {
         List<CancelRequestDto.CancelItemRequest> cancelItemList = requestDto.getCancelItemList();
         List<TradeItem> cancelledTradeItems = new ArrayList<>();
+        SortedMap<Long, Integer> restoredQuantities = new TreeMap<>();
 
         // 기존 결제 금액(체크섬용) 보존
         BigDecimal checkSumAmount = BigDecimal.valueOf(trade.getTotalPrice());
@@ -378,9 +317,9 @@ public class UserTradeAtomicUpdateService {
             tradeItem.setQuantity(tradeItem.getQuantity() - cancelQuantity);
             tradeItem.setPrice(); // 수량 변경 후 단가에 따른 가격 업데이트
 
-            // 해당 상품 재고 복구
+            // 해당 상품 재고 복구는 아래에서 한 번에 반납
             Item item = tradeItem.getItem();
-            item.setStock(item.getStock() + cancelQuantity);
+            restoredQuantities.merge(cancelItemId, cancelQuantity, Integer::sum);
 
             // 취소된 수량으로 새로운 TradeItem 객체 생성 (새 Trade에 추가할 용도)
             TradeItem cancelledTradeItem = TradeItem.builder()
@@ -390,6 +329,7 @@ public class UserTradeAtomicUpdateService {
             cancelledTradeItem.setPrice();
             cancelledTradeItems.add(cancelledTradeItem);
         }
+        itemStockService.restore(restoredQuantities);
 
         // 기존 Trade에서 남은 상품 목록 (수량 > 0) 추출
         List<TradeItem> remainingTradeItems = trade.getTradeItems().stream()
@@ -402,8 +342,8 @@ public class UserTradeAtomicUpdateService {
                 .sum();
         trade.setTotalPrice(remainingTotalPrice);
 
-        // portoneService에 환불 요청 (기존 trade의 tradeUUID, 환불 금액, 원래 결제 금액 전달)
-        portoneService.refund(trade.getTradeUUID(), refundAmount, checkSumAmount);
+        // 환불 요청은 outbox 에 기록하고 커밋 이후 릴레이가 PortOne 에 전달 (기존 trade의 tradeUUID, 환불 금액, 원래 결제 금액)
+        paymentOutboxService.enqueueRefund(trade, refundAmount, checkSumAmount);
 
         // 전체 취소인 경우: 남은 상품이 없으면 기존 Trade의 상태를 REFUND로 업데이트
         if (remainingTradeItems.isEmpty()) {
@@ -456,43 +396,25 @@ public class UserTradeAtomicUpdateService {
         }
     }
 
+    // 주문 상품 수량을 상품별로 합쳐 원자적 증가 UPDATE 로 반납 (Item 엔티티를 읽지 않음)
     public void rollBackProductQuantity(Trade trade) {
-        trade.getTradeItems().forEach(tradeItem -> {
-            Item item = tradeItem.getItem();
-            item.setStock(item.getStock() + tradeItem.getQuantity());
-            item.autoCheckQuantityForSetStatus();
-        });
+        SortedMap<Long, Integer> quantities = new TreeMap<>();
+        trade.getTradeItems().forEach(tradeItem ->
+                quantities.merge(tradeItem.getItem().getId(), tradeItem.getQuantity(), Integer::sum));
+        itemStockService.restore(quantities);
     }
 
     private Trade makeTrade(Member member, TradeStatus status) {
         return Trade.builder()
                 .member(member)
                 .tradeStatus(status)
+                .reservationDeadline(status == BUY ? reservationExpiryScheduler.nextDeadline() : null)
                 .tradeItems(new ArrayList<>())
                 .address(member.getAddress())
                 .email(member.getEmail())
                 .build();
     }
 
-    public static String generateTradeUUID() {
-        SimpleDateFormat dateFormat = new SimpleDateFormat("yyMMddHHmmss");
-        String currentTime = dateFormat.format(new Date());
-        String uuid = java.util.UUID.randomUUID().toString();
-        byte[] uuidBytes = uuid.getBytes(StandardCharsets.UTF_8);
-        byte[] hashBytes;
-        try {
-            MessageDigest md = MessageDigest.getInstance("SHA-256");
-            hashBytes = md.digest(uuidBytes);
-        } catch (NoSuchAlgorithmException e) {
-            throw new RuntimeException(e);
-        }
-        StringBuilder sb = new StringBuilder();
-        for (int i = 0; i < 4; i++) {
-            sb.append(String.format("%02x", hashBytes[i]));
-        }
-        return currentTime + sb.toString();
-    }
-
     public int calculateTotalPrice(List<TradeItem> tradeItems) {
         return tradeItems.stream()
                 .mapToInt(ti -> ti.getItem().getPrice() * ti.getQuantity())
@@ -0,0 +1,194 @@
+package com.example.cafe.domain.trade.service.user;
+
+import com.example.cafe.domain.item.entity.Item;
+import com.example.cafe.domain.item.entity.ItemStatus;
+import com.example.cafe.domain.item.repository.ItemRepository;
+import com.example.cafe.domain.item.service.ItemStockService;
+import com.example.cafe.domain.member.entity.Member;
+import com.example.cafe.domain.member.repository.MemberRepository;
+import com.example.cafe.domain.trade.domain.dto.request.OrderRequestItemDto;
+import com.example.cafe.domain.trade.domain.dto.response.OrderResponseDto;
+import com.example.cafe.domain.trade.domain.entity.CartItem;
+import com.example.cafe.domain.trade.domain.entity.Trade;
+import com.example.cafe.domain.trade.domain.entity.TradeItem;
+import com.example.cafe.domain.trade.portone.service.PaymentOutboxService;
+import com.example.cafe.domain.trade.repository.TradeRepository;
+import com.example.cafe.domain.trade.service.cart.CartStore;
+import com.example.cafe.domain.trade.service.id.TradeIdGenerator;
+import com.example.cafe.domain.trade.service.lock.OptimisticRetryExecutor;
+import com.example.cafe.domain.trade.service.scheduler.ReservationExpiryScheduler;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static com.example.cafe.domain.trade.domain.entity.TradeStatus.BUY;
+
+/**
+ * 낙관적 락 주문: 락 없이 상품을 읽어 재고를 고치고, flush 시 Item @Version 이 바뀌어 있으면 트랜잭션을 버리고 재시도합니다.
+ * 경합이 낮은 상품에서는 락 대기가 없어 빠르지만, 한 상품에 주문이 몰리면 재시도가 늘어나므로
+ * 재시도 횟수와 노드 전체 재시도 예산은 OptimisticRetryExecutor 가 제한합니다.
+ * 재고 원장(Redis)이나 재고 조각을 쓰는 상품은 Item 행만으로 재고를 판단할 수 없어 원자적 업데이트 경로로 넘깁니다.
+ */
+@Service
+@RequiredArgsConstructor
+public class UserTradeOptimisticLockService implements OrderPlacementService {
+
+    private final TradeRepository tradeRepository;
+    private final ItemRepository itemRepository;
+    private final MemberRepository memberRepository;
+    private final PaymentOutboxService paymentOutboxService;
+    private final ItemStockService itemStockService;
+    private final ReservationExpiryScheduler reservationExpiryScheduler;
+    private final TradeIdGenerator tradeIdGenerator;
+    private final CartStore cartStore;
+    private final OptimisticRetryExecutor retryExecutor;
+    private final UserTradeAtomicUpdateService atomicUpdateService;
+    private final PlatformTransactionManager transactionManager;
+
+    // 시도마다 새 트랜잭션 (충돌한 시도의 영속성 컨텍스트를 재사용하지 않음)
+    private TransactionTemplate transactionTemplate;
+
+    @PostConstruct
+    public void init() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @Override
+    public OrderResponseDto tradeWithItemInfo(Long memberId, OrderRequestItemDto requestItemDto) {
+        if (requestItemDto.getQuantity() < 0) {
+            throw new RuntimeException("구매 수량은 0보다 작을 수 없습니다");
+        }
+        if (itemStockService.isLedgerEnabled() || itemStockService.isSharded(requestItemDto.getItemId())) {
+            return atomicUpdateService.tradeWithItemInfo(memberId, requestItemDto);
+        }
+        return retryExecutor.execute(() -> transactionTemplate.execute(status -> placeItemOrder(memberId, requestItemDto)));
+    }
+
+    @Override
+    public OrderResponseDto tradeWithCart(Long memberId) {
+        if (itemStockService.isLedgerEnabled()) {
+            return atomicUpdateService.tradeWithCart(memberId);
+        }
+        OrderResponseDto response = retryExecutor.execute(() -> transactionTemplate.execute(status -> placeCartOrder(memberId)));
+        // 재고 조각을 쓰는 상품이 섞여 있으면 아무것도 바꾸지 않고 돌아오므로 원자적 업데이트 경로로 주문
+        return response != null ? response : atomicUpdateService.tradeWithCart(memberId);
+    }
+
+    private OrderResponseDto placeItemOrder(Long memberId, OrderRequestItemDto requestItemDto) {
+        Member member = getMember(memberId);
+        Item item = itemRepository.findById(requestItemDto.getItemId())
+                .orElseThrow(() -> new RuntimeException("주문 하고자 하는 상품을 찾을 수 없습니다."));
+
+        int reqQuantity = requestItemDto.getQuantity();
+        if (item.getItemStatus() == ItemStatus.SOLD_OUT || reqQuantity > item.getStock()) {
+            throw new RuntimeException("재고가 부족합니다.");
+        }
+        item.setStock(item.getStock() - reqQuantity);
+        item.autoCheckQuantityForSetStatus();
+
+        Trade trade = makeTrade(member);
+        member.getTrades().add(trade);
+        addTradeItem(trade, item, reqQuantity);
+        trade.setTotalPrice(reqQuantity * item.getPrice());
+
+        return save(trade);
+    }
+
+    private OrderResponseDto placeCartOrder(Long memberId) {
+        Member member = getMember(memberId);
+        List<CartItem> cartItems = cartStore.materialize(memberId);
+        if (cartItems.isEmpty()) {
+            throw new RuntimeException("장바구니 카트가 비어있습니다.");
+        }
+
+        SortedMap<Long, Integer> quantities = new TreeMap<>();
+        for (CartItem cartItem : cartItems) {
+            if (cartItem.getQuantity() < 0) {
+                throw new RuntimeException("구매 수량은 0보다 작을 수 없습니다");
+            }
+            quantities.merge(cartItem.getItem().getId(), cartItem.getQuantity(), Integer::sum);
+        }
+
+        Map<Long, Item> items = itemRepository.findAllById(quantities.keySet()).stream()
+                .collect(Collectors.toMap(Item::getId, Function.identity()));
+        if (items.values().stream().anyMatch(Item::isSharded)) {
+            return null;
+        }
+        // 상품 ID 순으로 검사/차감하므로 flush 시 UPDATE 도 같은 순서로 나감 (order_updates)
+        for (Map.Entry<Long, Integer> line : quantities.entrySet()) {
+            Item item = items.get(line.getKey());
+            if (item == null) {
+                throw new RuntimeException("주문하고자 하는 상품을 찾을 수 없습니다.");
+            }
+            if (item.getItemStatus() == ItemStatus.SOLD_OUT || line.getValue() > item.getStock()) {
+                throw new RuntimeException("요청한 상품 중 재고가 부족한 상품이 있습니다.");
+            }
+            item.setStock(item.getStock() - line.getValue());
+            item.autoCheckQuantityForSetStatus();
+        }
+
+        Trade trade = makeTrade(member);
+        member.getTrades().add(trade);
+        for (CartItem cartItem : cartItems) {
+            addTradeItem(trade, items.get(cartItem.getItem().getId()), cartItem.getQuantity());
+        }
+        trade.setTotalPrice(atomicUpdateService.calculateTotalPrice(trade.getTradeItems()));
+
+        // 카트 비우기
+        cartStore.clear(memberId, cartItems);
+
+        return save(trade);
+    }
+
+    private OrderResponseDto save(Trade trade) {
+        trade.setTradeUUID(tradeIdGenerator.nextId());
+        tradeRepository.save(trade);
+        // 버전 충돌을 커밋 전에 드러내 결제 사전 등록/만료 예약 전에 재시도로 넘어가게 함
+        tradeRepository.flush();
+
+        // 결제 사전 등록과 만료 예약은 모두 커밋 이후에 반영되므로 버려진 시도는 흔적을 남기지 않음
+        paymentOutboxService.enqueuePrepare(trade);
+        reservationExpiryScheduler.track(trade.getId(), trade.getReservationDeadline());
+
+        return new OrderResponseDto(
+                trade.getId(),
+                trade.getTradeStatus(),
+                trade.getTotalPrice(),
+                trade.getTradeUUID()
+        );
+    }
+
+    private void addTradeItem(Trade trade, Item item, int quantity) {
+        TradeItem tradeItem = TradeItem.builder()
+                .trade(trade)
+                .item(item)
+                .quantity(quantity)
+                .build();
+        tradeItem.setPrice();
+        trade.addTradeItem(tradeItem);
+    }
+
+    private Trade makeTrade(Member member) {
+        return Trade.builder()
+                .member(member)
+                .tradeStatus(BUY)
+                .reservationDeadline(reservationExpiryScheduler.nextDeadline())
+                .tradeItems(new ArrayList<>())
+                .address(member.getAddress())
+                .email(member.getEmail())
+                .build();
+    }
+
+    private Member getMember(Long memberId) {
+        return memberRepository.findById(memberId)
+                .orElseThrow(() -> new RuntimeException("멤버를 찾을 수 없습니다"));
+    }
+}
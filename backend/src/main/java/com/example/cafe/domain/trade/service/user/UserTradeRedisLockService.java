@@ -3,6 +3,7 @@ package com.example.cafe.domain.trade.service.user;
 import com.example.cafe.domain.item.entity.Item;
 import com.example.cafe.domain.item.entity.ItemStatus;
 import com.example.cafe.domain.item.repository.ItemRepository;
+import com.example.cafe.domain.item.service.ItemStockService;
 import com.example.cafe.domain.member.entity.Member;
 import com.example.cafe.domain.member.repository.MemberRepository;
 import com.example.cafe.domain.trade.domain.dto.request.CancelRequestDto;
@@ -13,25 +14,18 @@ import com.example.cafe.domain.trade.domain.entity.CartItem;
 import com.example.cafe.domain.trade.domain.entity.Trade;
 import com.example.cafe.domain.trade.domain.entity.TradeItem;
 import com.example.cafe.domain.trade.domain.entity.TradeStatus;
-import com.example.cafe.domain.trade.portone.service.PortoneService;
+import com.example.cafe.domain.trade.portone.service.PaymentOutboxService;
 import com.example.cafe.domain.trade.repository.TradeRepository;
-import com.siot.IamportRestClient.exception.IamportResponseException;
+import com.example.cafe.domain.trade.service.cart.CartStore;
+import com.example.cafe.domain.trade.service.id.TradeIdGenerator;
+import com.example.cafe.domain.trade.service.scheduler.ReservationExpiryScheduler;
+import com.example.cafe.domain.trade.service.lock.StockLockStrategy;
 import lombok.RequiredArgsConstructor;
-import org.redisson.api.RLock;
-import org.redisson.api.RedissonClient;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.io.IOException;
-import java.math.BigDecimal;
-import java.nio.charset.StandardCharsets;
-import java.security.MessageDigest;
-import java.security.NoSuchAlgorithmException;
-import java.text.SimpleDateFormat;
 import java.util.*;
-import java.util.concurrent.TimeUnit;
-import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 import static com.example.cafe.domain.trade.domain.entity.TradeStatus.*;
@@ -39,40 +33,21 @@ import static com.example.cafe.domain.trade.domain.entity.TradeStatus.*;
 @Service
 @RequiredArgsConstructor
 @Transactional
-public class UserTradeRedisLockService {
+public class UserTradeRedisLockService implements OrderPlacementService {
 
     private final TradeRepository tradeRepository;
     private final ItemRepository itemRepository;
-    private final PortoneService portoneService;
+    private final PaymentOutboxService paymentOutboxService;
     private final MemberRepository memberRepository;
-    private final RedissonClient redissonClient;
-
-    /**
-     * Redis 분산 락을 획득하여 supplier.get()을 실행한 후 락을 해제하는 헬퍼 메서드.
-     */
-    private <T> T executeWithItemLock(Long itemId, Supplier<T> supplier) {
-        String lockKey = "lock:item:" + itemId;
-        RLock lock = redissonClient.getLock(lockKey);
-        boolean locked = false;
-        try {
-            locked = lock.tryLock(5, 10, TimeUnit.SECONDS);
-            if (!locked) {
-                throw new RuntimeException("재고 확인을 위한 락 획득 실패 for item " + itemId);
-            }
-            return supplier.get();
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            throw new RuntimeException("락 획득 중 인터럽트 발생 for item " + itemId, e);
-        } finally {
-            if (locked) {
-                lock.unlock();
-            }
-        }
-    }
+    private final StockLockStrategy stockLockStrategy;
+    private final ReservationExpiryScheduler reservationExpiryScheduler;
+    private final TradeIdGenerator tradeIdGenerator;
+    private final CartStore cartStore;
+    private final ItemStockService itemStockService;
 
     /**
      * 단일 상품 주문
-     * Redis 락과 DB의 PESSIMISTIC_LOCK(findByIdForUpdate())을 함께 사용하여,
+     * 상품 락(StockLockStrategy)과 DB의 PESSIMISTIC_LOCK(findByIdForUpdate())을 함께 사용하여,
      * 재고 확인부터 차감, 주문 생성까지 보호합니다.
      */
     @Transactional(propagation = Propagation.REQUIRES_NEW)
@@ -80,7 +55,7 @@ public class UserTradeRedisLockService {
         Member member = memberRepository.findById(memberId)
                 .orElseThrow(() -> new RuntimeException("멤버를 찾을 수 없습니다"));
 
-        return executeWithItemLock(requestItemDto.getItemId(), () -> {
+        return stockLockStrategy.executeWithLock(requestItemDto.getItemId(), () -> {
             // DB 락을 통해 최신 재고를 조회
             Item item = itemRepository.findByIdForUpdate(requestItemDto.getItemId())
                     .orElseThrow(() -> new RuntimeException("주문 하고자 하는 상품을 찾을 수 없습니다."));
@@ -89,13 +64,19 @@ public class UserTradeRedisLockService {
             if (reqQuantity < 0) {
                 throw new RuntimeException("구매 수량은 0보다 작을 수 없습니다");
             }
-            if (item.getItemStatus().equals(ItemStatus.SOLD_OUT) || reqQuantity > item.getStock()) {
-                throw new RuntimeException("재고가 부족합니다.");
-            }
+            if (itemStockService.isLedgerEnabled() || itemStockService.isSharded(item.getId())) {
+                // 재고 원장을 쓰면 원장에서 예약: 취소/만료 반납도 원장으로 돌아오므로 상품 행은 write-behind 로만 바뀜
+                // 재고가 분할된 상품은 조각에서 먼저 차감 (상품 행 재고만 보면 조각 재고를 놓침)
+                itemStockService.reserve(item.getId(), reqQuantity);
+            } else {
+                if (item.getItemStatus().equals(ItemStatus.SOLD_OUT) || reqQuantity > item.getStock()) {
+                    throw new RuntimeException("재고가 부족합니다.");
+                }
 
-            // 재고 차감
-            item.setStock(item.getStock() - reqQuantity);
-            item.autoCheckQuantityForSetStatus();
+                // 재고 차감
+                item.setStock(item.getStock() - reqQuantity);
+                item.autoCheckQuantityForSetStatus();
+            }
 
             // Trade 생성
             Trade trade = makeTrade(member, BUY);
@@ -109,17 +90,14 @@ public class UserTradeRedisLockService {
             tradeItem.setPrice();
             trade.addTradeItem(tradeItem);
 
-            String tradeUUID = generateTradeUUID();
+            String tradeUUID = tradeIdGenerator.nextId();
             trade.setTradeUUID(tradeUUID);
             trade.setTotalPrice(reqQuantity * item.getPrice());
 
-            try {
-                portoneService.prePurchase(tradeUUID, new BigDecimal(trade.getTotalPrice()));
-            } catch (IamportResponseException | IOException e) {
-                throw new RuntimeException(e);
-            }
-
             tradeRepository.save(trade);
+            // 결제 사전 등록은 커밋 이후 outbox 릴레이가 트랜잭션 밖에서 처리
+            paymentOutboxService.enqueuePrepare(trade);
+            reservationExpiryScheduler.track(trade.getId(), trade.getReservationDeadline());
 
             return new OrderResponseDto(
                     trade.getId(),
@@ -132,61 +110,60 @@ public class UserTradeRedisLockService {
 
     /**
      * 장바구니 주문
-     * 여러 상품 주문 시, 데드락을 피하기 위해 먼저 중복 없는 상품 ID를 정렬한 후 각 상품에 대해 락을 획득하고,
-     * DB 락(findByIdForUpdate())을 사용하여 각 상품의 최신 재고 상태를 확인 및 차감합니다.
+     * 여러 상품 주문 시, 데드락을 피하기 위해 정해진 순서로 각 상품에 대해 락을 획득하고,
+     * DB 락(findAllByIdInForUpdate())으로 모든 상품의 최신 재고를 한 번에 읽어 확인 및 차감합니다.
      */
     @Transactional(propagation = Propagation.REQUIRES_NEW)
     public OrderResponseDto tradeWithCart(Long memberId) {
         Member member = memberRepository.findById(memberId)
                 .orElseThrow(() -> new RuntimeException("멤버를 찾을 수 없습니다"));
-        List<CartItem> cartItems;
-        try {
-            cartItems = member.getCart().getCartItems();
-        } catch (NullPointerException e) {
-            throw new RuntimeException("장바구니 카트가 비어있습니다.");
-        }
+        List<CartItem> cartItems = cartStore.materialize(memberId);
         if (cartItems.isEmpty()) {
             throw new RuntimeException("장바구니 카트가 비어있습니다.");
         }
 
-        // 중복 제거 및 정렬된 상품 ID 목록 생성
-        Set<Long> itemIdSet = cartItems.stream()
+        Set<Long> itemIds = cartItems.stream()
                 .map(ci -> ci.getItem().getId())
                 .collect(Collectors.toSet());
-        List<Long> sortedItemIds = new ArrayList<>(itemIdSet);
-        Collections.sort(sortedItemIds);
 
-        List<RLock> acquiredLocks = new ArrayList<>();
-        try {
-            // 모든 관련 상품에 대해 Redis 락 획득
-            for (Long itemId : sortedItemIds) {
-                RLock lock = redissonClient.getLock("lock:item:" + itemId);
-                if (!lock.tryLock(5, 10, TimeUnit.SECONDS)) {
-                    throw new RuntimeException("재고 확인을 위한 락 획득 실패 for item " + itemId);
+        // 모든 관련 상품에 대해 락 획득 (획득 순서는 전략 구현체가 보장)
+        return stockLockStrategy.executeWithLocks(itemIds, () -> {
+            SortedMap<Long, Integer> quantities = quantitiesOf(cartItems);
+            Map<Long, Item> items;
+            if (itemStockService.isLedgerEnabled()) {
+                // 재고 원장을 쓰면 원장에서 한 번에 예약: 취소/만료 반납도 원장으로 돌아오므로 상품 행은 write-behind 로만 바뀜
+                itemStockService.reserveAll(quantities);
+                items = itemRepository.findAllById(quantities.keySet()).stream()
+                        .collect(Collectors.toMap(Item::getId, item -> item));
+            } else {
+                // 보호 영역 내에서 모든 상품의 최신 재고를 ID 순으로 한 번에 DB 락으로 조회
+                Map<Long, Item> locked = itemRepository.findAllByIdInForUpdate(quantities.keySet()).stream()
+                        .collect(Collectors.toMap(Item::getId, item -> item));
+                if (locked.values().stream().anyMatch(Item::isSharded)) {
+                    // 재고가 분할된 상품이 섞여 있으면 조각과 상품 행을 함께 차감하는 reserveAll 로 처리
+                    // 일괄 UPDATE 가 잠가 둔 엔티티를 분리하므로 차감 후 다시 읽음
+                    itemStockService.reserveAll(quantities);
+                    items = itemRepository.findAllById(quantities.keySet()).stream()
+                            .collect(Collectors.toMap(Item::getId, item -> item));
+                } else {
+                    quantities.forEach((itemId, reqQuantity) -> {
+                        Item item = locked.get(itemId);
+                        if (item == null) {
+                            throw new RuntimeException("주문하고자 하는 상품을 찾을 수 없습니다.");
+                        }
+                        if (item.getItemStatus().equals(ItemStatus.SOLD_OUT) || reqQuantity > item.getStock()) {
+                            throw new RuntimeException("요청한 상품 중 재고가 부족한 상품이 있습니다.");
+                        }
+                    });
+
+                    // 모든 상품에 대해 재고 차감 처리
+                    quantities.forEach((itemId, reqQuantity) -> {
+                        Item item = locked.get(itemId);
+                        item.setStock(item.getStock() - reqQuantity);
+                        item.autoCheckQuantityForSetStatus();
+                    });
+                    items = locked;
                 }
-                acquiredLocks.add(lock);
-            }
-
-            // 보호 영역 내에서 각 상품별 최신 재고를 DB 락으로 확인
-            for (CartItem cartItem : cartItems) {
-                Item item = itemRepository.findByIdForUpdate(cartItem.getItem().getId())
-                        .orElseThrow(() -> new RuntimeException("주문하고자 하는 상품을 찾을 수 없습니다."));
-                int reqQuantity = cartItem.getQuantity();
-                if (reqQuantity < 0) {
-                    throw new RuntimeException("구매 수량은 0보다 작을 수 없습니다");
-                }
-                if (item.getItemStatus().equals(ItemStatus.SOLD_OUT) || reqQuantity > item.getStock()) {
-                    throw new RuntimeException("요청한 상품 중 재고가 부족한 상품이 있습니다.");
-                }
-            }
-
-            // 모든 상품에 대해 재고 차감 처리
-            for (CartItem cartItem : cartItems) {
-                Item item = itemRepository.findByIdForUpdate(cartItem.getItem().getId())
-                        .orElseThrow(() -> new RuntimeException("주문하고자 하는 상품을 찾을 수 없습니다."));
-                int reqQuantity = cartItem.getQuantity();
-                item.setStock(item.getStock() - reqQuantity);
-                item.autoCheckQuantityForSetStatus();
             }
 
             // Trade 생성
@@ -194,32 +171,30 @@ public class UserTradeRedisLockService {
             member.getTrades().add(trade);
 
             for (CartItem cartItem : cartItems) {
-                Item item = itemRepository.findById(cartItem.getItem().getId())
-                        .orElseThrow(() -> new RuntimeException("주문하고자 하는 상품을 찾을 수 없습니다."));
-                int reqQuantity = cartItem.getQuantity();
+                Item item = items.get(cartItem.getItem().getId());
+                if (item == null) {
+                    throw new RuntimeException("주문하고자 하는 상품을 찾을 수 없습니다.");
+                }
                 TradeItem tradeItem = TradeItem.builder()
                         .trade(trade)
                         .item(item)
-                        .quantity(reqQuantity)
+                        .quantity(cartItem.getQuantity())
                         .build();
                 tradeItem.setPrice();
                 trade.addTradeItem(tradeItem);
             }
 
             trade.setTotalPrice(calculateTotalPrice(trade.getTradeItems()));
-            String tradeUUID = generateTradeUUID();
+            String tradeUUID = tradeIdGenerator.nextId();
             trade.setTradeUUID(tradeUUID);
 
-            try {
-                portoneService.prePurchase(tradeUUID, new BigDecimal(trade.getTotalPrice()));
-            } catch (IamportResponseException | IOException e) {
-                throw new RuntimeException(e);
-            }
-
             // 카트 비우기
-            member.getCart().getCartItems().clear();
+            cartStore.clear(memberId, cartItems);
 
             tradeRepository.save(trade);
+            // 결제 사전 등록은 커밋 이후 outbox 릴레이가 트랜잭션 밖에서 처리
+            paymentOutboxService.enqueuePrepare(trade);
+            reservationExpiryScheduler.track(trade.getId(), trade.getReservationDeadline());
 
             return new OrderResponseDto(
                     trade.getId(),
@@ -227,21 +202,11 @@ public class UserTradeRedisLockService {
                     trade.getTotalPrice(),
                     trade.getTradeUUID()
             );
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            throw new RuntimeException("락 획득 중 인터럽트 발생", e);
-        } finally {
-            // 획득한 Redis 락 모두 해제
-            for (RLock lock : acquiredLocks) {
-                if (lock.isHeldByCurrentThread()) {
-                    lock.unlock();
-                }
-            }
-        }
+        });
     }
 
     public void processPayment(String uuid, int payAmount) {
-        Trade trade = tradeRepository.findByTradeUUID(uuid)
+        Trade trade = tradeRepository.findByTradeUUIDForUpdate(uuid)
                 .orElseThrow(() -> new RuntimeException("해당 거래를 찾을 수 없습니다: " + uuid));
 
         try {
@@ -262,7 +227,7 @@ public class UserTradeRedisLockService {
     }
 
     public CancelResponseDto cancelTrade(CancelRequestDto requestDto) {
-        Trade trade = tradeRepository.findByTradeUUID(requestDto.getTradeUUID())
+        Trade trade = tradeRepository.findByTradeUUIDForUpdate(requestDto.getTradeUUID())
                 .orElseThrow(() -> new RuntimeException("해당 거래를 찾을 수 없습니다."));
         if (trade.getTradeStatus().equals(BUY)) {
             return cancelTradeOnBuy(requestDto);
@@ -283,43 +248,37 @@ public class UserTradeRedisLockService {
         return null;
     }
 
+    // 장바구니 라인을 상품 ID 오름차순으로 합산
+    private SortedMap<Long, Integer> quantitiesOf(List<CartItem> cartItems) {
+        SortedMap<Long, Integer> quantities = new TreeMap<>();
+        for (CartItem cartItem : cartItems) {
+            if (cartItem.getQuantity() < 0) {
+                throw new RuntimeException("구매 수량은 0보다 작을 수 없습니다");
+            }
+            quantities.merge(cartItem.getItem().getId(), cartItem.getQuantity(), Integer::sum);
+        }
+        return quantities;
+    }
+
+    // 주문 상품 수량을 상품별로 합쳐 원자적 증가 UPDATE 로 반납 (Item 엔티티를 읽지 않음)
     public void rollBackProductQuantity(Trade trade) {
-        trade.getTradeItems().forEach(tradeItem -> {
-            Item item = tradeItem.getItem();
-            item.setStock(item.getStock() + tradeItem.getQuantity());
-            item.autoCheckQuantityForSetStatus();
-        });
+        SortedMap<Long, Integer> quantities = new TreeMap<>();
+        trade.getTradeItems().forEach(tradeItem ->
+                quantities.merge(tradeItem.getItem().getId(), tradeItem.getQuantity(), Integer::sum));
+        itemStockService.restore(quantities);
     }
 
     private Trade makeTrade(Member member, TradeStatus status) {
         return Trade.builder()
                 .member(member)
                 .tradeStatus(status)
+                .reservationDeadline(status == BUY ? reservationExpiryScheduler.nextDeadline() : null)
                 .tradeItems(new ArrayList<>())
                 .address(member.getAddress())
                 .email(member.getEmail())
                 .build();
     }
 
-    public static String generateTradeUUID() {
-        SimpleDateFormat dateFormat = new SimpleDateFormat("yyMMddHHmmss");
-        String currentTime = dateFormat.format(new Date());
-        String uuid = java.util.UUID.randomUUID().toString();
-        byte[] uuidBytes = uuid.getBytes(StandardCharsets.UTF_8);
-        byte[] hashBytes;
-        try {
-            MessageDigest md = MessageDigest.getInstance("SHA-256");
-            hashBytes = md.digest(uuidBytes);
-        } catch (NoSuchAlgorithmException e) {
-            throw new RuntimeException(e);
-        }
-        StringBuilder sb = new StringBuilder();
-        for (int i = 0; i < 4; i++) {
-            sb.append(String.format("%02x", hashBytes[i]));
-        }
-        return currentTime + sb.toString();
-    }
-
     public int calculateTotalPrice(List<TradeItem> tradeItems) {
         return tradeItems.stream()
                 .mapToInt(ti -> ti.getItem().getPrice() * ti.getQuantity())
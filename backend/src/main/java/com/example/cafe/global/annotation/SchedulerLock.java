@@ -0,0 +1,15 @@
+package com.example.cafe.global.annotation;
+
+import java.lang.annotation.*;
+
+/**
+ * 여러 노드에서 같은 스케줄 작업이 동시에 실행되지 않도록 합니다.
+ * lease 를 얻은 한 노드만 메서드를 실행하고, 나머지 노드는 실행하지 않고 바로 넘어갑니다.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface SchedulerLock {
+    String name();                  // 작업 이름 (scheduler_lease 행 키)
+    long leaseSeconds() default 300; // 작업이 이보다 오래 걸리면 다른 노드가 lease 를 가져갈 수 있음
+    long lockAtLeastForSeconds() default 0; // 작업이 빨리 끝나도 이 시간 동안은 다른 노드가 같은 작업을 실행하지 않음
+}
@@ -0,0 +1,37 @@
+package com.example.cafe.global.aop;
+
+import com.example.cafe.global.annotation.SchedulerLock;
+import com.example.cafe.global.scheduler.SchedulerLockManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+
+@Slf4j
+@Aspect
+@Component
+@RequiredArgsConstructor
+public class SchedulerLockAspect {
+
+    private final SchedulerLockManager schedulerLockManager;
+
+    @Around("@annotation(schedulerLock)")
+    public Object around(ProceedingJoinPoint joinPoint, SchedulerLock schedulerLock) throws Throwable {
+        Optional<SchedulerLockManager.Lease> lease = schedulerLockManager.tryAcquire(
+                schedulerLock.name(), schedulerLock.leaseSeconds(), schedulerLock.lockAtLeastForSeconds());
+        if (lease.isEmpty()) {
+            // 다른 노드가 이번 실행을 맡음
+            log.debug("스케줄 작업 건너뜀, 다른 노드에서 실행 중 name : [{}]", schedulerLock.name());
+            return null;
+        }
+        try {
+            return joinPoint.proceed();
+        } finally {
+            schedulerLockManager.release(lease.get());
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.cafe.global.config;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.DatabaseMetaData;
+import java.util.List;
+
+/**
+ * IDENTITY 에서 시퀀스 ID 로 바꾼 엔티티의 시퀀스를 기존 최대 ID 뒤로 맞춥니다.
+ * MySQL 은 시퀀스가 없어 Hibernate 가 next_val 한 컬럼짜리 테이블로 흉내 내며, ddl-auto 로 새로 만들어지면 1 부터 시작해
+ * 이미 AUTO_INCREMENT 로 쌓인 행과 ID 가 겹칩니다. 요청을 받기 전(모든 싱글톤 생성 직후)에 한 번 실행합니다.
+ * 테스트(H2)는 create-drop 으로 빈 테이블에서 시작하므로 맞출 필요가 없습니다.
+ * <p>
+ * IDENTITY 를 쓰는 이전 버전과 함께 떠 있으면 안 됩니다(롤링 배포 불가). 이전 노드의 AUTO_INCREMENT 가
+ * 새 노드가 미리 할당받은 ID 구간의 번호를 쓸 수 있어 기본 키가 충돌하므로, 이전 버전 노드를 모두 내린 뒤 새 버전을 올려야 합니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class IdSequenceInitializer implements SmartInitializingSingleton {
+
+    // 엔티티의 @SequenceGenerator allocationSize 와 같아야 함
+    private static final int ALLOCATION_SIZE = 50;
+
+    private static final List<SequenceTarget> TARGETS = List.of(
+            new SequenceTarget("trade_seq", "trade", "trade_id"),
+            new SequenceTarget("trade_item_seq", "trade_item", "trade_item_id"),
+            new SequenceTarget("cart_item_seq", "cart_item", "id"),
+            new SequenceTarget("item_seq", "item", "item_id"),
+            new SequenceTarget("review_seq", "review", "review_id"),
+            new SequenceTarget("delayed_transition_seq", "delayed_transition", "delayed_transition_id")
+    );
+
+    private final DataSource dataSource;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (!isMySql()) {
+            return;
+        }
+        transactionTemplate.executeWithoutResult(status -> TARGETS.forEach(this::align));
+    }
+
+    private void align(SequenceTarget target) {
+        Long maxId = jdbcTemplate.queryForObject(
+                "select coalesce(max(%s), 0) from %s".formatted(target.idColumn(), target.table()), Long.class);
+        if (maxId == null || maxId == 0) {
+            return;
+        }
+        // pooled 옵티마이저는 읽은 값 N 에 대해 (N - 50, N] 구간을 쓰므로 N 이 maxId + 50 보다 커야 겹치지 않음
+        long nextValue = maxId + ALLOCATION_SIZE + 1;
+        int updated = jdbcTemplate.update(
+                "update %s set next_val = ? where next_val < ?".formatted(target.sequence()), nextValue, nextValue);
+        if (updated > 0) {
+            log.info("ID 시퀀스 조정 sequence : [{}], next_val : [{}]", target.sequence(), nextValue);
+        }
+    }
+
+    private boolean isMySql() {
+        try {
+            String productName = JdbcUtils.extractDatabaseMetaData(dataSource, DatabaseMetaData::getDatabaseProductName);
+            return "MySQL".equalsIgnoreCase(productName);
+        } catch (Exception e) {
+            log.warn("DB 종류를 확인하지 못해 ID 시퀀스 조정을 건너뜁니다.", e);
+            return false;
+        }
+    }
+
+    private record SequenceTarget(String sequence, String table, String idColumn) {
+    }
+}
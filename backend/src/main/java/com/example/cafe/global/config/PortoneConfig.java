@@ -0,0 +1,18 @@
+package com.example.cafe.global.config;
+
+import com.siot.IamportRestClient.IamportClient;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class PortoneConfig {
+
+    // 테스트에서는 로컬 스텁 IamportClient 빈으로 대체할 수 있습니다.
+    @Bean
+    @ConditionalOnMissingBean
+    public IamportClient iamportClient(@Value("${imp_key}") String impKey, @Value("${imp_secret}") String impSecret) {
+        return new IamportClient(impKey, impSecret);
+    }
+}
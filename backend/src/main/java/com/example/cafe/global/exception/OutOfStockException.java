@@ -0,0 +1,18 @@
+package com.example.cafe.global.exception;
+
+import com.example.cafe.domain.item.dto.StockShortageDto;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+public class OutOfStockException extends RuntimeException {
+
+    private final List<StockShortageDto> shortages;
+
+    public OutOfStockException(List<StockShortageDto> shortages) {
+        super("요청한 상품 중 재고가 부족한 상품이 있습니다. 상품 ID : " +
+                shortages.stream().map(StockShortageDto::getItemId).toList());
+        this.shortages = shortages;
+    }
+}
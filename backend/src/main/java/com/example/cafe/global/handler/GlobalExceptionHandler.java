@@ -1,8 +1,10 @@
 package com.example.cafe.global.handler;
 
+import com.example.cafe.domain.item.dto.StockShortageDto;
 import com.example.cafe.global.config.AppConfig;
 import com.example.cafe.global.dto.RsData;
 import com.example.cafe.global.exception.ItemNotFoundException;
+import com.example.cafe.global.exception.OutOfStockException;
 import com.example.cafe.global.exception.ServiceException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -11,6 +13,7 @@ import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 
+import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
 
@@ -61,6 +64,14 @@ public class GlobalExceptionHandler {
                 .body(new RsData<>("500-1", "Internal server error: " + ex.getMessage()));
     }
 
+    // 재고 부족: 어떤 상품이 얼마나 부족한지 함께 반환
+    @ExceptionHandler(OutOfStockException.class)
+    public ResponseEntity<RsData<List<StockShortageDto>>> handleOutOfStockException(OutOfStockException ex) {
+        return ResponseEntity
+                .status(HttpStatus.CONFLICT)
+                .body(new RsData<>("409-1", ex.getMessage(), ex.getShortages()));
+    }
+
     @ExceptionHandler(ItemNotFoundException.class)
     public ResponseEntity<String> handleItemNotFoundException(ItemNotFoundException ex) {
         return ResponseEntity.status(HttpStatus.NOT_FOUND).body(ex.getMessage());
@@ -0,0 +1,34 @@
+package com.example.cafe.global.scheduler;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * 스케줄 작업별 실행 권한(lease).
+ * 획득할 때마다 fencing_token 이 1씩 증가하므로, lease 가 만료된 뒤에도 작업을 계속하던 이전 소유자는
+ * 토큰이 달라 더 이상 반영하지 못합니다.
+ */
+@Entity
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+@Builder
+@Table(name = "scheduler_lease")
+public class SchedulerLease {
+
+    @Id
+    @Column(name = "name", length = 100)
+    private String name;
+
+    @Column(name = "owner")
+    private String owner;
+
+    @Column(name = "locked_until", nullable = false)
+    private LocalDateTime lockedUntil;
+
+    @Column(name = "fencing_token", nullable = false)
+    private long fencingToken;
+}
@@ -0,0 +1,42 @@
+package com.example.cafe.global.scheduler;
+
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+public interface SchedulerLeaseRepository extends JpaRepository<SchedulerLease, String> {
+
+    // 작업별 행이 없을 때 한 번만 생성 (save() 는 merge 로 동작해 다른 노드의 lease 를 덮어쓸 수 있으므로 직접 INSERT)
+    @Modifying
+    @Query(value = "insert into scheduler_lease (name, locked_until, fencing_token) values (:name, :lockedUntil, 0)",
+            nativeQuery = true)
+    int insert(@Param("name") String name, @Param("lockedUntil") LocalDateTime lockedUntil);
+
+    // 만료된 lease 만 가져오며 토큰을 올림. 다른 노드가 보유 중이면 0 을 반환하므로 대기 없이 건너뜀
+    @Modifying
+    @Query("update SchedulerLease l set l.owner = :owner, l.lockedUntil = :until, l.fencingToken = l.fencingToken + 1 " +
+            "where l.name = :name and l.lockedUntil <= :now")
+    int acquire(@Param("name") String name, @Param("owner") String owner,
+                @Param("now") LocalDateTime now, @Param("until") LocalDateTime until);
+
+    // 최소 보유 시각(lockAtLeastUntil)이 남아 있으면 그때까지는 계속 보유
+    @Modifying
+    @Query("update SchedulerLease l set l.lockedUntil = :releaseAt " +
+            "where l.name = :name and l.owner = :owner and l.fencingToken = :token")
+    int release(@Param("name") String name, @Param("owner") String owner,
+                @Param("token") long token, @Param("releaseAt") LocalDateTime releaseAt);
+
+    // lease 시각은 노드마다 다른 시계 대신 DB 시계를 기준으로 계산
+    @Query(value = "select localtimestamp(6)", nativeQuery = true)
+    LocalDateTime currentTime();
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select l from SchedulerLease l where l.name = :name")
+    Optional<SchedulerLease> findByNameForUpdate(@Param("name") String name);
+}
@@ -0,0 +1,99 @@
+package com.example.cafe.global.scheduler;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * scheduler_lease 행 기반 노드 간 스케줄 작업 잠금.
+ * 조건부 UPDATE 한 번으로 만료된 lease 만 가져오므로 다른 노드가 실행 중이면 대기 없이 바로 실패합니다.
+ * 실행 중인 작업은 assertLeaseHeld() 를 자기 트랜잭션 안에서 호출해 lease 행을 잠그고 토큰을 확인하므로,
+ * lease 가 만료되어 다른 노드가 가져간 뒤에는 이전 소유자의 변경이 반영되지 않습니다(fencing).
+ * 시각은 모두 DB 시계 기준이라 노드 간 시계 차이에 영향을 받지 않고, 작업이 빨리 끝나도 lockAtLeastFor 동안은
+ * lease 를 유지해 시계가 늦은 노드가 같은 실행 회차를 다시 돌리지 못하게 합니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SchedulerLockManager {
+
+    private static final String OWNER = ManagementFactory.getRuntimeMXBean().getName() + "/" + UUID.randomUUID();
+
+    private final SchedulerLeaseRepository leaseRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    private final ThreadLocal<Lease> currentLease = new ThreadLocal<>();
+
+    public record Lease(String name, String owner, long token, LocalDateTime lockedAtLeastUntil) {
+    }
+
+    public Optional<Lease> tryAcquire(String name, long leaseSeconds) {
+        return tryAcquire(name, leaseSeconds, 0);
+    }
+
+    // lease 를 얻으면 현재 스레드에 등록하고 반환, 다른 노드가 보유 중이면 empty
+    public Optional<Lease> tryAcquire(String name, long leaseSeconds, long lockAtLeastForSeconds) {
+        createIfAbsent(name);
+        Lease lease = transactionTemplate.execute(status -> {
+            LocalDateTime now = leaseRepository.currentTime();
+            if (leaseRepository.acquire(name, OWNER, now, now.plusSeconds(leaseSeconds)) == 0) {
+                return null;
+            }
+            return new Lease(name, OWNER, leaseRepository.findById(name).orElseThrow().getFencingToken(),
+                    now.plusSeconds(Math.min(lockAtLeastForSeconds, leaseSeconds)));
+        });
+        if (lease != null) {
+            currentLease.set(lease);
+        }
+        return Optional.ofNullable(lease);
+    }
+
+    public void release(Lease lease) {
+        currentLease.remove();
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                LocalDateTime now = leaseRepository.currentTime();
+                LocalDateTime releaseAt = now.isBefore(lease.lockedAtLeastUntil()) ? lease.lockedAtLeastUntil() : now;
+                leaseRepository.release(lease.name(), lease.owner(), lease.token(), releaseAt);
+            });
+        } catch (RuntimeException e) {
+            // 해제에 실패해도 lease 는 만료 시각이 지나면 다른 노드가 가져갈 수 있음
+            log.warn("스케줄러 lease 해제 실패 name : [{}]", lease.name(), e);
+        }
+    }
+
+    /**
+     * 현재 스레드가 실행 중인 잠금 작업의 lease 가 아직 유효한지 확인합니다. 반드시 반영할 트랜잭션 안에서 호출해야 하며,
+     * lease 행을 커밋 때까지 잠가 두므로 그 사이 다른 노드가 lease 를 가져갈 수 없습니다.
+     * 잠금 작업 밖에서(수동 호출, 테스트) 호출하면 아무것도 하지 않습니다.
+     */
+    public void assertLeaseHeld() {
+        Lease lease = currentLease.get();
+        if (lease == null) {
+            return;
+        }
+        SchedulerLease row = leaseRepository.findByNameForUpdate(lease.name()).orElse(null);
+        if (row == null || row.getFencingToken() != lease.token() || !row.getLockedUntil().isAfter(leaseRepository.currentTime())) {
+            throw new IllegalStateException("스케줄러 lease 를 잃어 작업을 중단합니다 name : [" + lease.name() + "]");
+        }
+    }
+
+    private void createIfAbsent(String name) {
+        if (leaseRepository.existsById(name)) {
+            return;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status ->
+                    leaseRepository.insert(name, leaseRepository.currentTime().minusSeconds(1)));
+        } catch (DataIntegrityViolationException e) {
+            // 다른 노드가 먼저 만든 경우
+        }
+    }
+}
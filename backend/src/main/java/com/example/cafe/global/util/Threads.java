@@ -0,0 +1,20 @@
+package com.example.cafe.global.util;
+
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * 직접 만드는 실행기(Executor)의 스레드 팩토리.
+ * spring.threads.virtual.enabled 가 켜져 있으면 가상 스레드를 만들어, PortOne HTTP 호출이나 JDBC 대기처럼 막히는 작업이
+ * 캐리어(플랫폼) 스레드를 붙잡지 않게 합니다. 풀 크기(동시 실행 수 제한)는 그대로 유지됩니다.
+ */
+public final class Threads {
+
+    private Threads() {
+    }
+
+    public static ThreadFactory factory(String name, boolean virtual) {
+        return virtual
+                ? Thread.ofVirtual().name(name + "-", 0).factory()
+                : Thread.ofPlatform().name(name + "-", 0).factory();
+    }
+}
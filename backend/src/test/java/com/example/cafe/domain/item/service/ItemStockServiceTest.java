@@ -0,0 +1,140 @@
+package com.example.cafe.domain.item.service;
+
+import com.example.cafe.domain.item.dto.StockShortageDto;
+import com.example.cafe.domain.item.entity.Item;
+import com.example.cafe.domain.item.entity.ItemStatus;
+import com.example.cafe.domain.item.repository.ItemRepository;
+import com.example.cafe.global.exception.OutOfStockException;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.TreeMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+public class ItemStockServiceTest {
+
+    @Autowired
+    private ItemStockService itemStockService;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    public void testRestoreReopensSoldOutItemsInOneBatch() {
+        Item first = saveItem(0, ItemStatus.SOLD_OUT);
+        Item second = saveItem(5, ItemStatus.ON_SALE);
+
+        TreeMap<Long, Integer> quantities = new TreeMap<>();
+        quantities.put(first.getId(), 3);
+        quantities.put(second.getId(), 2);
+        transactionTemplate.executeWithoutResult(status -> itemStockService.restore(quantities));
+
+        Item restoredFirst = itemRepository.findById(first.getId()).orElseThrow();
+        assertEquals(3, restoredFirst.getStock());
+        assertEquals(ItemStatus.ON_SALE, restoredFirst.getItemStatus());
+        assertEquals(7, itemRepository.findById(second.getId()).orElseThrow().getStock());
+    }
+
+    @Test
+    public void testConcurrentReserveAndRestoreDoNotLoseUpdates() throws InterruptedException {
+        Item item = saveItem(100, ItemStatus.ON_SALE);
+        int perSide = 100;
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+        CountDownLatch startLatch = new CountDownLatch(1);
+        CountDownLatch doneLatch = new CountDownLatch(perSide * 2);
+        AtomicInteger reserved = new AtomicInteger();
+
+        for (int i = 0; i < perSide; i++) {
+            executor.submit(() -> run(startLatch, doneLatch, () -> {
+                transactionTemplate.executeWithoutResult(status -> itemStockService.reserve(item.getId(), 1));
+                reserved.incrementAndGet();
+            }));
+            executor.submit(() -> run(startLatch, doneLatch, () -> {
+                TreeMap<Long, Integer> quantities = new TreeMap<>();
+                quantities.put(item.getId(), 1);
+                transactionTemplate.executeWithoutResult(status -> itemStockService.restore(quantities));
+            }));
+        }
+        startLatch.countDown();
+        assertTrue(doneLatch.await(60, TimeUnit.SECONDS));
+        executor.shutdown();
+
+        // 차감과 반납이 서로를 덮어쓰지 않았다면 초기 재고 - 성공한 차감 + 반납 수량
+        assertEquals(100 - reserved.get() + perSide, itemRepository.findById(item.getId()).orElseThrow().getStock());
+    }
+
+    @Test
+    public void testReserveAllRollsBackWholeBatchWhenOneLineFails() {
+        Item first = saveItem(5, ItemStatus.ON_SALE);
+        Item scarce = saveItem(1, ItemStatus.ON_SALE);
+        Item last = saveItem(5, ItemStatus.ON_SALE);
+
+        TreeMap<Long, Integer> quantities = new TreeMap<>();
+        quantities.put(first.getId(), 2);
+        quantities.put(scarce.getId(), 2);
+        quantities.put(last.getId(), 2);
+        OutOfStockException e = assertThrows(OutOfStockException.class,
+                () -> transactionTemplate.executeWithoutResult(status -> itemStockService.reserveAll(quantities)));
+
+        assertEquals(List.of(scarce.getId()), e.getShortages().stream().map(StockShortageDto::getItemId).toList());
+        // 부족한 라인 앞뒤로 배치에서 이미 차감된 라인도 함께 롤백됨
+        assertEquals(5, itemRepository.findById(first.getId()).orElseThrow().getStock());
+        assertEquals(1, itemRepository.findById(scarce.getId()).orElseThrow().getStock());
+        assertEquals(5, itemRepository.findById(last.getId()).orElseThrow().getStock());
+    }
+
+    @Test
+    public void testReserveAllDoesNotLeaveStaleLoadedItems() {
+        Item item = saveItem(10, ItemStatus.ON_SALE);
+
+        TreeMap<Long, Integer> quantities = new TreeMap<>();
+        quantities.put(item.getId(), 3);
+        Item reloaded = transactionTemplate.execute(status -> {
+            Item loaded = itemRepository.findById(item.getId()).orElseThrow();
+            itemStockService.reserveAll(quantities);
+            // 배치 이전에 읽어 둔 엔티티가 아니라 차감된 재고와 version 을 다시 읽어야 함
+            Item after = itemRepository.findById(item.getId()).orElseThrow();
+            assertNotSame(loaded, after);
+            return after;
+        });
+
+        assertEquals(7, reloaded.getStock());
+        assertEquals(item.getVersion() + 1, reloaded.getVersion());
+        assertEquals(7, itemRepository.findById(item.getId()).orElseThrow().getStock());
+    }
+
+    private void run(CountDownLatch startLatch, CountDownLatch doneLatch, Runnable action) {
+        try {
+            startLatch.await();
+            action.run();
+        } catch (Exception e) {
+            // 재고 부족 등으로 실패한 차감은 reserved 에 포함되지 않음
+        } finally {
+            doneLatch.countDown();
+        }
+    }
+
+    private Item saveItem(int stock, ItemStatus status) {
+        Item item = new Item();
+        item.setItemName("Stock Test Item");
+        item.setPrice(100);
+        item.setStock(stock);
+        item.setItemStatus(status);
+        return itemRepository.save(item);
+    }
+}
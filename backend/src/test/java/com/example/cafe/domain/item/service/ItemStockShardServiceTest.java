@@ -0,0 +1,138 @@
+package com.example.cafe.domain.item.service;
+
+import com.example.cafe.domain.item.dto.ItemStockShardResponseDto;
+import com.example.cafe.domain.item.dto.StockShortageDto;
+import com.example.cafe.domain.item.entity.Item;
+import com.example.cafe.domain.item.entity.ItemStatus;
+import com.example.cafe.domain.item.repository.ItemRepository;
+import com.example.cafe.global.exception.OutOfStockException;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 분할 재고 차감 경로(한 조각, 여러 조각에 나누어 차감, 상품 행으로 넘어가기)와 마지막 재고를 가져갔을 때의 품절 처리를 확인합니다.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+public class ItemStockShardServiceTest {
+
+    @Autowired
+    private ItemStockShardService stockShardService;
+
+    @Autowired
+    private ItemStockService itemStockService;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    public void testReserveTakesFromOneShard() {
+        Item item = shardedItem(10, 2);
+
+        reserve(item, 3);
+
+        ItemStockShardResponseDto shards = stockShardService.getShards(item.getId());
+        assertEquals(7, shards.getTotalStock());
+        assertEquals(List.of(2, 5), shards.getShardStocks().stream().sorted().toList());
+        assertEquals(ItemStatus.ON_SALE, statusOf(item));
+    }
+
+    @Test
+    public void testReserveSplitsAcrossShardsWhenNoShardIsEnough() {
+        Item item = shardedItem(10, 2);
+
+        reserve(item, 8);
+
+        ItemStockShardResponseDto shards = stockShardService.getShards(item.getId());
+        assertEquals(2, shards.getTotalStock());
+        assertEquals(0, shards.getItemStock());
+        assertEquals(ItemStatus.ON_SALE, statusOf(item));
+    }
+
+    @Test
+    public void testReserveFallsBackToItemRow() {
+        Item item = shardedItem(4, 2);
+        // 취소로 복구된 재고는 상품 행에 쌓임
+        itemStockService.restore(new TreeMap<>(Map.of(item.getId(), 6)));
+
+        reserve(item, 4);
+        reserve(item, 6);
+
+        ItemStockShardResponseDto shards = stockShardService.getShards(item.getId());
+        assertEquals(0, shards.getTotalStock());
+        assertEquals(ItemStatus.SOLD_OUT, statusOf(item));
+        assertThrows(RuntimeException.class, () -> reserve(item, 1));
+    }
+
+    @Test
+    public void testDrainingLastShardMarksSoldOut() {
+        Item item = shardedItem(10, 2);
+
+        // 조각마다 한 번에 비우므로 여러 조각에 나누어 차감하는 경로를 타지 않음
+        reserve(item, 5);
+        assertEquals(ItemStatus.ON_SALE, statusOf(item));
+        reserve(item, 5);
+
+        assertEquals(0, stockShardService.getShards(item.getId()).getTotalStock());
+        assertEquals(ItemStatus.SOLD_OUT, statusOf(item));
+    }
+
+    @Test
+    public void testReserveAllMixesShardedAndPlainItems() {
+        Item plain = saveItem(5);
+        Item sharded = shardedItem(6, 3);
+        Item scarce = saveItem(1);
+
+        TreeMap<Long, Integer> quantities = new TreeMap<>();
+        quantities.put(plain.getId(), 2);
+        quantities.put(sharded.getId(), 5);
+        quantities.put(scarce.getId(), 2);
+        OutOfStockException e = assertThrows(OutOfStockException.class,
+                () -> transactionTemplate.executeWithoutResult(status -> itemStockService.reserveAll(quantities)));
+        assertEquals(List.of(scarce.getId()), e.getShortages().stream().map(StockShortageDto::getItemId).toList());
+        // 실패한 라인이 있으면 분할 상품을 포함해 아무것도 차감되지 않음
+        assertEquals(5, itemRepository.findById(plain.getId()).orElseThrow().getStock());
+        assertEquals(6, stockShardService.getShards(sharded.getId()).getTotalStock());
+
+        quantities.put(scarce.getId(), 1);
+        transactionTemplate.executeWithoutResult(status -> itemStockService.reserveAll(quantities));
+        assertEquals(3, itemRepository.findById(plain.getId()).orElseThrow().getStock());
+        assertEquals(1, stockShardService.getShards(sharded.getId()).getTotalStock());
+        assertEquals(0, itemRepository.findById(scarce.getId()).orElseThrow().getStock());
+    }
+
+    private Item shardedItem(int stock, int shardCount) {
+        Item item = saveItem(stock);
+        stockShardService.enableSharding(item.getId(), shardCount);
+        return item;
+    }
+
+    private void reserve(Item item, int quantity) {
+        transactionTemplate.executeWithoutResult(status -> itemStockService.reserve(item.getId(), quantity));
+    }
+
+    private ItemStatus statusOf(Item item) {
+        return itemRepository.findById(item.getId()).orElseThrow().getItemStatus();
+    }
+
+    private Item saveItem(int stock) {
+        Item item = new Item();
+        item.setItemName("Shard Test Item");
+        item.setPrice(100);
+        item.setStock(stock);
+        item.setItemStatus(ItemStatus.ON_SALE);
+        return itemRepository.save(item);
+    }
+}
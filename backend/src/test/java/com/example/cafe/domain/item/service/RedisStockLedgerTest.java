@@ -0,0 +1,172 @@
+package com.example.cafe.domain.item.service;
+
+import com.example.cafe.domain.item.entity.Item;
+import com.example.cafe.domain.item.entity.ItemStatus;
+import com.example.cafe.domain.item.repository.ItemRepository;
+import com.example.cafe.domain.member.entity.Member;
+import com.example.cafe.domain.member.repository.MemberRepository;
+import com.example.cafe.domain.trade.domain.dto.request.CancelRequestDto;
+import com.example.cafe.domain.trade.domain.dto.request.OrderRequestItemDto;
+import com.example.cafe.domain.trade.domain.dto.response.OrderResponseDto;
+import com.example.cafe.domain.trade.service.user.UserTradeAtomicUpdateService;
+import com.example.cafe.domain.trade.service.user.UserTradeRedisLockService;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+import redis.embedded.RedisServer;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * custom.stock.ledger.enabled=true 일 때 예약은 원장에서만 차감되고, 롤백/취소 반납도 원장을 거쳐
+ * 미반영 차감분과 상쇄된 뒤 flush 로 상품 행에 한 번만 반영되는지 확인합니다. 주기 flush 는 끄고 직접 호출합니다.
+ */
+@SpringBootTest(properties = {
+        "custom.stock.ledger.enabled=true",
+        "custom.stock.ledger.flush-interval-ms=3600000"
+})
+@ActiveProfiles("test")
+public class RedisStockLedgerTest {
+
+    private static RedisServer redisServer;
+
+    @Autowired
+    private MemberRepository memberRepository;
+
+    @Autowired
+    private RedisStockLedger stockLedger;
+
+    @Autowired
+    private StockLedgerFlusher flusher;
+
+    @Autowired
+    private ItemStockService itemStockService;
+
+    @Autowired
+    private UserTradeAtomicUpdateService atomicUpdateService;
+
+    @Autowired
+    private UserTradeRedisLockService redisLockService;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @DynamicPropertySource
+    static void redisProperties(DynamicPropertyRegistry registry) throws IOException {
+        int port = freePort();
+        redisServer = new RedisServer(port);
+        redisServer.start();
+        registry.add("custom.redis.address", () -> "redis://127.0.0.1:" + port);
+    }
+
+    @AfterAll
+    static void stopRedis() throws IOException {
+        if (redisServer != null) {
+            redisServer.stop();
+        }
+    }
+
+    @Test
+    public void testReservationIsFlushedToItemRow() {
+        Item item = saveItem(10);
+
+        transactionTemplate.executeWithoutResult(status -> itemStockService.reserve(item.getId(), 3));
+
+        assertEquals(7, stockLedger.peek(item.getId()));
+        // 상품 행은 flush 전까지 그대로
+        assertEquals(10, stockOf(item));
+        flusher.flush();
+        assertEquals(7, stockOf(item));
+    }
+
+    @Test
+    public void testRolledBackReservationIsReleased() {
+        Item item = saveItem(10);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            itemStockService.reserve(item.getId(), 4);
+            status.setRollbackOnly();
+        });
+
+        assertEquals(10, stockLedger.peek(item.getId()));
+        flusher.flush();
+        assertEquals(10, stockOf(item));
+    }
+
+    @Test
+    public void testCancelRestoresThroughLedger() {
+        Member member = saveMember();
+        Item item = saveItem(10);
+        OrderResponseDto order = atomicUpdateService.tradeWithItemInfo(member.getId(), new OrderRequestItemDto(item.getId(), 3));
+        assertEquals(7, stockLedger.peek(item.getId()));
+
+        atomicUpdateService.cancelTrade(member.getId(), cancelAll(order, item, 3));
+
+        assertEquals(10, stockLedger.peek(item.getId()));
+        // 차감분과 반납분이 상쇄되어 flush 후에도 상품 행은 원래 재고
+        flusher.flush();
+        assertEquals(10, stockOf(item));
+    }
+
+    @Test
+    public void testRedisLockOrderReservesInLedger() {
+        Member member = saveMember();
+        Item item = saveItem(10);
+        OrderResponseDto order = redisLockService.tradeWithItemInfo(member.getId(), new OrderRequestItemDto(item.getId(), 2));
+
+        // 상품 행을 직접 고치지 않고 원장에서 예약
+        assertEquals(8, stockLedger.peek(item.getId()));
+        assertEquals(10, stockOf(item));
+
+        atomicUpdateService.cancelTrade(member.getId(), cancelAll(order, item, 2));
+        assertEquals(10, stockLedger.peek(item.getId()));
+        flusher.flush();
+        assertEquals(10, stockOf(item));
+    }
+
+    private CancelRequestDto cancelAll(OrderResponseDto order, Item item, int quantity) {
+        return new CancelRequestDto(order.getTradeUUID(), List.of(new CancelRequestDto.CancelItemRequest(item.getId(), quantity)));
+    }
+
+    private int stockOf(Item item) {
+        return itemRepository.findById(item.getId()).orElseThrow().getStock();
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private Member saveMember() {
+        return memberRepository.save(Member.builder()
+                .email(UUID.randomUUID() + "@example.com")
+                .password("password123")
+                .address("Ledger Test Address")
+                .authority("ROLE_USER")
+                .verified(false)
+                .build());
+    }
+
+    private Item saveItem(int stock) {
+        Item item = new Item();
+        item.setItemName("Ledger Test Item");
+        item.setPrice(100);
+        item.setStock(stock);
+        item.setItemStatus(ItemStatus.ON_SALE);
+        return itemRepository.save(item);
+    }
+}
@@ -0,0 +1,175 @@
+package com.example.cafe.domain.trade.portone;
+
+import com.example.cafe.domain.item.entity.Item;
+import com.example.cafe.domain.item.entity.ItemStatus;
+import com.example.cafe.domain.item.repository.ItemRepository;
+import com.example.cafe.domain.member.entity.Member;
+import com.example.cafe.domain.member.repository.MemberRepository;
+import com.example.cafe.domain.trade.domain.dto.request.OrderRequestItemDto;
+import com.example.cafe.domain.trade.domain.dto.response.OrderResponseDto;
+import com.example.cafe.domain.trade.domain.entity.PaymentSyncStatus;
+import com.example.cafe.domain.trade.domain.entity.Trade;
+import com.example.cafe.domain.trade.domain.entity.TradeStatus;
+import com.example.cafe.domain.trade.portone.domain.entity.PaymentOutbox;
+import com.example.cafe.domain.trade.portone.domain.entity.PaymentOutboxStatus;
+import com.example.cafe.domain.trade.portone.service.PaymentOutboxRelay;
+import com.example.cafe.domain.trade.repository.PaymentOutboxRepository;
+import com.example.cafe.domain.trade.repository.TradeRepository;
+import com.example.cafe.domain.trade.service.user.UserTradeAtomicUpdateService;
+import com.siot.IamportRestClient.IamportClient;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest(properties = {
+        "custom.payment.outbox.dispatch-after-commit=false",
+        "custom.payment.outbox.initial-backoff-ms=0",
+        "custom.payment.outbox.max-attempts=3",
+        "custom.payment.outbox.poll-interval-ms=3600000"
+})
+@ActiveProfiles("test")
+@Import(StubPortoneConfig.class)
+public class PaymentOutboxRelayTest {
+
+    @Autowired
+    private IamportClient iamportClient;
+
+    @Autowired
+    private UserTradeAtomicUpdateService userTradeService;
+
+    @Autowired
+    private PaymentOutboxRelay relay;
+
+    @Autowired
+    private PaymentOutboxRepository outboxRepository;
+
+    @Autowired
+    private TradeRepository tradeRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private MemberRepository memberRepository;
+
+    private StubIamportClient stub;
+
+    @BeforeEach
+    public void setUp() {
+        stub = (StubIamportClient) iamportClient;
+        stub.reset();
+    }
+
+    @Test
+    public void testPrepareSucceedsAfterRetry() {
+        Item item = saveItem(10);
+        OrderResponseDto order = userTradeService.tradeWithItemInfo(saveMember().getId(), new OrderRequestItemDto(item.getId(), 2));
+        PaymentOutbox outbox = findOutbox(order.getTradeUUID());
+
+        // 첫 시도는 실패, 두 번째 시도에서 성공
+        stub.failNext(1);
+        relay.relay(outbox.getId());
+        relay.relay(outbox.getId());
+
+        assertEquals(2, stub.getPrepareCalls());
+        assertEquals(PaymentOutboxStatus.DONE, findOutbox(order.getTradeUUID()).getStatus());
+        Trade trade = tradeRepository.findByTradeUUID(order.getTradeUUID()).orElseThrow();
+        assertEquals(PaymentSyncStatus.SYNCED, trade.getPaymentSyncStatus());
+        assertEquals(TradeStatus.BUY, trade.getTradeStatus());
+        assertEquals(8, itemRepository.findById(item.getId()).orElseThrow().getStock());
+    }
+
+    @Test
+    public void testPrepareFailureCancelsTradeAndRestoresStock() {
+        Item item = saveItem(10);
+        OrderResponseDto order = userTradeService.tradeWithItemInfo(saveMember().getId(), new OrderRequestItemDto(item.getId(), 3));
+        PaymentOutbox outbox = findOutbox(order.getTradeUUID());
+
+        stub.failNext(3);
+        for (int i = 0; i < 3; i++) {
+            relay.relay(outbox.getId());
+        }
+        // 최종 실패 이후에는 더 이상 전송하지 않음
+        relay.relay(outbox.getId());
+
+        assertEquals(3, stub.getPrepareCalls());
+        PaymentOutbox failed = findOutbox(order.getTradeUUID());
+        assertEquals(PaymentOutboxStatus.FAILED, failed.getStatus());
+        assertEquals(3, failed.getAttempts());
+        Trade trade = tradeRepository.findByTradeUUID(order.getTradeUUID()).orElseThrow();
+        assertEquals(TradeStatus.REFUSED, trade.getTradeStatus());
+        assertEquals(PaymentSyncStatus.FAILED, trade.getPaymentSyncStatus());
+        assertEquals(10, itemRepository.findById(item.getId()).orElseThrow().getStock());
+    }
+
+    @Test
+    public void testAlreadyPreparedWithSameAmountCountsAsSuccess() {
+        Item item = saveItem(10);
+        OrderResponseDto order = userTradeService.tradeWithItemInfo(saveMember().getId(), new OrderRequestItemDto(item.getId(), 2));
+        PaymentOutbox outbox = findOutbox(order.getTradeUUID());
+
+        // 첫 시도는 등록까지 되었지만 응답을 잃어버림, 재시도는 "이미 등록된 merchant_uid" 로 거절됨
+        stub.loseNextPrepareResponse();
+        relay.relay(outbox.getId());
+        relay.relay(outbox.getId());
+
+        assertEquals(2, stub.getPrepareCalls());
+        assertEquals(PaymentOutboxStatus.DONE, findOutbox(order.getTradeUUID()).getStatus());
+        Trade trade = tradeRepository.findByTradeUUID(order.getTradeUUID()).orElseThrow();
+        assertEquals(PaymentSyncStatus.SYNCED, trade.getPaymentSyncStatus());
+        assertEquals(TradeStatus.BUY, trade.getTradeStatus());
+        assertEquals(8, itemRepository.findById(item.getId()).orElseThrow().getStock());
+    }
+
+    @Test
+    public void testAlreadyPreparedWithDifferentAmountFails() {
+        Item item = saveItem(10);
+        OrderResponseDto order = userTradeService.tradeWithItemInfo(saveMember().getId(), new OrderRequestItemDto(item.getId(), 2));
+        PaymentOutbox outbox = findOutbox(order.getTradeUUID());
+        stub.registerPrepare(order.getTradeUUID(), outbox.getAmount().add(BigDecimal.ONE));
+
+        for (int i = 0; i < 3; i++) {
+            relay.relay(outbox.getId());
+        }
+
+        assertEquals(PaymentOutboxStatus.FAILED, findOutbox(order.getTradeUUID()).getStatus());
+        Trade trade = tradeRepository.findByTradeUUID(order.getTradeUUID()).orElseThrow();
+        assertEquals(TradeStatus.REFUSED, trade.getTradeStatus());
+        assertEquals(10, itemRepository.findById(item.getId()).orElseThrow().getStock());
+    }
+
+    private PaymentOutbox findOutbox(String tradeUUID) {
+        return outboxRepository.findAll().stream()
+                .filter(outbox -> outbox.getTradeUUID().equals(tradeUUID))
+                .findFirst()
+                .orElseThrow();
+    }
+
+    private Member saveMember() {
+        Member member = Member.builder()
+                .email(UUID.randomUUID() + "@example.com")
+                .password("password123")
+                .address("Outbox Test Address")
+                .authority("ROLE_USER")
+                .verified(false)
+                .build();
+        return memberRepository.save(member);
+    }
+
+    private Item saveItem(int stock) {
+        Item item = new Item();
+        item.setItemName("Outbox Test Item");
+        item.setPrice(100);
+        item.setStock(stock);
+        item.setItemStatus(ItemStatus.ON_SALE);
+        return itemRepository.save(item);
+    }
+}
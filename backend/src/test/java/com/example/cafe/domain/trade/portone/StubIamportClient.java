@@ -0,0 +1,129 @@
+package com.example.cafe.domain.trade.portone;
+
+import com.google.gson.Gson;
+import com.google.gson.reflect.TypeToken;
+import com.siot.IamportRestClient.IamportClient;
+import com.siot.IamportRestClient.request.CancelData;
+import com.siot.IamportRestClient.request.PrepareData;
+import com.siot.IamportRestClient.response.IamportResponse;
+import com.siot.IamportRestClient.response.Payment;
+import com.siot.IamportRestClient.response.Prepare;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 테스트용 PortOne 클라이언트. 외부 호출 없이 성공 응답을 돌려주고,
+ * failNext(n) 으로 지정한 횟수만큼은 네트워크 오류처럼 IOException 을 던집니다.
+ * loseNextPrepareResponse() 는 사전 등록은 반영한 뒤 응답만 잃어버린 상황을 흉내 냅니다.
+ */
+public class StubIamportClient extends IamportClient {
+
+    private static final Gson GSON = new Gson();
+
+    private final AtomicInteger remainingFailures = new AtomicInteger();
+    private final AtomicInteger prepareCalls = new AtomicInteger();
+    private final AtomicInteger cancelCalls = new AtomicInteger();
+    private final AtomicInteger paymentCalls = new AtomicInteger();
+    private final Map<String, String> payments = new ConcurrentHashMap<>();
+    private final Map<String, BigDecimal> prepares = new ConcurrentHashMap<>();
+    private final AtomicBoolean losePrepareResponse = new AtomicBoolean();
+
+    public StubIamportClient() {
+        super("stub-key", "stub-secret");
+    }
+
+    public void failNext(int count) {
+        remainingFailures.set(count);
+    }
+
+    public void reset() {
+        remainingFailures.set(0);
+        prepareCalls.set(0);
+        cancelCalls.set(0);
+        paymentCalls.set(0);
+        payments.clear();
+        prepares.clear();
+        losePrepareResponse.set(false);
+    }
+
+    public void loseNextPrepareResponse() {
+        losePrepareResponse.set(true);
+    }
+
+    // 다른 시도가 먼저 사전 등록해 둔 상황
+    public void registerPrepare(String merchantUid, BigDecimal amount) {
+        prepares.put(merchantUid, amount);
+    }
+
+    // paymentByImpUid 가 돌려줄 결제 정보 등록
+    public void registerPayment(String impUid, String merchantUid, int amount, int cancelAmount) {
+        payments.put(impUid, "{\"imp_uid\":\"" + impUid + "\",\"merchant_uid\":\"" + merchantUid
+                + "\",\"amount\":" + amount + ",\"cancel_amount\":" + cancelAmount + "}");
+    }
+
+    public int getPaymentCalls() {
+        return paymentCalls.get();
+    }
+
+    public int getPrepareCalls() {
+        return prepareCalls.get();
+    }
+
+    public int getCancelCalls() {
+        return cancelCalls.get();
+    }
+
+    @Override
+    public IamportResponse<Prepare> postPrepare(PrepareData prepareData) throws IOException {
+        prepareCalls.incrementAndGet();
+        failIfRequested();
+        String json;
+        if (prepares.putIfAbsent(prepareData.getMerchant_uid(), prepareData.getAmount()) != null) {
+            json = "{\"code\":1,\"message\":\"이미 등록된 merchant_uid입니다.\",\"response\":null}";
+        } else {
+            json = "{\"code\":0,\"message\":null,\"response\":{}}";
+        }
+        if (losePrepareResponse.getAndSet(false)) {
+            throw new IOException("stub response lost");
+        }
+        return GSON.fromJson(json, new TypeToken<IamportResponse<Prepare>>() {}.getType());
+    }
+
+    @Override
+    public IamportResponse<Prepare> getPrepare(String merchantUid) throws IOException {
+        BigDecimal amount = prepares.get(merchantUid);
+        String json = amount == null
+                ? "{\"code\":1,\"message\":\"사전 등록된 내역이 없습니다.\",\"response\":null}"
+                : "{\"code\":0,\"message\":null,\"response\":{\"merchant_uid\":\"" + merchantUid
+                        + "\",\"amount\":" + amount.toPlainString() + "}}";
+        return GSON.fromJson(json, new TypeToken<IamportResponse<Prepare>>() {}.getType());
+    }
+
+    @Override
+    public IamportResponse<Payment> cancelPaymentByImpUid(CancelData cancelData) throws IOException {
+        cancelCalls.incrementAndGet();
+        failIfRequested();
+        String json = "{\"code\":0,\"message\":null,\"response\":{\"amount\":0,\"cancel_amount\":0}}";
+        return GSON.fromJson(json, new TypeToken<IamportResponse<Payment>>() {}.getType());
+    }
+
+    @Override
+    public IamportResponse<Payment> paymentByImpUid(String impUid) throws IOException {
+        paymentCalls.incrementAndGet();
+        failIfRequested();
+        String payment = payments.get(impUid);
+        String json = "{\"code\":" + (payment == null ? -1 : 0) + ",\"message\":null,\"response\":" + payment + "}";
+        return GSON.fromJson(json, new TypeToken<IamportResponse<Payment>>() {}.getType());
+    }
+
+    private void failIfRequested() throws IOException {
+        if (remainingFailures.getAndUpdate(count -> Math.max(0, count - 1)) > 0) {
+            throw new IOException("stub gateway unavailable");
+        }
+    }
+}
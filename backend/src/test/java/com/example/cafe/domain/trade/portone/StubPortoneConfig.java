@@ -0,0 +1,16 @@
+package com.example.cafe.domain.trade.portone;
+
+import com.siot.IamportRestClient.IamportClient;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+
+@TestConfiguration
+public class StubPortoneConfig {
+
+    @Bean
+    @Primary
+    public IamportClient stubIamportClient() {
+        return new StubIamportClient();
+    }
+}
@@ -0,0 +1,148 @@
+package com.example.cafe.domain.trade.portone;
+
+import com.example.cafe.domain.item.entity.Item;
+import com.example.cafe.domain.item.entity.ItemStatus;
+import com.example.cafe.domain.item.repository.ItemRepository;
+import com.example.cafe.domain.member.entity.Member;
+import com.example.cafe.domain.member.repository.MemberRepository;
+import com.example.cafe.domain.trade.domain.dto.request.OrderRequestItemDto;
+import com.example.cafe.domain.trade.domain.dto.response.OrderResponseDto;
+import com.example.cafe.domain.trade.domain.entity.TradeStatus;
+import com.example.cafe.domain.trade.portone.domain.dto.WebHook;
+import com.example.cafe.domain.trade.portone.domain.entity.WebhookInbox;
+import com.example.cafe.domain.trade.portone.domain.entity.WebhookInboxStatus;
+import com.example.cafe.domain.trade.portone.service.WebhookInboxService;
+import com.example.cafe.domain.trade.repository.TradeRepository;
+import com.example.cafe.domain.trade.repository.WebhookInboxRepository;
+import com.example.cafe.domain.trade.service.user.UserTradeAtomicUpdateService;
+import com.siot.IamportRestClient.IamportClient;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest(properties = {
+        "custom.payment.outbox.dispatch-after-commit=false",
+        "custom.payment.outbox.poll-interval-ms=3600000",
+        "custom.payment.webhook.initial-backoff-ms=0",
+        "custom.payment.webhook.poll-interval-ms=100"
+})
+@ActiveProfiles("test")
+@Import(StubPortoneConfig.class)
+public class WebhookInboxWorkerTest {
+
+    @Autowired
+    private IamportClient iamportClient;
+
+    @Autowired
+    private WebhookInboxService webhookInboxService;
+
+    @Autowired
+    private WebhookInboxRepository inboxRepository;
+
+    @Autowired
+    private UserTradeAtomicUpdateService userTradeService;
+
+    @Autowired
+    private TradeRepository tradeRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private MemberRepository memberRepository;
+
+    private StubIamportClient stub;
+
+    @BeforeEach
+    public void setUp() {
+        stub = (StubIamportClient) iamportClient;
+        stub.reset();
+    }
+
+    @Test
+    public void testRedeliveredWebhookIsProcessedOnce() throws InterruptedException {
+        OrderResponseDto order = placeOrder();
+        String impUid = "imp_" + UUID.randomUUID();
+        stub.registerPayment(impUid, order.getTradeUUID(), order.getTotalPrice(), 0);
+
+        WebHook webHook = new WebHook();
+        webHook.setImp_uid(impUid);
+        webHook.setMerchant_uid(order.getTradeUUID());
+        webHook.setStatus("paid");
+        // PortOne 재전송: 같은 이벤트가 세 번 도착
+        for (int i = 0; i < 3; i++) {
+            webhookInboxService.receive(webHook);
+        }
+
+        List<WebhookInbox> events = findEvents(impUid);
+        assertEquals(1, events.size());
+        WebhookInbox event = awaitProcessed(events.get(0).getId());
+
+        assertEquals(WebhookInboxStatus.DONE, event.getStatus());
+        assertEquals(1, stub.getPaymentCalls());
+        assertEquals(TradeStatus.PAY, tradeRepository.findByTradeUUID(order.getTradeUUID()).orElseThrow().getTradeStatus());
+    }
+
+    @Test
+    public void testLookupFailureIsRetried() throws InterruptedException {
+        OrderResponseDto order = placeOrder();
+        String impUid = "imp_" + UUID.randomUUID();
+        stub.registerPayment(impUid, order.getTradeUUID(), order.getTotalPrice(), 0);
+        stub.failNext(1);
+
+        WebHook webHook = new WebHook();
+        webHook.setImp_uid(impUid);
+        webHook.setMerchant_uid(order.getTradeUUID());
+        webHook.setStatus("paid");
+        webhookInboxService.receive(webHook);
+
+        WebhookInbox event = awaitProcessed(findEvents(impUid).get(0).getId());
+
+        assertEquals(WebhookInboxStatus.DONE, event.getStatus());
+        assertEquals(2, event.getAttempts());
+        assertEquals(TradeStatus.PAY, tradeRepository.findByTradeUUID(order.getTradeUUID()).orElseThrow().getTradeStatus());
+    }
+
+    private WebhookInbox awaitProcessed(Long inboxId) throws InterruptedException {
+        // 수신 즉시 워커가 깨어나 처리하고, 실패한 이벤트는 백오프 뒤 폴링에서 다시 처리
+        for (int i = 0; i < 100; i++) {
+            WebhookInbox event = inboxRepository.findById(inboxId).orElseThrow();
+            if (event.getStatus() != WebhookInboxStatus.RECEIVED) {
+                return event;
+            }
+            Thread.sleep(100);
+        }
+        return inboxRepository.findById(inboxId).orElseThrow();
+    }
+
+    private List<WebhookInbox> findEvents(String impUid) {
+        return inboxRepository.findAll().stream()
+                .filter(event -> event.getImpUid().equals(impUid))
+                .toList();
+    }
+
+    private OrderResponseDto placeOrder() {
+        Member member = memberRepository.save(Member.builder()
+                .email(UUID.randomUUID() + "@example.com")
+                .password("password123")
+                .address("Webhook Test Address")
+                .authority("ROLE_USER")
+                .verified(false)
+                .build());
+        Item item = new Item();
+        item.setItemName("Webhook Test Item");
+        item.setPrice(100);
+        item.setStock(10);
+        item.setItemStatus(ItemStatus.ON_SALE);
+        item = itemRepository.save(item);
+        return userTradeService.tradeWithItemInfo(member.getId(), new OrderRequestItemDto(item.getId(), 1));
+    }
+}
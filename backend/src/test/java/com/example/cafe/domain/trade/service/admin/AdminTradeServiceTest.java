@@ -0,0 +1,159 @@
+package com.example.cafe.domain.trade.service.admin;
+
+import com.example.cafe.domain.trade.domain.dto.response.AdminBulkTransitionResponseDto;
+import com.example.cafe.domain.trade.domain.dto.response.AdminBulkTransitionResponseDto.Outcome;
+import com.example.cafe.domain.trade.domain.dto.response.AdminTradePageResponseDto;
+import com.example.cafe.domain.trade.domain.entity.DelayedTransition;
+import com.example.cafe.domain.trade.domain.entity.DelayedTransitionStatus;
+import com.example.cafe.domain.trade.domain.entity.Trade;
+import com.example.cafe.domain.trade.domain.entity.TradeStatus;
+import com.example.cafe.domain.trade.repository.DelayedTransitionRepository;
+import com.example.cafe.domain.trade.repository.TradeRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+public class AdminTradeServiceTest {
+
+    @Autowired
+    private AdminTradeService adminTradeService;
+
+    @Autowired
+    private TradeRepository tradeRepository;
+
+    @Autowired
+    private DelayedTransitionRepository transitionRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    public void testShowTradesWalksAllPagesByCursor() {
+        List<Long> expected = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            expected.add(0, saveTrade(TradeStatus.REFUND).getId());
+        }
+        saveTrade(TradeStatus.PAY);
+
+        List<Long> actual = new ArrayList<>();
+        Long cursor = null;
+        AdminTradePageResponseDto page;
+        do {
+            page = adminTradeService.showTrades(TradeStatus.REFUND, null, null, cursor, 2);
+            assertTrue(page.getTrades().size() <= 2);
+            page.getTrades().forEach(trade -> {
+                assertEquals(TradeStatus.REFUND, trade.getTradeStatus());
+                actual.add(trade.getTradeId());
+            });
+            cursor = page.getNextCursor();
+        } while (page.isHasNext());
+
+        // 최신 주문부터, 페이지 사이 중복/누락 없이
+        assertEquals(expected, actual.subList(0, expected.size()));
+        assertEquals(actual.size(), actual.stream().distinct().count());
+    }
+
+    @Test
+    public void testShowTradesAppliesOnlyGivenFilters() {
+        Trade trade = saveTrade(TradeStatus.POST_DELIVERY);
+        LocalDateTime requestedAt = tradeRepository.findById(trade.getId()).orElseThrow().getTradeRequestDate();
+
+        // 기간만 주면 상태와 관계없이 조회
+        assertTrue(tradeIds(adminTradeService.showTrades(null, requestedAt, requestedAt.plusSeconds(1), null, 100))
+                .contains(trade.getId()));
+        assertTrue(tradeIds(adminTradeService.showTrades(TradeStatus.POST_DELIVERY, null, null, null, 100))
+                .contains(trade.getId()));
+        assertFalse(tradeIds(adminTradeService.showTrades(TradeStatus.POST_DELIVERY, requestedAt.plusSeconds(1), null, null, 100))
+                .contains(trade.getId()));
+        assertFalse(tradeIds(adminTradeService.showTrades(TradeStatus.PAY, requestedAt, null, null, 100))
+                .contains(trade.getId()));
+    }
+
+    @Test
+    public void testShowTradesRejectsInvalidSize() {
+        assertThrows(IllegalArgumentException.class, () -> adminTradeService.showTrades(null, null, null, null, 0));
+        assertThrows(IllegalArgumentException.class, () -> adminTradeService.showTrades(null, null, null, null, 101));
+    }
+
+    @Test
+    public void testBulkTransitionReportsOutcomePerTrade() {
+        Trade first = saveTrade(TradeStatus.BEFORE_DELIVERY);
+        Trade second = saveTrade(TradeStatus.BEFORE_DELIVERY);
+        Trade paid = saveTrade(TradeStatus.PAY);
+
+        AdminBulkTransitionResponseDto response = adminTradeService.bulkSetInDelivery(List.of(
+                first.getTradeUUID(), second.getTradeUUID(), paid.getTradeUUID(), "missing-uuid", first.getTradeUUID()));
+
+        assertEquals(4, response.getRequested());
+        assertEquals(2, response.getUpdated());
+        assertEquals(Outcome.UPDATED, response.getResults().get(0).getOutcome());
+        assertEquals(TradeStatus.IN_DELIVERY, response.getResults().get(0).getTradeStatus());
+        assertEquals(Outcome.UPDATED, response.getResults().get(1).getOutcome());
+        assertEquals(Outcome.INVALID_STATUS, response.getResults().get(2).getOutcome());
+        assertEquals(TradeStatus.PAY, response.getResults().get(2).getTradeStatus());
+        assertEquals(Outcome.NOT_FOUND, response.getResults().get(3).getOutcome());
+
+        assertEquals(TradeStatus.IN_DELIVERY, tradeRepository.findById(first.getId()).orElseThrow().getTradeStatus());
+        assertEquals(TradeStatus.IN_DELIVERY, tradeRepository.findById(second.getId()).orElseThrow().getTradeStatus());
+        assertEquals(TradeStatus.PAY, tradeRepository.findById(paid.getId()).orElseThrow().getTradeStatus());
+    }
+
+    @Test
+    public void testBulkConfirmSplitsAtTwoPm() {
+        Trade morning = paidAt(LocalDate.now().atTime(10, 0));
+        Trade afternoon = paidAt(LocalDate.now().atTime(15, 0));
+        Trade lateAfternoon = paidAt(LocalDate.now().atTime(18, 30));
+
+        AdminBulkTransitionResponseDto response = adminTradeService.bulkConfirm(List.of(
+                morning.getTradeUUID(), afternoon.getTradeUUID(), lateAfternoon.getTradeUUID()));
+
+        assertEquals(3, response.getUpdated());
+        assertEquals(TradeStatus.BEFORE_DELIVERY, response.getResults().get(0).getTradeStatus());
+        assertEquals(TradeStatus.PREPARE_DELIVERY, response.getResults().get(1).getTradeStatus());
+        assertEquals(TradeStatus.PREPARE_DELIVERY, response.getResults().get(2).getTradeStatus());
+        assertEquals(TradeStatus.BEFORE_DELIVERY, tradeRepository.findById(morning.getId()).orElseThrow().getTradeStatus());
+        assertEquals(TradeStatus.PREPARE_DELIVERY, tradeRepository.findById(afternoon.getId()).orElseThrow().getTradeStatus());
+
+        // 2시 이후 주문만 배송 준비 전환이 예약됨
+        List<DelayedTransition> transitions = transitionRepository.findAll();
+        assertTrue(transitions.stream().noneMatch(t -> t.getTradeId().equals(morning.getId())));
+        for (Trade trade : List.of(afternoon, lateAfternoon)) {
+            DelayedTransition transition = transitions.stream()
+                    .filter(t -> t.getTradeId().equals(trade.getId()))
+                    .findFirst().orElseThrow();
+            assertEquals(TradeStatus.PREPARE_DELIVERY, transition.getFromStatus());
+            assertEquals(TradeStatus.BEFORE_DELIVERY, transition.getToStatus());
+            assertEquals(DelayedTransitionStatus.PENDING, transition.getStatus());
+        }
+    }
+
+    private Trade paidAt(LocalDateTime updatedAt) {
+        Trade trade = saveTrade(TradeStatus.PAY);
+        jdbcTemplate.update("update trade set trade_updated_date = ? where trade_id = ?", updatedAt, trade.getId());
+        return trade;
+    }
+
+    private List<Long> tradeIds(AdminTradePageResponseDto page) {
+        return page.getTrades().stream().map(AdminTradePageResponseDto.AdminTradeDto::getTradeId).toList();
+    }
+
+    private Trade saveTrade(TradeStatus status) {
+        return tradeRepository.save(Trade.builder()
+                .tradeStatus(status)
+                .tradeUUID(UUID.randomUUID().toString())
+                .totalPrice(100)
+                .build());
+    }
+}
@@ -0,0 +1,93 @@
+package com.example.cafe.domain.trade.service.admin;
+
+import com.example.cafe.domain.trade.domain.entity.Trade;
+import com.example.cafe.domain.trade.domain.entity.TradeStatus;
+import com.example.cafe.domain.trade.repository.TradeRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.UUID;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+public class TradeExportServiceTest {
+
+    @Autowired
+    private TradeExportService exportService;
+
+    @Autowired
+    private TradeRepository tradeRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    public void testGzipNdjsonExportContainsOneLinePerTrade() throws Exception {
+        Trade trade = saveTrade(TradeStatus.REFUND, "a@test.com");
+        saveTrade(TradeStatus.PAY, "b@test.com");
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long exported = exportService.export(TradeExportFormat.NDJSON, TradeStatus.REFUND, null, null, true, out);
+
+        String body;
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(out.toByteArray()))) {
+            body = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+        List<String> lines = body.lines().toList();
+        assertEquals(exported, lines.size());
+        assertTrue(lines.stream().anyMatch(line -> line.contains(trade.getTradeUUID())));
+        for (String line : lines) {
+            JsonNode node = objectMapper.readTree(line);
+            assertEquals("REFUND", node.get("tradeStatus").asText());
+            assertTrue(node.get("items").isArray());
+        }
+    }
+
+    @Test
+    public void testCsvExportEscapesCells() throws Exception {
+        Trade trade = saveTrade(TradeStatus.REFUND, "quote\"comma,@test.com");
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        exportService.export(TradeExportFormat.CSV, TradeStatus.REFUND, null, null, false, out);
+
+        String body = out.toString(StandardCharsets.UTF_8);
+        assertTrue(body.startsWith("trade_id,trade_uuid,"));
+        assertTrue(body.contains(trade.getId() + "," + trade.getTradeUUID() + ",REFUND,100,\"quote\"\"comma,@test.com\","));
+    }
+
+    @Test
+    public void testCsvExportNeutralizesFormulaCells() throws Exception {
+        Trade formula = saveTrade(TradeStatus.REFUSED, "=1+1@test.com");
+        Trade command = saveTrade(TradeStatus.REFUSED, "@SUM(1,2)@test.com");
+        Trade plain = saveTrade(TradeStatus.REFUSED, "plain@test.com");
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        exportService.export(TradeExportFormat.CSV, TradeStatus.REFUSED, null, null, false, out);
+
+        String body = out.toString(StandardCharsets.UTF_8);
+        assertTrue(body.contains(formula.getTradeUUID() + ",REFUSED,100,'=1+1@test.com,"));
+        // 작은따옴표를 붙인 뒤에도 쉼표가 있으면 따옴표로 감쌈
+        assertTrue(body.contains(command.getTradeUUID() + ",REFUSED,100,\"'@SUM(1,2)@test.com\","));
+        assertTrue(body.contains(plain.getTradeUUID() + ",REFUSED,100,plain@test.com,"));
+    }
+
+    private Trade saveTrade(TradeStatus status, String email) {
+        return tradeRepository.save(Trade.builder()
+                .tradeStatus(status)
+                .email(email)
+                .tradeUUID(UUID.randomUUID().toString())
+                .totalPrice(100)
+                .build());
+    }
+}
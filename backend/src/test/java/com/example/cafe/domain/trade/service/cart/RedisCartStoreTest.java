@@ -0,0 +1,230 @@
+package com.example.cafe.domain.trade.service.cart;
+
+import com.example.cafe.domain.item.dto.ItemRequestDto;
+import com.example.cafe.domain.item.entity.Item;
+import com.example.cafe.domain.item.entity.ItemStatus;
+import com.example.cafe.domain.item.repository.ItemRepository;
+import com.example.cafe.domain.item.service.ItemService;
+import com.example.cafe.domain.member.entity.Member;
+import com.example.cafe.domain.member.repository.MemberRepository;
+import com.example.cafe.domain.trade.domain.entity.CartItem;
+import com.example.cafe.domain.trade.domain.dto.request.ItemCartRequestDto;
+import com.example.cafe.domain.trade.domain.dto.response.CartListResponseDto;
+import com.example.cafe.domain.trade.domain.dto.response.ItemCartResponseDto;
+import com.example.cafe.domain.trade.domain.dto.response.OrderResponseDto;
+import com.example.cafe.domain.trade.service.user.UserCartService;
+import com.example.cafe.domain.trade.service.user.UserTradeAtomicUpdateService;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import redis.embedded.RedisServer;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * custom.cart.store=redis 일 때 장바구니 변경이 Cart/CartItem 행을 만들지 않고,
+ * 주문 시점에만 CartItem 으로 변환되어 주문이 생성되는지 확인합니다. Redis 는 테스트 JVM 안에서 띄운 내장 Redis 를 씁니다.
+ */
+@SpringBootTest(properties = "custom.cart.store=redis")
+@ActiveProfiles("test")
+public class RedisCartStoreTest {
+
+    private static RedisServer redisServer;
+
+    @Autowired
+    private CartStore cartStore;
+
+    @Autowired
+    private UserCartService userCartService;
+
+    @Autowired
+    private UserTradeAtomicUpdateService userTradeService;
+
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private MemberRepository memberRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @DynamicPropertySource
+    static void redisProperties(DynamicPropertyRegistry registry) throws IOException {
+        int port = freePort();
+        redisServer = new RedisServer(port);
+        redisServer.start();
+        registry.add("custom.redis.address", () -> "redis://127.0.0.1:" + port);
+    }
+
+    @AfterAll
+    static void stopRedis() throws IOException {
+        if (redisServer != null) {
+            redisServer.stop();
+        }
+    }
+
+    @Test
+    public void testCartMutationsStayInRedis() {
+        Member member = saveMember();
+        Item coffee = saveItem("Coffee", 100, 10);
+        Item cake = saveItem("Cake", 300, 10);
+
+        userCartService.addItemToCart(member.getId(), request(coffee.getId(), 2));
+        userCartService.addItemToCart(member.getId(), request(coffee.getId(), 1));
+        ItemCartResponseDto added = userCartService.addItemToCart(member.getId(), request(cake.getId(), 1));
+
+        assertInstanceOf(RedisCartStore.class, cartStore);
+        assertEquals(member.getId(), added.getCartId());
+        assertEquals(2, added.getCartItemInfoList().size());
+        assertEquals(3 * 100 + 300, added.getTotalPrice());
+        assertEquals(3, cartStore.quantity(member.getId(), coffee.getId()));
+
+        // 수량 0 이면 삭제
+        ItemCartResponseDto edited = userCartService.editItemToCart(member.getId(), request(cake.getId(), 0));
+        assertEquals(1, edited.getCartItemInfoList().size());
+        assertEquals(300, edited.getTotalPrice());
+
+        CartListResponseDto cart = userCartService.showCart(member.getId());
+        assertEquals(1, cart.getItems().size());
+        assertEquals("Coffee", cart.getItems().get(0).getItemName());
+        assertEquals(3, cart.getItems().get(0).getQuantity());
+
+        // 장바구니 변경은 DB 에 장바구니 행을 남기지 않음
+        assertEquals(0, jdbcTemplate.queryForObject(
+                "select count(*) from cart where member_id = ?", Integer.class, member.getId()));
+
+        assertThrows(RuntimeException.class,
+                () -> userCartService.editItemToCart(member.getId(), request(cake.getId(), 1)));
+    }
+
+    @Test
+    public void testCheckoutMaterializesAndClearsCart() {
+        Member member = saveMember();
+        Item coffee = saveItem("Checkout Coffee", 100, 10);
+        Item cake = saveItem("Checkout Cake", 300, 10);
+        userCartService.addItemToCart(member.getId(), request(coffee.getId(), 2));
+        userCartService.addItemToCart(member.getId(), request(cake.getId(), 1));
+
+        OrderResponseDto response = userTradeService.tradeWithCart(member.getId());
+
+        assertEquals(2 * 100 + 300, response.getTotalPrice());
+        assertEquals(2, jdbcTemplate.queryForObject(
+                "select count(*) from trade_item where trade_id = ?", Integer.class, response.getTradeId()));
+        assertEquals(8, itemRepository.findById(coffee.getId()).orElseThrow().getStock());
+        assertEquals(9, itemRepository.findById(cake.getId()).orElseThrow().getStock());
+        // 커밋 이후 장바구니 비움
+        assertTrue(cartStore.load(member.getId()).lines().isEmpty());
+    }
+
+    @Test
+    public void testClearKeepsLinesChangedAfterMaterialize() {
+        Member member = saveMember();
+        Item coffee = saveItem("Clear Coffee", 100, 10);
+        Item cake = saveItem("Clear Cake", 300, 10);
+        Item tea = saveItem("Clear Tea", 200, 10);
+        userCartService.addItemToCart(member.getId(), request(coffee.getId(), 2));
+        userCartService.addItemToCart(member.getId(), request(cake.getId(), 1));
+        List<CartItem> ordered = cartStore.materialize(member.getId());
+
+        // 주문 처리 중 다른 요청이 새 상품을 담고 주문한 라인의 수량을 바꿈
+        userCartService.addItemToCart(member.getId(), request(tea.getId(), 1));
+        userCartService.addItemToCart(member.getId(), request(cake.getId(), 1));
+        cartStore.clear(member.getId(), ordered);
+
+        CartStore.CartContents left = cartStore.load(member.getId());
+        assertEquals(List.of(cake.getId(), tea.getId()), left.lines().stream().map(CartStore.CartLine::itemId).sorted().toList());
+        assertEquals(2 * 300 + 200, left.totalPrice());
+        assertEquals(2, left.lineCount());
+
+        cartStore.clear(member.getId(), cartStore.materialize(member.getId()));
+        CartStore.CartContents empty = cartStore.load(member.getId());
+        assertTrue(empty.lines().isEmpty());
+        assertEquals(0, empty.totalPrice());
+        assertEquals(0, empty.lineCount());
+    }
+
+    @Test
+    public void testRevalidationRefreshesChangedPrices() {
+        Member member = saveMember();
+        Item coffee = saveItem("Revalidate Coffee", 100, 10);
+        Item cake = saveItem("Revalidate Cake", 300, 10);
+        userCartService.addItemToCart(member.getId(), request(coffee.getId(), 2));
+        userCartService.addItemToCart(member.getId(), request(cake.getId(), 1));
+
+        ItemRequestDto update = new ItemRequestDto();
+        update.setItemName(coffee.getItemName());
+        update.setPrice(150);
+        update.setStock(coffee.getStock());
+        itemService.updateItem(coffee.getId(), update);
+
+        // 재검증 전에는 담을 때 가격과 유지 중인 합계를 그대로 씀
+        CartStore.CartContents before = cartStore.load(member.getId());
+        assertEquals(2 * 100 + 300, before.totalPrice());
+        assertEquals(2, before.lineCount());
+
+        ItemCartResponseDto revalidated = userCartService.revalidateCart(member.getId());
+        assertEquals(2 * 150 + 300, revalidated.getTotalPrice());
+        assertEquals(2 * 150 + 300, cartStore.load(member.getId()).totalPrice());
+    }
+
+    @Test
+    public void testFailedCheckoutKeepsCart() {
+        Member member = saveMember();
+        Item item = saveItem("Scarce Item", 100, 2);
+        userCartService.addItemToCart(member.getId(), request(item.getId(), 2));
+        // 장바구니에 담은 뒤 재고가 줄어든 경우
+        item.setStock(1);
+        itemRepository.save(item);
+
+        assertThrows(RuntimeException.class, () -> userTradeService.tradeWithCart(member.getId()));
+
+        assertEquals(2, cartStore.quantity(member.getId(), item.getId()));
+        assertEquals(1, itemRepository.findById(item.getId()).orElseThrow().getStock());
+    }
+
+    private ItemCartRequestDto request(Long itemId, int quantity) {
+        ItemCartRequestDto request = new ItemCartRequestDto();
+        request.setItemId(itemId);
+        request.setQuantity(quantity);
+        return request;
+    }
+
+    private Member saveMember() {
+        return memberRepository.save(Member.builder()
+                .email(UUID.randomUUID() + "@example.com")
+                .password("password123")
+                .address("Cart Test Address")
+                .authority("ROLE_USER")
+                .verified(false)
+                .build());
+    }
+
+    private Item saveItem(String name, int price, int stock) {
+        Item item = new Item();
+        item.setItemName(name);
+        item.setPrice(price);
+        item.setStock(stock);
+        item.setItemStatus(ItemStatus.ON_SALE);
+        return itemRepository.save(item);
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
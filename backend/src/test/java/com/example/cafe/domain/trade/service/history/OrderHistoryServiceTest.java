@@ -0,0 +1,123 @@
+package com.example.cafe.domain.trade.service.history;
+
+import com.example.cafe.domain.item.entity.Item;
+import com.example.cafe.domain.item.entity.ItemStatus;
+import com.example.cafe.domain.item.repository.ItemRepository;
+import com.example.cafe.domain.member.entity.Member;
+import com.example.cafe.domain.member.repository.MemberRepository;
+import com.example.cafe.domain.trade.domain.dto.request.CancelRequestDto;
+import com.example.cafe.domain.trade.domain.dto.request.OrderRequestItemDto;
+import com.example.cafe.domain.trade.domain.dto.response.OrderResponseDto;
+import com.example.cafe.domain.trade.domain.dto.response.OrdersResponseDto;
+import com.example.cafe.domain.trade.domain.entity.TradeStatus;
+import com.example.cafe.domain.trade.service.user.UserTradeAtomicUpdateService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+public class OrderHistoryServiceTest {
+
+    @Autowired
+    private OrderHistoryService orderHistoryService;
+
+    @Autowired
+    private UserTradeAtomicUpdateService userTradeService;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private MemberRepository memberRepository;
+
+    @Test
+    public void testHistoryFollowsOrderAndPayment() {
+        Member member = saveMember();
+        Item item = saveItem();
+
+        OrderResponseDto first = userTradeService.tradeWithItemInfo(member.getId(), new OrderRequestItemDto(item.getId(), 2));
+        userTradeService.tradeWithItemInfo(member.getId(), new OrderRequestItemDto(item.getId(), 1));
+
+        OrdersResponseDto before = orderHistoryService.show(member.getId(), 0, 20);
+        assertEquals(2, before.getBuyList().size());
+        OrdersResponseDto.OrderItemDto line = before.getBuyList().get(1).getOrderItemDtoList().get(0);
+        assertEquals(item.getId(), line.getItemId());
+        assertEquals(2, line.getQuantity());
+        assertEquals("History Test Item", line.getItemName());
+
+        // 결제 완료로 상태가 바뀌면 내역도 PAY 목록으로 이동
+        userTradeService.processPayment(first.getTradeUUID(), 200);
+
+        OrdersResponseDto after = orderHistoryService.show(member.getId(), 0, 20);
+        assertEquals(1, after.getBuyList().size());
+        assertEquals(1, after.getPayList().size());
+        assertEquals(first.getTradeUUID(), after.getPayList().get(0).getTradeUUID());
+        assertEquals(2, after.getPayList().get(0).getOrderItemDtoList().get(0).getQuantity());
+    }
+
+    @Test
+    public void testHistoryIsPagedPerStatus() {
+        Member member = saveMember();
+        Item item = saveItem();
+        for (int i = 0; i < 3; i++) {
+            userTradeService.tradeWithItemInfo(member.getId(), new OrderRequestItemDto(item.getId(), 1));
+        }
+
+        OrdersResponseDto first = orderHistoryService.show(member.getId(), 0, 2);
+        assertEquals(2, first.getBuyList().size());
+        assertTrue(first.getHasNext().get(TradeStatus.BUY));
+        assertFalse(first.getHasNext().get(TradeStatus.PAY));
+        OrdersResponseDto second = orderHistoryService.show(member.getId(), 1, 2);
+        assertEquals(1, second.getBuyList().size());
+        assertFalse(second.getHasNext().get(TradeStatus.BUY));
+        assertThrows(IllegalArgumentException.class, () -> orderHistoryService.show(member.getId(), 0, 0));
+
+        // size 를 주지 않으면 기존처럼 전체를 반환
+        OrdersResponseDto all = orderHistoryService.show(member.getId(), 0, null);
+        assertEquals(3, all.getBuyList().size());
+        assertTrue(all.getHasNext().isEmpty());
+    }
+
+    @Test
+    public void testPartialCancelRewritesRemainingLines() {
+        Member member = saveMember();
+        Item item = saveItem();
+        OrderResponseDto order = userTradeService.tradeWithItemInfo(member.getId(), new OrderRequestItemDto(item.getId(), 3));
+
+        userTradeService.cancelTrade(member.getId(), new CancelRequestDto(order.getTradeUUID(),
+                List.of(new CancelRequestDto.CancelItemRequest(item.getId(), 1))));
+
+        // 취소 후 남은 수량은 flush 가 끝난 뒤 trade_item 에서 다시 읽은 값
+        OrdersResponseDto history = orderHistoryService.show(member.getId(), 0, 20);
+        assertEquals(1, history.getBuyList().size());
+        OrdersResponseDto.OrderItemDto line = history.getBuyList().get(0).getOrderItemDtoList().get(0);
+        assertEquals(2, line.getQuantity());
+        assertEquals("History Test Item", line.getItemName());
+    }
+
+    private Member saveMember() {
+        return memberRepository.save(Member.builder()
+                .email(UUID.randomUUID() + "@example.com")
+                .password("password123")
+                .address("History Test Address")
+                .authority("ROLE_USER")
+                .verified(false)
+                .build());
+    }
+
+    private Item saveItem() {
+        Item item = new Item();
+        item.setItemName("History Test Item");
+        item.setPrice(100);
+        item.setStock(100);
+        item.setItemStatus(ItemStatus.ON_SALE);
+        return itemRepository.save(item);
+    }
+}
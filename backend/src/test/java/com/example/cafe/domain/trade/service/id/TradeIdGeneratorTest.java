@@ -0,0 +1,84 @@
+package com.example.cafe.domain.trade.service.id;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TradeIdGeneratorTest {
+
+    @Test
+    public void testIdsAreSortedAndFixedLength() {
+        TradeIdGenerator generator = new TradeIdGenerator(7);
+        String previous = generator.nextId();
+        // 한 ms 의 순번(4096)을 넘겨도 순서가 유지되는지 확인
+        for (int i = 0; i < 20_000; i++) {
+            String next = generator.nextId();
+            assertEquals(13, next.length());
+            assertTrue(next.compareTo(previous) > 0, previous + " -> " + next);
+            previous = next;
+        }
+    }
+
+    @Test
+    public void testConcurrentIdsAreUnique() throws InterruptedException {
+        TradeIdGenerator generator = new TradeIdGenerator(3);
+        int threads = 16;
+        int perThread = 10_000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        Set<String> ids = ConcurrentHashMap.newKeySet();
+        CountDownLatch doneLatch = new CountDownLatch(threads);
+
+        for (int t = 0; t < threads; t++) {
+            executor.submit(() -> {
+                List<String> local = new ArrayList<>(perThread);
+                for (int i = 0; i < perThread; i++) {
+                    local.add(generator.nextId());
+                }
+                ids.addAll(local);
+                doneLatch.countDown();
+            });
+        }
+        doneLatch.await();
+        executor.shutdown();
+
+        assertEquals(threads * perThread, ids.size());
+    }
+
+    @Test
+    public void testDifferentNodesDoNotCollide() {
+        TradeIdGenerator node1 = new TradeIdGenerator(1);
+        TradeIdGenerator node2 = new TradeIdGenerator(2);
+        Set<String> ids = ConcurrentHashMap.newKeySet();
+        for (int i = 0; i < 10_000; i++) {
+            assertTrue(ids.add(node1.nextId()));
+            assertTrue(ids.add(node2.nextId()));
+        }
+    }
+
+    @Test
+    public void testRejectsOutOfRangeNodeId() {
+        assertThrows(IllegalArgumentException.class, () -> new TradeIdGenerator(TradeIdGenerator.MAX_NODE_ID + 1));
+    }
+
+    @Test
+    public void testMissingNodeIdFailsOutsideDevAndTest() {
+        MockEnvironment environment = new MockEnvironment();
+        environment.setActiveProfiles("prod");
+        assertThrows(IllegalStateException.class, () -> new TradeIdGenerator(-1, environment));
+        // 지정하면 프로필과 관계없이 사용
+        assertEquals(13, new TradeIdGenerator(5, environment).nextId().length());
+    }
+
+    @Test
+    public void testMissingNodeIdIsDerivedInDevAndTest() {
+        MockEnvironment environment = new MockEnvironment();
+        environment.setActiveProfiles("test");
+        assertEquals(13, new TradeIdGenerator(-1, environment).nextId().length());
+    }
+}
@@ -0,0 +1,111 @@
+package com.example.cafe.domain.trade.service.idempotency;
+
+import com.example.cafe.domain.trade.domain.dto.request.OrderRequestItemDto;
+import com.example.cafe.domain.trade.domain.dto.response.OrderResponseDto;
+import com.example.cafe.domain.trade.domain.entity.TradeStatus;
+import com.example.cafe.global.exception.ServiceException;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+public class OrderIdempotencyServiceTest {
+
+    private static final OrderRequestItemDto ITEM_REQUEST = new OrderRequestItemDto(1L, 1);
+
+    @Autowired
+    private OrderIdempotencyService idempotencyService;
+
+    @Test
+    public void testConcurrentDuplicatesExecuteOnce() throws InterruptedException {
+        String key = UUID.randomUUID().toString();
+        AtomicInteger executions = new AtomicInteger();
+        int requestCount = 50;
+        ExecutorService executor = Executors.newFixedThreadPool(requestCount);
+        CountDownLatch startLatch = new CountDownLatch(1);
+        CountDownLatch doneLatch = new CountDownLatch(requestCount);
+        Set<Long> tradeIds = ConcurrentHashMap.newKeySet();
+
+        for (int i = 0; i < requestCount; i++) {
+            executor.submit(() -> {
+                try {
+                    startLatch.await();
+                    OrderResponseDto response = idempotencyService.execute(1L, "item", key, ITEM_REQUEST, () -> {
+                        executions.incrementAndGet();
+                        sleep(100);
+                        return new OrderResponseDto(1L, TradeStatus.BUY, 100, "uuid");
+                    });
+                    tradeIds.add(response.getTradeId());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    doneLatch.countDown();
+                }
+            });
+        }
+        startLatch.countDown();
+        doneLatch.await();
+        executor.shutdown();
+
+        assertEquals(1, executions.get());
+        assertEquals(Set.of(1L), tradeIds);
+
+        // 처리가 끝난 뒤의 재시도는 저장된 응답을 그대로 반환
+        OrderResponseDto replay = idempotencyService.execute(1L, "item", key, ITEM_REQUEST, () -> {
+            throw new IllegalStateException("재실행되면 안 됩니다.");
+        });
+        assertEquals(1L, replay.getTradeId());
+    }
+
+    @Test
+    public void testFailedRequestCanBeRetried() {
+        String key = UUID.randomUUID().toString();
+
+        assertThrows(RuntimeException.class, () -> idempotencyService.execute(1L, "cart", key, null, () -> {
+            throw new RuntimeException("재고가 부족합니다.");
+        }));
+        OrderResponseDto retried = idempotencyService.execute(1L, "cart", key, null,
+                () -> new OrderResponseDto(2L, TradeStatus.BUY, 200, "uuid-2"));
+
+        assertEquals(2L, retried.getTradeId());
+    }
+
+    @Test
+    public void testReusedKeyWithDifferentRequestIsRejected() {
+        String key = UUID.randomUUID().toString();
+        idempotencyService.execute(1L, "item", key, ITEM_REQUEST,
+                () -> new OrderResponseDto(3L, TradeStatus.BUY, 100, "uuid-3"));
+
+        // 같은 키로 수량이 다른 주문
+        ServiceException quantityChanged = assertThrows(ServiceException.class,
+                () -> idempotencyService.execute(1L, "item", key, new OrderRequestItemDto(1L, 2), () -> {
+                    throw new IllegalStateException("실행되면 안 됩니다.");
+                }));
+        assertEquals(422, quantityChanged.getStatusCode());
+        // 같은 키를 다른 엔드포인트에 재사용
+        assertThrows(ServiceException.class, () -> idempotencyService.execute(1L, "cart", key, null, () -> {
+            throw new IllegalStateException("실행되면 안 됩니다.");
+        }));
+        // 같은 요청의 재시도는 그대로 저장된 응답
+        assertEquals(3L, idempotencyService.execute(1L, "item", key, new OrderRequestItemDto(1L, 1), () -> {
+            throw new IllegalStateException("재실행되면 안 됩니다.");
+        }).getTradeId());
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,189 @@
+package com.example.cafe.domain.trade.service.scheduler;
+
+import com.example.cafe.domain.trade.domain.dto.request.AdminConfirmRequestDto;
+import com.example.cafe.domain.trade.domain.entity.DelayedTransition;
+import com.example.cafe.domain.trade.domain.entity.DelayedTransitionStatus;
+import com.example.cafe.domain.trade.domain.entity.Trade;
+import com.example.cafe.domain.trade.domain.entity.TradeStatus;
+import com.example.cafe.domain.trade.repository.DelayedTransitionRepository;
+import com.example.cafe.domain.trade.repository.TradeRepository;
+import com.example.cafe.domain.trade.service.admin.AdminTradeService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 지연 상태 변경의 실행(fire), 테이블에서 다시 읽어 휠에 올리는 복구, 예약 없는 배송 준비 주문의 보완,
+ * adminConfirm 의 2시 이후 예약을 확인합니다.
+ * 주기 복구는 끄고 recover() 를 직접 호출하며, 배송 준비 전환 지연은 0 으로 두어 예약 즉시 실행되게 합니다.
+ */
+@SpringBootTest(properties = {
+        "custom.delivery.transition.prepare-delay=PT0S",
+        "custom.delivery.transition.recovery-interval-ms=3600000"
+})
+@ActiveProfiles("test")
+public class DelayedTransitionSchedulerTest {
+
+    private static final long WAIT_MILLIS = 5000;
+
+    @Autowired
+    private DelayedTransitionScheduler delayedTransitionScheduler;
+
+    @Autowired
+    private DelayedTransitionRepository transitionRepository;
+
+    @Autowired
+    private AdminTradeService adminTradeService;
+
+    @Autowired
+    private TradeRepository tradeRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    public void testFireChangesOnlyTradesStillInFromStatus() {
+        Trade first = saveTrade(TradeStatus.PREPARE_DELIVERY);
+        Trade second = saveTrade(TradeStatus.PREPARE_DELIVERY);
+        Trade refunded = saveTrade(TradeStatus.PREPARE_DELIVERY);
+        // 복구 범위(1시간) 밖의 예약이라 휠에는 올라가지 않음
+        LocalDateTime dueAt = LocalDateTime.now().plusDays(1);
+        List<Long> ids = List.of(
+                pending(first, dueAt).getId(), pending(second, dueAt).getId(), pending(refunded, dueAt).getId());
+        // 예약 이후 다른 상태로 바뀐 주문
+        jdbcTemplate.update("update trade set trade_status = ? where trade_id = ?", TradeStatus.REFUND.name(), refunded.getId());
+
+        assertEquals(2, delayedTransitionScheduler.fire(ids));
+        // 이미 실행한 예약은 다시 실행하지 않음
+        assertEquals(0, delayedTransitionScheduler.fire(ids));
+
+        assertEquals(TradeStatus.BEFORE_DELIVERY, statusOf(first));
+        assertEquals(TradeStatus.BEFORE_DELIVERY, statusOf(second));
+        assertEquals(TradeStatus.REFUND, statusOf(refunded));
+        transitionRepository.findAllById(ids)
+                .forEach(transition -> assertEquals(DelayedTransitionStatus.DONE, transition.getStatus()));
+    }
+
+    @Test
+    public void testRecoverLoadsPendingTransitionsFromTable() throws InterruptedException {
+        Trade trade = saveTrade(TradeStatus.PREPARE_DELIVERY);
+        // 재시작 전 다른 노드가 저장해 두고 실행하지 못한 예약
+        DelayedTransition transition = pending(trade, LocalDateTime.now().minusMinutes(1));
+
+        delayedTransitionScheduler.recover();
+
+        awaitStatus(trade, TradeStatus.BEFORE_DELIVERY);
+        assertEquals(DelayedTransitionStatus.DONE, transitionRepository.findById(transition.getId()).orElseThrow().getStatus());
+    }
+
+    @Test
+    public void testRecoverBackfillsUnscheduledPrepareDeliveryTrades() throws InterruptedException {
+        // 지연 상태 변경 도입 이전에 배송 준비로 바뀌어 예약이 없는 주문
+        Trade legacy = saveTrade(TradeStatus.PREPARE_DELIVERY);
+        Trade scheduled = saveTrade(TradeStatus.PREPARE_DELIVERY);
+        DelayedTransition existing = pending(scheduled, LocalDateTime.now().plusDays(1));
+
+        delayedTransitionScheduler.recover();
+
+        awaitStatus(legacy, TradeStatus.BEFORE_DELIVERY);
+        assertEquals(1, transitionsOf(legacy).size());
+        // 이미 예약이 있는 주문에는 예약을 더 만들지 않음
+        assertEquals(List.of(existing.getId()), transitionsOf(scheduled).stream().map(DelayedTransition::getId).toList());
+        assertEquals(TradeStatus.PREPARE_DELIVERY, statusOf(scheduled));
+
+        // 다시 복구해도 실행이 끝난 주문에 예약이 생기지 않음
+        delayedTransitionScheduler.recover();
+        assertEquals(1, transitionsOf(legacy).size());
+    }
+
+    @Test
+    public void testPendingTransitionsAreReadInDueOrder() {
+        Trade trade = saveTrade(TradeStatus.PREPARE_DELIVERY);
+        LocalDateTime base = LocalDateTime.of(2100, 1, 1, 0, 0);
+        DelayedTransition third = pending(trade, base.plusDays(3));
+        DelayedTransition first = pending(trade, base.plusDays(1));
+        DelayedTransition second = pending(trade, base.plusDays(2));
+        LocalDateTime until = base.plusDays(4);
+
+        List<DelayedTransition> page = transitionRepository.findPendingAfter(
+                DelayedTransitionStatus.PENDING, until, base, 0L, PageRequest.of(0, 2));
+        assertEquals(List.of(first.getId(), second.getId()), page.stream().map(DelayedTransition::getId).toList());
+
+        DelayedTransition last = page.get(1);
+        List<DelayedTransition> next = transitionRepository.findPendingAfter(
+                DelayedTransitionStatus.PENDING, until, last.getDueAt(), last.getId(), PageRequest.of(0, 2));
+        assertEquals(List.of(third.getId()), next.stream().map(DelayedTransition::getId).toList());
+    }
+
+    @Test
+    public void testAdminConfirmAfterTwoPmSchedulesBeforeDelivery() throws InterruptedException {
+        Trade afternoon = paidAt(LocalDate.now().atTime(15, 0));
+        Trade morning = paidAt(LocalDate.now().atTime(10, 0));
+
+        assertEquals(TradeStatus.PREPARE_DELIVERY, adminTradeService.adminConfirm(confirm(afternoon)).getTradeStatus());
+        assertEquals(TradeStatus.BEFORE_DELIVERY, adminTradeService.adminConfirm(confirm(morning)).getTradeStatus());
+
+        // 2시 이후 주문만 예약되고, 커밋 후 휠에서 실행되어 배송 준비로 넘어감
+        assertEquals(1, transitionsOf(afternoon).size());
+        assertTrue(transitionsOf(morning).isEmpty());
+        awaitStatus(afternoon, TradeStatus.BEFORE_DELIVERY);
+    }
+
+    private DelayedTransition pending(Trade trade, LocalDateTime dueAt) {
+        return transitionRepository.save(DelayedTransition.builder()
+                .tradeId(trade.getId())
+                .fromStatus(TradeStatus.PREPARE_DELIVERY)
+                .toStatus(TradeStatus.BEFORE_DELIVERY)
+                .dueAt(dueAt)
+                .status(DelayedTransitionStatus.PENDING)
+                .build());
+    }
+
+    private Trade paidAt(LocalDateTime updatedAt) {
+        Trade trade = saveTrade(TradeStatus.PAY);
+        jdbcTemplate.update("update trade set trade_updated_date = ? where trade_id = ?", updatedAt, trade.getId());
+        return trade;
+    }
+
+    private AdminConfirmRequestDto confirm(Trade trade) {
+        AdminConfirmRequestDto request = new AdminConfirmRequestDto();
+        request.setTradeUUID(trade.getTradeUUID());
+        return request;
+    }
+
+    private List<DelayedTransition> transitionsOf(Trade trade) {
+        return transitionRepository.findAll().stream()
+                .filter(transition -> transition.getTradeId().equals(trade.getId()))
+                .toList();
+    }
+
+    private TradeStatus statusOf(Trade trade) {
+        return tradeRepository.findById(trade.getId()).orElseThrow().getTradeStatus();
+    }
+
+    private void awaitStatus(Trade trade, TradeStatus expected) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + WAIT_MILLIS;
+        while (statusOf(trade) != expected && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+        assertEquals(expected, statusOf(trade));
+    }
+
+    private Trade saveTrade(TradeStatus status) {
+        return tradeRepository.save(Trade.builder()
+                .tradeStatus(status)
+                .tradeUUID(UUID.randomUUID().toString())
+                .totalPrice(100)
+                .build());
+    }
+}
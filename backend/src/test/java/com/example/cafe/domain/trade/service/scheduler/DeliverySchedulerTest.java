@@ -0,0 +1,61 @@
+package com.example.cafe.domain.trade.service.scheduler;
+
+import com.example.cafe.domain.trade.domain.entity.Trade;
+import com.example.cafe.domain.trade.domain.entity.TradeStatus;
+import com.example.cafe.domain.trade.repository.TradeRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = "custom.delivery.scheduler.batch-size=3")
+@ActiveProfiles("test")
+public class DeliverySchedulerTest {
+
+    @Autowired
+    private DeliveryScheduler deliveryScheduler;
+
+    @Autowired
+    private TradeRepository tradeRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    public void testTransitionsAllTradesInChunks() {
+        // batch-size(3) 의 배수가 아닌 수로 마지막 조각까지 처리되는지 확인
+        List<Long> tradeIds = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            tradeIds.add(saveTrade(TradeStatus.PREPARE_DELIVERY).getId());
+        }
+        Long payTradeId = saveTrade(TradeStatus.PAY).getId();
+        double before = meterRegistry.counter("trade.delivery.transitions",
+                "from", "PREPARE_DELIVERY", "to", "BEFORE_DELIVERY").count();
+
+        int updated = deliveryScheduler.transition(TradeStatus.PREPARE_DELIVERY, TradeStatus.BEFORE_DELIVERY);
+
+        assertTrue(updated >= tradeIds.size());
+        for (Long tradeId : tradeIds) {
+            assertEquals(TradeStatus.BEFORE_DELIVERY, tradeRepository.findById(tradeId).orElseThrow().getTradeStatus());
+        }
+        assertEquals(TradeStatus.PAY, tradeRepository.findById(payTradeId).orElseThrow().getTradeStatus());
+        assertEquals(before + updated, meterRegistry.counter("trade.delivery.transitions",
+                "from", "PREPARE_DELIVERY", "to", "BEFORE_DELIVERY").count());
+    }
+
+    private Trade saveTrade(TradeStatus status) {
+        return tradeRepository.save(Trade.builder()
+                .tradeStatus(status)
+                .tradeUUID(UUID.randomUUID().toString())
+                .totalPrice(100)
+                .build());
+    }
+}
@@ -0,0 +1,127 @@
+package com.example.cafe.domain.trade.service.scheduler;
+
+import com.example.cafe.domain.item.entity.Item;
+import com.example.cafe.domain.item.entity.ItemStatus;
+import com.example.cafe.domain.item.repository.ItemRepository;
+import com.example.cafe.domain.member.entity.Member;
+import com.example.cafe.domain.member.repository.MemberRepository;
+import com.example.cafe.domain.trade.domain.dto.request.CancelRequestDto;
+import com.example.cafe.domain.trade.domain.dto.request.OrderRequestItemDto;
+import com.example.cafe.domain.trade.domain.dto.response.OrderResponseDto;
+import com.example.cafe.domain.trade.domain.entity.TradeStatus;
+import com.example.cafe.domain.trade.repository.TradeRepository;
+import com.example.cafe.domain.trade.service.user.UserTradeAtomicUpdateService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * 결제 기한이 바로 지나도록 TTL 을 0 으로 두고, 예약 만료와 사용자 취소가 같은 주문을 동시에 처리해도
+ * 재고가 한 번만 반납되는지 확인합니다. 주기 실행은 끄고 expire() 를 직접 호출합니다.
+ */
+@SpringBootTest(properties = {
+        "custom.trade.reservation.ttl=PT0S",
+        "custom.trade.reservation.sweep-interval-ms=3600000",
+        "custom.trade.reservation.recovery-interval-ms=3600000",
+        "custom.trade.reservation.recovery-initial-delay-ms=3600000"
+})
+@ActiveProfiles("test")
+public class ReservationExpirySchedulerTest {
+
+    @Autowired
+    private MemberRepository memberRepository;
+
+    @Autowired
+    private ReservationExpiryScheduler reservationExpiryScheduler;
+
+    @Autowired
+    private UserTradeAtomicUpdateService userTradeService;
+
+    @Autowired
+    private TradeRepository tradeRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Test
+    public void testExpiryReturnsStockOnce() {
+        Member member = saveMember();
+        Item item = saveItem(10);
+        OrderResponseDto order = userTradeService.tradeWithItemInfo(member.getId(), new OrderRequestItemDto(item.getId(), 3));
+
+        assertEquals(1, reservationExpiryScheduler.expire(List.of(order.getTradeId())));
+        // 이미 만료된 주문은 다시 만료되지 않음
+        assertEquals(0, reservationExpiryScheduler.expire(List.of(order.getTradeId())));
+
+        assertEquals(TradeStatus.REFUSED, tradeRepository.findById(order.getTradeId()).orElseThrow().getTradeStatus());
+        assertEquals(10, itemRepository.findById(item.getId()).orElseThrow().getStock());
+    }
+
+    @Test
+    public void testExpiryRacingCancelReturnsStockOnce() throws Exception {
+        Member member = saveMember();
+        Item item = saveItem(100);
+        int rounds = 20;
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            for (int i = 0; i < rounds; i++) {
+                OrderResponseDto order = userTradeService.tradeWithItemInfo(member.getId(), new OrderRequestItemDto(item.getId(), 3));
+                CancelRequestDto cancel = new CancelRequestDto(order.getTradeUUID(),
+                        List.of(new CancelRequestDto.CancelItemRequest(item.getId(), 3)));
+
+                CountDownLatch startLatch = new CountDownLatch(1);
+                Future<Integer> expired = executor.submit(() -> {
+                    startLatch.await();
+                    return reservationExpiryScheduler.expire(List.of(order.getTradeId()));
+                });
+                Future<Boolean> cancelled = executor.submit(() -> {
+                    startLatch.await();
+                    try {
+                        userTradeService.cancelTrade(member.getId(), cancel);
+                        return true;
+                    } catch (RuntimeException e) {
+                        // 만료가 먼저 잠근 경우 취소는 이미 취소된 주문으로 거절됨
+                        return false;
+                    }
+                });
+                startLatch.countDown();
+
+                // 둘 중 정확히 하나만 주문을 취소하고 재고를 반납해야 함
+                assertEquals(1, expired.get() + (cancelled.get() ? 1 : 0), "round " + i);
+                assertEquals(TradeStatus.REFUSED, tradeRepository.findById(order.getTradeId()).orElseThrow().getTradeStatus());
+                assertEquals(100, itemRepository.findById(item.getId()).orElseThrow().getStock(), "round " + i);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private Member saveMember() {
+        return memberRepository.save(Member.builder()
+                .email(UUID.randomUUID() + "@example.com")
+                .password("password123")
+                .address("Expiry Test Address")
+                .authority("ROLE_USER")
+                .verified(false)
+                .build());
+    }
+
+    private Item saveItem(int stock) {
+        Item item = new Item();
+        item.setItemName("Expiry Test Item");
+        item.setPrice(100);
+        item.setStock(stock);
+        item.setItemStatus(ItemStatus.ON_SALE);
+        return itemRepository.save(item);
+    }
+}
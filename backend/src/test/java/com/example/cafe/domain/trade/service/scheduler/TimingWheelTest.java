@@ -0,0 +1,46 @@
+package com.example.cafe.domain.trade.service.scheduler;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TimingWheelTest {
+
+    @Test
+    public void testEntriesFireAtDueTimeAcrossLevels() throws InterruptedException {
+        // 한 바퀴 80ms 인 작은 휠: 300ms, 1000ms 항목은 상위 휠을 거쳐 내려와야 함
+        TimingWheel<Long> wheel = new TimingWheel<>(10, 8);
+        long start = System.currentTimeMillis();
+        long[] delays = {50, 300, 1000};
+        for (long delay : delays) {
+            assertTrue(wheel.add(start + delay, delay));
+        }
+
+        List<Long> fired = new ArrayList<>();
+        Map<Long, Long> firedAt = new HashMap<>();
+        while (fired.size() < delays.length && System.currentTimeMillis() - start < 5000) {
+            for (Long delay : wheel.poll(10)) {
+                fired.add(delay);
+                firedAt.put(delay, System.currentTimeMillis() - start);
+            }
+        }
+
+        assertEquals(List.of(50L, 300L, 1000L), fired);
+        for (long delay : delays) {
+            // 기한보다 일찍 실행되지 않고, 한 틱 + 여유 이내에 실행
+            assertTrue(firedAt.get(delay) >= delay - 10, delay + " fired at " + firedAt.get(delay));
+            assertTrue(firedAt.get(delay) < delay + 200, delay + " fired at " + firedAt.get(delay));
+        }
+    }
+
+    @Test
+    public void testPastDueEntryIsRejected() {
+        TimingWheel<Long> wheel = new TimingWheel<>(10, 8);
+        assertFalse(wheel.add(System.currentTimeMillis() - 1, 1L));
+    }
+}
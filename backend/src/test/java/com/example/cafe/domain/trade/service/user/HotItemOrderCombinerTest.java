@@ -0,0 +1,168 @@
+package com.example.cafe.domain.trade.service.user;
+
+import com.example.cafe.domain.item.entity.Item;
+import com.example.cafe.domain.item.entity.ItemStatus;
+import com.example.cafe.domain.item.repository.ItemRepository;
+import com.example.cafe.domain.item.service.ItemStockShardService;
+import com.example.cafe.domain.member.entity.Member;
+import com.example.cafe.domain.member.repository.MemberRepository;
+import com.example.cafe.domain.trade.domain.dto.request.OrderRequestItemDto;
+import com.example.cafe.domain.trade.domain.dto.response.OrderResponseDto;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 결합기를 켠 상태에서 order() 로 들어온 같은 상품 단건 주문들이 배치로 묶여 처리되고 초과 판매가 없는지,
+ * 재고가 분할된 상품은 결합기를 거치지 않는지 확인합니다. 배치가 확실히 묶이도록 window 를 넉넉히 둡니다.
+ */
+@SpringBootTest(properties = {
+        "custom.order.combiner.enabled=true",
+        "custom.order.combiner.window-ms=50",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@ActiveProfiles("test")
+public class HotItemOrderCombinerTest {
+
+    private static final String FIND_FOR_UPDATE = "select i from Item i where i.id = :id";
+
+    @Autowired
+    private MemberRepository memberRepository;
+
+    @Autowired
+    private HotItemOrderCombiner hotItemOrderCombiner;
+
+    @Autowired
+    private ItemStockShardService stockShardService;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    public void testConcurrentOrdersAreCombinedWithoutOverselling() throws Exception {
+        Member member = saveMember();
+        Item item = saveItem("Combiner Hot Item", 100, 100);
+        int requestCount = 300;
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        List<Boolean> results = orderConcurrently(member, item, requestCount);
+
+        long succeeded = results.stream().filter(Boolean::booleanValue).count();
+        assertEquals(100, succeeded);
+        assertEquals(0, itemRepository.findById(item.getId()).orElseThrow().getStock());
+        assertEquals(100, jdbcTemplate.queryForObject(
+                "select count(*) from trade_item where item_id = ?", Integer.class, item.getId()));
+        // 주문마다가 아니라 배치마다 한 번만 상품 행을 잠금
+        long lockQueries = statistics.getQueryStatistics(FIND_FOR_UPDATE).getExecutionCount();
+        assertTrue(lockQueries < requestCount / 10, "상품 행 잠금 횟수 : " + lockQueries);
+    }
+
+    @Test
+    public void testShardedItemBypassesCombiner() {
+        Member member = saveMember();
+        Item item = saveItem("Combiner Sharded Item", 100, 10);
+        stockShardService.enableSharding(item.getId(), 2);
+
+        // 분할된 재고는 상품 행이 아니라 조각에 있으므로, 결합기를 거쳤다면 상품 행 재고 부족으로 실패함
+        OrderResponseDto order = hotItemOrderCombiner.order(member.getId(), new OrderRequestItemDto(item.getId(), 3));
+
+        assertEquals(3 * 100, order.getTotalPrice());
+        assertEquals(7, stockShardService.getShards(item.getId()).getTotalStock());
+    }
+
+    @Test
+    public void testTimedOutOrderIsNotPlacedLater() {
+        Member member = saveMember();
+        Item item = saveItem("Combiner Timeout Item", 100, 10);
+
+        // 배치가 주문을 가져가기 전에 시간 초과가 나도록 window 를 늘리고 대기 시간을 없앰
+        ReflectionTestUtils.setField(hotItemOrderCombiner, "windowMs", 500L);
+        ReflectionTestUtils.setField(hotItemOrderCombiner, "timeoutSeconds", 0L);
+        try {
+            assertThrows(RuntimeException.class,
+                    () -> hotItemOrderCombiner.order(member.getId(), new OrderRequestItemDto(item.getId(), 1)));
+        } finally {
+            ReflectionTestUtils.setField(hotItemOrderCombiner, "windowMs", 50L);
+            ReflectionTestUtils.setField(hotItemOrderCombiner, "timeoutSeconds", 10L);
+        }
+
+        // 뒤에 들어온 주문이 끝났으면 앞서 큐에 남은 시간 초과 주문도 이미 배치에서 꺼내진 상태
+        hotItemOrderCombiner.order(member.getId(), new OrderRequestItemDto(item.getId(), 2));
+
+        assertEquals(1, jdbcTemplate.queryForObject(
+                "select count(*) from trade where member_id = ?", Integer.class, member.getId()));
+        assertEquals(8, itemRepository.findById(item.getId()).orElseThrow().getStock());
+    }
+
+    private List<Boolean> orderConcurrently(Member member, Item item, int requestCount) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(100);
+        CountDownLatch startLatch = new CountDownLatch(1);
+        List<Future<Boolean>> futures = new ArrayList<>();
+        try {
+            for (int i = 0; i < requestCount; i++) {
+                futures.add(executor.submit(() -> {
+                    startLatch.await();
+                    try {
+                        hotItemOrderCombiner.order(member.getId(), new OrderRequestItemDto(item.getId(), 1));
+                        return true;
+                    } catch (RuntimeException e) {
+                        return false;
+                    }
+                }));
+            }
+            startLatch.countDown();
+
+            List<Boolean> results = new ArrayList<>();
+            for (Future<Boolean> future : futures) {
+                results.add(future.get());
+            }
+            return results;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private Member saveMember() {
+        return memberRepository.save(Member.builder()
+                .email(UUID.randomUUID() + "@example.com")
+                .password("password123")
+                .address("Combiner Test Address")
+                .authority("ROLE_USER")
+                .verified(false)
+                .build());
+    }
+
+    private Item saveItem(String name, int price, int stock) {
+        Item item = new Item();
+        item.setItemName(name);
+        item.setPrice(price);
+        item.setStock(stock);
+        item.setItemStatus(ItemStatus.ON_SALE);
+        return itemRepository.save(item);
+    }
+}
@@ -0,0 +1,118 @@
+package com.example.cafe.domain.trade.service.user;
+
+import com.example.cafe.domain.item.entity.Item;
+import com.example.cafe.domain.item.entity.ItemStatus;
+import com.example.cafe.domain.item.repository.ItemRepository;
+import com.example.cafe.domain.member.entity.Member;
+import com.example.cafe.domain.member.repository.MemberRepository;
+import com.example.cafe.domain.trade.domain.dto.response.OrderResponseDto;
+import com.example.cafe.domain.trade.domain.entity.Cart;
+import com.example.cafe.domain.trade.domain.entity.CartItem;
+import com.example.cafe.domain.trade.repository.CartRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * 실제 MySQL 서버가 trade_item INSERT 를 몇 번 실행했는지 performance_schema 로 확인합니다.
+ * rewriteBatchedStatements=true 이면 Hibernate 배치 50건이 다중 행 INSERT 한 번으로 서버에 도착해야 합니다.
+ * Docker 가 없는 환경에서는 건너뜁니다.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Testcontainers(disabledWithoutDocker = true)
+public class TradeInsertBatchingMySqlTest {
+
+    private static final int LINES = 50;
+
+    @Container
+    private static final MySQLContainer<?> mysql = new MySQLContainer<>("mysql:8.0")
+            .withUsername("root")
+            .withUrlParam("rewriteBatchedStatements", "true");
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private MemberRepository memberRepository;
+
+    @Autowired
+    private UserTradeAtomicUpdateService userTradeService;
+
+    @Autowired
+    private CartRepository cartRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @DynamicPropertySource
+    static void mysqlProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", mysql::getJdbcUrl);
+        registry.add("spring.datasource.username", mysql::getUsername);
+        registry.add("spring.datasource.password", mysql::getPassword);
+        registry.add("spring.datasource.driver-class-name", mysql::getDriverClassName);
+        registry.add("spring.jpa.database-platform", () -> "org.hibernate.dialect.MySQLDialect");
+    }
+
+    @Test
+    public void testTradeItemInsertsReachServerAsOneStatement() {
+        Member member = saveMember();
+        Cart cart = Cart.builder()
+                .member(member)
+                .cartItems(new ArrayList<>())
+                .build();
+        for (Item item : saveItems()) {
+            cart.getCartItems().add(CartItem.builder().cart(cart).item(item).quantity(1).build());
+        }
+        cartRepository.save(cart);
+
+        jdbcTemplate.execute("truncate table performance_schema.events_statements_summary_by_digest");
+        OrderResponseDto response = userTradeService.tradeWithCart(member.getId());
+
+        assertEquals(LINES, jdbcTemplate.queryForObject(
+                "select count(*) from trade_item where trade_id = ?", Integer.class, response.getTradeId()));
+        // 서버에서 실행된 trade_item INSERT 문 수와 그 문들이 넣은 행 수
+        assertEquals(1, jdbcTemplate.queryForObject(
+                "select coalesce(sum(count_star), 0) from performance_schema.events_statements_summary_by_digest " +
+                        "where digest_text like 'INSERT INTO `trade_item`%'", Integer.class));
+        assertEquals(LINES, jdbcTemplate.queryForObject(
+                "select coalesce(sum(sum_rows_affected), 0) from performance_schema.events_statements_summary_by_digest " +
+                        "where digest_text like 'INSERT INTO `trade_item`%'", Integer.class));
+    }
+
+    private List<Item> saveItems() {
+        List<Item> items = new ArrayList<>();
+        for (int i = 0; i < LINES; i++) {
+            Item item = new Item();
+            item.setItemName("MySQL Batch Item " + i);
+            item.setPrice(100);
+            item.setStock(10);
+            item.setItemStatus(ItemStatus.ON_SALE);
+            items.add(item);
+        }
+        return itemRepository.saveAll(items);
+    }
+
+    private Member saveMember() {
+        return memberRepository.save(Member.builder()
+                .email(UUID.randomUUID() + "@example.com")
+                .password("password123")
+                .address("MySQL Batch Test Address")
+                .authority("ROLE_USER")
+                .verified(false)
+                .build());
+    }
+}
@@ -0,0 +1,177 @@
+package com.example.cafe.domain.trade.service.user;
+
+import com.example.cafe.domain.item.entity.Item;
+import com.example.cafe.domain.item.entity.ItemStatus;
+import com.example.cafe.domain.item.repository.ItemRepository;
+import com.example.cafe.domain.member.entity.Member;
+import com.example.cafe.domain.member.repository.MemberRepository;
+import com.example.cafe.domain.trade.domain.dto.response.OrderResponseDto;
+import com.example.cafe.domain.trade.domain.entity.Cart;
+import com.example.cafe.domain.trade.domain.entity.CartItem;
+import com.example.cafe.domain.trade.repository.CartRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+@ActiveProfiles("test")
+public class TradeInsertBatchingTest {
+
+    private static final int LINES = 50;
+
+    // trade_item_seq 조회는 제외하고 trade_item 테이블 INSERT 만 셈
+    private static final Pattern TRADE_ITEM_INSERT = Pattern.compile("insert into trade_item\\b", Pattern.CASE_INSENSITIVE);
+
+    private static final AtomicInteger roundTrips = new AtomicInteger();
+    private static final AtomicInteger rows = new AtomicInteger();
+
+    @Autowired
+    private UserTradeAtomicUpdateService userTradeService;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private MemberRepository memberRepository;
+
+    @Autowired
+    private CartRepository cartRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    public void testCartCheckoutBatchesTradeItemInserts() {
+        Member member = saveMember();
+        Cart cart = Cart.builder()
+                .member(member)
+                .cartItems(new ArrayList<>())
+                .build();
+        for (Item item : saveItems()) {
+            cart.getCartItems().add(CartItem.builder().cart(cart).item(item).quantity(1).build());
+        }
+        cartRepository.save(cart);
+
+        roundTrips.set(0);
+        rows.set(0);
+        OrderResponseDto response = userTradeService.tradeWithCart(member.getId());
+
+        assertEquals(LINES, jdbcTemplate.queryForObject(
+                "select count(*) from trade_item where trade_id = ?", Integer.class, response.getTradeId()));
+        assertEquals(LINES, rows.get());
+        // batch_size 50 이면 50개 라인이 한 번의 executeBatch 로 나감 (IDENTITY 였다면 50번)
+        // 서버에 실제로 몇 번 실행되는지는 드라이버에 달려 있어 MySQL 은 TradeInsertBatchingMySqlTest 에서 확인
+        assertTrue(roundTrips.get() <= 2, "trade_item INSERT 왕복 횟수 : " + roundTrips.get());
+    }
+
+    private List<Item> saveItems() {
+        List<Item> items = new ArrayList<>();
+        for (int i = 0; i < LINES; i++) {
+            Item item = new Item();
+            item.setItemName("Batch Test Item " + i);
+            item.setPrice(100);
+            item.setStock(10);
+            item.setItemStatus(ItemStatus.ON_SALE);
+            items.add(item);
+        }
+        return itemRepository.saveAll(items);
+    }
+
+    private Member saveMember() {
+        return memberRepository.save(Member.builder()
+                .email(UUID.randomUUID() + "@example.com")
+                .password("password123")
+                .address("Batch Test Address")
+                .authority("ROLE_USER")
+                .verified(false)
+                .build());
+    }
+
+    /**
+     * DataSource 를 감싸 trade_item INSERT 가 DB 로 몇 번 나가는지(executeBatch/executeUpdate) 셉니다.
+     */
+    @TestConfiguration
+    static class StatementCountingConfig {
+
+        @Bean
+        static BeanPostProcessor statementCountingPostProcessor() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    if (bean instanceof DataSource dataSource) {
+                        return proxy(DataSource.class, dataSource, (target, method, args) -> {
+                            Object result = invoke(target, method, args);
+                            return result instanceof Connection connection ? wrap(connection) : result;
+                        });
+                    }
+                    return bean;
+                }
+            };
+        }
+
+        private static Connection wrap(Connection connection) {
+            return proxy(Connection.class, connection, (target, method, args) -> {
+                Object result = invoke(target, method, args);
+                if (result instanceof PreparedStatement statement && method.getName().equals("prepareStatement")
+                        && TRADE_ITEM_INSERT.matcher((String) args[0]).find()) {
+                    return wrap(statement);
+                }
+                return result;
+            });
+        }
+
+        private static PreparedStatement wrap(PreparedStatement statement) {
+            return proxy(PreparedStatement.class, statement, (target, method, args) -> {
+                switch (method.getName()) {
+                    case "addBatch" -> rows.incrementAndGet();
+                    case "executeBatch", "executeLargeBatch" -> roundTrips.incrementAndGet();
+                    case "execute", "executeUpdate", "executeLargeUpdate" -> {
+                        roundTrips.incrementAndGet();
+                        rows.incrementAndGet();
+                    }
+                    default -> {
+                    }
+                }
+                return invoke(target, method, args);
+            });
+        }
+
+        @SuppressWarnings("unchecked")
+        private static <T> T proxy(Class<T> type, T target, Handler<T> handler) {
+            return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type},
+                    (p, method, args) -> handler.handle(target, method, args));
+        }
+
+        private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+
+        private interface Handler<T> {
+            Object handle(T target, Method method, Object[] args) throws Throwable;
+        }
+    }
+}
@@ -0,0 +1,182 @@
+package com.example.cafe.domain.trade.service.user;
+
+import com.example.cafe.domain.item.dto.ItemRequestDto;
+import com.example.cafe.domain.item.entity.Item;
+import com.example.cafe.domain.item.entity.ItemStatus;
+import com.example.cafe.domain.item.repository.ItemRepository;
+import com.example.cafe.domain.item.service.ItemService;
+import com.example.cafe.domain.member.entity.Member;
+import com.example.cafe.domain.member.repository.MemberRepository;
+import com.example.cafe.domain.trade.domain.dto.request.ItemCartRequestDto;
+import com.example.cafe.domain.trade.domain.dto.response.CartListResponseDto;
+import com.example.cafe.domain.trade.domain.dto.response.ItemCartResponseDto;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JPA 장바구니 저장소에서 합계/라인 수가 변경분만으로 유지되고,
+ * 가격 재검증이 가격이 바뀐 라인만 갱신하며, 큰 장바구니 조회가 라인 수만큼 상품을 읽지 않는지 확인합니다.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("test")
+public class UserCartServiceTest {
+
+    @Autowired
+    private UserCartService userCartService;
+
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private MemberRepository memberRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    public void testTotalsAreMaintainedIncrementally() {
+        Member member = saveMember();
+        Item coffee = saveItem("Coffee", 100);
+        Item cake = saveItem("Cake", 300);
+
+        userCartService.addItemToCart(member.getId(), request(coffee.getId(), 2));
+        userCartService.addItemToCart(member.getId(), request(coffee.getId(), 1));
+        ItemCartResponseDto added = userCartService.addItemToCart(member.getId(), request(cake.getId(), 2));
+        assertEquals(3 * 100 + 2 * 300, added.getTotalPrice());
+        assertCartRow(member, 3 * 100 + 2 * 300, 2);
+
+        ItemCartResponseDto edited = userCartService.editItemToCart(member.getId(), request(cake.getId(), 1));
+        assertEquals(3 * 100 + 300, edited.getTotalPrice());
+
+        ItemCartResponseDto removed = userCartService.editItemToCart(member.getId(), request(coffee.getId(), 0));
+        assertEquals(300, removed.getTotalPrice());
+        assertCartRow(member, 300, 1);
+    }
+
+    @Test
+    public void testRevalidationRefreshesOnlyChangedLines() {
+        Member member = saveMember();
+        Item coffee = saveItem("Revalidate Coffee", 100);
+        Item cake = saveItem("Revalidate Cake", 300);
+        userCartService.addItemToCart(member.getId(), request(coffee.getId(), 2));
+        userCartService.addItemToCart(member.getId(), request(cake.getId(), 1));
+
+        itemService.updateItem(coffee.getId(), updateRequest(coffee, 150));
+        // 가격이 같으면 가격 버전이 오르지 않음
+        itemService.updateItem(cake.getId(), updateRequest(cake, 300));
+        assertEquals(1, itemRepository.findById(coffee.getId()).orElseThrow().getPriceVersion());
+        assertEquals(0, itemRepository.findById(cake.getId()).orElseThrow().getPriceVersion());
+
+        // 재검증 전에는 담을 때 가격 유지
+        assertEquals(2 * 100 + 300, userCartService.showCart(member.getId()).getTotalPrice());
+
+        ItemCartResponseDto revalidated = userCartService.revalidateCart(member.getId());
+        assertEquals(2 * 150 + 300, revalidated.getTotalPrice());
+        assertEquals(150, revalidated.getCartItemInfoList().stream()
+                .filter(info -> info.getItemId().equals(coffee.getId()))
+                .findFirst().orElseThrow().getPrice());
+        assertCartRow(member, 2 * 150 + 300, 2);
+    }
+
+    @Test
+    public void testLegacyCartRowsAreMigratedOnFirstTouch() {
+        Member member = saveMember();
+        Item coffee = saveItem("Legacy Coffee", 100);
+        Item cake = saveItem("Legacy Cake", 300);
+        userCartService.addItemToCart(member.getId(), request(coffee.getId(), 2));
+        userCartService.addItemToCart(member.getId(), request(cake.getId(), 1));
+        // 가격 스냅샷 도입 전 행: 라인 가격 0, 가격 버전 -1, 라인 수 0 (합계는 예전 방식으로 계산된 값)
+        jdbcTemplate.update("update cart_item set price = 0, price_version = -1 " +
+                "where cart_id = (select id from cart where member_id = ?)", member.getId());
+        jdbcTemplate.update("update cart set line_count = 0 where member_id = ?", member.getId());
+
+        ItemCartResponseDto added = userCartService.addItemToCart(member.getId(), request(coffee.getId(), 1));
+        assertEquals(3 * 100 + 300, added.getTotalPrice());
+        assertCartRow(member, 3 * 100 + 300, 2);
+
+        userCartService.editItemToCart(member.getId(), request(coffee.getId(), 0));
+        ItemCartResponseDto removed = userCartService.editItemToCart(member.getId(), request(cake.getId(), 0));
+        assertEquals(0, removed.getTotalPrice());
+        assertCartRow(member, 0, 0);
+    }
+
+    @Test
+    public void testShowLargeCartDoesNotLoadItemsPerLine() {
+        Member member = saveMember();
+        int lines = 100;
+        List<Item> items = new ArrayList<>();
+        for (int i = 0; i < lines; i++) {
+            items.add(saveItem("Large Cart Item " + i, 100 + i));
+        }
+        items.forEach(item -> userCartService.addItemToCart(member.getId(), request(item.getId(), 1)));
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        CartListResponseDto cart = userCartService.showCart(member.getId());
+
+        assertEquals(lines, cart.getItems().size());
+        assertEquals(lines * 100 + (lines - 1) * lines / 2, cart.getTotalPrice());
+        // 회원, 카트, 카트 라인, 상품 일괄 조회 정도만 나가야 함 (라인마다 상품을 읽었다면 100회 이상)
+        assertTrue(statistics.getPrepareStatementCount() < 10,
+                "장바구니 조회 쿼리 수 : " + statistics.getPrepareStatementCount());
+    }
+
+    private void assertCartRow(Member member, int totalPrice, int lineCount) {
+        assertEquals(totalPrice, jdbcTemplate.queryForObject(
+                "select total_price from cart where member_id = ?", Integer.class, member.getId()));
+        assertEquals(lineCount, jdbcTemplate.queryForObject(
+                "select line_count from cart where member_id = ?", Integer.class, member.getId()));
+    }
+
+    private ItemCartRequestDto request(Long itemId, int quantity) {
+        ItemCartRequestDto request = new ItemCartRequestDto();
+        request.setItemId(itemId);
+        request.setQuantity(quantity);
+        return request;
+    }
+
+    private ItemRequestDto updateRequest(Item item, int price) {
+        ItemRequestDto request = new ItemRequestDto();
+        request.setItemName(item.getItemName());
+        request.setPrice(price);
+        request.setStock(item.getStock());
+        return request;
+    }
+
+    private Member saveMember() {
+        return memberRepository.save(Member.builder()
+                .email(UUID.randomUUID() + "@example.com")
+                .password("password123")
+                .address("Cart Test Address")
+                .authority("ROLE_USER")
+                .verified(false)
+                .build());
+    }
+
+    private Item saveItem(String name, int price) {
+        Item item = new Item();
+        item.setItemName(name);
+        item.setPrice(price);
+        item.setStock(10);
+        item.setItemStatus(ItemStatus.ON_SALE);
+        return itemRepository.save(item);
+    }
+}
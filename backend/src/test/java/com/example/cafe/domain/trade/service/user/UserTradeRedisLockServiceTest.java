@@ -0,0 +1,256 @@
+package com.example.cafe.domain.trade.service.user;
+
+import com.example.cafe.domain.item.entity.Item;
+import com.example.cafe.domain.item.entity.ItemStatus;
+import com.example.cafe.domain.item.repository.ItemRepository;
+import com.example.cafe.domain.item.service.ItemStockShardService;
+import com.example.cafe.domain.member.entity.Member;
+import com.example.cafe.domain.member.repository.MemberRepository;
+import com.example.cafe.domain.trade.domain.dto.request.ItemCartRequestDto;
+import com.example.cafe.domain.trade.domain.dto.request.OrderRequestItemDto;
+import com.example.cafe.domain.trade.domain.dto.response.OrderResponseDto;
+import com.example.cafe.domain.trade.service.lock.StockLockStrategy;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 상품 락이 action 이 끝난 시점이 아니라 트랜잭션이 끝난 뒤 해제되는지, 장바구니 주문이 상품을 라인마다 다시 읽지 않고
+ * 한 번에 잠가 차감하는지 확인합니다. 락 대기 시간을 0 으로 두어 잠겨 있으면 바로 실패하게 합니다.
+ */
+@SpringBootTest(properties = {
+        "custom.stock.lock.wait-seconds=0",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@ActiveProfiles("test")
+public class UserTradeRedisLockServiceTest {
+
+    private static final String FIND_FOR_UPDATE = "select i from Item i where i.id = :id";
+    private static final String FIND_ALL_FOR_UPDATE = "select i from Item i where i.id in :ids order by i.id";
+
+    @Autowired
+    private MemberRepository memberRepository;
+
+    @Autowired
+    private UserTradeRedisLockService redisLockService;
+
+    @Autowired
+    private UserCartService userCartService;
+
+    @Autowired
+    private StockLockStrategy stockLockStrategy;
+
+    @Autowired
+    private ItemStockShardService stockShardService;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    public void testLockIsReleasedAfterCommit() throws Exception {
+        Item item = saveItem(10);
+        CountDownLatch actionDone = new CountDownLatch(1);
+        CountDownLatch commit = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<?> holder = executor.submit(() -> transactionTemplate.executeWithoutResult(status -> {
+                stockLockStrategy.executeWithLock(item.getId(), () -> null);
+                actionDone.countDown();
+                await(commit);
+            }));
+            await(actionDone);
+
+            // action 은 끝났지만 트랜잭션이 아직 커밋되지 않았으므로 락이 남아 있어야 함
+            assertThrows(RuntimeException.class, () -> stockLockStrategy.executeWithLock(item.getId(), () -> null));
+
+            commit.countDown();
+            holder.get();
+            assertEquals("ok", stockLockStrategy.executeWithLock(item.getId(), () -> "ok"));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testCartOrderLocksItemsOnce() {
+        Member member = saveMember();
+        List<Item> items = saveItems();
+        items.forEach(item -> userCartService.addItemToCart(member.getId(), request(item.getId(), 2)));
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        OrderResponseDto order = redisLockService.tradeWithCart(member.getId());
+
+        assertEquals(10 * 2 * 100, order.getTotalPrice());
+        assertEquals(10, jdbcTemplate.queryForObject(
+                "select count(*) from trade_item where trade_id = ?", Integer.class, order.getTradeId()));
+        items.forEach(item -> assertEquals(3, itemRepository.findById(item.getId()).orElseThrow().getStock()));
+        // 라인마다 단건 잠금 조회를 하지 않고 전체 상품을 한 번에 잠금
+        assertEquals(0, statistics.getQueryStatistics(FIND_FOR_UPDATE).getExecutionCount());
+        assertEquals(1, statistics.getQueryStatistics(FIND_ALL_FOR_UPDATE).getExecutionCount());
+    }
+
+    @Test
+    public void testConcurrentCartOrdersDoNotOversell() throws Exception {
+        Item coffee = saveItem("Lock Race Coffee", 100, 5);
+        Item cake = saveItem("Lock Race Cake", 300, 5);
+        List<Member> members = saveMembers("lock-race", 10);
+        members.forEach(member -> {
+            userCartService.addItemToCart(member.getId(), request(coffee.getId(), 1));
+            userCartService.addItemToCart(member.getId(), request(cake.getId(), 1));
+        });
+
+        ExecutorService executor = Executors.newFixedThreadPool(members.size());
+        CountDownLatch startLatch = new CountDownLatch(1);
+        List<Future<Boolean>> results = new ArrayList<>();
+        try {
+            for (Member member : members) {
+                results.add(executor.submit(() -> {
+                    startLatch.await();
+                    // 락 대기 시간이 0 이므로 재고가 있어도 락 경합으로 실패할 수 있어 성공할 때까지 다시 시도
+                    while (true) {
+                        try {
+                            redisLockService.tradeWithCart(member.getId());
+                            return true;
+                        } catch (RuntimeException e) {
+                            if (e.getMessage() == null || !e.getMessage().contains("락 획득")) {
+                                return false;
+                            }
+                        }
+                    }
+                }));
+            }
+            startLatch.countDown();
+
+            int succeeded = 0;
+            for (Future<Boolean> result : results) {
+                succeeded += result.get() ? 1 : 0;
+            }
+            assertEquals(5, succeeded);
+            assertEquals(0, itemRepository.findById(coffee.getId()).orElseThrow().getStock());
+            assertEquals(0, itemRepository.findById(cake.getId()).orElseThrow().getStock());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testShardedItemOrderReservesFromShards() {
+        Member member = saveMember();
+        Item item = saveItem(6);
+        // 분할하면 재고가 조각으로 옮겨져 상품 행 재고만으로는 주문할 수 없음
+        stockShardService.enableSharding(item.getId(), 3);
+
+        OrderResponseDto order = redisLockService.tradeWithItemInfo(member.getId(), new OrderRequestItemDto(item.getId(), 2));
+
+        assertEquals(2 * 100, order.getTotalPrice());
+        assertEquals(4, stockShardService.getShards(item.getId()).getTotalStock());
+    }
+
+    @Test
+    public void testCartOrderWithShardedItemReservesFromShards() {
+        Member member = saveMember();
+        Item plain = saveItem(5);
+        Item sharded = saveItem(6);
+        stockShardService.enableSharding(sharded.getId(), 3);
+        userCartService.addItemToCart(member.getId(), request(plain.getId(), 2));
+        userCartService.addItemToCart(member.getId(), request(sharded.getId(), 2));
+
+        OrderResponseDto order = redisLockService.tradeWithCart(member.getId());
+
+        assertEquals(4 * 100, order.getTotalPrice());
+        assertEquals(3, itemRepository.findById(plain.getId()).orElseThrow().getStock());
+        assertEquals(4, stockShardService.getShards(sharded.getId()).getTotalStock());
+    }
+
+    private ItemCartRequestDto request(Long itemId, int quantity) {
+        ItemCartRequestDto request = new ItemCartRequestDto();
+        request.setItemId(itemId);
+        request.setQuantity(quantity);
+        return request;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        }
+    }
+
+    private Member saveMember() {
+        return memberRepository.save(Member.builder()
+                .email(UUID.randomUUID() + "@example.com")
+                .password("password123")
+                .address("Lock Test Address")
+                .authority("ROLE_USER")
+                .verified(false)
+                .build());
+    }
+
+    private List<Member> saveMembers(String prefix, int count) {
+        List<Member> members = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            members.add(Member.builder()
+                    .email(prefix + "-" + i + "-" + UUID.randomUUID() + "@example.com")
+                    .password("password123")
+                    .address("Lock Test Address")
+                    .authority("ROLE_USER")
+                    .verified(false)
+                    .build());
+        }
+        return memberRepository.saveAll(members);
+    }
+
+    private Item saveItem(int stock) {
+        return saveItem("Lock Test Item", 100, stock);
+    }
+
+    private Item saveItem(String name, int price, int stock) {
+        Item item = new Item();
+        item.setItemName(name);
+        item.setPrice(price);
+        item.setStock(stock);
+        item.setItemStatus(ItemStatus.ON_SALE);
+        return itemRepository.save(item);
+    }
+
+    private List<Item> saveItems() {
+        List<Item> items = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            Item item = new Item();
+            item.setItemName("Lock Cart Item " + i);
+            item.setPrice(100);
+            item.setStock(5);
+            item.setItemStatus(ItemStatus.ON_SALE);
+            items.add(item);
+        }
+        return itemRepository.saveAll(items);
+    }
+}
@@ -12,11 +12,17 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.context.ActiveProfiles;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.atomic.AtomicInteger;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 @SpringBootTest
@@ -26,6 +32,9 @@ public class UserTradeServiceLoadTest {
     @Autowired
     private UserTradeRedisLockService userTradeRedisLockService;
 
+    @Autowired
+    private OrderPlacementRouter orderPlacementRouter;
+
     @Autowired
     private ItemRepository itemRepository;
 
@@ -102,4 +111,94 @@ public class UserTradeServiceLoadTest {
 
         executor.shutdown();
     }
+
+    @Test
+    public void testCompareOrderStrategiesUnderContention() throws InterruptedException {
+        // 세 가지 재고 동시성 제어 방식을 같은 조건(재고 100, 1000건, 200 스레드, 한 상품)으로 비교
+        List<StrategyResult> results = new ArrayList<>();
+        for (OrderStrategy strategy : OrderStrategy.values()) {
+            StrategyResult result = runContention(strategy, 100, 1000, 200);
+            results.add(result);
+
+            // 어떤 방식이든 초과 판매나 재고 유실이 없어야 함
+            assertTrue(result.success() <= 100, strategy + " 성공한 주문 건수가 초기 재고를 초과함");
+            assertEquals(100, result.remainStock() + result.success(), strategy + " 재고와 성공 주문 건수가 일치하지 않음");
+        }
+
+        System.out.println("[전략 비교] strategy | 성공 | 실패 | 실행 시간(ms) | TPS | p50(ms) | p99(ms)");
+        results.forEach(result -> System.out.printf("[전략 비교] %s | %d | %d | %d | %.1f | %.2f | %.2f%n",
+                result.strategy(), result.success(), result.failure(), result.durationMs(),
+                result.success() / (result.durationMs() / 1000.0), result.p50Ms(), result.p99Ms()));
+    }
+
+    private StrategyResult runContention(OrderStrategy strategy, int stock, int requestCount, int threads)
+            throws InterruptedException {
+        OrderPlacementService service = orderPlacementRouter.get(strategy);
+        Member member = memberRepository.save(Member.builder()
+                .email(UUID.randomUUID() + "@example.com")
+                .password("password123")
+                .address("Load Test Address")
+                .authority("ROLE_USER")
+                .verified(false)
+                .build());
+
+        Item item = new Item();
+        item.setItemName("Contention Item " + strategy);
+        item.setPrice(100);
+        item.setStock(stock);
+        item.setItemStatus(ItemStatus.ON_SALE);
+        Item saved = itemRepository.save(item);
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch startLatch = new CountDownLatch(1);
+        CountDownLatch doneLatch = new CountDownLatch(requestCount);
+        AtomicInteger successCount = new AtomicInteger(0);
+        AtomicInteger failureCount = new AtomicInteger(0);
+        ConcurrentLinkedQueue<Long> latencies = new ConcurrentLinkedQueue<>();
+
+        for (int i = 0; i < requestCount; i++) {
+            executor.submit(() -> {
+                try {
+                    startLatch.await();
+                    long begin = System.nanoTime();
+                    try {
+                        service.tradeWithItemInfo(member.getId(), new OrderRequestItemDto(saved.getId(), 1));
+                        successCount.incrementAndGet();
+                    } catch (Exception e) {
+                        failureCount.incrementAndGet();
+                    } finally {
+                        latencies.add(System.nanoTime() - begin);
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    doneLatch.countDown();
+                }
+            });
+        }
+
+        long startTime = System.currentTimeMillis();
+        startLatch.countDown();
+        doneLatch.await();
+        long durationMs = Math.max(1, System.currentTimeMillis() - startTime);
+        executor.shutdown();
+
+        List<Long> sorted = new ArrayList<>(latencies);
+        Collections.sort(sorted);
+        int remainStock = itemRepository.findById(saved.getId()).orElseThrow().getStock();
+        return new StrategyResult(strategy, successCount.get(), failureCount.get(), durationMs,
+                percentileMs(sorted, 0.50), percentileMs(sorted, 0.99), remainStock);
+    }
+
+    private double percentileMs(List<Long> sortedNanos, double percentile) {
+        if (sortedNanos.isEmpty()) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percentile * sortedNanos.size()) - 1;
+        return sortedNanos.get(Math.max(0, index)) / 1_000_000.0;
+    }
+
+    private record StrategyResult(OrderStrategy strategy, int success, int failure, long durationMs,
+                                  double p50Ms, double p99Ms, int remainStock) {
+    }
 }
@@ -0,0 +1,161 @@
+package com.example.cafe.domain.trade.service.user;
+
+import com.example.cafe.domain.item.entity.Item;
+import com.example.cafe.domain.item.entity.ItemStatus;
+import com.example.cafe.domain.item.repository.ItemRepository;
+import com.example.cafe.domain.member.entity.Member;
+import com.example.cafe.domain.member.repository.MemberRepository;
+import com.example.cafe.domain.trade.domain.dto.request.OrderRequestItemDto;
+import com.example.cafe.domain.trade.service.idempotency.OrderIdempotencyService;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 주문 경로를 가상 스레드에서 실행하면서 JFR(jdk.VirtualThreadPinned)로 캐리어 스레드 고정(pinning)을 감지합니다.
+ * 테스트 DB 인 H2 는 내부에서 synchronized 로 대기하므로, JDK 프레임을 건너뛴 가장 위 프레임이 H2 인 이벤트만 제외합니다.
+ * 스택 어딘가에 H2 가 있다는 이유만으로 제외하면 우리 코드의 synchronized 안에서 DB 를 호출해 생긴 고정도 가려지므로,
+ * 나머지(우리 코드, 락 전략, 멱등성 저장소, Hibernate/Hikari 등)에서 고정이 하나라도 생기면 실패합니다.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+public class VirtualThreadPinningTest {
+
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+
+    // 운영에서 쓰지 않는 테스트 전용 DB 드라이버
+    private static final String IGNORED_FRAME_PREFIX = "org.h2.";
+
+    // 고정 지점을 찾을 때 건너뛰는 JDK 내부 프레임 (park, Object.wait 등)
+    private static final List<String> JDK_FRAME_PREFIXES = List.of("java.", "javax.", "jdk.", "sun.");
+
+    @Autowired
+    private OrderPlacementRouter orderPlacementRouter;
+
+    @Autowired
+    private OrderIdempotencyService idempotencyService;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private MemberRepository memberRepository;
+
+    @Test
+    public void testOrderPathsDoNotPinCarrierThreads() throws InterruptedException {
+        ConcurrentLinkedQueue<String> pinned = new ConcurrentLinkedQueue<>();
+        try (RecordingStream stream = new RecordingStream()) {
+            stream.enable(PINNED_EVENT).withThreshold(Duration.ZERO).withStackTrace();
+            stream.onEvent(PINNED_EVENT, event -> {
+                if (!pinnedIn(event, IGNORED_FRAME_PREFIX)) {
+                    pinned.add(describe(event));
+                }
+            });
+            stream.startAsync();
+
+            for (OrderStrategy strategy : OrderStrategy.values()) {
+                runOrders(strategy);
+            }
+
+            stream.stop();
+        }
+
+        assertTrue(pinned.isEmpty(), "가상 스레드 고정 발생:\n" + String.join("\n\n", pinned));
+    }
+
+    // 재고 50개 상품에 가상 스레드 100개가 동시에 주문 (멱등성 키 경로 포함)
+    private void runOrders(OrderStrategy strategy) throws InterruptedException {
+        OrderPlacementService service = orderPlacementRouter.get(strategy);
+        Member member = saveMember();
+        Item item = saveItem(50);
+        int requests = 100;
+        AtomicInteger success = new AtomicInteger();
+        CountDownLatch startLatch = new CountDownLatch(1);
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < requests; i++) {
+                executor.submit(() -> {
+                    try {
+                        startLatch.await();
+                        OrderRequestItemDto request = new OrderRequestItemDto(item.getId(), 1);
+                        idempotencyService.execute(member.getId(), "item", UUID.randomUUID().toString(), request,
+                                () -> service.tradeWithItemInfo(member.getId(), request));
+                        success.incrementAndGet();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    } catch (Exception e) {
+                        // 품절/재시도 예산 초과 등은 실패로 두고 재고만 확인
+                    }
+                });
+            }
+            startLatch.countDown();
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(60, TimeUnit.SECONDS), strategy + " 주문이 제한 시간 안에 끝나지 않음");
+        }
+
+        assertEquals(50, itemRepository.findById(item.getId()).orElseThrow().getStock() + success.get(),
+                strategy + " 재고와 성공 주문 건수가 일치하지 않음");
+    }
+
+    // JDK 프레임을 제외한 가장 위 프레임(고정을 일으킨 호출 지점)이 prefix 에 속하는지
+    private boolean pinnedIn(RecordedEvent event, String prefix) {
+        if (event.getStackTrace() == null) {
+            return false;
+        }
+        return event.getStackTrace().getFrames().stream()
+                .map(frame -> frame.getMethod().getType().getName())
+                .filter(type -> JDK_FRAME_PREFIXES.stream().noneMatch(type::startsWith))
+                .findFirst()
+                .map(type -> type.startsWith(prefix))
+                .orElse(false);
+    }
+
+    private String describe(RecordedEvent event) {
+        if (event.getStackTrace() == null) {
+            return PINNED_EVENT + " (스택 없음)";
+        }
+        List<RecordedFrame> frames = event.getStackTrace().getFrames();
+        return frames.stream()
+                .limit(20)
+                .map(frame -> "  at " + frame.getMethod().getType().getName() + "." + frame.getMethod().getName()
+                        + ":" + frame.getLineNumber())
+                .collect(Collectors.joining("\n", PINNED_EVENT + " " + event.getDuration().toMillis() + "ms\n", ""));
+    }
+
+    private Member saveMember() {
+        return memberRepository.save(Member.builder()
+                .email(UUID.randomUUID() + "@example.com")
+                .password("password123")
+                .address("Pinning Test Address")
+                .authority("ROLE_USER")
+                .verified(false)
+                .build());
+    }
+
+    private Item saveItem(int stock) {
+        Item item = new Item();
+        item.setItemName("Pinning Test Item");
+        item.setPrice(100);
+        item.setStock(stock);
+        item.setItemStatus(ItemStatus.ON_SALE);
+        return itemRepository.save(item);
+    }
+}
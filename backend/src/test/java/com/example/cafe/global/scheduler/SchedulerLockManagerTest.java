@@ -0,0 +1,71 @@
+package com.example.cafe.global.scheduler;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+public class SchedulerLockManagerTest {
+
+    @Autowired
+    private SchedulerLockManager schedulerLockManager;
+
+    @Autowired
+    private SchedulerLeaseRepository leaseRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    public void testOnlyOneHolderUntilRelease() {
+        String name = "test-" + UUID.randomUUID();
+
+        Optional<SchedulerLockManager.Lease> first = schedulerLockManager.tryAcquire(name, 60);
+        assertTrue(first.isPresent());
+        // 보유 중에는 다른 실행이 대기 없이 실패
+        assertTrue(schedulerLockManager.tryAcquire(name, 60).isEmpty());
+
+        schedulerLockManager.release(first.get());
+        Optional<SchedulerLockManager.Lease> second = schedulerLockManager.tryAcquire(name, 60);
+        assertTrue(second.isPresent());
+        assertEquals(first.get().token() + 1, second.get().token());
+        schedulerLockManager.release(second.get());
+    }
+
+    @Test
+    public void testReleaseKeepsMinimumHold() {
+        String name = "test-" + UUID.randomUUID();
+
+        Optional<SchedulerLockManager.Lease> first = schedulerLockManager.tryAcquire(name, 60, 30);
+        assertTrue(first.isPresent());
+        schedulerLockManager.release(first.get());
+
+        // 작업이 바로 끝나도 최소 보유 시간 동안은 같은 작업을 다시 실행하지 않음
+        assertTrue(schedulerLockManager.tryAcquire(name, 60).isEmpty());
+        SchedulerLease lease = leaseRepository.findById(name).orElseThrow();
+        assertEquals(first.get().lockedAtLeastUntil(), lease.getLockedUntil());
+        assertTrue(lease.getLockedUntil().isAfter(leaseRepository.currentTime().plusSeconds(20)));
+    }
+
+    @Test
+    public void testExpiredLeaseIsFenced() throws InterruptedException {
+        String name = "test-" + UUID.randomUUID();
+
+        Optional<SchedulerLockManager.Lease> stale = schedulerLockManager.tryAcquire(name, 0);
+        assertTrue(stale.isPresent());
+        Thread.sleep(10);
+
+        // 만료된 lease 는 검증에 실패하므로 이전 소유자의 반영이 중단됨
+        assertThrows(IllegalStateException.class, () ->
+                transactionTemplate.executeWithoutResult(status -> schedulerLockManager.assertLeaseHeld()));
+        schedulerLockManager.release(stale.get());
+    }
+}
@@ -0,0 +1,287 @@
+package com.example.cafe.loadtest;
+
+import com.example.cafe.domain.item.entity.Item;
+import com.example.cafe.domain.item.entity.ItemStatus;
+import com.example.cafe.domain.item.repository.ItemRepository;
+import com.example.cafe.domain.member.entity.Member;
+import com.example.cafe.domain.member.repository.MemberRepository;
+import com.example.cafe.domain.member.service.AuthTokenService;
+import com.example.cafe.domain.trade.domain.dto.request.OrderRequestItemDto;
+import com.example.cafe.domain.trade.domain.entity.Cart;
+import com.example.cafe.domain.trade.domain.entity.CartItem;
+import com.example.cafe.domain.trade.repository.CartRepository;
+import com.example.cafe.domain.trade.service.user.UserTradeAtomicUpdateService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.env.Environment;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import redis.embedded.RedisServer;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.time.LocalDateTime;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+/**
+ * HTTP 계층(필터, 컨트롤러, 직렬화)부터 H2 까지 거치는 부하 테스트.
+ * Redisson 은 테스트 JVM 안에서 띄운 내장 Redis 에 붙으므로 외부 Redis 없이 실행됩니다.
+ * 실행: ./gradlew loadTest (-Ploadtest.requests=2000 -Ploadtest.concurrency=128 -Ploadtest.arrival-rate=500
+ * 또는 시나리오별로 -Ploadtest.single-item-order.arrival-rate=300 처럼 조정)
+ * 결과는 loadtest.report 경로(기본 build/reports/load-test/report.json)에 JSON 으로 남습니다.
+ */
+@Tag("load")
+@SpringBootTest
+@ActiveProfiles("test")
+@AutoConfigureMockMvc
+public class EndToEndLoadTest {
+
+    private static RedisServer redisServer;
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private Environment env;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private AuthTokenService authTokenService;
+
+    @Autowired
+    private UserTradeAtomicUpdateService userTradeService;
+
+    @Autowired
+    private MemberRepository memberRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private CartRepository cartRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @DynamicPropertySource
+    static void redisProperties(DynamicPropertyRegistry registry) throws IOException {
+        int port = freePort();
+        redisServer = new RedisServer(port);
+        redisServer.start();
+        registry.add("custom.redis.address", () -> "redis://127.0.0.1:" + port);
+    }
+
+    @AfterAll
+    static void stopRedis() throws IOException {
+        if (redisServer != null) {
+            redisServer.stop();
+        }
+    }
+
+    @Test
+    public void runScenarios() throws Exception {
+        List<ScenarioResult> results = new ArrayList<>();
+        Map<String, Object> invariants = new LinkedHashMap<>();
+
+        results.add(singleItemOrders(invariants));
+        results.add(cartCheckouts(invariants));
+        results.add(cancellations(invariants));
+        results.add(catalogReads());
+        results.add(reviewWrites(invariants));
+
+        writeReport(results, invariants);
+        results.forEach(result -> assertEquals(0, result.error(), result.scenario() + " 처리되지 않은 오류 발생"));
+    }
+
+    // 한 상품에 요청 수의 절반만큼 재고: 절반은 품절로 실패해야 하고 초과 판매가 없어야 함
+    private ScenarioResult singleItemOrders(Map<String, Object> invariants) throws Exception {
+        String scenario = "single-item-order";
+        LoadProfile profile = LoadProfile.of(env, scenario);
+        int stock = profile.requests() / 2;
+        Item item = saveItem("Hot Item", stock);
+        List<String> tokens = tokens(saveMembers(scenario, profile.concurrency()));
+
+        ScenarioResult result = LoadDriver.run(scenario, profile, index -> isSuccess(post("/order/item")
+                .header("Authorization", bearer(tokens.get(index % tokens.size())))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(json(Map.of("itemId", item.getId(), "quantity", 1)))));
+
+        int remain = stockOf(item);
+        invariants.put(scenario, Map.of("initialStock", stock, "remainStock", remain, "ordered", result.success()));
+        assertTrue(remain >= 0, scenario + " 재고가 음수");
+        assertEquals(stock, remain + result.success(), scenario + " 초과 판매 또는 재고 유실");
+        return result;
+    }
+
+    // 회원마다 3개 상품이 담긴 장바구니를 주문. 상품마다 요청 수의 절반만큼 재고
+    private ScenarioResult cartCheckouts(Map<String, Object> invariants) throws Exception {
+        String scenario = "cart-checkout";
+        LoadProfile profile = LoadProfile.of(env, scenario);
+        int stock = profile.requests() / 2;
+        List<Item> items = List.of(saveItem("Cart Item A", stock), saveItem("Cart Item B", stock), saveItem("Cart Item C", stock));
+        List<Member> members = saveMembers(scenario, profile.requests());
+        for (Member member : members) {
+            Cart cart = Cart.builder().member(member).cartItems(new ArrayList<>()).build();
+            items.forEach(item -> cart.getCartItems().add(CartItem.builder().cart(cart).item(item).quantity(1).build()));
+            cartRepository.save(cart);
+        }
+        List<String> tokens = tokens(members);
+
+        ScenarioResult result = LoadDriver.run(scenario, profile, index -> isSuccess(post("/order/cart")
+                .header("Authorization", bearer(tokens.get(index)))));
+
+        Map<String, Object> remains = new LinkedHashMap<>();
+        for (Item item : items) {
+            int remain = stockOf(item);
+            remains.put(item.getItemName(), remain);
+            assertTrue(remain >= 0, scenario + " 재고가 음수");
+            // 장바구니 주문은 전부 성공하거나 전부 실패하므로 상품마다 성공 건수만큼 차감
+            assertEquals(stock, remain + result.success(), scenario + " 초과 판매 또는 부분 차감");
+        }
+        invariants.put(scenario, Map.of("initialStock", stock, "remainStock", remains, "ordered", result.success()));
+        return result;
+    }
+
+    // 미리 만든 BUY 주문을 동시에 전체 취소. 취소된 만큼 재고가 정확히 돌아와야 함
+    private ScenarioResult cancellations(Map<String, Object> invariants) throws Exception {
+        String scenario = "cancellation";
+        LoadProfile profile = LoadProfile.of(env, scenario);
+        int stock = profile.requests();
+        Item item = saveItem("Cancel Item", stock);
+        List<Member> members = saveMembers(scenario, profile.requests());
+        List<String> tradeUUIDs = new ArrayList<>();
+        for (Member member : members) {
+            tradeUUIDs.add(userTradeService.tradeWithItemInfo(member.getId(), new OrderRequestItemDto(item.getId(), 1)).getTradeUUID());
+        }
+        List<String> tokens = tokens(members);
+
+        ScenarioResult result = LoadDriver.run(scenario, profile, index -> isSuccess(post("/order/cancel")
+                .header("Authorization", bearer(tokens.get(index)))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(json(Map.of("tradeUUID", tradeUUIDs.get(index),
+                        "cancelItemList", List.of(Map.of("itemId", item.getId(), "quantity", 1)))))));
+
+        int remain = stockOf(item);
+        invariants.put(scenario, Map.of("initialStock", stock, "remainStock", remain, "cancelled", result.success()));
+        assertEquals(result.success(), remain, scenario + " 취소 수량과 반납된 재고가 다름");
+        return result;
+    }
+
+    // 목록/단건/검색 조회를 섞어서 실행
+    private ScenarioResult catalogReads() throws Exception {
+        String scenario = "catalog-read";
+        LoadProfile profile = LoadProfile.of(env, scenario);
+        List<Long> itemIds = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            itemIds.add(saveItem("Catalog Item " + i, 100).getId());
+        }
+
+        return LoadDriver.run(scenario, profile, index -> switch (index % 4) {
+            case 0 -> isSuccess(get("/items"));
+            case 1 -> isSuccess(get("/items/search").param("keyword", "Catalog").param("size", "20"));
+            default -> isSuccess(get("/items/{id}", itemIds.get(index % itemIds.size())));
+        });
+    }
+
+    // 구매 이력이 있는 회원들이 같은 상품에 동시에 리뷰 작성 (작성마다 평균 평점 재계산)
+    private ScenarioResult reviewWrites(Map<String, Object> invariants) throws Exception {
+        String scenario = "review-write";
+        LoadProfile profile = LoadProfile.of(env, scenario);
+        Item item = saveItem("Review Item", profile.requests());
+        List<Member> members = saveMembers(scenario, profile.requests());
+        for (Member member : members) {
+            userTradeService.tradeWithItemInfo(member.getId(), new OrderRequestItemDto(item.getId(), 1));
+        }
+
+        ScenarioResult result = LoadDriver.run(scenario, profile, index -> isSuccess(post("/reviews/create")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(json(Map.of("memberEmail", members.get(index).getEmail(), "itemId", item.getId(),
+                        "reviewContent", "부하 테스트 리뷰 " + index, "rating", 1 + index % 5)))));
+
+        Integer saved = jdbcTemplate.queryForObject("select count(*) from review where item_id = ?", Integer.class, item.getId());
+        invariants.put(scenario, Map.of("written", result.success(), "stored", saved));
+        assertEquals(result.success(), saved, scenario + " 응답과 저장된 리뷰 수가 다름");
+        return result;
+    }
+
+    private void writeReport(List<ScenarioResult> results, Map<String, Object> invariants) throws IOException {
+        File report = new File(env.getProperty("loadtest.report", "build/reports/load-test/report.json"));
+        if (report.getParentFile() != null) {
+            report.getParentFile().mkdirs();
+        }
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("generatedAt", LocalDateTime.now().toString());
+        body.put("scenarios", results);
+        body.put("invariants", invariants);
+        objectMapper.writerWithDefaultPrettyPrinter().writeValue(report, body);
+        System.out.println("[부하 테스트] 결과 : " + report.getAbsolutePath());
+    }
+
+    private boolean isSuccess(MockHttpServletRequestBuilder request) throws Exception {
+        int status = mvc.perform(request).andReturn().getResponse().getStatus();
+        return status >= 200 && status < 300;
+    }
+
+    private List<Member> saveMembers(String scenario, int count) {
+        List<Member> members = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            members.add(Member.builder()
+                    .email(scenario + "-" + i + "-" + UUID.randomUUID() + "@example.com")
+                    .password("password123")
+                    .address("Load Test Address")
+                    .authority("ROLE_USER")
+                    .verified(false)
+                    .build());
+        }
+        return memberRepository.saveAll(members);
+    }
+
+    private List<String> tokens(List<Member> members) {
+        return members.stream().map(authTokenService::genAccessToken).toList();
+    }
+
+    private Item saveItem(String name, int stock) {
+        Item item = new Item();
+        item.setItemName(name);
+        item.setPrice(100);
+        item.setStock(stock);
+        item.setItemStatus(ItemStatus.ON_SALE);
+        return itemRepository.save(item);
+    }
+
+    private int stockOf(Item item) {
+        return itemRepository.findById(item.getId()).orElseThrow().getStock();
+    }
+
+    private String json(Object body) throws IOException {
+        return objectMapper.writeValueAsString(body);
+    }
+
+    private static String bearer(String token) {
+        return "Bearer " + token;
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.cafe.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * LoadProfile 에 따라 요청을 실행하고 요청별 지연 시간을 HdrHistogram 에 기록합니다.
+ */
+final class LoadDriver {
+
+    @FunctionalInterface
+    interface Request {
+        // index 번째 요청을 실행하고 성공(2xx) 여부를 반환
+        boolean execute(int index) throws Exception;
+    }
+
+    private LoadDriver() {
+    }
+
+    static ScenarioResult run(String scenario, LoadProfile profile, Request request) throws InterruptedException {
+        Histogram micros = new ConcurrentHistogram(3);
+        AtomicInteger success = new AtomicInteger();
+        AtomicInteger failure = new AtomicInteger();
+        AtomicInteger error = new AtomicInteger();
+        CountDownLatch startLatch = new CountDownLatch(1);
+        CountDownLatch doneLatch = new CountDownLatch(profile.requests());
+        ExecutorService executor = Executors.newFixedThreadPool(profile.concurrency());
+        long intervalNanos = profile.arrivalRate() > 0 ? (long) (1_000_000_000L / profile.arrivalRate()) : 0;
+        long[] startNanos = new long[1];
+
+        for (int i = 0; i < profile.requests(); i++) {
+            int index = i;
+            executor.submit(() -> {
+                try {
+                    startLatch.await();
+                    // open 모델: 예정 도착 시각까지 기다렸다가 보내고, 지연은 예정 시각부터 잼 (스레드가 밀려도 대기 시간이 포함됨)
+                    long scheduled = startNanos[0] + index * intervalNanos;
+                    long now = System.nanoTime();
+                    if (intervalNanos > 0 && scheduled > now) {
+                        LockSupport.parkNanos(scheduled - now);
+                    }
+                    long begin = intervalNanos > 0 ? scheduled : System.nanoTime();
+                    try {
+                        if (request.execute(index)) {
+                            success.incrementAndGet();
+                        } else {
+                            failure.incrementAndGet();
+                        }
+                    } catch (Exception e) {
+                        error.incrementAndGet();
+                    } finally {
+                        micros.recordValue(Math.max(0, TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - begin)));
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    doneLatch.countDown();
+                }
+            });
+        }
+
+        startNanos[0] = System.nanoTime();
+        startLatch.countDown();
+        doneLatch.await();
+        long durationMs = Math.max(1, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos[0]));
+        executor.shutdown();
+
+        ScenarioResult result = ScenarioResult.of(scenario, profile, success.get(), failure.get(), error.get(),
+                durationMs, micros);
+        System.out.printf("[부하 테스트] %s 요청 %d / 성공 %d / 실패 %d / 오류 %d / %d ms / %.1f req/s / p50 %.2f / p99 %.2f / p999 %.2f ms%n",
+                scenario, result.requests(), result.success(), result.failure(), result.error(), result.durationMs(),
+                result.throughput(), result.p50Ms(), result.p99Ms(), result.p999Ms());
+        return result;
+    }
+}
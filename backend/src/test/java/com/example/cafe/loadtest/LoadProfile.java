@@ -0,0 +1,23 @@
+package com.example.cafe.loadtest;
+
+import org.springframework.core.env.Environment;
+
+/**
+ * 시나리오 하나의 부하 조건.
+ * arrivalRate 가 0 이면 closed 모델(concurrency 개 스레드가 쉬지 않고 요청), 양수이면 open 모델(초당 arrivalRate 건씩 도착)입니다.
+ * 값은 loadtest.&lt;시나리오&gt;.* 가 있으면 그 값을, 없으면 loadtest.* 공통 값을 씁니다.
+ */
+public record LoadProfile(int requests, int concurrency, double arrivalRate) {
+
+    public static LoadProfile of(Environment env, String scenario) {
+        return new LoadProfile(
+                get(env, scenario, "requests", Integer.class, 500),
+                get(env, scenario, "concurrency", Integer.class, 64),
+                get(env, scenario, "arrival-rate", Double.class, 0.0));
+    }
+
+    private static <T> T get(Environment env, String scenario, String key, Class<T> type, T defaultValue) {
+        T common = env.getProperty("loadtest." + key, type, defaultValue);
+        return env.getProperty("loadtest." + scenario + "." + key, type, common);
+    }
+}
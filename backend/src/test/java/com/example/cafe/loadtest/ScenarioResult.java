@@ -0,0 +1,37 @@
+package com.example.cafe.loadtest;
+
+import org.HdrHistogram.Histogram;
+
+/**
+ * 시나리오 실행 결과. 지연 시간은 밀리초이며 open 모델에서는 예정 도착 시각부터 잰 값(coordinated omission 보정)입니다.
+ */
+public record ScenarioResult(
+        String scenario,
+        int requests,
+        int concurrency,
+        double arrivalRate,
+        int success,
+        int failure,
+        int error,
+        long durationMs,
+        double throughput,
+        double p50Ms,
+        double p99Ms,
+        double p999Ms,
+        double maxMs) {
+
+    static ScenarioResult of(String scenario, LoadProfile profile, int success, int failure, int error,
+                             long durationMs, Histogram micros) {
+        return new ScenarioResult(scenario, profile.requests(), profile.concurrency(), profile.arrivalRate(),
+                success, failure, error, durationMs,
+                success / Math.max(durationMs / 1000.0, 0.001),
+                toMs(micros.getValueAtPercentile(50)),
+                toMs(micros.getValueAtPercentile(99)),
+                toMs(micros.getValueAtPercentile(99.9)),
+                toMs(micros.getMaxValue()));
+    }
+
+    private static double toMs(long micros) {
+        return micros / 1000.0;
+    }
+}